@@ -22,6 +22,7 @@ import io.sermant.core.common.AgentType;
 import io.sermant.core.common.BootArgsIndexer;
 import io.sermant.core.common.CommonConstant;
 import io.sermant.core.common.LoggerFactory;
+import io.sermant.core.common.StartupTimeline;
 import io.sermant.core.config.ConfigManager;
 import io.sermant.core.event.EventManager;
 import io.sermant.core.event.collector.FrameworkEventCollector;
@@ -58,6 +59,8 @@ import java.util.stream.Collectors;
 public class AgentCoreEntrance {
     private static final Logger LOGGER = LoggerFactory.getLogger();
 
+    private static final String STARTUP_PHASE = "agent";
+
     /**
      * Cache the type of the current Agent. The default startup mode is premain
      */
@@ -91,6 +94,7 @@ public class AgentCoreEntrance {
             agentType = AgentType.AGENTMAIN.getValue();
         }
         artifactCache = artifact;
+        StartupTimeline.reset();
 
         // Initialize default logs to ensure log availability before loading the log engine
         LoggerFactory.initDefaultLogger(artifact);
@@ -108,13 +112,17 @@ public class AgentCoreEntrance {
         BootArgsIndexer.build(argsMap, isDynamic);
 
         // Initialize the unified configuration
+        long startNanos = System.nanoTime();
         ConfigManager.initialize(argsMap);
+        StartupTimeline.record(STARTUP_PHASE, "config", startNanos);
 
         // Initialize the operation class
         OperationManager.initOperations();
 
         // Start core services
+        startNanos = System.nanoTime();
         ServiceManager.initServices();
+        StartupTimeline.record(STARTUP_PHASE, "services", startNanos);
 
         // Initialize the event system
         EventManager.init();
@@ -123,14 +131,18 @@ public class AgentCoreEntrance {
         ByteEnhanceManager.init(instrumentation);
 
         // Initialize plugins
+        startNanos = System.nanoTime();
         PluginSystemEntrance.initialize(isDynamic);
+        StartupTimeline.record(STARTUP_PHASE, "plugins", startNanos);
 
         // Registered Adviser
         AdviserScheduler.registry(adviserCache);
 
         // After all static plugins are loaded, they are enhanced in a unified manner, using one AgentBuilder
         if (!isDynamic) {
+            startNanos = System.nanoTime();
             ByteEnhanceManager.enhance();
+            StartupTimeline.record(STARTUP_PHASE, "enhance", startNanos);
         }
 
         // Report Sermant start event
@@ -146,6 +158,9 @@ public class AgentCoreEntrance {
 
         // install external agent, such as OTEL
         handleExternalAgentInstallation(instrumentation, isDynamic, argsMap);
+
+        // Output the cost of each startup step
+        StartupTimeline.report();
     }
 
     private static void handleExternalAgentInstallation(Instrumentation instrumentation, boolean isDynamic,
@@ -187,6 +202,9 @@ public class AgentCoreEntrance {
         // Shut down all services
         ServiceManager.shutdown();
 
+        // Shut down the dispatch threads of the notifications
+        NotificationManager.shutdown();
+
         // Cleanup operation class
         OperationManager.shutdown();
 
@@ -19,6 +19,8 @@ package io.sermant.core.command;
 import io.sermant.core.common.LoggerFactory;
 import io.sermant.core.plugin.Plugin;
 import io.sermant.core.plugin.PluginManager;
+import io.sermant.core.plugin.agent.collector.PluginCollector;
+import io.sermant.core.plugin.agent.collector.PluginMatchMetrics;
 import io.sermant.core.plugin.agent.info.EnhancementManager;
 import io.sermant.core.utils.CollectionUtils;
 import io.sermant.core.utils.MapUtils;
@@ -43,6 +45,10 @@ public class CheckEnhancementsCommandExecutor implements CommandExecutor {
         for (Map.Entry<String, Plugin> entry : PluginManager.getPluginMap().entrySet()) {
             LOGGER.log(Level.INFO, entry.getKey() + ":" + entry.getValue().getVersion());
         }
+        LOGGER.log(Level.INFO, "---------- MATCH COST ----------");
+        for (Map.Entry<String, PluginMatchMetrics> entry : PluginCollector.getMatchMetrics().entrySet()) {
+            LOGGER.log(Level.INFO, entry.getKey() + ": " + entry.getValue());
+        }
         LOGGER.log(Level.INFO, "---------- ENHANCEMENTS ----------");
         Map<String, Map<String, Set<String>>> enhancement = EnhancementManager.getEnhancements();
         if (MapUtils.isEmpty(enhancement)) {
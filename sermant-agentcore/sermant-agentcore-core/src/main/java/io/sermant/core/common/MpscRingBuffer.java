@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.common;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer of multiple producers and a single consumer
+ * <p>Each slot carries a sequence. A producer claims a position by CAS on the tail and publishes the element by
+ * advancing the sequence of the slot, the consumer takes the element once the sequence is published and releases the
+ * slot for the next lap. Offering never blocks the producers, the element is rejected when the buffer is full
+ *
+ * @param <E> element type
+ * @author luanwenfei
+ * @since 2025-01-27
+ */
+public class MpscRingBuffer<E> {
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final int capacity;
+
+    private final int mask;
+
+    private final AtomicReferenceArray<E> elements;
+
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Next position to consume, only written by the consumer
+     */
+    private volatile long head;
+
+    /**
+     * Constructor
+     *
+     * @param requestedCapacity capacity, rounded up to a power of 2
+     */
+    public MpscRingBuffer(int requestedCapacity) {
+        if (requestedCapacity <= 0 || requestedCapacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity of ring buffer must be in (0, " + MAX_CAPACITY + "].");
+        }
+        capacity = requestedCapacity == 1 ? 1 : Integer.highestOneBit(requestedCapacity - 1) << 1;
+        mask = capacity - 1;
+        elements = new AtomicReferenceArray<>(capacity);
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Offer an element, called by any thread
+     *
+     * @param element element
+     * @return false if the buffer is full
+     */
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException("Element of ring buffer must not be null.");
+        }
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0L) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0L) {
+                // The slot is not released by the consumer in the last lap
+                return false;
+            } else {
+                // Claimed by another producer
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Poll an element, only called by the consumer thread
+     *
+     * @return element, null if no element is published
+     */
+    public E poll() {
+        long position = head;
+        int index = (int) position & mask;
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        E element = elements.get(index);
+        elements.lazySet(index, null);
+        sequences.lazySet(index, position + capacity);
+        head = position + 1;
+        return element;
+    }
+
+    /**
+     * Move the published elements to the list, only called by the consumer thread
+     *
+     * @param list list
+     * @param maxElements maximum number of elements to move
+     * @return number of elements moved
+     */
+    public int drainTo(List<? super E> list, int maxElements) {
+        int count = 0;
+        while (count < maxElements) {
+            E element = poll();
+            if (element == null) {
+                break;
+            }
+            list.add(element);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Get the approximate number of elements, including the claimed but not published ones
+     *
+     * @return size
+     */
+    public int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0L, Math.min(size, capacity));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.common;
+
+import io.sermant.core.exception.SermantRuntimeException;
+import io.sermant.core.utils.ThreadFactoryUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Scheduler of the startup tasks with dependencies. Tasks whose dependencies are finished run in parallel on a bounded
+ * pool, and {@link #run()} returns after all tasks are finished. If a task fails, the tasks depending on it are
+ * skipped, and the first failure is thrown by {@link #run()} after the other tasks are finished.
+ * <p>With parallelism 1, tasks run one by one in the calling thread in the order they are added, except that a task
+ * always runs after its dependencies, and a failure is thrown immediately. Every task is recorded to
+ * {@link StartupTimeline}
+ *
+ * @author luanwenfei
+ * @since 2025-01-24
+ */
+public class StartupScheduler {
+    private static final Logger LOGGER = LoggerFactory.getLogger();
+
+    private final String phase;
+
+    private final int parallelism;
+
+    private final Map<String, Task> tasks = new LinkedHashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param phase startup phase, used as the name of the threads and in the timeline
+     * @param parallelism max number of tasks running at the same time
+     */
+    public StartupScheduler(String phase, int parallelism) {
+        this.phase = phase;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Add a task
+     *
+     * @param name task name, unique in the scheduler
+     * @param dependencies names of the tasks that must be finished before this task, unknown names are ignored
+     * @param action task action
+     * @return StartupScheduler
+     * @throws IllegalArgumentException the task name is duplicated
+     */
+    public StartupScheduler addTask(String name, Collection<String> dependencies, Runnable action) {
+        if (tasks.containsKey(name)) {
+            throw new IllegalArgumentException("Duplicate startup task: " + name);
+        }
+        tasks.put(name, new Task(name, dependencies, action));
+        return this;
+    }
+
+    /**
+     * Run all tasks and wait for them to finish
+     *
+     * @throws IllegalStateException the dependencies are cyclic
+     */
+    public void run() {
+        final List<Task> ordered = sort();
+        if (parallelism == 1 || ordered.size() <= 1) {
+            for (Task task : ordered) {
+                execute(task);
+            }
+            return;
+        }
+        runInParallel(ordered);
+    }
+
+    /**
+     * Sort the tasks topologically, tasks without dependency between each other keep the order they are added
+     *
+     * @return sorted tasks
+     */
+    private List<Task> sort() {
+        for (Task task : tasks.values()) {
+            for (String dependency : task.dependencies) {
+                final Task dependencyTask = tasks.get(dependency);
+                if (dependencyTask != null && dependencyTask != task) {
+                    dependencyTask.dependents.add(task);
+                    task.pendingDependencies.incrementAndGet();
+                }
+            }
+        }
+        final List<Task> sorted = new ArrayList<>(tasks.size());
+        final Map<Task, Integer> pending = new LinkedHashMap<>();
+        for (Task task : tasks.values()) {
+            pending.put(task, task.pendingDependencies.get());
+        }
+        while (!pending.isEmpty()) {
+            Task ready = null;
+            for (Map.Entry<Task, Integer> entry : pending.entrySet()) {
+                if (entry.getValue() == 0) {
+                    ready = entry.getKey();
+                    break;
+                }
+            }
+            if (ready == null) {
+                throw new IllegalStateException(String.format(Locale.ROOT,
+                        "Cyclic dependencies between startup tasks of [%s]: %s", phase, pending.keySet()));
+            }
+            pending.remove(ready);
+            sorted.add(ready);
+            for (Task dependent : ready.dependents) {
+                pending.computeIfPresent(dependent, (key, count) -> count - 1);
+            }
+        }
+        return sorted;
+    }
+
+    private void runInParallel(List<Task> ordered) {
+        final ExecutorService executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new ThreadFactoryUtils("sermant-startup-" + phase));
+        final CountDownLatch finished = new CountDownLatch(ordered.size());
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        try {
+            for (Task task : ordered) {
+                if (task.pendingDependencies.get() == 0) {
+                    submit(executor, task, finished, failure);
+                }
+            }
+            finished.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SermantRuntimeException(e);
+        } finally {
+            executor.shutdown();
+        }
+        final Throwable throwable = failure.get();
+        if (throwable instanceof RuntimeException) {
+            throw (RuntimeException) throwable;
+        }
+        if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+        if (throwable != null) {
+            throw new SermantRuntimeException(throwable);
+        }
+    }
+
+    private void submit(ExecutorService executor, Task task, CountDownLatch finished,
+            AtomicReference<Throwable> failure) {
+        executor.execute(() -> {
+            try {
+                execute(task);
+            } catch (Throwable throwable) {
+                LOGGER.log(Level.SEVERE, String.format(Locale.ROOT, "Startup task [%s] of [%s] failed.", task.name,
+                        phase), throwable);
+                failure.compareAndSet(null, throwable);
+                skipDependents(task, finished);
+                finished.countDown();
+                return;
+            }
+            for (Task dependent : task.dependents) {
+                if (dependent.pendingDependencies.decrementAndGet() == 0) {
+                    submit(executor, dependent, finished, failure);
+                }
+            }
+            finished.countDown();
+        });
+    }
+
+    private void skipDependents(Task task, CountDownLatch finished) {
+        for (Task dependent : task.dependents) {
+            // Skip each dependent only once even if it depends on several failed tasks
+            if (dependent.pendingDependencies.getAndSet(-1) >= 0) {
+                LOGGER.log(Level.WARNING, "Startup task [{0}] is skipped because [{1}] failed.",
+                        new Object[]{dependent.name, task.name});
+                skipDependents(dependent, finished);
+                finished.countDown();
+            }
+        }
+    }
+
+    private void execute(Task task) {
+        final long startNanos = System.nanoTime();
+        try {
+            task.action.run();
+        } finally {
+            StartupTimeline.record(phase, task.name, startNanos);
+        }
+    }
+
+    /**
+     * Startup task
+     *
+     * @since 2025-01-24
+     */
+    private static class Task {
+        private final String name;
+
+        private final Collection<String> dependencies;
+
+        private final Runnable action;
+
+        private final List<Task> dependents = new ArrayList<>();
+
+        private final AtomicInteger pendingDependencies = new AtomicInteger();
+
+        Task(String name, Collection<String> dependencies, Runnable action) {
+            this.name = name;
+            this.dependencies = dependencies;
+            this.action = action;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.common;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Timeline of the agent startup, records when each startup step begins, how long it takes and which thread runs it
+ *
+ * @author luanwenfei
+ * @since 2025-01-24
+ */
+public class StartupTimeline {
+    private static final Logger LOGGER = LoggerFactory.getLogger();
+
+    private static final Queue<Step> STEPS = new ConcurrentLinkedQueue<>();
+
+    private static volatile long originNanos = System.nanoTime();
+
+    private StartupTimeline() {
+    }
+
+    /**
+     * Reset the timeline, the offset of the steps are relative to the time of the reset
+     */
+    public static void reset() {
+        STEPS.clear();
+        originNanos = System.nanoTime();
+    }
+
+    /**
+     * Record a step ending now
+     *
+     * @param phase phase of the step
+     * @param name step name
+     * @param startNanos start time of the step, from {@link System#nanoTime()}
+     */
+    public static void record(String phase, String name, long startNanos) {
+        STEPS.add(new Step(phase, name, Thread.currentThread().getName(), startNanos, System.nanoTime()));
+    }
+
+    /**
+     * Output the timeline to the log and clear it
+     */
+    public static void report() {
+        final List<Step> steps = new ArrayList<>(STEPS);
+        STEPS.clear();
+        steps.sort(Comparator.comparingLong(step -> step.startNanos));
+        LOGGER.info("---------- STARTUP TIMELINE ----------");
+        for (Step step : steps) {
+            LOGGER.info(String.format(Locale.ROOT, "[%s] %s: start=+%dms, cost=%dms, thread=%s", step.phase,
+                    step.name, TimeUnit.NANOSECONDS.toMillis(step.startNanos - originNanos),
+                    TimeUnit.NANOSECONDS.toMillis(step.endNanos - step.startNanos), step.threadName));
+        }
+    }
+
+    /**
+     * Startup step
+     *
+     * @since 2025-01-24
+     */
+    private static class Step {
+        private final String phase;
+
+        private final String name;
+
+        private final String threadName;
+
+        private final long startNanos;
+
+        private final long endNanos;
+
+        Step(String phase, String name, String threadName, long startNanos, long endNanos) {
+            this.phase = phase;
+            this.name = name;
+            this.threadName = threadName;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+        }
+    }
+}
@@ -16,16 +16,15 @@
 
 package io.sermant.core.event;
 
-import io.sermant.core.common.BootArgsIndexer;
 import io.sermant.core.common.LoggerFactory;
+import io.sermant.core.common.MpscRingBuffer;
 import io.sermant.core.config.ConfigManager;
 import io.sermant.core.event.config.EventConfig;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
 
 /**
@@ -37,16 +36,25 @@ import java.util.logging.Logger;
 public class EventCollector {
     private static final Logger LOGGER = LoggerFactory.getLogger();
 
+    private static final int EVENT_QUEUE_CAPACITY = 256;
+
+    /**
+     * Size of the event queue to wake up the collector thread before the sending interval
+     */
+    private static final int EARLY_COLLECT_THRESHOLD = EVENT_QUEUE_CAPACITY / 2;
+
     /**
      * Event configuration. Set as protected for easy use by subclasses
      */
     protected EventConfig eventConfig = ConfigManager.getConfig(EventConfig.class);
 
-    // BlockingQueue for event cache. If the queue is not full, event is reported periodically. If
-    // the queue is full, event is reported automatically
-    private final BlockingQueue<Event> eventQueue = new ArrayBlockingQueue<>(100);
+    // Lock-free ring buffer for event cache. Events are reported periodically by the collector thread, which is woken
+    // up early when the buffer is half full. The thread offering the event never sends events
+    private final MpscRingBuffer<Event> eventQueue = new MpscRingBuffer<>(EVENT_QUEUE_CAPACITY);
+
+    private final OfferTimeSketch offerTimeSketch = new OfferTimeSketch(System.currentTimeMillis());
 
-    private final ConcurrentHashMap<EventInfo, Long> eventInfoOfferTimeCache = new ConcurrentHashMap<>();
+    private final AtomicLong discardedCount = new AtomicLong();
 
     /**
      * constructor
@@ -55,18 +63,25 @@ public class EventCollector {
     }
 
     /**
-     * It is used by the event collection manager to obtain current cache events and clear the cache of logs and
-     * event reporting events during collection
+     * It is used by the event collection manager to obtain and clear current cache events, only called by the
+     * collector thread
      *
-     * @return cache queue
+     * @return cached events
      */
-    public final BlockingQueue<Event> collect() {
-        cleanOfferTimeCacheMap();
-        return eventQueue;
+    public final List<Event> collect() {
+        List<Event> events = new ArrayList<>();
+        eventQueue.drainTo(events, EVENT_QUEUE_CAPACITY);
+        long discarded = discardedCount.getAndSet(0L);
+        if (discarded > 0L) {
+            LOGGER.warning(String.format(Locale.ROOT, "Discarded [%d] events of [%s] since the event queue is full.",
+                    discarded, getClass().getSimpleName()));
+        }
+        return events;
     }
 
     /**
-     * It is used to add events to the event collector. If the collector is full, it sends events
+     * It is used to add events to the event collector. If the collector is full, the event is discarded and the
+     * collector thread is woken up to send events
      *
      * @param event event
      * @return result
@@ -75,59 +90,34 @@ public class EventCollector {
         if (!isEnableEvent()) {
             return false;
         }
-        if (event.getEventInfo() != null) {
-            if (checkEventInfoOfferInterval(event.getEventInfo())) {
-                eventInfoOfferTimeCache.put(event.getEventInfo(), System.currentTimeMillis());
-            } else {
-                return false;
-            }
+        if (event.getEventInfo() != null && !checkOfferInterval(event.getEventInfo().hashCode())) {
+            return false;
         }
         return doOffer(event);
     }
 
     private boolean doOffer(Event event) {
-        if (eventQueue.offer(event)) {
-            return true;
+        if (!eventQueue.offer(event)) {
+            discardedCount.incrementAndGet();
+            EventManager.requestCollect();
+            return false;
         }
-        LOGGER.info("Event queue is full when offer new event, send events initiative.");
-        sendEventInitiative();
-        return eventQueue.offer(event);
-    }
-
-    private void sendEventInitiative() {
-        if (eventQueue.isEmpty()) {
-            LOGGER.severe("Event queue is empty when send events initiative.");
-            return;
+        if (eventQueue.size() >= EARLY_COLLECT_THRESHOLD) {
+            EventManager.requestCollect();
         }
-        List<Event> events = new ArrayList<>();
-        eventQueue.drainTo(events);
-        EventSender.sendEvent(new EventMessage(BootArgsIndexer.getInstanceId(), events));
+        return true;
     }
 
     /**
-     * Check whether the event can be reported again based on the reporting interval
+     * Check whether the event can be reported again based on the reporting interval, and record the reporting time if
+     * it can
      *
-     * @param eventInfo event information
+     * @param fingerprint fingerprint of the event, the events with the same fingerprint are reported at most once
+     * per reporting interval
      * @return boolean result
      */
-    private boolean checkEventInfoOfferInterval(EventInfo eventInfo) {
-        Long lastOfferTime = eventInfoOfferTimeCache.get(eventInfo);
-        if (lastOfferTime == null) {
-            return true;
-        }
-        return System.currentTimeMillis() - lastOfferTime > eventConfig.getOfferInterval();
-    }
-
-    /**
-     * Periodically clear the event reporting time cache
-     */
-    protected void cleanOfferTimeCacheMap() {
-        long currentTime = System.currentTimeMillis();
-        for (EventInfo eventInfo : eventInfoOfferTimeCache.keySet()) {
-            if (currentTime - eventInfoOfferTimeCache.get(eventInfo) > eventConfig.getOfferInterval()) {
-                eventInfoOfferTimeCache.remove(eventInfo);
-            }
-        }
+    protected boolean checkOfferInterval(int fingerprint) {
+        return offerTimeSketch.tryOffer(fingerprint, System.currentTimeMillis(), eventConfig.getOfferInterval());
     }
 
     /**
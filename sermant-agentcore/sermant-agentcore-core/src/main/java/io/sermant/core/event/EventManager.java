@@ -28,8 +28,10 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Logger;
 
 /**
@@ -43,7 +45,9 @@ public class EventManager {
 
     private static final ConcurrentHashMap<String, EventCollector> EVENT_COLLECTORS = new ConcurrentHashMap<>();
 
-    private static ScheduledExecutorService executorService;
+    private static final AtomicBoolean COLLECT_REQUESTED = new AtomicBoolean();
+
+    private static volatile ScheduledExecutorService executorService;
 
     private static final long INITIAL_DELAY = 30000L;
 
@@ -118,10 +122,27 @@ public class EventManager {
         return true;
     }
 
-    private static void collectAll() {
+    /**
+     * Wake up the collector thread to report events before the sending interval, the requests before the collection
+     * are merged
+     */
+    static void requestCollect() {
+        ScheduledExecutorService executor = executorService;
+        if (executor == null || executor.isShutdown() || !COLLECT_REQUESTED.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(EventManager::collectAll);
+        } catch (RejectedExecutionException e) {
+            COLLECT_REQUESTED.set(false);
+        }
+    }
+
+    private static synchronized void collectAll() {
+        COLLECT_REQUESTED.set(false);
         List<Event> events = new ArrayList<>();
         for (EventCollector eventCollector : EVENT_COLLECTORS.values()) {
-            eventCollector.collect().drainTo(events);
+            events.addAll(eventCollector.collect());
         }
         if (events.isEmpty()) {
             LOGGER.info("No event needs to be reported.");
@@ -17,8 +17,10 @@
 package io.sermant.core.event;
 
 import io.sermant.core.common.LoggerFactory;
+import io.sermant.core.config.ConfigManager;
 import io.sermant.core.service.ServiceManager;
 import io.sermant.core.service.send.api.GatewayClient;
+import io.sermant.core.service.send.config.GatewayConfig;
 
 import java.util.logging.Logger;
 
@@ -35,6 +37,11 @@ public class EventSender {
 
     private static GatewayClient gatewayClient;
 
+    /**
+     * Whether to send the events through the queue of the gateway, which spills them while the backend is unreachable
+     */
+    private static boolean queued;
+
     private EventSender() {
     }
 
@@ -43,6 +50,8 @@ public class EventSender {
      */
     public static void init() {
         gatewayClient = ServiceManager.getService(GatewayClient.class);
+        GatewayConfig gatewayConfig = ConfigManager.getConfig(GatewayConfig.class);
+        queued = gatewayConfig != null && gatewayConfig.isSpillEnable();
     }
 
     /**
@@ -56,6 +65,11 @@ public class EventSender {
             LOGGER.info(eventMessage.toString());
             return;
         }
+        if (queued) {
+            // The events are replayed after reconnection if the backend is unreachable, such as during upgrades
+            gatewayClient.send(eventMessage, EVENT_DATA_VALUE);
+            return;
+        }
         if (gatewayClient.sendImmediately(eventMessage, EVENT_DATA_VALUE)) {
             String logMsg = "Send events successful. MetaHash: " + eventMessage.getMetaHash();
             LOGGER.info(logMsg);
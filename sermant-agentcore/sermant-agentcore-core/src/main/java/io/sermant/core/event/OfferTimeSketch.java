@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.event;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Bounded sketch of the last offer times of the events, used to report the same event at most once per offer
+ * interval
+ * <p>Each fingerprint is mapped to one slot of each row, and each slot keeps the latest time bucket of the
+ * fingerprints mapped to it. The last offer time of a fingerprint is estimated by the earliest bucket of its slots,
+ * which is never earlier than the real one, so a collision may only suppress an event, never report a duplicate.
+ * The memory is fixed no matter how many distinct events are offered, and nothing needs to be cleaned
+ *
+ * @author luanwenfei
+ * @since 2025-01-27
+ */
+class OfferTimeSketch {
+    /**
+     * Width of the time bucket in milliseconds
+     */
+    static final long BUCKET_MILLIS = 100L;
+
+    private static final int DEPTH = 3;
+
+    private static final int WIDTH = 1024;
+
+    private static final int MASK = WIDTH - 1;
+
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+    private final long baseTime;
+
+    /**
+     * Buckets since the base time plus 1, 0 means that no event is offered
+     */
+    private final AtomicIntegerArray buckets = new AtomicIntegerArray(DEPTH * WIDTH);
+
+    /**
+     * Constructor
+     *
+     * @param baseTime base time of the buckets
+     */
+    OfferTimeSketch(long baseTime) {
+        this.baseTime = baseTime;
+    }
+
+    /**
+     * Check whether the event of the fingerprint can be offered again and record the offer time if it can
+     *
+     * @param fingerprint fingerprint of the event
+     * @param currentTime current time
+     * @param offerInterval minimal interval between the offers of the same event
+     * @return whether the event can be offered
+     */
+    boolean tryOffer(int fingerprint, long currentTime, long offerInterval) {
+        int bucket = (int) Math.max(1L, (currentTime - baseTime) / BUCKET_MILLIS + 1);
+        int hash1 = spread(fingerprint);
+        int hash2 = spread(hash1 * GOLDEN_RATIO) | 1;
+        int firstIndex = hash1 & MASK;
+        int firstBucket = buckets.get(firstIndex);
+        int lastBucket = firstBucket;
+        for (int row = 1; row < DEPTH; row++) {
+            lastBucket = Math.min(lastBucket, buckets.get(index(row, hash1, hash2)));
+        }
+        if (lastBucket != 0 && (long) (bucket - lastBucket) * BUCKET_MILLIS <= offerInterval) {
+            return false;
+        }
+
+        // Claim the offer by the slot of the first row, so only one of the concurrent offers of the same event wins
+        // unless they fall into the same bucket
+        if (firstBucket != bucket && !buckets.compareAndSet(firstIndex, firstBucket, bucket)) {
+            return false;
+        }
+        for (int row = 1; row < DEPTH; row++) {
+            updateMax(index(row, hash1, hash2), bucket);
+        }
+        return true;
+    }
+
+    private int index(int row, int hash1, int hash2) {
+        return row * WIDTH + ((hash1 + row * hash2) & MASK);
+    }
+
+    private void updateMax(int index, int bucket) {
+        int current = buckets.get(index);
+        while (current < bucket && !buckets.compareAndSet(index, current, bucket)) {
+            current = buckets.get(index);
+        }
+    }
+
+    private static int spread(int hash) {
+        int spread = hash * GOLDEN_RATIO;
+        return spread ^ (spread >>> 16);
+    }
+}
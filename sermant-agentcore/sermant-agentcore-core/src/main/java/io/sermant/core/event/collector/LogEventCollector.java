@@ -22,7 +22,7 @@ import io.sermant.core.event.EventLevel;
 import io.sermant.core.event.EventType;
 import io.sermant.core.event.LogInfo;
 
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Objects;
 import java.util.logging.LogRecord;
 
 /**
@@ -32,9 +32,9 @@ import java.util.logging.LogRecord;
  * @since 2023-03-04
  */
 public class LogEventCollector extends EventCollector {
-    private static LogEventCollector logEventCollector;
+    private static final int PRIME = 31;
 
-    private final ConcurrentHashMap<LogInfo, Long> logInfoOfferTimeCache = new ConcurrentHashMap<>();
+    private static LogEventCollector logEventCollector;
 
     private LogEventCollector() {
     }
@@ -60,11 +60,7 @@ public class LogEventCollector extends EventCollector {
         if (!isEnableEvent() || !eventConfig.isOfferWarnLog()) {
             return;
         }
-        LogInfo logInfo = new LogInfo(record);
-        if (checkLogInfoOfferInterval(logInfo)) {
-            logInfoOfferTimeCache.put(logInfo, System.currentTimeMillis());
-            offerEvent(new Event(EventLevel.IMPORTANT, EventType.LOG, logInfo));
-        }
+        offerLog(record, EventLevel.IMPORTANT);
     }
 
     /**
@@ -76,37 +72,30 @@ public class LogEventCollector extends EventCollector {
         if (!isEnableEvent() || !eventConfig.isOfferErrorLog()) {
             return;
         }
-        LogInfo logInfo = new LogInfo(record);
-        if (checkLogInfoOfferInterval(logInfo)) {
-            logInfoOfferTimeCache.put(logInfo, System.currentTimeMillis());
-            offerEvent(new Event(EventLevel.EMERGENCY, EventType.LOG, logInfo));
-        }
+        offerLog(record, EventLevel.EMERGENCY);
     }
 
-    /**
-     * Check whether the log can be reported again based on the reporting interval
-     *
-     * @param logInfo log information
-     * @return boolean Whether it can be reported again
-     */
-    private boolean checkLogInfoOfferInterval(LogInfo logInfo) {
-        Long lastOfferTime = logInfoOfferTimeCache.get(logInfo);
-        if (lastOfferTime == null) {
-            return true;
+    private void offerLog(LogRecord record, EventLevel eventLevel) {
+        // LogInfo walks the stack for the line number, so it is only built for the log to be reported
+        if (checkOfferInterval(fingerprint(record))) {
+            offerEvent(new Event(eventLevel, EventType.LOG, new LogInfo(record)));
         }
-        return System.currentTimeMillis() - lastOfferTime > eventConfig.getOfferInterval();
     }
 
     /**
-     * Periodically clear the log reporting time cache
+     * Fingerprint of the log to avoid log alarm storms, which is generated by log level, class, method and throwable
+     * class. The message is not included, since the messages formatted by the caller differ in the arguments, and
+     * every log of a storm would otherwise be reported
+     *
+     * @param record log record
+     * @return fingerprint
      */
-    @Override
-    protected void cleanOfferTimeCacheMap() {
-        long currentTime = System.currentTimeMillis();
-        for (LogInfo logInfo : logInfoOfferTimeCache.keySet()) {
-            if (currentTime - logInfoOfferTimeCache.get(logInfo) > eventConfig.getOfferInterval()) {
-                logInfoOfferTimeCache.remove(logInfo);
-            }
+    static int fingerprint(LogRecord record) {
+        Throwable thrown = record.getThrown();
+        int hash = Objects.hash(record.getLevel().getName(), record.getSourceClassName(), record.getSourceMethodName());
+        if (thrown != null) {
+            hash = hash * PRIME + thrown.getClass().getName().hashCode();
         }
+        return hash;
     }
 }
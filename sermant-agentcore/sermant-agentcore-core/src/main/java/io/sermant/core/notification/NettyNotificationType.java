@@ -49,4 +49,9 @@ public enum NettyNotificationType implements NotificationType {
     public String getDescription() {
         return description;
     }
+
+    @Override
+    public boolean isState() {
+        return true;
+    }
 }
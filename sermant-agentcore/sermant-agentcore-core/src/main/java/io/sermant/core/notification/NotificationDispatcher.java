@@ -0,0 +1,310 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.notification;
+
+import io.sermant.core.common.LoggerFactory;
+import io.sermant.core.utils.ThreadFactoryUtils;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Dispatcher of the notifications with its own small thread pool
+ * <p>Each listener has a bounded mailbox, which is processed by at most one thread at a time, so a listener receives
+ * the notifications in the order they are sent. The pending state notifications of the same type are coalesced, and
+ * the oldest notification is discarded when the mailbox is full. The queue depth of each mailbox and the latency from
+ * dispatching a notification to its processing are recorded
+ *
+ * @author zhp
+ * @since 2025-01-27
+ */
+class NotificationDispatcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger();
+
+    /**
+     * Maximum number of notifications processed in one run of a mailbox, so that the other listeners get the thread
+     */
+    private static final int MAX_BATCH = 16;
+
+    private final Map<NotificationListener, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor;
+
+    private final int queueSize;
+
+    private final LongAdder dispatchCount = new LongAdder();
+
+    private final LongAdder totalLatencyNanos = new LongAdder();
+
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    /**
+     * Constructor
+     *
+     * @param threads number of dispatch threads
+     * @param queueSize maximum number of pending notifications of each listener
+     */
+    NotificationDispatcher(int threads, int queueSize) {
+        int poolSize = Math.max(1, threads);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new ThreadFactoryUtils("notification-dispatcher", true));
+        this.queueSize = Math.max(1, queueSize);
+    }
+
+    /**
+     * Dispatch the notification to the listener
+     *
+     * @param listener listener
+     * @param notificationInfo notification
+     */
+    void dispatch(NotificationListener listener, NotificationInfo notificationInfo) {
+        mailboxes.computeIfAbsent(listener, Mailbox::new).offer(notificationInfo);
+    }
+
+    /**
+     * Release the mailbox of the listener, its pending notifications are discarded
+     *
+     * @param listener listener
+     */
+    void remove(NotificationListener listener) {
+        Mailbox mailbox = mailboxes.remove(listener);
+        if (mailbox != null) {
+            mailbox.close();
+        }
+    }
+
+    /**
+     * Get the number of pending notifications of the listener
+     *
+     * @param listener listener
+     * @return queue depth of the mailbox of the listener
+     */
+    int getQueueDepth(NotificationListener listener) {
+        Mailbox mailbox = mailboxes.get(listener);
+        return mailbox == null ? 0 : mailbox.size();
+    }
+
+    /**
+     * Get the number of pending notifications of all listeners
+     *
+     * @return queue depth
+     */
+    int getQueueDepth() {
+        int depth = 0;
+        for (Mailbox mailbox : mailboxes.values()) {
+            depth += mailbox.size();
+        }
+        return depth;
+    }
+
+    long getDispatchCount() {
+        return dispatchCount.sum();
+    }
+
+    long getTotalLatencyNanos() {
+        return totalLatencyNanos.sum();
+    }
+
+    long getMaxLatencyNanos() {
+        return maxLatencyNanos.get();
+    }
+
+    private void recordLatency(long latencyNanos) {
+        dispatchCount.increment();
+        totalLatencyNanos.add(latencyNanos);
+        long max = maxLatencyNanos.get();
+        while (latencyNanos > max && !maxLatencyNanos.compareAndSet(max, latencyNanos)) {
+            max = maxLatencyNanos.get();
+        }
+    }
+
+    /**
+     * Shut down the dispatch threads, the pending notifications are discarded and the notification being processed is
+     * completed
+     */
+    void shutdown() {
+        executor.shutdown();
+        mailboxes.values().forEach(Mailbox::close);
+        mailboxes.clear();
+    }
+
+    /**
+     * Wait for the dispatch threads to terminate after shutdown
+     *
+     * @param timeout timeout
+     * @param unit unit of the timeout
+     * @return whether the threads are terminated
+     * @throws InterruptedException interrupted while waiting
+     */
+    boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * Pending notification
+     *
+     * @since 2025-01-27
+     */
+    private static class Pending {
+        private final NotificationInfo notificationInfo;
+
+        private final long enqueueTime;
+
+        Pending(NotificationInfo notificationInfo, long enqueueTime) {
+            this.notificationInfo = notificationInfo;
+            this.enqueueTime = enqueueTime;
+        }
+    }
+
+    /**
+     * Mailbox of a listener
+     *
+     * @since 2025-01-27
+     */
+    private class Mailbox implements Runnable {
+        private final NotificationListener listener;
+
+        private final ArrayDeque<Pending> queue = new ArrayDeque<>();
+
+        /**
+         * Whether the mailbox is submitted to the executor or being processed, guarded by this. It is only reset by the
+         * run of the mailbox, or when the submission is rejected, so that at most one thread processes the mailbox
+         */
+        private boolean isScheduled;
+
+        /**
+         * Whether the listener is removed, guarded by this
+         */
+        private boolean isClosed;
+
+        private int discardedCount;
+
+        Mailbox(NotificationListener listener) {
+            this.listener = listener;
+        }
+
+        void offer(NotificationInfo notificationInfo) {
+            boolean isSubmitting;
+            synchronized (this) {
+                if (isClosed) {
+                    return;
+                }
+                if (notificationInfo.getNotificationType().isState()) {
+                    removePendingState(notificationInfo.getNotificationType().getClass());
+                }
+                if (queue.size() >= queueSize) {
+                    queue.poll();
+                    discardedCount++;
+                }
+                queue.add(new Pending(notificationInfo, System.nanoTime()));
+                isSubmitting = !isScheduled;
+                isScheduled = true;
+            }
+            if (isSubmitting) {
+                submit();
+            }
+        }
+
+        private void removePendingState(Class<?> typeClass) {
+            Iterator<Pending> iterator = queue.iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().notificationInfo.getNotificationType().getClass() == typeClass) {
+                    iterator.remove();
+                }
+            }
+        }
+
+        private void submit() {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                LOGGER.warning("Notification dispatcher rejects the notifications.");
+                synchronized (this) {
+                    // No run follows, the pending notifications are discarded
+                    queue.clear();
+                    isScheduled = false;
+                }
+            }
+        }
+
+        synchronized int size() {
+            return queue.size();
+        }
+
+        /**
+         * Discard the pending notifications and reject the later ones, the run in progress stops after the notification
+         * being processed
+         */
+        synchronized void close() {
+            isClosed = true;
+            queue.clear();
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < MAX_BATCH; i++) {
+                Pending pending;
+                int discarded;
+                synchronized (this) {
+                    pending = queue.poll();
+                    if (pending == null) {
+                        isScheduled = false;
+                        return;
+                    }
+                    discarded = discardedCount;
+                    discardedCount = 0;
+                }
+                if (discarded > 0) {
+                    LOGGER.warning(String.format(Locale.ROOT, "Discarded [%d] notifications of listener [%s] since "
+                            + "its queue is full.", discarded, listener.getClass().getName()));
+                }
+                recordLatency(System.nanoTime() - pending.enqueueTime);
+                process(pending.notificationInfo);
+            }
+
+            // Yield the thread to the other listeners and continue later
+            synchronized (this) {
+                if (queue.isEmpty()) {
+                    isScheduled = false;
+                    return;
+                }
+            }
+            submit();
+        }
+
+        private void process(NotificationInfo notificationInfo) {
+            try {
+                listener.process(notificationInfo);
+            } catch (Throwable throwable) {
+                LOGGER.log(Level.SEVERE, String.format(Locale.ROOT, "Listener [%s] failed to process notification.",
+                        listener.getClass().getName()), throwable);
+            }
+        }
+    }
+}
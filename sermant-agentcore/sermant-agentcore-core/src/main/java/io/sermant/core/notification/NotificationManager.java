@@ -20,15 +20,15 @@ import io.sermant.core.common.LoggerFactory;
 import io.sermant.core.config.ConfigManager;
 import io.sermant.core.notification.config.NotificationConfig;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Logger;
 
 /**
- * Notification Manager
+ * Notification Manager. The notifications are dispatched by the dedicated {@link NotificationDispatcher}, each
+ * listener receives the notifications in the order they are sent
  *
  * @author zhp
  * @since 2023-06-16
@@ -40,6 +40,15 @@ public class NotificationManager {
 
     private static NotificationConfig notificationConfig = ConfigManager.getConfig(NotificationConfig.class);
 
+    private static volatile NotificationDispatcher dispatcher;
+
+    private static Thread shutdownHook;
+
+    /**
+     * Whether the dispatcher is shut down, the later notifications are ignored. Guarded by NotificationManager.class
+     */
+    private static volatile boolean isShutdown;
+
     private NotificationManager() {
     }
 
@@ -55,7 +64,7 @@ public class NotificationManager {
             return;
         }
         List<NotificationListener> listenerList = NOTIFICATION_LISTENER_MAP.computeIfAbsent(
-                typeClass.getCanonicalName(), key -> new ArrayList<>());
+                typeClass.getCanonicalName(), key -> new CopyOnWriteArrayList<>());
         listenerList.add(notificationListener);
     }
 
@@ -71,8 +80,16 @@ public class NotificationManager {
             return;
         }
         List<NotificationListener> listenerList = NOTIFICATION_LISTENER_MAP.get(typeClass.getCanonicalName());
-        if (listenerList != null) {
-            listenerList.remove(notificationListener);
+        if (listenerList == null || !listenerList.remove(notificationListener)) {
+            return;
+        }
+        for (List<NotificationListener> listeners : NOTIFICATION_LISTENER_MAP.values()) {
+            if (listeners.contains(notificationListener)) {
+                return;
+            }
+        }
+        if (dispatcher != null) {
+            dispatcher.remove(notificationListener);
         }
     }
 
@@ -94,8 +111,99 @@ public class NotificationManager {
         if (notificationListeners == null || notificationListeners.isEmpty()) {
             return;
         }
+        NotificationDispatcher notificationDispatcher = getDispatcher();
+        if (notificationDispatcher == null) {
+            LOGGER.fine("The notification dispatcher is shut down, the notification is ignored.");
+            return;
+        }
         notificationListeners.forEach(notificationListener ->
-                CompletableFuture.runAsync(() -> notificationListener.process(notificationInfo)));
+                notificationDispatcher.dispatch(notificationListener, notificationInfo));
+    }
+
+    private static NotificationDispatcher getDispatcher() {
+        if (dispatcher == null) {
+            synchronized (NotificationManager.class) {
+                if (dispatcher == null && !isShutdown) {
+                    dispatcher = new NotificationDispatcher(notificationConfig.getDispatchThreads(),
+                            notificationConfig.getQueueSize());
+                    shutdownHook = new Thread(NotificationManager::shutdown);
+                    Runtime.getRuntime().addShutdownHook(shutdownHook);
+                }
+            }
+        }
+        return dispatcher;
+    }
+
+    /**
+     * Get the number of notifications waiting to be processed by the listener
+     *
+     * @param listener listener
+     * @return queue depth of the listener
+     */
+    public static int getQueueDepth(NotificationListener listener) {
+        NotificationDispatcher notificationDispatcher = dispatcher;
+        return notificationDispatcher == null ? 0 : notificationDispatcher.getQueueDepth(listener);
+    }
+
+    /**
+     * Get the number of notifications waiting to be processed by all listeners
+     *
+     * @return queue depth
+     */
+    public static int getQueueDepth() {
+        NotificationDispatcher notificationDispatcher = dispatcher;
+        return notificationDispatcher == null ? 0 : notificationDispatcher.getQueueDepth();
+    }
+
+    /**
+     * Get the number of notifications dispatched to the listeners
+     *
+     * @return dispatch count
+     */
+    public static long getDispatchCount() {
+        NotificationDispatcher notificationDispatcher = dispatcher;
+        return notificationDispatcher == null ? 0L : notificationDispatcher.getDispatchCount();
+    }
+
+    /**
+     * Get the sum of the time (ns) from sending each notification to its processing by a listener
+     *
+     * @return total dispatch latency
+     */
+    public static long getTotalDispatchLatency() {
+        NotificationDispatcher notificationDispatcher = dispatcher;
+        return notificationDispatcher == null ? 0L : notificationDispatcher.getTotalLatencyNanos();
+    }
+
+    /**
+     * Get the maximum time (ns) from sending a notification to its processing by a listener
+     *
+     * @return maximum dispatch latency
+     */
+    public static long getMaxDispatchLatency() {
+        NotificationDispatcher notificationDispatcher = dispatcher;
+        return notificationDispatcher == null ? 0L : notificationDispatcher.getMaxLatencyNanos();
+    }
+
+    /**
+     * Shut down the dispatch threads of the notifications, the later notifications are ignored
+     */
+    public static void shutdown() {
+        synchronized (NotificationManager.class) {
+            isShutdown = true;
+            if (dispatcher == null) {
+                return;
+            }
+            dispatcher.shutdown();
+            dispatcher = null;
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // The JVM is shutting down
+                LOGGER.fine("The JVM is shutting down, the notification dispatcher is shut down by the hook.");
+            }
+            shutdownHook = null;
+        }
     }
 
     /**
@@ -23,4 +23,13 @@ package io.sermant.core.notification;
  * @since 2023-06-16
  */
 public interface NotificationType {
+    /**
+     * Whether the notification reports a state of its type, such as connected and disconnected. The pending state
+     * notifications of the same type are coalesced for each listener, so only the latest state is delivered
+     *
+     * @return whether it is a state notification
+     */
+    default boolean isState() {
+        return false;
+    }
 }
@@ -27,8 +27,22 @@ import io.sermant.core.config.common.ConfigTypeKey;
  */
 @ConfigTypeKey("notification")
 public class NotificationConfig implements BaseConfig {
+    private static final int DEFAULT_DISPATCH_THREADS = 2;
+
+    private static final int DEFAULT_QUEUE_SIZE = 128;
+
     private boolean enable;
 
+    /**
+     * Number of the threads dispatching notifications to the listeners
+     */
+    private int dispatchThreads = DEFAULT_DISPATCH_THREADS;
+
+    /**
+     * Maximum number of the pending notifications of each listener, the oldest one is discarded when it is exceeded
+     */
+    private int queueSize = DEFAULT_QUEUE_SIZE;
+
     public boolean isEnable() {
         return enable;
     }
@@ -36,4 +50,20 @@ public class NotificationConfig implements BaseConfig {
     public void setEnable(boolean enable) {
         this.enable = enable;
     }
+
+    public int getDispatchThreads() {
+        return dispatchThreads;
+    }
+
+    public void setDispatchThreads(int dispatchThreads) {
+        this.dispatchThreads = dispatchThreads;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
 }
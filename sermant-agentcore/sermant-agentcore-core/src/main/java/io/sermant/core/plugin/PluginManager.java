@@ -20,6 +20,8 @@ import io.sermant.core.classloader.ClassLoaderManager;
 import io.sermant.core.command.DynamicAgentArgsManager;
 import io.sermant.core.common.BootArgsIndexer;
 import io.sermant.core.common.LoggerFactory;
+import io.sermant.core.common.StartupScheduler;
+import io.sermant.core.config.ConfigManager;
 import io.sermant.core.event.collector.FrameworkEventCollector;
 import io.sermant.core.exception.SchemaException;
 import io.sermant.core.plugin.agent.ByteEnhanceManager;
@@ -33,6 +35,7 @@ import io.sermant.core.plugin.common.PluginConstant;
 import io.sermant.core.plugin.common.PluginSchemaValidator;
 import io.sermant.core.plugin.config.PluginConfigManager;
 import io.sermant.core.plugin.service.PluginServiceManager;
+import io.sermant.core.service.ServiceConfig;
 import io.sermant.core.utils.CollectionUtils;
 import io.sermant.core.utils.StringUtils;
 
@@ -43,6 +46,7 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -129,6 +133,7 @@ public class PluginManager {
                 interceptors.removeIf(
                         interceptor -> plugin.getPluginClassLoader().equals(interceptor.getClass().getClassLoader()));
             }
+            BaseAdviseHandler.refreshAllInterceptors();
 
             // Delete the plugin configuration in the cache
             PluginConfigManager.cleanPluginConfigs(plugin);
@@ -176,40 +181,75 @@ public class PluginManager {
             LOGGER.log(Level.SEVERE, "An exception occurred while parsing the plugin package.", ioException);
             return;
         }
+        final List<String> names = new ArrayList<>();
         for (String pluginName : pluginNames) {
             if (PLUGIN_MAP.containsKey(pluginName)) {
                 LOGGER.log(Level.WARNING, "[INSTALL-PLUGINS] [{0}] Plugin: {0} has bean installed. "
                         + "It cannot be installed repeatedly.", pluginName);
                 continue;
             }
-            executeInit(isDynamic, pluginPackage, pluginName);
+            names.add(pluginName);
+        }
+
+        // Plugin packages are opened and checked in parallel, while plugins are initialized in the configured order
+        final Plugin[] plugins = new Plugin[names.size()];
+        final StartupScheduler scheduler = new StartupScheduler("plugin", getStartupParallelism());
+        for (int i = 0; i < names.size(); i++) {
+            final int index = i;
+            scheduler.addTask(names.get(i), Collections.emptyList(),
+                    () -> plugins[index] = executePrepare(isDynamic, pluginPackage, names.get(index)));
+        }
+        scheduler.run();
+        for (Plugin plugin : plugins) {
+            if (plugin != null) {
+                executeInit(plugin);
+            }
         }
     }
 
-    private static void executeInit(boolean isDynamic, String pluginPackage, String pluginName) {
+    private static int getStartupParallelism() {
+        final ServiceConfig serviceConfig = ConfigManager.getConfig(ServiceConfig.class);
+        return serviceConfig == null ? 1 : serviceConfig.getStartupParallelism();
+    }
+
+    private static Plugin executePrepare(boolean isDynamic, String pluginPackage, String pluginName) {
         try {
             // Remove the copy tag of the plugin name to obtain the actual resource directory
             final String pluginPath = pluginPackage + File.separatorChar + getRealPluginName(pluginName);
             if (!new File(pluginPath).exists()) {
                 LOGGER.log(Level.WARNING, "[INSTALL-PLUGINS] [{0}] Plugin directory {1} does not exist, so skip "
                         + "initializing {0}. ", new String[]{pluginName, pluginPath});
-                return;
+                return null;
             }
-            doInitPlugin(
-                    new Plugin(pluginName, pluginPath, isDynamic, ClassLoaderManager.createPluginClassLoader()));
+            final Plugin plugin =
+                    new Plugin(pluginName, pluginPath, isDynamic, ClassLoaderManager.createPluginClassLoader());
+            loadPluginLibs(plugin);
+            loadServiceLibs(plugin);
+            return plugin;
         } catch (Exception ex) {
-            LOGGER.log(Level.SEVERE, "[INSTALL-PLUGINS] [{0}] Load plugin failed, plugin name: {0}.", pluginName);
-            LOGGER.log(Level.SEVERE, "An exception occurred while loading plugin.", ex);
+            logLoadFailure(pluginName, ex);
+            return null;
         }
     }
 
+    private static void executeInit(Plugin plugin) {
+        try {
+            doInitPlugin(plugin);
+        } catch (Exception ex) {
+            logLoadFailure(plugin.getName(), ex);
+        }
+    }
+
+    private static void logLoadFailure(String pluginName, Exception ex) {
+        LOGGER.log(Level.SEVERE, "[INSTALL-PLUGINS] [{0}] Load plugin failed, plugin name: {0}.", pluginName);
+        LOGGER.log(Level.SEVERE, "An exception occurred while loading plugin.", ex);
+    }
+
     public static Map<String, Plugin> getPluginMap() {
         return PLUGIN_MAP;
     }
 
     private static void doInitPlugin(Plugin plugin) {
-        loadPluginLibs(plugin);
-        loadServiceLibs(plugin);
         PluginConfigManager.loadPluginConfigs(plugin);
         PluginServiceManager.initPluginServices(plugin);
 
@@ -259,7 +299,7 @@ public class PluginManager {
             @Override
             public void consume(JarFile jarFile) {
                 try {
-                    plugin.getPluginClassLoader().appendUrl(new File(jarFile.getName()).toURI().toURL());
+                    plugin.getPluginClassLoader().appendJar(jarFile);
                 } catch (MalformedURLException e) {
                     LOGGER.log(Level.SEVERE, "Add plugin path to pluginClassLoader fail, exception: ", e);
                 }
@@ -57,7 +57,6 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -92,6 +91,11 @@ public class BufferedAgentBuilder {
      */
     private final Plugin virtualPlugin = new Plugin("virtual-plugin", null, false, null);
 
+    /**
+     * Index used to skip the classes which are not transformed on the last startup, only set for static plugins
+     */
+    private TransformDecisionIndex transformDecisionIndex;
+
     private BufferedAgentBuilder() {
     }
 
@@ -141,7 +145,19 @@ public class BufferedAgentBuilder {
      * @return BufferedAgentBuilder
      */
     private BufferedAgentBuilder setIgnoredRule() {
-        return addAction(builder -> builder.ignore(new IgnoredMatcher(config)));
+        return addAction(builder -> builder.ignore(new IgnoredMatcher(config, transformDecisionIndex)));
+    }
+
+    /**
+     * Set the index of the classes which are not transformed on the last startup. The indexed classes are ignored
+     * directly, and the transform results of this run are recorded to the index
+     *
+     * @param index transform decision index
+     * @return BufferedAgentBuilder
+     */
+    public BufferedAgentBuilder setTransformDecisionIndex(TransformDecisionIndex index) {
+        this.transformDecisionIndex = index;
+        return addAction(builder -> builder.with(index.createListener()));
     }
 
     /**
@@ -329,15 +345,13 @@ public class BufferedAgentBuilder {
 
         private final Set<String> ignoredInterfaces;
 
-        /**
-         * unMatched Class Cache
-         */
-        private final Map<String, String> unMatchedClassCache = FileUtils.getUnMatchedClassCache();
+        private final TransformDecisionIndex transformDecisionIndex;
 
-        IgnoredMatcher(AgentConfig config) {
+        IgnoredMatcher(AgentConfig config, TransformDecisionIndex transformDecisionIndex) {
             ignoredPrefixes = config.getIgnoredPrefixes();
             serviceInjectList = config.getServiceInjectList();
             ignoredInterfaces = config.getIgnoredInterfaces();
+            this.transformDecisionIndex = transformDecisionIndex;
         }
 
         @Override
@@ -347,7 +361,8 @@ public class BufferedAgentBuilder {
                 return false;
             }
 
-            if (unMatchedClassCache.containsKey(typeDesc.getActualName())) {
+            if (transformDecisionIndex != null
+                    && transformDecisionIndex.isUnmatched(typeDesc, classLoader, protectionDomain)) {
                 return true;
             }
 
@@ -16,8 +16,10 @@
 
 package io.sermant.core.plugin.agent;
 
+import io.sermant.core.common.BootArgsIndexer;
 import io.sermant.core.config.ConfigManager;
 import io.sermant.core.plugin.Plugin;
+import io.sermant.core.plugin.PluginManager;
 import io.sermant.core.plugin.agent.collector.PluginCollector;
 import io.sermant.core.plugin.agent.config.AgentConfig;
 import io.sermant.core.plugin.agent.declarer.PluginDescription;
@@ -25,6 +27,7 @@ import io.sermant.core.plugin.agent.enhance.ClassLoaderDeclarer;
 import io.sermant.core.plugin.agent.enhance.OpenTelemetryAgentDeclarer;
 import io.sermant.core.service.ServiceConfig;
 import io.sermant.core.utils.FileUtils;
+import io.sermant.core.utils.StringUtils;
 
 import net.bytebuddy.agent.builder.AgentBuilder;
 import net.bytebuddy.agent.builder.AgentBuilder.RedefinitionStrategy;
@@ -32,7 +35,9 @@ import net.bytebuddy.agent.builder.AgentBuilder.RedefinitionStrategy.BatchAlloca
 import net.bytebuddy.agent.builder.AgentBuilder.RedefinitionStrategy.DiscoveryStrategy.Reiterating;
 import net.bytebuddy.agent.builder.ResettableClassFileTransformer;
 
+import java.io.File;
 import java.lang.instrument.Instrumentation;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -43,6 +48,13 @@ import java.util.List;
  * @since 2022-01-22
  */
 public class ByteEnhanceManager {
+    /**
+     * Default file name of the transform decision index
+     */
+    private static final String DEFAULT_TRANSFORM_INDEX_FILE = "transform_decision_index.bin";
+
+    private static final String CORE_DIR = "core";
+
     private static Instrumentation instrumentationCache;
 
     private static BufferedAgentBuilder builder;
@@ -68,20 +80,47 @@ public class ByteEnhanceManager {
      * Install classloader enhanced bytecode for premain only
      */
     public static void enhance() {
-        cacheUnmatchedClass();
-        builder.install(instrumentationCache);
-        saveUnMatchedClass();
+        final AgentConfig config = ConfigManager.getConfig(AgentConfig.class);
+        if (!config.isPreFilterEnable()) {
+            builder.install(instrumentationCache);
+            return;
+        }
+        final TransformDecisionIndex index =
+                TransformDecisionIndex.load(buildTransformIndexFile(config), computeFingerprint());
+        builder.setTransformDecisionIndex(index).install(instrumentationCache);
+        Runtime.getRuntime().addShutdownHook(new Thread(index::save));
     }
 
-    private static void saveUnMatchedClass() {
-        if (ConfigManager.getConfig(AgentConfig.class).isPreFilterEnable()) {
-            Runtime.getRuntime().addShutdownHook(new Thread(FileUtils::writeUnmatchedClassNameToFile
-            ));
+    private static File buildTransformIndexFile(AgentConfig config) {
+        String preFilterPath = config.getPreFilterPath();
+        if (StringUtils.isEmpty(preFilterPath)) {
+            preFilterPath = FileUtils.getAgentPath();
+        }
+        String preFilterFile = config.getPreFilterFile();
+        if (StringUtils.isEmpty(preFilterFile)) {
+            preFilterFile = DEFAULT_TRANSFORM_INDEX_FILE;
         }
+        return new File(preFilterPath, preFilterFile);
     }
 
-    private static void cacheUnmatchedClass() {
-        FileUtils.readUnmatchedClassNameFromFile();
+    /**
+     * The transform decisions depend on the agent, its configuration and the static plugins, all of them are
+     * included in the fingerprint of the index
+     *
+     * @return fingerprint
+     */
+    private static long computeFingerprint() {
+        final List<File> files = new ArrayList<>();
+        files.add(new File(FileUtils.getAgentPath(), CORE_DIR));
+        files.add(BootArgsIndexer.getImplementDir());
+        files.add(BootArgsIndexer.getConfigFile());
+        files.add(BootArgsIndexer.getPluginSettingFile());
+        PluginManager.getPluginMap().values().stream()
+                .filter(plugin -> !plugin.isDynamic() && plugin.getPath() != null)
+                .map(plugin -> new File(plugin.getPath()))
+                .sorted()
+                .forEach(files::add);
+        return TransformDecisionIndex.computeFingerprint(files.toArray(new File[0]));
     }
 
     /**
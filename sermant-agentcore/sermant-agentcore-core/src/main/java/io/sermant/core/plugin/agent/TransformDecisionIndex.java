@@ -0,0 +1,384 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.plugin.agent;
+
+import io.sermant.core.common.LoggerFactory;
+
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.utility.JavaModule;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.CodeSource;
+import java.security.ProtectionDomain;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Persistent index of the classes which are not transformed by the static plugins, used to skip the matching of these
+ * classes on the next startup.
+ * <p>Each entry is a 64-bit key of the class name and the stamp of the jar which defines the class, so that the entry
+ * is invalid once the jar is replaced. The whole index is bound to a fingerprint of the agent and the static plugins,
+ * and is discarded if the fingerprint does not match.
+ * <p>The index file is memory mapped and looked up by binary search without being copied to heap. Classes without a
+ * stable code source, such as the generated classes or the classes in a directory, are never indexed
+ *
+ * @author luanwenfei
+ * @since 2025-01-20
+ */
+public class TransformDecisionIndex {
+    /**
+     * Key of the class that can not be indexed
+     */
+    static final long NONE_KEY = 0L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger();
+
+    private static final int MAGIC = 0x53544449;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int HEADER_SIZE = 20;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final long BOOTSTRAP_STAMP = 1L;
+
+    private static final String FILE_PROTOCOL = "file";
+
+    private static final String JAR_PROTOCOL = "jar";
+
+    private static final String JAR_SEPARATOR = "!/";
+
+    /**
+     * Stamps of code source locations
+     */
+    private static final Map<String, Long> LOCATION_STAMPS = new ConcurrentHashMap<>();
+
+    private final File file;
+
+    private final long fingerprint;
+
+    /**
+     * Sorted keys of the loaded index, empty if the index file does not exist or is invalid
+     */
+    private final LongBuffer unmatchedKeys;
+
+    private final Set<Long> recordedUnmatchedKeys = ConcurrentHashMap.newKeySet();
+
+    private final Set<Long> recordedMatchedKeys = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The class being matched by the current thread, the listener callbacks have no protection domain, so the key
+     * calculated by the ignored matcher is passed to the listener through it
+     */
+    private final ThreadLocal<PendingClass> pendingClass = ThreadLocal.withInitial(PendingClass::new);
+
+    private TransformDecisionIndex(File file, long fingerprint, LongBuffer unmatchedKeys) {
+        this.file = file;
+        this.fingerprint = fingerprint;
+        this.unmatchedKeys = unmatchedKeys;
+    }
+
+    /**
+     * Load the index file, the loaded index is empty if the file does not exist or its fingerprint does not match
+     *
+     * @param file index file
+     * @param fingerprint fingerprint of the agent and the static plugins
+     * @return TransformDecisionIndex
+     */
+    public static TransformDecisionIndex load(File file, long fingerprint) {
+        return new TransformDecisionIndex(file, fingerprint, map(file, fingerprint));
+    }
+
+    private static LongBuffer map(File file, long fingerprint) {
+        final LongBuffer empty = LongBuffer.allocate(0);
+        if (!file.isFile() || file.length() < HEADER_SIZE) {
+            return empty;
+        }
+        try (RandomAccessFile accessFile = new RandomAccessFile(file, "r");
+                FileChannel channel = accessFile.getChannel()) {
+            final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION || buffer.getLong() != fingerprint) {
+                LOGGER.info("Transform decision index is outdated and will be rebuilt.");
+                return empty;
+            }
+            final int count = buffer.getInt();
+            if (count < 0 || (long) count * Long.BYTES != buffer.remaining()) {
+                LOGGER.warning("Transform decision index is broken and will be rebuilt.");
+                return empty;
+            }
+            return buffer.slice().asLongBuffer();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Fail to load transform decision index: {0}", e.getMessage());
+            return empty;
+        }
+    }
+
+    /**
+     * Whether the class is recorded as unmatched in the loaded index. The key of the class is kept for the listener
+     * created by {@link #createListener()} to record the transform result of the class
+     *
+     * @param typeDesc type description
+     * @param classLoader classloader
+     * @param protectionDomain protection domain
+     * @return whether the class is recorded as unmatched
+     */
+    public boolean isUnmatched(TypeDescription typeDesc, ClassLoader classLoader, ProtectionDomain protectionDomain) {
+        final long key = computeKey(typeDesc.getName(), classLoader, protectionDomain);
+        final PendingClass pending = pendingClass.get();
+        pending.name = typeDesc.getName();
+        pending.key = key;
+        return key != NONE_KEY && contains(key);
+    }
+
+    /**
+     * Whether the key is recorded as unmatched in the loaded index
+     *
+     * @param key key of the class
+     * @return whether the key is recorded
+     */
+    boolean contains(long key) {
+        int low = 0;
+        int high = unmatchedKeys.limit() - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final long midKey = unmatchedKeys.get(mid);
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Record the class that is not transformed in this run
+     *
+     * @param key key of the class
+     */
+    void recordUnmatched(long key) {
+        if (key != NONE_KEY) {
+            recordedUnmatchedKeys.add(key);
+        }
+    }
+
+    /**
+     * Record the class that is transformed in this run, it will not be saved as unmatched
+     *
+     * @param key key of the class
+     */
+    void recordMatched(long key) {
+        if (key != NONE_KEY) {
+            recordedMatchedKeys.add(key);
+        }
+    }
+
+    /**
+     * Create the listener that records the transform result of the classes checked by
+     * {@link #isUnmatched(TypeDescription, ClassLoader, ProtectionDomain)}
+     *
+     * @return listener
+     */
+    public AgentBuilder.Listener createListener() {
+        return new AgentBuilder.Listener.Adapter() {
+            @Override
+            public void onTransformation(TypeDescription typeDescription, ClassLoader classLoader, JavaModule module,
+                    boolean loaded, DynamicType dynamicType) {
+                recordMatched(takePendingKey(typeDescription.getName()));
+            }
+
+            @Override
+            public void onIgnored(TypeDescription typeDescription, ClassLoader classLoader, JavaModule module,
+                    boolean loaded) {
+                recordUnmatched(takePendingKey(typeDescription.getName()));
+            }
+        };
+    }
+
+    private long takePendingKey(String className) {
+        final PendingClass pending = pendingClass.get();
+        final long key = className.equals(pending.name) ? pending.key : NONE_KEY;
+        pending.name = null;
+        pending.key = NONE_KEY;
+        return key;
+    }
+
+    /**
+     * Save the classes that are not transformed in this run, the classes that are not loaded in this run are dropped
+     * so that the index does not grow unboundedly
+     */
+    public void save() {
+        final long[] keys = recordedUnmatchedKeys.stream().filter(key -> !recordedMatchedKeys.contains(key))
+                .mapToLong(Long::longValue).toArray();
+        Arrays.sort(keys);
+        final ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + keys.length * Long.BYTES);
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(fingerprint).putInt(keys.length);
+        buffer.asLongBuffer().put(keys);
+        final File tempFile = new File(file.getPath() + ".tmp");
+        try {
+            Files.write(tempFile.toPath(), buffer.array(), StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Fail to save transform decision index: {0}", e.getMessage());
+        }
+    }
+
+    /**
+     * Compute the key of the class
+     *
+     * @param className class name
+     * @param classLoader classloader
+     * @param protectionDomain protection domain
+     * @return key, {@link #NONE_KEY} if the class can not be indexed
+     */
+    static long computeKey(String className, ClassLoader classLoader, ProtectionDomain protectionDomain) {
+        final long stamp = classLoader == null ? BOOTSTRAP_STAMP : getStamp(protectionDomain);
+        if (stamp == NONE_KEY) {
+            return NONE_KEY;
+        }
+        final long key = mix(hash(FNV_OFFSET_BASIS, className) ^ stamp);
+        return key == NONE_KEY ? BOOTSTRAP_STAMP : key;
+    }
+
+    private static long getStamp(ProtectionDomain protectionDomain) {
+        if (protectionDomain == null) {
+            return NONE_KEY;
+        }
+        final CodeSource codeSource = protectionDomain.getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null) {
+            return NONE_KEY;
+        }
+        return LOCATION_STAMPS.computeIfAbsent(codeSource.getLocation().toExternalForm(),
+                TransformDecisionIndex::computeStamp);
+    }
+
+    private static long computeStamp(String location) {
+        final File jarFile = toJarFile(location);
+        if (jarFile == null || !jarFile.isFile()) {
+            return NONE_KEY;
+        }
+        return mix(hash(hash(FNV_OFFSET_BASIS, jarFile.getPath()), jarFile.length(), jarFile.lastModified()));
+    }
+
+    private static File toJarFile(String location) {
+        String fileLocation = location;
+        if (fileLocation.startsWith(JAR_PROTOCOL + ":")) {
+            // Use the outermost jar for nested jar, such as jar:file:/app.jar!/BOOT-INF/lib/lib.jar!/
+            fileLocation = fileLocation.substring(JAR_PROTOCOL.length() + 1);
+            final int separatorIndex = fileLocation.indexOf(JAR_SEPARATOR);
+            if (separatorIndex >= 0) {
+                fileLocation = fileLocation.substring(0, separatorIndex);
+            }
+        }
+        try {
+            final URL url = new URL(fileLocation);
+            if (!FILE_PROTOCOL.equals(url.getProtocol().toLowerCase(Locale.ROOT))) {
+                return null;
+            }
+            return new File(url.toURI());
+        } catch (IOException | IllegalArgumentException | URISyntaxException ignored) {
+            return null;
+        }
+    }
+
+    /**
+     * Compute the fingerprint of the files, a changed file results in a different fingerprint. Files in directories
+     * are included recursively
+     *
+     * @param files files or directories
+     * @return fingerprint
+     */
+    public static long computeFingerprint(File... files) {
+        long hash = hash(hash(FNV_OFFSET_BASIS, System.getProperty("java.version", "")), FORMAT_VERSION, 0L);
+        for (File file : files) {
+            hash = hashFile(hash, file);
+        }
+        return mix(hash);
+    }
+
+    private static long hashFile(long hash, File file) {
+        if (file == null || !file.exists()) {
+            return hash;
+        }
+        long result = hash(hash, file.getPath());
+        if (!file.isDirectory()) {
+            return hash(result, file.length(), file.lastModified());
+        }
+        final File[] children = file.listFiles();
+        if (children == null) {
+            return result;
+        }
+        Arrays.sort(children);
+        for (File child : children) {
+            result = hashFile(result, child);
+        }
+        return result;
+    }
+
+    private static long hash(long hash, String value) {
+        long result = hash;
+        for (int i = 0; i < value.length(); i++) {
+            result = (result ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return result;
+    }
+
+    private static long hash(long hash, long first, long second) {
+        return ((hash ^ first) * FNV_PRIME ^ second) * FNV_PRIME;
+    }
+
+    private static long mix(long value) {
+        long result = value;
+        result = (result ^ (result >>> 33)) * 0xff51afd7ed558ccdL;
+        result = (result ^ (result >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return result ^ (result >>> 33);
+    }
+
+    /**
+     * The class being matched by the current thread
+     *
+     * @since 2025-01-20
+     */
+    private static class PendingClass {
+        private String name;
+
+        private long key = NONE_KEY;
+    }
+}
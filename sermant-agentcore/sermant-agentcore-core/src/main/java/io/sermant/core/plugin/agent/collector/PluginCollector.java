@@ -17,9 +17,7 @@
 package io.sermant.core.plugin.agent.collector;
 
 import io.sermant.core.common.LoggerFactory;
-import io.sermant.core.config.ConfigManager;
 import io.sermant.core.plugin.Plugin;
-import io.sermant.core.plugin.agent.config.AgentConfig;
 import io.sermant.core.plugin.agent.declarer.AbstractPluginDescription;
 import io.sermant.core.plugin.agent.declarer.InterceptDeclarer;
 import io.sermant.core.plugin.agent.declarer.PluginDeclarer;
@@ -28,7 +26,6 @@ import io.sermant.core.plugin.agent.matcher.ClassMatcher;
 import io.sermant.core.plugin.agent.matcher.ClassTypeMatcher;
 import io.sermant.core.plugin.agent.transformer.ReentrantTransformer;
 import io.sermant.core.plugin.classloader.PluginClassLoader;
-import io.sermant.core.utils.FileUtils;
 
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.DynamicType.Builder;
@@ -38,10 +35,13 @@ import net.bytebuddy.utility.JavaModule;
 import java.security.ProtectionDomain;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -55,7 +55,10 @@ import java.util.logging.Logger;
 public class PluginCollector {
     private static final Logger LOGGER = LoggerFactory.getLogger();
 
-    private static final boolean IS_PRE_FILTER_ENABLE = ConfigManager.getConfig(AgentConfig.class).isPreFilterEnable();
+    /**
+     * Class matching cost of plugins, key: plugin name
+     */
+    private static final Map<String, PluginMatchMetrics> MATCH_METRICS = new ConcurrentHashMap<>();
 
     private PluginCollector() {
     }
@@ -114,11 +117,13 @@ public class PluginCollector {
                 combinedList.add(pluginDeclarer);
             }
         }
-        return createPluginDescription(plugin, nameCombinedMap, combinedList);
+        return createPluginDescription(plugin, nameCombinedMap, new PluginDeclarerIndex(combinedList));
     }
 
     private static AbstractPluginDescription createPluginDescription(Plugin plugin,
-            Map<String, List<PluginDeclarer>> nameCombinedMap, List<PluginDeclarer> combinedList) {
+            Map<String, List<PluginDeclarer>> nameCombinedMap, PluginDeclarerIndex declarerIndex) {
+        final PluginMatchMetrics metrics = MATCH_METRICS.computeIfAbsent(plugin.getName(),
+                key -> new PluginMatchMetrics());
         return new AbstractPluginDescription() {
             @Override
             public Builder<?> transform(Builder<?> builder, TypeDescription typeDescription, ClassLoader classLoader,
@@ -129,16 +134,27 @@ public class PluginCollector {
 
             @Override
             public boolean matches(TypeDescription target) {
+                final long startTime = System.nanoTime();
                 final String typeName = target.getActualName();
-                doMatch(target, typeName, combinedList, nameCombinedMap);
-                return nameCombinedMap.containsKey(typeName);
+                final int evaluated = doMatch(target, typeName, declarerIndex, nameCombinedMap);
+                final boolean isMatched = nameCombinedMap.containsKey(typeName);
+                metrics.record(isMatched, evaluated, declarerIndex.size() - evaluated,
+                        System.nanoTime() - startTime);
+                return isMatched;
             }
         };
     }
 
-    private static void doMatch(TypeDescription target, String typeName, List<PluginDeclarer> combinedList,
+    private static int doMatch(TypeDescription target, String typeName, PluginDeclarerIndex declarerIndex,
             Map<String, List<PluginDeclarer>> nameCombinedMap) {
-        for (PluginDeclarer declarer : combinedList) {
+        if (declarerIndex.size() == 0) {
+            return 0;
+        }
+        final BitSet candidates = declarerIndex.getCandidates(target);
+        int evaluated = 0;
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            evaluated++;
+            final PluginDeclarer declarer = declarerIndex.get(i);
             if (matchTarget(declarer.getClassMatcher(), target)) {
                 List<PluginDeclarer> declarers = nameCombinedMap.computeIfAbsent(typeName,
                         key -> new ArrayList<>());
@@ -147,6 +163,16 @@ public class PluginCollector {
                 }
             }
         }
+        return evaluated;
+    }
+
+    /**
+     * Get the class matching cost of plugins
+     *
+     * @return key: plugin name, value: matching cost
+     */
+    public static Map<String, PluginMatchMetrics> getMatchMetrics() {
+        return Collections.unmodifiableMap(MATCH_METRICS);
     }
 
     private static Builder<?> doTransform(Builder<?> builder, TypeDescription typeDescription, ClassLoader classLoader,
@@ -197,12 +223,7 @@ public class PluginCollector {
 
     private static boolean matchTarget(ElementMatcher<TypeDescription> matcher, TypeDescription target) {
         try {
-            boolean result = matcher.matches(target);
-            if (IS_PRE_FILTER_ENABLE && !result) {
-                FileUtils.addToUnmatchedClassCache(target.getActualName());
-            }
-
-            return result;
+            return matcher.matches(target);
         } catch (Exception exception) {
             LOGGER.log(Level.WARNING, "Exception occurs when match target: " + target.getActualName() + ",{0}",
                     exception.getMessage());
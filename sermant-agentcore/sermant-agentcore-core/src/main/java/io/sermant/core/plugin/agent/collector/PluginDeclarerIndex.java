@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.plugin.agent.collector;
+
+import io.sermant.core.plugin.agent.declarer.PluginDeclarer;
+import io.sermant.core.plugin.agent.matcher.ClassMatcher;
+import io.sermant.core.plugin.agent.matcher.IndexHint;
+
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.type.TypeDefinition;
+import net.bytebuddy.description.type.TypeDescription;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Index of the plugin declarers whose class matchers are not name based. Declarers are grouped by the super type
+ * names and the annotation names required by the {@link IndexHint} of their class matchers, so that only the
+ * declarers relevant to the super types and annotations of a class are evaluated. Declarers without hint are always
+ * evaluated
+ *
+ * @author luanwenfei
+ * @since 2025-01-22
+ */
+final class PluginDeclarerIndex {
+    private final List<PluginDeclarer> declarers;
+
+    /**
+     * Declarers which must be evaluated for every class
+     */
+    private final BitSet unindexedDeclarers = new BitSet();
+
+    private final Map<String, BitSet> superTypeIndex = new HashMap<>();
+
+    private final Map<String, BitSet> annotationIndex = new HashMap<>();
+
+    PluginDeclarerIndex(List<PluginDeclarer> declarers) {
+        this.declarers = declarers;
+        for (int i = 0; i < declarers.size(); i++) {
+            final ClassMatcher classMatcher = declarers.get(i).getClassMatcher();
+            final IndexHint hint = classMatcher == null ? null : classMatcher.getIndexHint();
+            if (hint == null) {
+                unindexedDeclarers.set(i);
+                continue;
+            }
+            for (String superTypeName : hint.getSuperTypeNames()) {
+                superTypeIndex.computeIfAbsent(superTypeName, key -> new BitSet()).set(i);
+            }
+            for (String annotationName : hint.getAnnotationNames()) {
+                annotationIndex.computeIfAbsent(annotationName, key -> new BitSet()).set(i);
+            }
+        }
+    }
+
+    int size() {
+        return declarers.size();
+    }
+
+    PluginDeclarer get(int index) {
+        return declarers.get(index);
+    }
+
+    /**
+     * Get the declarers that may match the class
+     *
+     * @param target class
+     * @return indexes of the candidate declarers, in the order of declaration
+     */
+    BitSet getCandidates(TypeDescription target) {
+        final BitSet candidates = (BitSet) unindexedDeclarers.clone();
+        if (candidates.cardinality() == declarers.size()) {
+            return candidates;
+        }
+        try {
+            if (!superTypeIndex.isEmpty()) {
+                collectSuperTypes(target, candidates);
+            }
+            if (!annotationIndex.isEmpty()) {
+                for (AnnotationDescription annotation : target.getInheritedAnnotations()) {
+                    orIfPresent(candidates, annotationIndex.get(annotation.getAnnotationType().getActualName()));
+                }
+            }
+        } catch (RuntimeException ignored) {
+            // The type hierarchy can not be resolved, evaluate all declarers to report the failure as before
+            candidates.set(0, declarers.size());
+        }
+        return candidates;
+    }
+
+    private void collectSuperTypes(TypeDescription target, BitSet candidates) {
+        final Set<String> visited = new HashSet<>();
+        final Queue<TypeDefinition> queue = new ArrayDeque<>();
+        queue.add(target);
+        for (TypeDefinition current = queue.poll(); current != null; current = queue.poll()) {
+            final String typeName = current.getActualName();
+            if (!visited.add(typeName)) {
+                continue;
+            }
+            orIfPresent(candidates, superTypeIndex.get(typeName));
+            queue.addAll(current.getInterfaces().asErasures());
+            final TypeDefinition superClass = current.getSuperClass();
+            if (superClass != null) {
+                queue.add(superClass.asErasure());
+            }
+        }
+    }
+
+    private static void orIfPresent(BitSet candidates, BitSet declarerIndexes) {
+        if (declarerIndexes != null) {
+            candidates.or(declarerIndexes);
+        }
+    }
+}
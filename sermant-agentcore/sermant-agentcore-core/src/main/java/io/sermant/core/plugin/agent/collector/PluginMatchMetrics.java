@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.plugin.agent.collector;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class matching cost of a plugin
+ *
+ * @author luanwenfei
+ * @since 2025-01-22
+ */
+public class PluginMatchMetrics {
+    private final LongAdder checkedTypes = new LongAdder();
+
+    private final LongAdder matchedTypes = new LongAdder();
+
+    private final LongAdder evaluatedDeclarers = new LongAdder();
+
+    private final LongAdder skippedDeclarers = new LongAdder();
+
+    private final LongAdder costNanos = new LongAdder();
+
+    void record(boolean isMatched, int evaluated, int skipped, long nanos) {
+        checkedTypes.increment();
+        if (isMatched) {
+            matchedTypes.increment();
+        }
+        evaluatedDeclarers.add(evaluated);
+        skippedDeclarers.add(skipped);
+        costNanos.add(nanos);
+    }
+
+    public long getCheckedTypes() {
+        return checkedTypes.sum();
+    }
+
+    public long getMatchedTypes() {
+        return matchedTypes.sum();
+    }
+
+    public long getEvaluatedDeclarers() {
+        return evaluatedDeclarers.sum();
+    }
+
+    public long getSkippedDeclarers() {
+        return skippedDeclarers.sum();
+    }
+
+    public long getCostNanos() {
+        return costNanos.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "checkedTypes=%d, matchedTypes=%d, evaluatedDeclarers=%d, skippedDeclarers=%d, cost=%dms",
+                getCheckedTypes(), getMatchedTypes(), getEvaluatedDeclarers(), getSkippedDeclarers(),
+                TimeUnit.NANOSECONDS.toMillis(getCostNanos()));
+    }
+}
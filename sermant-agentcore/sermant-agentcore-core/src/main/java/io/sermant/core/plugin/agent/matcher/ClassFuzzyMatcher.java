@@ -50,7 +50,14 @@ public abstract class ClassFuzzyMatcher extends ClassMatcher {
      */
     public ClassFuzzyMatcher and(ElementMatcher<TypeDescription> matcher) {
         final ClassFuzzyMatcher thisMatcher = this;
+        final IndexHint indexHint = matcher instanceof ClassMatcher
+                ? IndexHint.and(thisMatcher, (ClassMatcher) matcher) : thisMatcher.getIndexHint();
         return new ClassFuzzyMatcher() {
+            @Override
+            public IndexHint getIndexHint() {
+                return indexHint;
+            }
+
             @Override
             public boolean matches(TypeDescription typeDescription) {
                 return thisMatcher.matches(typeDescription) && matcher.matches(typeDescription);
@@ -66,7 +73,14 @@ public abstract class ClassFuzzyMatcher extends ClassMatcher {
      */
     public ClassFuzzyMatcher or(ElementMatcher<TypeDescription> matcher) {
         final ClassFuzzyMatcher thisMatcher = this;
+        final IndexHint indexHint =
+                matcher instanceof ClassMatcher ? IndexHint.or(thisMatcher, (ClassMatcher) matcher) : null;
         return new ClassFuzzyMatcher() {
+            @Override
+            public IndexHint getIndexHint() {
+                return indexHint;
+            }
+
             @Override
             public boolean matches(TypeDescription typeDescription) {
                 return thisMatcher.matches(typeDescription) || matcher.matches(typeDescription);
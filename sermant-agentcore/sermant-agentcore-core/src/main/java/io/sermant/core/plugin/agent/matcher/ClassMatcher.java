@@ -44,6 +44,16 @@ import java.util.Set;
  * @since 2022-01-24
  */
 public abstract class ClassMatcher implements ElementMatcher<TypeDescription> {
+    /**
+     * Get the necessary condition of the matcher, which is used to skip the matcher for the classes that can never be
+     * matched
+     *
+     * @return IndexHint, null if the matcher can not be indexed and must be evaluated for every class
+     */
+    public IndexHint getIndexHint() {
+        return null;
+    }
+
     /**
      * Match classes with exact name
      *
@@ -161,7 +171,14 @@ public abstract class ClassMatcher implements ElementMatcher<TypeDescription> {
      * @return ClassFuzzyMatcher
      */
     public static ClassFuzzyMatcher isAnnotatedWith(String... annotations) {
+        final IndexHint indexHint =
+                annotations.length == 0 ? null : IndexHint.ofAnnotations(Collections.singleton(annotations[0]));
         return new ClassFuzzyMatcher() {
+            @Override
+            public IndexHint getIndexHint() {
+                return indexHint;
+            }
+
             @Override
             public boolean matches(TypeDescription typeDescription) {
                 final Set<String> annotationSet = new HashSet<String>(Arrays.asList(annotations));
@@ -182,7 +199,14 @@ public abstract class ClassMatcher implements ElementMatcher<TypeDescription> {
      */
     @SafeVarargs
     public static ClassFuzzyMatcher isAnnotatedWith(Class<? extends Annotation>... annotations) {
+        final IndexHint indexHint = annotations.length == 0 ? null
+                : IndexHint.ofAnnotations(Collections.singleton(annotations[0].getName()));
         return new ClassFuzzyMatcher() {
+            @Override
+            public IndexHint getIndexHint() {
+                return indexHint;
+            }
+
             @Override
             public boolean matches(TypeDescription typeDescription) {
                 return isAnnotatedWithMatch(typeDescription, annotations);
@@ -197,7 +221,14 @@ public abstract class ClassMatcher implements ElementMatcher<TypeDescription> {
      * @return ClassFuzzyMatcher
      */
     public static ClassFuzzyMatcher isExtendedFrom(String... superTypes) {
+        final IndexHint indexHint =
+                superTypes.length == 0 ? null : IndexHint.ofSuperTypes(Collections.singleton(superTypes[0]));
         return new ClassFuzzyMatcher() {
+            @Override
+            public IndexHint getIndexHint() {
+                return indexHint;
+            }
+
             @Override
             public boolean matches(TypeDescription typeDescription) {
                 return superTypeCheck(typeDescription, Arrays.asList(superTypes));
@@ -216,7 +247,14 @@ public abstract class ClassMatcher implements ElementMatcher<TypeDescription> {
         for (Class<?> superType : superTypes) {
             superTypeNames.add(superType.getName());
         }
+        final IndexHint indexHint = superTypeNames.isEmpty() ? null
+                : IndexHint.ofSuperTypes(Collections.singleton(superTypeNames.iterator().next()));
         return new ClassFuzzyMatcher() {
+            @Override
+            public IndexHint getIndexHint() {
+                return indexHint;
+            }
+
             @Override
             public boolean matches(TypeDescription typeDescription) {
                 return superTypeCheck(typeDescription, superTypeNames);
@@ -291,7 +329,13 @@ public abstract class ClassMatcher implements ElementMatcher<TypeDescription> {
      * @return ClassFuzzyMatcher
      */
     public static ClassFuzzyMatcher and(ClassMatcher... matchers) {
+        final IndexHint indexHint = IndexHint.and(matchers);
         return new ClassFuzzyMatcher() {
+            @Override
+            public IndexHint getIndexHint() {
+                return indexHint;
+            }
+
             @Override
             public boolean matches(TypeDescription typeDescription) {
                 return andMatch(typeDescription, matchers);
@@ -306,7 +350,13 @@ public abstract class ClassMatcher implements ElementMatcher<TypeDescription> {
      * @return ClassFuzzyMatcher
      */
     public static ClassFuzzyMatcher or(ClassMatcher... matchers) {
+        final IndexHint indexHint = IndexHint.or(matchers);
         return new ClassFuzzyMatcher() {
+            @Override
+            public IndexHint getIndexHint() {
+                return indexHint;
+            }
+
             @Override
             public boolean matches(TypeDescription typeDescription) {
                 return orMatch(typeDescription, matchers);
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.plugin.agent.matcher;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Necessary condition of a {@link ClassMatcher}, a class can be matched only if one of its super types (including
+ * itself) is in {@link #getSuperTypeNames()}, or one of its inherited annotations is in
+ * {@link #getAnnotationNames()}. It is used to index the matchers, so that a matcher is evaluated only for the classes
+ * which satisfy its necessary condition
+ *
+ * @author luanwenfei
+ * @since 2025-01-22
+ */
+public final class IndexHint {
+    private final Set<String> superTypeNames;
+
+    private final Set<String> annotationNames;
+
+    private IndexHint(Set<String> superTypeNames, Set<String> annotationNames) {
+        this.superTypeNames = superTypeNames;
+        this.annotationNames = annotationNames;
+    }
+
+    /**
+     * Create the hint that requires one of the super types
+     *
+     * @param superTypeNames super type names
+     * @return IndexHint
+     */
+    public static IndexHint ofSuperTypes(Collection<String> superTypeNames) {
+        return new IndexHint(Collections.unmodifiableSet(new HashSet<>(superTypeNames)), Collections.emptySet());
+    }
+
+    /**
+     * Create the hint that requires one of the annotations
+     *
+     * @param annotationNames annotation names
+     * @return IndexHint
+     */
+    public static IndexHint ofAnnotations(Collection<String> annotationNames) {
+        return new IndexHint(Collections.emptySet(), Collections.unmodifiableSet(new HashSet<>(annotationNames)));
+    }
+
+    /**
+     * Hint of the logical operation {@code and}, any hint of the matchers is a necessary condition, the narrowest one
+     * is chosen
+     *
+     * @param matchers matchers
+     * @return IndexHint, null if none of the matchers can be indexed
+     */
+    static IndexHint and(ClassMatcher... matchers) {
+        IndexHint result = null;
+        for (ClassMatcher matcher : matchers) {
+            final IndexHint hint = matcher.getIndexHint();
+            if (hint != null && (result == null || hint.size() < result.size())) {
+                result = hint;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Hint of the logical operation {@code or}, which is the union of the hints of all matchers
+     *
+     * @param matchers matchers
+     * @return IndexHint, null if any of the matchers can not be indexed
+     */
+    static IndexHint or(ClassMatcher... matchers) {
+        final Set<String> superTypes = new HashSet<>();
+        final Set<String> annotations = new HashSet<>();
+        for (ClassMatcher matcher : matchers) {
+            final IndexHint hint = matcher.getIndexHint();
+            if (hint == null) {
+                return null;
+            }
+            superTypes.addAll(hint.superTypeNames);
+            annotations.addAll(hint.annotationNames);
+        }
+        return new IndexHint(Collections.unmodifiableSet(superTypes), Collections.unmodifiableSet(annotations));
+    }
+
+    private int size() {
+        return superTypeNames.size() + annotationNames.size();
+    }
+
+    public Set<String> getSuperTypeNames() {
+        return superTypeNames;
+    }
+
+    public Set<String> getAnnotationNames() {
+        return annotationNames;
+    }
+}
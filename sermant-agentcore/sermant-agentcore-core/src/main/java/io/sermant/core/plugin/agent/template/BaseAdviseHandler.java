@@ -17,9 +17,11 @@
 package io.sermant.core.plugin.agent.template;
 
 import io.sermant.core.common.LoggerFactory;
+import io.sermant.core.plugin.agent.adviser.AdviceKeyIndexer;
 import io.sermant.core.plugin.agent.entity.ExecuteContext;
 import io.sermant.core.plugin.agent.interceptor.Interceptor;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Locale;
@@ -40,6 +42,13 @@ public class BaseAdviseHandler {
 
     private static final Map<String, List<Interceptor>> INTERCEPTOR_LIST_MAP = new ConcurrentHashMap<>();
 
+    private static final int INITIAL_CAPACITY = 256;
+
+    /**
+     * Snapshot of {@link #INTERCEPTOR_LIST_MAP} indexed by the index of the adviceKey, see {@link AdviceKeyIndexer}
+     */
+    private static volatile Interceptor[][] interceptorTable = new Interceptor[INITIAL_CAPACITY][];
+
     private BaseAdviseHandler() {
     }
 
@@ -64,6 +73,58 @@ public class BaseAdviseHandler {
         return handleMethodEnter(context, context.getInterceptorIterator(), enterHandler);
     }
 
+    /**
+     * Adviser logic of method enter, the interceptors are resolved by the index of the adviceKey
+     *
+     * @param context ExecuteContext
+     * @param adviceIndex index of the adviceKey, see {@link AdviceKeyIndexer}
+     * @param enterHandler exception handler of onEnter
+     * @return ExecuteContext
+     * @throws Throwable throws to the host instance
+     */
+    public static ExecuteContext handleMethodEnter(ExecuteContext context, int adviceIndex,
+            ExceptionHandler enterHandler) throws Throwable {
+        Interceptor[] interceptorChain = getInterceptors(adviceIndex);
+        if (interceptorChain == null) {
+            return context;
+        }
+        context.setInterceptorChain(interceptorChain);
+        context.setInterceptorCursor(0);
+        ExecuteContext newContext = context;
+        for (int i = 0; i < interceptorChain.length; i++) {
+            final Interceptor interceptor = interceptorChain[i];
+            context.setInterceptorCursor(i + 1);
+            try {
+                if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.log(Level.FINE,
+                            String.format(Locale.ROOT, "Method[%s] had been entered, interceptor is [%s].",
+                                    MethodKeyCreator.getMethodKey(context.getMethod()),
+                                    interceptor.getClass().getName()));
+                }
+                try {
+                    final ExecuteContext tempContext = interceptor.before(newContext);
+                    if (tempContext != null) {
+                        newContext = tempContext;
+                    }
+                    if (newContext.isSkip()) {
+                        return newContext;
+                    }
+                } catch (Throwable t) {
+                    enterHandler.handle(context, interceptor, t);
+                }
+            } catch (Exception exception) {
+                LOGGER.log(Level.SEVERE, "Exception occurs when method enter.", exception);
+                return newContext;
+            }
+
+            // Specifies that an exception is thrown to the host instance
+            if (newContext.getThrowableOut() != null) {
+                throw newContext.getThrowableOut();
+            }
+        }
+        return newContext;
+    }
+
     /**
      * logic of onEnter
      *
@@ -130,6 +191,65 @@ public class BaseAdviseHandler {
         return handleMethodExit(context, context.getInterceptorIterator(), throwHandler, exitHandler);
     }
 
+    /**
+     * Adviser logic of method exit, the interceptors entered by {@link #handleMethodEnter(ExecuteContext, int,
+     * ExceptionHandler)} are executed in reverse order
+     *
+     * @param context ExecuteContext
+     * @param adviceIndex index of the adviceKey, see {@link AdviceKeyIndexer}
+     * @param throwHandler exception handler of onThrow
+     * @param exitHandler exception handler of onExit
+     * @return ExecuteContext
+     * @throws Throwable throws to the host instance
+     */
+    public static ExecuteContext handleMethodExit(ExecuteContext context, int adviceIndex,
+            ExceptionHandler throwHandler, ExceptionHandler exitHandler) throws Throwable {
+        final Interceptor[] interceptorChain = context.getInterceptorChain();
+        if (interceptorChain == null || getInterceptors(adviceIndex) == null) {
+            return context;
+        }
+        ExecuteContext newContext = context;
+        for (int i = context.getInterceptorCursor() - 1; i >= 0; i--) {
+            final Interceptor interceptor = interceptorChain[i];
+            try {
+                if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.log(Level.FINE,
+                            String.format(Locale.ROOT, "Method[%s] had been exited, interceptor is [%s].",
+                                    MethodKeyCreator.getMethodKey(context.getMethod()),
+                                    interceptor.getClass().getName()));
+                }
+                if (newContext.getThrowable() != null && throwHandler != null) {
+                    try {
+                        final ExecuteContext tempContext = interceptor.onThrow(newContext);
+                        if (tempContext != null) {
+                            newContext = tempContext;
+                        }
+                    } catch (Throwable t) {
+                        throwHandler.handle(newContext, interceptor, t);
+                    }
+                    if (newContext.getThrowableOut() != null) {
+                        throw newContext.getThrowableOut();
+                    }
+                }
+                try {
+                    final ExecuteContext tempContext = interceptor.after(newContext);
+                    if (tempContext != null) {
+                        newContext = tempContext;
+                    }
+                } catch (Throwable t) {
+                    exitHandler.handle(newContext, interceptor, t);
+                }
+            } catch (Exception exception) {
+                LOGGER.log(Level.SEVERE, "Exception occurs when method exit.", exception);
+                return newContext;
+            }
+            if (newContext.getThrowableOut() != null) {
+                throw newContext.getThrowableOut();
+            }
+        }
+        return newContext;
+    }
+
     /**
      * logic for onExit&onThrow
      *
@@ -188,6 +308,48 @@ public class BaseAdviseHandler {
         return INTERCEPTOR_LIST_MAP;
     }
 
+    /**
+     * Get the interceptors of the adviceKey by index
+     *
+     * @param adviceIndex index of the adviceKey, see {@link AdviceKeyIndexer}
+     * @return interceptors, null if no interceptor is registered for the adviceKey
+     */
+    public static Interceptor[] getInterceptors(int adviceIndex) {
+        final Interceptor[][] table = interceptorTable;
+        if (adviceIndex < 0 || adviceIndex >= table.length) {
+            return null;
+        }
+        return table[adviceIndex];
+    }
+
+    /**
+     * Refresh the indexed interceptors of the adviceKey, it must be called after the interceptor list of the adviceKey
+     * in {@link #getInterceptorListMap()} is modified
+     *
+     * @param adviceKey adviceKey
+     */
+    public static synchronized void refreshInterceptors(String adviceKey) {
+        final int adviceIndex = AdviceKeyIndexer.getIndex(adviceKey);
+        final List<Interceptor> interceptorList = INTERCEPTOR_LIST_MAP.get(adviceKey);
+        Interceptor[][] table = interceptorTable;
+        if (adviceIndex >= table.length) {
+            table = Arrays.copyOf(table, Math.max(table.length << 1, adviceIndex + 1));
+        }
+        table[adviceIndex] = interceptorList == null ? null : interceptorList.toArray(new Interceptor[0]);
+
+        // Republish the table so that the modified slot is visible to the threads reading the volatile reference
+        interceptorTable = table;
+    }
+
+    /**
+     * Refresh the indexed interceptors of all adviceKeys
+     */
+    public static synchronized void refreshAllInterceptors() {
+        for (String adviceKey : INTERCEPTOR_LIST_MAP.keySet()) {
+            refreshInterceptors(adviceKey);
+        }
+    }
+
     /**
      * Exception Handler Interface
      *
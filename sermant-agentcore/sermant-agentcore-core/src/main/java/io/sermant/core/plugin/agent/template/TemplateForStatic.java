@@ -39,9 +39,8 @@ public class TemplateForStatic {
      *
      * @param cls enhanced class
      * @param method the method being enhanced
-     * @param methodKey method key, which is used to find template class
      * @param arguments arguments of method
-     * @param adviceKey advice class name
+     * @param adviceIndex index of the adviceKey, which is resolved at transform time
      * @param context execute context
      * @param isSkip Whether to skip the main execution of method
      * @return Skip result
@@ -49,14 +48,12 @@ public class TemplateForStatic {
      */
     @Advice.OnMethodEnter(skipOn = Advice.OnNonDefaultValue.class)
     public static boolean onMethodEnter(@Advice.Origin Class<?> cls, @Advice.Origin Method method,
-            @Advice.Origin("#t\\##m#s") String methodKey,
             @Advice.AllArguments(readOnly = false, typing = Assigner.Typing.DYNAMIC) Object[] arguments,
-            @Advice.Local(value = "_ADVICE_KEY_$SERMANT_LOCAL") String adviceKey,
+            @AdviceKeyIndex int adviceIndex,
             @Advice.Local(value = "_EXECUTE_CONTEXT_$SERMANT_LOCAL") Object context,
             @Advice.Local(value = "_IS_SKIP_$SERMANT_LOCAL") Boolean isSkip) throws Throwable {
-        adviceKey = "TemplateForStatic_" + Integer.toHexString(methodKey.hashCode()) + "_" + cls.getClassLoader();
         context = ExecuteContext.forStaticMethod(cls, method, arguments, null);
-        context = AdviserScheduler.onMethodEnter(context, adviceKey);
+        context = AdviserScheduler.onMethodEnter(context, adviceIndex);
         arguments = ((ExecuteContext) context).getArguments();
         isSkip = ((ExecuteContext) context).isSkip();
         return isSkip;
@@ -67,7 +64,7 @@ public class TemplateForStatic {
      *
      * @param result Method execution result
      * @param throwable Method execution exception
-     * @param adviceKey advice class name
+     * @param adviceIndex index of the adviceKey, which is resolved at transform time
      * @param context execute context
      * @param isSkip Whether to skip the main execution of method
      * @throws Throwable execute exception
@@ -75,11 +72,11 @@ public class TemplateForStatic {
     @Advice.OnMethodExit(onThrowable = Throwable.class)
     public static void onMethodExit(@Advice.Return(readOnly = false, typing = Assigner.Typing.DYNAMIC) Object result,
             @Advice.Thrown(readOnly = false) Throwable throwable,
-            @Advice.Local(value = "_ADVICE_KEY_$SERMANT_LOCAL") String adviceKey,
+            @AdviceKeyIndex int adviceIndex,
             @Advice.Local(value = "_EXECUTE_CONTEXT_$SERMANT_LOCAL") Object context,
             @Advice.Local(value = "_IS_SKIP_$SERMANT_LOCAL") Boolean isSkip) throws Throwable {
         context = isSkip ? context : ((ExecuteContext) context).afterMethod(result, throwable);
-        context = AdviserScheduler.onMethodExit(context, adviceKey);
+        context = AdviserScheduler.onMethodExit(context, adviceIndex);
         result = ((ExecuteContext) context).getResult();
         if (((ExecuteContext) context).isChangeThrowable()) {
             throwable = ((ExecuteContext) context).getThrowable();
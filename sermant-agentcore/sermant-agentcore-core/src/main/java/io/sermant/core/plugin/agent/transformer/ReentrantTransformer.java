@@ -17,10 +17,12 @@
 package io.sermant.core.plugin.agent.transformer;
 
 import io.sermant.core.plugin.Plugin;
+import io.sermant.core.plugin.agent.adviser.AdviceKeyIndexer;
 import io.sermant.core.plugin.agent.adviser.AdviserScheduler;
 import io.sermant.core.plugin.agent.declarer.InterceptDeclarer;
 import io.sermant.core.plugin.agent.info.EnhancementManager;
 import io.sermant.core.plugin.agent.interceptor.Interceptor;
+import io.sermant.core.plugin.agent.template.AdviceKeyIndex;
 import io.sermant.core.plugin.agent.template.BaseAdviseHandler;
 import io.sermant.core.plugin.agent.template.MethodKeyCreator;
 
@@ -72,10 +74,15 @@ public class ReentrantTransformer extends AbstractTransformer {
                 createdInterceptorForAdviceKey.add(interceptor.getClass().getCanonicalName());
             }
         }
+        BaseAdviseHandler.refreshInterceptors(adviceKey);
         EnhancementManager.addEnhancements(plugin, interceptors, classLoader,
                 MethodKeyCreator.getMethodDescKey(methodDesc));
         if (checkAdviceLock(adviceKey)) {
-            return builder.visit(Advice.to(templateCls).on(ElementMatchers.is(methodDesc)));
+            // The index of adviceKey is woven as a constant, so the advice does not need to build adviceKey per call
+            return builder.visit(Advice.withCustomMapping()
+                    .bind(AdviceKeyIndex.class, AdviceKeyIndexer.getIndex(adviceKey))
+                    .to(templateCls)
+                    .on(ElementMatchers.is(methodDesc)));
         }
         return builder;
     }
@@ -20,9 +20,9 @@ import io.sermant.core.common.LoggerFactory;
 import io.sermant.core.plugin.Plugin;
 
 import java.net.URL;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 /**
@@ -37,7 +37,7 @@ public class PluginClassFinder {
      */
     private static final Logger LOGGER = LoggerFactory.getLogger();
 
-    private final Map<String, PluginClassLoader> pluginClassLoaderMap = new HashMap<>();
+    private final Map<String, PluginClassLoader> pluginClassLoaderMap = new ConcurrentHashMap<>();
 
     /**
      * Cache pluginClassLoader
@@ -20,17 +20,27 @@ import io.sermant.core.common.LoggerFactory;
 import io.sermant.core.config.ConfigManager;
 import io.sermant.core.plugin.agent.config.AgentConfig;
 
+import java.io.File;
 import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * The classloader that loads the main plugin-module of the plugin
+ * <p>The names of the classes in the plugin jars are indexed when the jars are appended, so that the classes not
+ * belonging to the plugin are rejected without searching the jars. The loader is parallel capable, the loaded classes
+ * and the missed class names are cached in concurrent containers, and only the definition of a plugin class is
+ * guarded by the lock of the class name
  *
  * @author luanwenfei
  * @since 2023-04-27
@@ -41,7 +51,24 @@ public class PluginClassLoader extends URLClassLoader {
      */
     private static final Logger LOGGER = LoggerFactory.getLogger();
 
-    private final HashMap<Long, ClassLoader> localLoader = new HashMap<>();
+    private static final String CLASS_SUFFIX = ".class";
+
+    private static final String VERSIONS_PREFIX = "META-INF/versions/";
+
+    /**
+     * Maximum number of the cached missing class names, the classes of the host application which are loaded by the
+     * localClassLoader are missing in the Sermant search path, so the names are bounded to avoid growing with them
+     */
+    private static final int MAX_MISSING_CLASS_NAMES = 4096;
+
+    static {
+        ClassLoader.registerAsParallelCapable();
+    }
+
+    /**
+     * The localClassLoader bound to the current thread
+     */
+    private final ThreadLocal<ClassLoader> localLoader = new ThreadLocal<>();
 
     /**
      * Whether to use context classLoader
@@ -51,7 +78,27 @@ public class PluginClassLoader extends URLClassLoader {
     /**
      * Manages the loaded classes in the classLoader
      */
-    private final Map<String, Class<?>> pluginClassMap = new HashMap<>();
+    private final Map<String, Class<?>> pluginClassMap = new ConcurrentHashMap<>();
+
+    /**
+     * Names of the classes in the plugin jars
+     */
+    private final Set<String> indexedClassNames = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Names of the classes which can not be found in the plugin search path, only used when the index is incomplete
+     */
+    private final Set<String> missingPluginClassNames = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Names of the classes which can not be found in the Sermant search path
+     */
+    private final Set<String> missingSermantClassNames = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Whether all search paths are indexed, the paths which are not jar files can not be indexed
+     */
+    private volatile boolean isIndexComplete = true;
 
     /**
      * constructor
@@ -62,6 +109,9 @@ public class PluginClassLoader extends URLClassLoader {
     public PluginClassLoader(URL[] urls, ClassLoader parent) {
         super(urls, parent);
         useContextLoader = ConfigManager.getConfig(AgentConfig.class).isUseContextLoader();
+        for (URL url : urls) {
+            indexUrl(url);
+        }
     }
 
     /**
@@ -71,14 +121,44 @@ public class PluginClassLoader extends URLClassLoader {
      * @return class object
      */
     private Class<?> loadPluginClass(String name) {
-        if (!pluginClassMap.containsKey(name)) {
-            try {
-                pluginClassMap.put(name, findClass(name));
-            } catch (ClassNotFoundException ignored) {
-                pluginClassMap.put(name, null);
+        Class<?> clazz = pluginClassMap.get(name);
+        if (clazz != null || !mayContain(name)) {
+            return clazz;
+        }
+        synchronized (getClassLoadingLock(name)) {
+            clazz = pluginClassMap.get(name);
+            if (clazz != null) {
+                return clazz;
+            }
+
+            // The class may have been defined through the Sermant search path by the super.loadClass method
+            clazz = findLoadedClass(name);
+            if (clazz == null) {
+                try {
+                    clazz = findClass(name);
+                } catch (ClassNotFoundException ignored) {
+                    addMissingClassName(missingPluginClassNames, name);
+                    return null;
+                }
             }
+            pluginClassMap.put(name, clazz);
+            return clazz;
+        }
+    }
+
+    private boolean mayContain(String name) {
+        if (isIndexComplete) {
+            return indexedClassNames.contains(name);
+        }
+        return !missingPluginClassNames.contains(name);
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        if (!mayContain(name)) {
+            throw new ClassNotFoundException(name);
         }
-        return pluginClassMap.get(name);
+        return super.findClass(name);
     }
 
     /**
@@ -88,6 +168,74 @@ public class PluginClassLoader extends URLClassLoader {
      */
     public void appendUrl(URL url) {
         this.addURL(url);
+        indexUrl(url);
+        clearMissingClassNames();
+    }
+
+    /**
+     * Adds the jar to the search path of the classloader, and indexes the classes in it
+     *
+     * @param jarFile jar file
+     * @throws MalformedURLException the path of the jar can not be converted to URL
+     */
+    public void appendJar(JarFile jarFile) throws MalformedURLException {
+        this.addURL(new File(jarFile.getName()).toURI().toURL());
+        indexJar(jarFile);
+        clearMissingClassNames();
+    }
+
+    private void indexUrl(URL url) {
+        if (!"file".equals(url.getProtocol())) {
+            isIndexComplete = false;
+            return;
+        }
+        try {
+            final File file = new File(url.toURI());
+            if (!file.isFile()) {
+                isIndexComplete = false;
+                return;
+            }
+            try (JarFile jarFile = new JarFile(file)) {
+                indexJar(jarFile);
+            }
+        } catch (URISyntaxException | IOException | IllegalArgumentException e) {
+            LOGGER.log(Level.WARNING, "Index classes of {0} failed, msg is {1}", new Object[]{url, e.getMessage()});
+            isIndexComplete = false;
+        }
+    }
+
+    private void indexJar(JarFile jarFile) {
+        final Enumeration<JarEntry> entries = jarFile.entries();
+        while (entries.hasMoreElements()) {
+            final JarEntry entry = entries.nextElement();
+            String entryName = entry.getName();
+            if (entry.isDirectory() || !entryName.endsWith(CLASS_SUFFIX)) {
+                continue;
+            }
+
+            // Classes of multi-release jars are stored as META-INF/versions/{version}/{class path}
+            if (entryName.startsWith(VERSIONS_PREFIX)) {
+                final int index = entryName.indexOf('/', VERSIONS_PREFIX.length());
+                if (index < 0) {
+                    continue;
+                }
+                entryName = entryName.substring(index + 1);
+            }
+            indexedClassNames.add(
+                    entryName.substring(0, entryName.length() - CLASS_SUFFIX.length()).replace('/', '.'));
+        }
+    }
+
+    private static void addMissingClassName(Set<String> missingClassNames, String name) {
+        if (missingClassNames.size() >= MAX_MISSING_CLASS_NAMES) {
+            missingClassNames.clear();
+        }
+        missingClassNames.add(name);
+    }
+
+    private void clearMissingClassNames() {
+        missingPluginClassNames.clear();
+        missingSermantClassNames.clear();
     }
 
     @Override
@@ -97,42 +245,52 @@ public class PluginClassLoader extends URLClassLoader {
 
     @Override
     public Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
-        synchronized (getClassLoadingLock(name)) {
-            Class<?> clazz = loadPluginClass(name);
+        Class<?> clazz = findSermantClass(name);
 
-            // If the class cannot be loaded on its own, it is loaded in the Sermant search path
-            if (clazz == null) {
-                try {
-                    clazz = super.loadClass(name, resolve);
-                } catch (ClassNotFoundException e) {
-                    // Catch the exception that the class cannot be found. The next step is to load the class by
-                    // the localLoader
-                    // ignored
-                    LOGGER.log(Level.FINE, "Load class failed, msg is {0}", e.getMessage());
-                }
-            }
+        // If the class cannot be found from the Sermant search path, it is attempted to be loaded via the
+        // thread-bound localClassLoader
+        if (clazz == null) {
+            clazz = getClassFromLocalClassLoader(name);
+        }
 
-            // If the class cannot be found from the Sermant search path, it is attempted to be loaded via the
-            // thread-bound localClassLoader
-            if (clazz == null) {
-                clazz = getClassFromLocalClassLoader(name);
-            }
+        // If the class cannot be found, an exception is thrown
+        if (clazz == null) {
+            throw new ClassNotFoundException("Sermant pluginClassLoader can not load class: " + name);
+        }
 
-            // If the class cannot be found, an exception is thrown
-            if (clazz == null) {
-                throw new ClassNotFoundException("Sermant pluginClassLoader can not load class: " + name);
-            }
+        // Parse the class if necessary
+        if (resolve) {
+            resolveClass(clazz);
+        }
+        return clazz;
+    }
+
+    /**
+     * Find the class in the plugin search path first, and then in the Sermant search path
+     *
+     * @param name class name
+     * @return class object, null if not found
+     */
+    private Class<?> findSermantClass(String name) {
+        Class<?> clazz = loadPluginClass(name);
 
-            // Parse the class if necessary
-            if (resolve) {
-                resolveClass(clazz);
+        // If the class cannot be loaded on its own, it is loaded in the Sermant search path
+        if (clazz == null && !missingSermantClassNames.contains(name)) {
+            try {
+                clazz = super.loadClass(name, false);
+            } catch (ClassNotFoundException e) {
+                // Catch the exception that the class cannot be found. The next step is to load the class by
+                // the localLoader
+                // ignored
+                LOGGER.log(Level.FINE, "Load class failed, msg is {0}", e.getMessage());
+                addMissingClassName(missingSermantClassNames, name);
             }
-            return clazz;
         }
+        return clazz;
     }
 
     private Class<?> getClassFromLocalClassLoader(String name) {
-        ClassLoader loader = localLoader.get(Thread.currentThread().getId());
+        ClassLoader loader = localLoader.get();
 
         if (loader == null && useContextLoader) {
             loader = Thread.currentThread().getContextClassLoader();
@@ -172,23 +330,13 @@ public class PluginClassLoader extends URLClassLoader {
      * @throws ClassNotFoundException class not found
      */
     public Class<?> loadSermantClass(String name) throws ClassNotFoundException {
-        synchronized (getClassLoadingLock(name)) {
-            Class<?> clazz = loadPluginClass(name);
-
-            if (clazz == null) {
-                try {
-                    clazz = super.loadClass(name, false);
-                } catch (ClassNotFoundException e) {
-                    // Class not found, ignored, exception thrown later
-                }
-            }
+        final Class<?> clazz = findSermantClass(name);
 
-            // If the class cannot be found, an exception is thrown
-            if (clazz == null) {
-                throw new ClassNotFoundException("Sermant pluginClassLoader can not load class: " + name);
-            }
-            return clazz;
+        // If the class cannot be found, an exception is thrown
+        if (clazz == null) {
+            throw new ClassNotFoundException("Sermant pluginClassLoader can not load class: " + name);
         }
+        return clazz;
     }
 
     /**
@@ -197,13 +345,13 @@ public class PluginClassLoader extends URLClassLoader {
      * @param loader classLoader
      */
     public void setLocalLoader(ClassLoader loader) {
-        localLoader.put(Thread.currentThread().getId(), loader);
+        localLoader.set(loader);
     }
 
     /**
      * Clear the localClassLoader
      */
     public void removeLocalLoader() {
-        localLoader.remove(Thread.currentThread().getId());
+        localLoader.remove();
     }
 }
@@ -21,8 +21,8 @@ import io.sermant.core.utils.JarFileUtils;
 
 import java.io.IOException;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarFile;
 
 /**
@@ -36,7 +36,7 @@ public class PluginSchemaValidator {
     /**
      * A collection of plugin names and versions
      */
-    private static final Map<String, String> PLUGIN_VERSION_MAP = new HashMap<>();
+    private static final Map<String, String> PLUGIN_VERSION_MAP = new ConcurrentHashMap<>();
 
     private PluginSchemaValidator() {
     }
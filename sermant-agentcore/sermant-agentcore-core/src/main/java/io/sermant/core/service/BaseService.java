@@ -17,6 +17,9 @@
 
 package io.sermant.core.service;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Agent service interface
  * <p>
@@ -46,4 +49,14 @@ public interface BaseService {
      */
     default void stop() {
     }
+
+    /**
+     * The services that must be started before this service. Services without dependency between each other may be
+     * started in parallel, see {@link ServiceConfig#getStartupParallelism()}
+     *
+     * @return service classes, the disabled services are ignored
+     */
+    default List<Class<? extends BaseService>> getDependencies() {
+        return Collections.emptyList();
+    }
 }
@@ -55,6 +55,9 @@ public class ServiceConfig implements BaseConfig {
     @ConfigFieldKey("metric.enable")
     private boolean metricEnable = false;
 
+    @ConfigFieldKey("startup.parallelism")
+    private int startupParallelism = 1;
+
     public boolean isHeartBeatEnable() {
         return heartBeatEnable;
     }
@@ -127,6 +130,14 @@ public class ServiceConfig implements BaseConfig {
         this.metricEnable = metricEnable;
     }
 
+    public int getStartupParallelism() {
+        return startupParallelism;
+    }
+
+    public void setStartupParallelism(int startupParallelism) {
+        this.startupParallelism = startupParallelism;
+    }
+
     /**
      * Check whether the service of the given class name is enabled.
      *
@@ -24,6 +24,7 @@ package io.sermant.core.service;
 
 import io.sermant.core.classloader.ClassLoaderManager;
 import io.sermant.core.common.LoggerFactory;
+import io.sermant.core.common.StartupScheduler;
 import io.sermant.core.config.ConfigManager;
 import io.sermant.core.event.EventManager;
 import io.sermant.core.event.collector.FrameworkEventCollector;
@@ -32,12 +33,13 @@ import io.sermant.core.utils.KeyGenerateUtils;
 import io.sermant.core.utils.SpiLoadUtils;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -111,7 +113,23 @@ public class ServiceManager {
     /**
      * service map
      */
-    private static final Map<String, BaseService> SERVICES = new HashMap<>();
+    private static final Map<String, BaseService> SERVICES = new ConcurrentHashMap<>();
+
+    /**
+     * Version of the service map, increased every time the service map is modified
+     */
+    private static final AtomicInteger SERVICES_VERSION = new AtomicInteger();
+
+    /**
+     * Service lookup cache keyed by the service class itself, so that the lookup neither builds the service key nor
+     * hashes it. A cached entry is valid only while the version of the service map is unchanged
+     */
+    private static final ClassValue<ServiceSlot> SERVICE_SLOTS = new ClassValue<ServiceSlot>() {
+        @Override
+        protected ServiceSlot computeValue(Class<?> type) {
+            return new ServiceSlot();
+        }
+    };
 
     /**
      * Constructor.
@@ -120,24 +138,42 @@ public class ServiceManager {
     }
 
     /**
-     * Initialize all services
+     * Initialize all services. All enabled services are loaded first, then started by {@link StartupScheduler}, so
+     * that services without dependency between each other can be started in parallel
      */
     public static void initServices() {
         ServiceConfig serviceConfig = ConfigManager.getConfig(ServiceConfig.class);
-        List<String> startServiceArray = new ArrayList<>();
+        List<BaseService> loadedServices = new ArrayList<>();
         for (final BaseService service : ServiceLoader.load(BaseService.class,
                 ClassLoaderManager.getFrameworkClassLoader())) {
-            String serviceName = service.getClass().getName();
-            if (serviceConfig.checkServiceEnable(serviceName) && loadService(service,
+            if (serviceConfig.checkServiceEnable(service.getClass().getName()) && loadService(service,
                     service.getClass(), BaseService.class)) {
-                service.start();
-                startServiceArray.add(serviceName);
+                loadedServices.add(service);
             }
         }
+        StartupScheduler scheduler = new StartupScheduler("service", serviceConfig.getStartupParallelism());
+        List<String> startServiceArray = new ArrayList<>();
+        for (BaseService service : loadedServices) {
+            String serviceName = service.getClass().getName();
+            scheduler.addTask(serviceName, getDependencyNames(service), service::start);
+            startServiceArray.add(serviceName);
+        }
+        scheduler.run();
         FrameworkEventCollector.getInstance().collectServiceStartEvent(startServiceArray.toString());
         addStopHook(); // Start after all services are loaded
     }
 
+    private static List<String> getDependencyNames(BaseService service) {
+        List<String> dependencyNames = new ArrayList<>();
+        for (Class<? extends BaseService> dependency : service.getDependencies()) {
+            BaseService dependencyService = findService(dependency);
+            if (dependencyService != null && dependencyService != service) {
+                dependencyNames.add(dependencyService.getClass().getName());
+            }
+        }
+        return dependencyNames;
+    }
+
     /**
      * Get service object
      *
@@ -147,12 +183,25 @@ public class ServiceManager {
      * @throws IllegalArgumentException The corresponding service could not be found
      */
     public static <T extends BaseService> T getService(Class<T> serviceClass) {
-        String serviceKey = KeyGenerateUtils.generateClassKeyWithClassLoader(serviceClass);
-        final BaseService baseService = SERVICES.get(serviceKey);
+        final ServiceSlot slot = SERVICE_SLOTS.get(serviceClass);
+        final int version = SERVICES_VERSION.get();
+        ServiceEntry entry = slot.entry;
+        if (entry == null || entry.version != version) {
+            entry = new ServiceEntry(version, findService(serviceClass));
+            slot.entry = entry;
+        }
+        if (entry.service == null) {
+            throw new IllegalArgumentException("Service instance of [" + serviceClass + "] is not found. ");
+        }
+        return (T) entry.service;
+    }
+
+    private static BaseService findService(Class<?> serviceClass) {
+        final BaseService baseService = SERVICES.get(KeyGenerateUtils.generateClassKeyWithClassLoader(serviceClass));
         if (baseService != null && serviceClass.isAssignableFrom(baseService.getClass())) {
-            return (T) baseService;
+            return baseService;
         }
-        throw new IllegalArgumentException("Service instance of [" + serviceClass + "] is not found. ");
+        return null;
     }
 
     /**
@@ -183,6 +232,7 @@ public class ServiceManager {
                 });
         if (betterService != oldService) {
             SERVICES.put(serviceKey, service);
+            SERVICES_VERSION.incrementAndGet();
             isLoadSucceed = true;
         }
         isLoadSucceed |= loadService(service, serviceCls.getSuperclass(), baseCls);
@@ -198,7 +248,9 @@ public class ServiceManager {
      * @param serviceName service name
      */
     protected static void stopService(String serviceName) {
-        SERVICES.remove(serviceName).stop();
+        final BaseService service = SERVICES.remove(serviceName);
+        SERVICES_VERSION.incrementAndGet();
+        service.stop();
     }
 
     /**
@@ -239,5 +291,31 @@ public class ServiceManager {
             baseService.stop();
         }
         SERVICES.clear();
+        SERVICES_VERSION.incrementAndGet();
+    }
+
+    /**
+     * Cached lookup result of a service class
+     *
+     * @since 2025-01-17
+     */
+    private static final class ServiceSlot {
+        private volatile ServiceEntry entry;
+    }
+
+    /**
+     * Lookup result of a service class at a version of the service map
+     *
+     * @since 2025-01-17
+     */
+    private static final class ServiceEntry {
+        private final int version;
+
+        private final BaseService service;
+
+        ServiceEntry(int version, BaseService service) {
+            this.version = version;
+            this.service = service;
+        }
     }
 }
@@ -88,6 +88,13 @@ public class DynamicConfig implements BaseConfig {
     @ConfigFieldKey("requestTimeout")
     private int requestTimeout = REQUEST_TIMEOUT;
 
+    /**
+     * Whether to keep the subscribed configurations in a snapshot on the disk. The snapshot is loaded at startup, so
+     * the configurations are available before the config center is connected or when it is not reachable
+     */
+    @ConfigFieldKey("snapshotEnable")
+    private boolean snapshotEnable = false;
+
     public int getTimeoutValue() {
         return timeoutValue;
     }
@@ -175,4 +182,12 @@ public class DynamicConfig implements BaseConfig {
     public void setRequestTimeout(int requestTimeout) {
         this.requestTimeout = requestTimeout;
     }
+
+    public boolean isSnapshotEnable() {
+        return snapshotEnable;
+    }
+
+    public void setSnapshotEnable(boolean snapshotEnable) {
+        this.snapshotEnable = snapshotEnable;
+    }
 }
@@ -33,7 +33,16 @@ public class KieDynamicConfig implements BaseConfig {
      */
     private String project = "default";
 
+    /**
+     * Whether the long polling requests of the label groups sharing some labels are merged into one request
+     */
+    private boolean mergeLabelGroups = true;
+
     public String getProject() {
         return project;
     }
+
+    public boolean isMergeLabelGroups() {
+        return mergeLabelGroups;
+    }
 }
@@ -54,6 +54,8 @@ public class HeartbeatMessage {
 
     private final String instanceId;
 
+    private long snapshotVersion;
+
     private final Map<String, PluginInfo> pluginInfoMap = new HashMap<>();
 
     private final Map<String, ExternalAgentInfo> externalAgentInfoMap = new HashMap<>();
@@ -138,6 +140,14 @@ public class HeartbeatMessage {
         return dynamicInstall;
     }
 
+    public long getSnapshotVersion() {
+        return snapshotVersion;
+    }
+
+    public void setSnapshotVersion(long snapshotVersion) {
+        this.snapshotVersion = snapshotVersion;
+    }
+
     public Map<String, ExternalAgentInfo> getExternalAgentInfoMap() {
         return externalAgentInfoMap;
     }
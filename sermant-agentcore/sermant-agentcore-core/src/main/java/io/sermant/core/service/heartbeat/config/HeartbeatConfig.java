@@ -34,6 +34,11 @@ public class HeartbeatConfig implements BaseConfig {
      */
     private long interval = HeartbeatConstant.INTERVAL;
 
+    /**
+     * Whether to send only the changes of the heartbeat once the backend acknowledges the full heartbeat
+     */
+    private boolean delta;
+
     public long getInterval() {
         return interval;
     }
@@ -41,4 +46,12 @@ public class HeartbeatConfig implements BaseConfig {
     public void setInterval(long interval) {
         this.interval = interval;
     }
+
+    public boolean isDelta() {
+        return delta;
+    }
+
+    public void setDelta(boolean delta) {
+        this.delta = delta;
+    }
 }
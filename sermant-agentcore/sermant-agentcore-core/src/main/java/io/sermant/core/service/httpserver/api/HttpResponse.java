@@ -16,6 +16,8 @@
 
 package io.sermant.core.service.httpserver.api;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.util.Map;
 
 /**
@@ -116,4 +118,26 @@ public interface HttpResponse {
      * @param obj JSON object
      */
     void writeBodyAsJson(Object obj);
+
+    /**
+     * Returns the stream to write the response body. The stream must be closed to complete the response. By default
+     * the body is buffered and written by {@link #writeBody(byte[])} when the stream is closed, the servers which
+     * support streaming send the status and headers at once and the body in chunks while it is written
+     *
+     * @return Output stream of the response body
+     */
+    default OutputStream getOutputStream() {
+        return new ByteArrayOutputStream() {
+            private boolean closed;
+
+            @Override
+            public void close() {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                writeBody(toByteArray());
+            }
+        };
+    }
 }
@@ -29,10 +29,17 @@ import io.sermant.core.config.common.ConfigTypeKey;
 public class HttpServerConfig implements BaseConfig {
     private static final int DEFAULT_PORT = 47128;
 
+    private static final int DEFAULT_BACKLOG = 1024;
+
+    private static final int DEFAULT_QUEUE_SIZE = 256;
+
+    private static final int DEFAULT_MAX_CONTENT_LENGTH = 1024 * 1024;
+
     /**
      * HTTP Server type, extensible to other HTTP servers
      * <p>
      *     simple: A lightweight HTTP server built into the JDK
+     *     netty: An HTTP server based on netty, supporting keep-alive, gzip and streamed response bodies
      * </p>
      */
     private String type = HttpServerTypeEnum.SIMPLE.getType();
@@ -52,6 +59,27 @@ public class HttpServerConfig implements BaseConfig {
      */
     private Integer serverMaxPoolSize;
 
+    /**
+     * Maximum length of the queue of incoming connections, only for the netty server
+     */
+    private int backlog = DEFAULT_BACKLOG;
+
+    /**
+     * Size of the queue of the requests waiting for a thread, only for the netty server. The requests beyond it are
+     * answered with 503
+     */
+    private int serverQueueSize = DEFAULT_QUEUE_SIZE;
+
+    /**
+     * Maximum length of the request body, only for the netty server
+     */
+    private int maxContentLength = DEFAULT_MAX_CONTENT_LENGTH;
+
+    /**
+     * Whether to handle the requests on virtual threads when running on JDK 21+, only for the netty server
+     */
+    private boolean virtualThread;
+
     public String getType() {
         return type;
     }
@@ -83,4 +111,36 @@ public class HttpServerConfig implements BaseConfig {
     public void setServerMaxPoolSize(Integer serverMaxPoolSize) {
         this.serverMaxPoolSize = serverMaxPoolSize;
     }
+
+    public int getBacklog() {
+        return backlog;
+    }
+
+    public void setBacklog(int backlog) {
+        this.backlog = backlog;
+    }
+
+    public int getServerQueueSize() {
+        return serverQueueSize;
+    }
+
+    public void setServerQueueSize(int serverQueueSize) {
+        this.serverQueueSize = serverQueueSize;
+    }
+
+    public int getMaxContentLength() {
+        return maxContentLength;
+    }
+
+    public void setMaxContentLength(int maxContentLength) {
+        this.maxContentLength = maxContentLength;
+    }
+
+    public boolean isVirtualThread() {
+        return virtualThread;
+    }
+
+    public void setVirtualThread(boolean virtualThread) {
+        this.virtualThread = virtualThread;
+    }
 }
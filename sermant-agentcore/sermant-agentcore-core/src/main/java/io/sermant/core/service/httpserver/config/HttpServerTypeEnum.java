@@ -26,7 +26,12 @@ public enum HttpServerTypeEnum {
     /**
      * Simple server type, utilizing JDK's built-in Http Server
      */
-    SIMPLE("simple");
+    SIMPLE("simple"),
+
+    /**
+     * Netty server type, supporting keep-alive, gzip and streamed response bodies
+     */
+    NETTY("netty");
 
     /**
      * Type identifier
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.service.metric.api;
+
+import io.sermant.core.service.metric.histogram.HistogramSnapshot;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Histogram recording the distribution of latencies in nanoseconds, from which the percentiles such as p50, p99 and
+ * p999 are read. Recording is lock-free and does not allocate, so it can be called on every request
+ *
+ * @author zwmagic
+ * @since 2025-01-27
+ */
+public interface Histogram {
+    /**
+     * Records a latency.
+     *
+     * @param amount The latency, negative values are ignored.
+     * @param unit The time unit of the latency.
+     */
+    void record(long amount, TimeUnit unit);
+
+    /**
+     * Records a latency in nanoseconds.
+     *
+     * @param nanos The latency in nanoseconds, negative values are ignored.
+     */
+    void recordNanos(long nanos);
+
+    /**
+     * Gets the number of recorded latencies.
+     *
+     * @return The number of recorded latencies.
+     */
+    long count();
+
+    /**
+     * Gets the snapshot of all latencies recorded since the histogram is created.
+     *
+     * @return The cumulative snapshot.
+     */
+    HistogramSnapshot snapshot();
+
+    /**
+     * Gets the snapshot of the latencies recorded since the previous call of this method.
+     *
+     * @return The snapshot of the interval.
+     */
+    HistogramSnapshot intervalSnapshot();
+}
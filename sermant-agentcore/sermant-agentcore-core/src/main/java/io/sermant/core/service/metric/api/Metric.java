@@ -70,4 +70,14 @@ public interface Metric {
      */
     Summary summary(String metricName, Tags tags, String description,
             DistributionStatisticConfig distributionStatisticConfig);
+
+    /**
+     * Creates a tagged latency histogram with a description.
+     *
+     * @param metricName the name of the metric
+     * @param tags tags that further refine the metric data
+     * @param description a description of the histogram's purpose
+     * @return the created histogram object
+     */
+    Histogram histogram(String metricName, Tags tags, String description);
 }
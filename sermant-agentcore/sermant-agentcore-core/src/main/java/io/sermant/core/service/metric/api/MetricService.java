@@ -177,4 +177,41 @@ public interface MetricService extends BaseService {
     Summary summary(String metricName, Tags tags, String description,
                     DistributionStatisticConfig distributionStatisticConfig);
 
+    /**
+     * Creates a latency histogram, which is exported as the buckets of a Prometheus histogram in seconds.
+     *
+     * @param metricName The name of the metric.
+     * @return The created histogram instance.
+     */
+    Histogram histogram(String metricName);
+
+    /**
+     * Creates a tagged latency histogram.
+     *
+     * @param metricName The name of the metric.
+     * @param tagKey The tag key.
+     * @param tagValue The tag value.
+     * @return The created tagged histogram instance.
+     */
+    Histogram histogram(String metricName, String tagKey, String tagValue);
+
+    /**
+     * Creates a latency histogram with a set of tags.
+     *
+     * @param metricName The name of the metric.
+     * @param tags The set of tags.
+     * @return The created histogram instance with tags.
+     */
+    Histogram histogram(String metricName, Tags tags);
+
+    /**
+     * Creates a latency histogram with a set of tags and a description. The same histogram is returned for the same
+     * name and tags.
+     *
+     * @param metricName The name of the metric.
+     * @param tags The set of tags.
+     * @param description The description of the histogram.
+     * @return The created histogram instance with tags and description.
+     */
+    Histogram histogram(String metricName, Tags tags, String description);
 }
@@ -60,6 +60,13 @@ public class MetricConfig implements BaseConfig {
     @ConfigFieldKey("common.tag.keys")
     private String commonTagKeys = String.join(COMMA, MetricCommonTagEnum.getDefaultKeys());
 
+    /**
+     * The time in milliseconds that a rendered scrape is shared by the following scrapes, 0 means each scrape is
+     * streamed to the response directly.
+     */
+    @ConfigFieldKey("scrapeCacheTime")
+    private long scrapeCacheTime;
+
     public String getType() {
         return type;
     }
@@ -84,6 +91,14 @@ public class MetricConfig implements BaseConfig {
         this.commonTagKeys = commonTagKeys;
     }
 
+    public long getScrapeCacheTime() {
+        return scrapeCacheTime;
+    }
+
+    public void setScrapeCacheTime(long scrapeCacheTime) {
+        this.scrapeCacheTime = scrapeCacheTime;
+    }
+
     /**
      * Gets the list of custom default tags.
      * <p>
@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.service.metric.histogram;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable snapshot of the counts of a {@link LogLinearHistogram}, the values are in nanoseconds
+ *
+ * @author zwmagic
+ * @since 2025-01-27
+ */
+public final class HistogramSnapshot {
+    private static final double PERCENT = 100.0D;
+
+    private final long[] counts;
+
+    private final long count;
+
+    private final long sum;
+
+    /**
+     * Constructor
+     *
+     * @param counts counts of the buckets
+     * @param sum sum of the values
+     */
+    HistogramSnapshot(long[] counts, long sum) {
+        this.counts = counts;
+        this.sum = sum;
+        long total = 0L;
+        for (long bucketCount : counts) {
+            total += bucketCount;
+        }
+        this.count = total;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the sum of the values
+     *
+     * @param unit time unit of the sum
+     * @return sum of the values
+     */
+    public double getSum(TimeUnit unit) {
+        return (double) sum / unit.toNanos(1L);
+    }
+
+    /**
+     * Gets the mean of the values
+     *
+     * @param unit time unit of the mean
+     * @return mean of the values, 0 if there is no value
+     */
+    public double getMean(TimeUnit unit) {
+        return count == 0L ? 0.0D : getSum(unit) / count;
+    }
+
+    /**
+     * Gets the value at a percentile, which is the highest value of the bucket holding the percentile
+     *
+     * @param percentile percentile between 0 and 100, such as 99.9
+     * @return value in nanoseconds, 0 if there is no value
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (count == 0L) {
+            return 0L;
+        }
+        double ratio = Math.min(Math.max(percentile, 0.0D), PERCENT) / PERCENT;
+        long rank = Math.max(1L, (long) Math.ceil(ratio * count));
+        long seen = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return LogLinearHistogram.highestValue(i);
+            }
+        }
+        return LogLinearHistogram.highestValue(counts.length - 1);
+    }
+
+    /**
+     * Gets the number of the values not greater than a bound. The values of the bucket holding the bound are assumed
+     * to be spread evenly in the bucket, and only the part of them up to the bound is counted, rounded down. The last
+     * bucket, which also holds the values beyond the range, is counted as a whole
+     *
+     * @param nanos bound in nanoseconds
+     * @return number of the values
+     */
+    public long getCountAtOrBelow(long nanos) {
+        if (nanos < 0L) {
+            return 0L;
+        }
+        int boundary = LogLinearHistogram.bucketIndex(nanos);
+        long result = 0L;
+        for (int i = 0; i < boundary; i++) {
+            result += counts[i];
+        }
+        if (boundary == counts.length - 1) {
+            return result + counts[boundary];
+        }
+        long lowest = LogLinearHistogram.lowestValue(boundary);
+        long width = LogLinearHistogram.highestValue(boundary) - lowest + 1L;
+        return result + (long) ((double) counts[boundary] * (nanos - lowest + 1L) / width);
+    }
+
+    /**
+     * Gets the snapshot of the values recorded after a previous snapshot of the same histogram
+     *
+     * @param previous previous snapshot
+     * @return snapshot of the interval
+     */
+    public HistogramSnapshot minus(HistogramSnapshot previous) {
+        long[] interval = new long[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            interval[i] = counts[i] - previous.counts[i];
+        }
+        return new HistogramSnapshot(interval, sum - previous.sum);
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.service.metric.histogram;
+
+import io.sermant.core.service.metric.api.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear histogram in the manner of HdrHistogram. Each power of two is divided into 16 linear
+ * sub-buckets, so a recorded value is off by at most 1/16 of itself, from 1ns up to 2^40ns (about 18 minutes). Larger
+ * values are counted in the last bucket
+ * <p>The counts are striped by thread, a recording increments one bucket and the sum of a stripe without allocation.
+ * The stripes are merged only when a snapshot is taken</p>
+ *
+ * @author zwmagic
+ * @since 2025-01-27
+ */
+public class LogLinearHistogram implements Histogram {
+    private static final int SUB_BUCKET_BITS = 4;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private static final int SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+
+    private static final int MAX_EXPONENT = 40;
+
+    /**
+     * Number of the buckets
+     */
+    static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+    private static final int LONG_BITS = 63;
+
+    private static final int MAX_STRIPES = 4;
+
+    private final AtomicLongArray[] stripes;
+
+    private final int stripeMask;
+
+    private HistogramSnapshot lastSnapshot;
+
+    /**
+     * Constructor, the number of stripes is decided by the number of processors
+     */
+    public LogLinearHistogram() {
+        this(Math.min(MAX_STRIPES, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param stripes number of stripes, rounded up to a power of two
+     */
+    public LogLinearHistogram(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes));
+        if (size < stripes) {
+            size <<= 1;
+        }
+        this.stripes = new AtomicLongArray[size];
+        for (int i = 0; i < size; i++) {
+            // The last slot of a stripe holds the sum of the values
+            this.stripes[i] = new AtomicLongArray(BUCKET_COUNT + 1);
+        }
+        this.stripeMask = size - 1;
+        this.lastSnapshot = new HistogramSnapshot(new long[BUCKET_COUNT], 0L);
+    }
+
+    @Override
+    public void record(long amount, TimeUnit unit) {
+        recordNanos(unit.toNanos(amount));
+    }
+
+    @Override
+    public void recordNanos(long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+        AtomicLongArray stripe = stripes[(int) Thread.currentThread().getId() & stripeMask];
+        stripe.getAndIncrement(bucketIndex(nanos));
+        stripe.getAndAdd(BUCKET_COUNT, nanos);
+    }
+
+    @Override
+    public long count() {
+        long count = 0L;
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                count += stripe.get(i);
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public HistogramSnapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long sum = 0L;
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts[i] += stripe.get(i);
+            }
+            sum += stripe.get(BUCKET_COUNT);
+        }
+        return new HistogramSnapshot(counts, sum);
+    }
+
+    @Override
+    public synchronized HistogramSnapshot intervalSnapshot() {
+        HistogramSnapshot current = snapshot();
+        HistogramSnapshot interval = current.minus(lastSnapshot);
+        lastSnapshot = current;
+        return interval;
+    }
+
+    /**
+     * Gets the index of the bucket of a value
+     *
+     * @param value non-negative value
+     * @return index of the bucket
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = LONG_BITS - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & SUB_BUCKET_MASK;
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * Gets the lowest value counted in a bucket
+     *
+     * @param index index of the bucket
+     * @return lowest value of the bucket
+     */
+    static long lowestValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        long subBucket = index & SUB_BUCKET_MASK;
+        return (SUB_BUCKET_COUNT + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    /**
+     * Gets the highest value counted in a bucket, the last bucket also counts the values beyond the range
+     *
+     * @param index index of the bucket
+     * @return highest value of the bucket
+     */
+    static long highestValue(int index) {
+        if (index >= BUCKET_COUNT - 1) {
+            return Long.MAX_VALUE;
+        }
+        return lowestValue(index + 1) - 1;
+    }
+}
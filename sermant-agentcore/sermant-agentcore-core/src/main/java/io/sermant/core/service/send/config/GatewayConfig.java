@@ -41,6 +41,14 @@ public class GatewayConfig implements BaseConfig {
 
     private static final int DEFAULT_SEND_INTERNAL_TIME = 10;
 
+    private static final int DEFAULT_WRITE_BUFFER_LOW_WATER_MARK = 32 * 1024;
+
+    private static final int DEFAULT_WRITE_BUFFER_HIGH_WATER_MARK = 64 * 1024;
+
+    private static final long DEFAULT_SPILL_MAX_BYTES = 64L * 1024 * 1024;
+
+    private static final long DEFAULT_SPILL_MAX_AGE = 24L * 60 * 60 * 1000;
+
     /**
      * netty ip address
      */
@@ -73,6 +81,42 @@ public class GatewayConfig implements BaseConfig {
 
     private long nettyWriteAndReadWaitTime = DEFAULT_NETTY_WRITE_READ_WAIT_TIME;
 
+    /**
+     * number of threads of the event loop group shared by the netty clients
+     */
+    private int nettyEventLoopThreads = 1;
+
+    /**
+     * the channel becomes writable again when the pending bytes drop below it, unit: byte
+     */
+    private int writeBufferLowWaterMark = DEFAULT_WRITE_BUFFER_LOW_WATER_MARK;
+
+    /**
+     * the channel becomes unwritable and sending is paused when the pending bytes exceed it, unit: byte
+     */
+    private int writeBufferHighWaterMark = DEFAULT_WRITE_BUFFER_HIGH_WATER_MARK;
+
+    /**
+     * Whether to negotiate the frame compression with the backend, the data is compressed by gzip one by one if the
+     * backend does not support it
+     */
+    private boolean frameCompression = true;
+
+    /**
+     * Whether to spill the messages which can not be sent to the disk, and replay them after reconnection
+     */
+    private boolean spillEnable = false;
+
+    /**
+     * max size of the spilled messages on the disk, unit: byte
+     */
+    private long spillMaxBytes = DEFAULT_SPILL_MAX_BYTES;
+
+    /**
+     * max age of the spilled messages, the older ones are discarded, unit: millisecond
+     */
+    private long spillMaxAge = DEFAULT_SPILL_MAX_AGE;
+
     public String getNettyIp() {
         return nettyIp;
     }
@@ -105,6 +149,62 @@ public class GatewayConfig implements BaseConfig {
         this.nettyWriteAndReadWaitTime = nettyWriteAndReadWaitTime;
     }
 
+    public boolean isFrameCompression() {
+        return frameCompression;
+    }
+
+    public void setFrameCompression(boolean frameCompression) {
+        this.frameCompression = frameCompression;
+    }
+
+    public int getNettyEventLoopThreads() {
+        return nettyEventLoopThreads;
+    }
+
+    public void setNettyEventLoopThreads(int nettyEventLoopThreads) {
+        this.nettyEventLoopThreads = nettyEventLoopThreads;
+    }
+
+    public int getWriteBufferLowWaterMark() {
+        return writeBufferLowWaterMark;
+    }
+
+    public void setWriteBufferLowWaterMark(int writeBufferLowWaterMark) {
+        this.writeBufferLowWaterMark = writeBufferLowWaterMark;
+    }
+
+    public int getWriteBufferHighWaterMark() {
+        return writeBufferHighWaterMark;
+    }
+
+    public void setWriteBufferHighWaterMark(int writeBufferHighWaterMark) {
+        this.writeBufferHighWaterMark = writeBufferHighWaterMark;
+    }
+
+    public boolean isSpillEnable() {
+        return spillEnable;
+    }
+
+    public void setSpillEnable(boolean spillEnable) {
+        this.spillEnable = spillEnable;
+    }
+
+    public long getSpillMaxBytes() {
+        return spillMaxBytes;
+    }
+
+    public void setSpillMaxBytes(long spillMaxBytes) {
+        this.spillMaxBytes = spillMaxBytes;
+    }
+
+    public long getSpillMaxAge() {
+        return spillMaxAge;
+    }
+
+    public void setSpillMaxAge(long spillMaxAge) {
+        this.spillMaxAge = spillMaxAge;
+    }
+
     public int getSendInternalTime() {
         return sendInternalTime;
     }
@@ -29,7 +29,8 @@ import io.sermant.core.service.tracing.common.TracingRequest;
 public interface ExtractService<T> {
     /**
      * For cross-process tracing, the SpanContext needs to be extracted from the protocol carrier,
-     * TRACE_ID->TraceId、PARENT_SPAN_ID->ParentSpanId、SPAN_ID_PREFIX->SpanIdPrefix required
+     * TRACE_ID->TraceId、PARENT_SPAN_ID->ParentSpanId、SPAN_ID_PREFIX->SpanIdPrefix required,
+     * SAMPLED->Sampled recommended, the trace is sampled by this node if the upstream node makes no decision
      *
      * @param tracingRequest SpanStart required build data
      * @param carrier protocol carrier
@@ -29,7 +29,8 @@ import io.sermant.core.service.tracing.common.SpanEvent;
 public interface InjectService<T> {
     /**
      * For cross-process tracing, the SpanContext needs to be put into the protocol carrier.
-     * TraceId->TRACE_ID、ParentSpanId->PARENT_SPAN_ID、NextSpanIdPrefix->SPAN_ID_PREFIX required
+     * TraceId->TRACE_ID、ParentSpanId->PARENT_SPAN_ID、NextSpanIdPrefix->SPAN_ID_PREFIX required,
+     * Sampled->SAMPLED recommended so that the downstream nodes follow the sampling decision
      *
      * @param spanEvent span information
      * @param carrier protocol carrier
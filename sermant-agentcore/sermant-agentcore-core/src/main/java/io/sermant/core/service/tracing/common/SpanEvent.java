@@ -68,6 +68,11 @@ public class SpanEvent {
      */
     private boolean isAsync;
 
+    /**
+     * whether the trace of span is sampled, unsampled spans are only used to propagate the context
+     */
+    private transient boolean isSampled = true;
+
     /**
      * source information of node who invoke this span
      */
@@ -96,6 +101,7 @@ public class SpanEvent {
         this.traceId = spanEvent.getTraceId();
         this.parentSpanId = spanEvent.getSpanId();
         this.spanIdPrefix = spanEvent.getSpanIdPrefix();
+        this.isSampled = spanEvent.isSampled();
     }
 
     /**
@@ -231,6 +237,14 @@ public class SpanEvent {
         isAsync = async;
     }
 
+    public boolean isSampled() {
+        return isSampled;
+    }
+
+    public void setSampled(boolean sampled) {
+        isSampled = sampled;
+    }
+
     public SourceInfo getSourceInfo() {
         return sourceInfo;
     }
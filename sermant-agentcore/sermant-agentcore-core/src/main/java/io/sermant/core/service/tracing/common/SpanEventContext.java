@@ -55,6 +55,7 @@ public class SpanEventContext {
         this.spanEvent.setClassName(tracingRequest.getClassName());
         this.spanEvent.setMethod(tracingRequest.getMethod());
         this.spanEvent.setSourceInfo(tracingRequest.getSourceInfo());
+        this.spanEvent.setSampled(!Boolean.FALSE.equals(tracingRequest.getSampled()));
     }
 
     private void checkAndSetTraceId(String traceId) {
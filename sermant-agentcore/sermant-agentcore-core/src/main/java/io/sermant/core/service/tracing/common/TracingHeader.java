@@ -34,7 +34,11 @@ public enum TracingHeader {
     /**
      * Identifies the prefix of SpanId of next process
      */
-    SPAN_ID_PREFIX("sermant-span-id-prefix");
+    SPAN_ID_PREFIX("sermant-span-id-prefix"),
+    /**
+     * Identifies whether the trace is sampled, "1" if sampled and "0" if not
+     */
+    SAMPLED("sermant-sampled");
 
     private final String value;
 
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.service.tracing.config;
+
+import io.sermant.core.config.common.BaseConfig;
+import io.sermant.core.config.common.ConfigTypeKey;
+
+/**
+ * Tracing Configuration
+ *
+ * @author luanwenfei
+ * @since 2025-01-27
+ */
+@ConfigTypeKey("tracing")
+public class TracingConfig implements BaseConfig {
+    private static final int DEFAULT_BATCH_SIZE = 64;
+
+    private static final int DEFAULT_BUFFER_SIZE = 1024;
+
+    private static final long DEFAULT_FLUSH_INTERVAL = 1000L;
+
+    /**
+     * Ratio of the traces sampled by this node when the upstream node makes no decision, from 0 to 1
+     */
+    private double sampleRatio = 1.0D;
+
+    /**
+     * Maximum number of traces sampled by this node per second, no limit if it is not positive
+     */
+    private int sampleRateLimit;
+
+    /**
+     * Maximum number of span events sent in one message
+     */
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    /**
+     * Capacity of the buffer of the span events to be sent, rounded up to a power of 2
+     */
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+    /**
+     * Maximum time (ms) a span event waits for the batch to be filled
+     */
+    private long flushInterval = DEFAULT_FLUSH_INTERVAL;
+
+    public double getSampleRatio() {
+        return sampleRatio;
+    }
+
+    public void setSampleRatio(double sampleRatio) {
+        this.sampleRatio = sampleRatio;
+    }
+
+    public int getSampleRateLimit() {
+        return sampleRateLimit;
+    }
+
+    public void setSampleRateLimit(int sampleRateLimit) {
+        this.sampleRateLimit = sampleRateLimit;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public long getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(long flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.utils;
+
+import io.sermant.core.common.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reusable invoker bound to a resolved method. The method is invoked through a {@link MethodHandle} created once, so
+ * invoking a parameterless method does not allocate an argument array. Instances are obtained from
+ * {@link MethodInvokerCache}
+ *
+ * @author zhouss
+ * @since 2025-01-15
+ */
+public final class MethodInvoker {
+    /**
+     * Invoker of the method that does not exist
+     */
+    static final MethodInvoker ABSENT = new MethodInvoker(null, null, null);
+
+    private static final Logger LOGGER = LoggerFactory.getLogger();
+
+    private static final MethodType NONE_PARAMETER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SPREAD_PARAMETER_TYPE = MethodType.methodType(Object.class, Object.class,
+            Object[].class);
+
+    private final Method method;
+
+    /**
+     * Handle of type (Object)Object, only exists for parameterless method
+     */
+    private final MethodHandle noneParameterHandle;
+
+    /**
+     * Handle of type (Object, Object[])Object
+     */
+    private final MethodHandle spreadHandle;
+
+    private MethodInvoker(Method method, MethodHandle noneParameterHandle, MethodHandle spreadHandle) {
+        this.method = method;
+        this.noneParameterHandle = noneParameterHandle;
+        this.spreadHandle = spreadHandle;
+    }
+
+    /**
+     * Create invoker of the method, the method must be accessible
+     *
+     * @param method method
+     * @return MethodInvoker
+     */
+    static MethodInvoker of(Method method) {
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException ex) {
+            // Fall back to reflection if the method handle can not be created
+            return new MethodInvoker(method, null, null);
+        }
+        if (Modifier.isStatic(method.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        final int parameterCount = method.getParameterTypes().length;
+        final MethodHandle noneParameterHandle = parameterCount == 0 ? handle.asType(NONE_PARAMETER_TYPE) : null;
+        final MethodHandle spreadHandle = handle.asSpreader(Object[].class, parameterCount)
+                .asType(SPREAD_PARAMETER_TYPE);
+        return new MethodInvoker(method, noneParameterHandle, spreadHandle);
+    }
+
+    /**
+     * Whether the method exists
+     *
+     * @return whether the method exists
+     */
+    public boolean isPresent() {
+        return method != null;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * Invoke parameterless method
+     *
+     * @param target target object, ignored for static method
+     * @return result, null if the method does not exist or failed to invoke
+     */
+    public Object invoke(Object target) {
+        if (noneParameterHandle == null) {
+            return invoke(target, (Object[]) null);
+        }
+        try {
+            return (Object) noneParameterHandle.invokeExact(target);
+        } catch (Throwable throwable) {
+            logInvokeFailure(target, throwable);
+        }
+        return null;
+    }
+
+    /**
+     * Invoke method
+     *
+     * @param target target object, ignored for static method
+     * @param params parameters
+     * @return result, null if the method does not exist or failed to invoke
+     */
+    public Object invoke(Object target, Object... params) {
+        if (method == null) {
+            return null;
+        }
+        try {
+            if (spreadHandle == null) {
+                return params == null ? method.invoke(target) : method.invoke(target, params);
+            }
+            return (Object) spreadHandle.invokeExact(target, params);
+        } catch (InvocationTargetException ex) {
+            logInvokeFailure(target, ex.getTargetException());
+        } catch (Throwable throwable) {
+            logInvokeFailure(target, throwable);
+        }
+        return null;
+    }
+
+    private void logInvokeFailure(Object target, Throwable throwable) {
+        LOGGER.log(Level.WARNING, String.format(Locale.ENGLISH, "Can not invoke method [%s] in class [%s], reason: %s",
+                method.getName(), target == null ? "static method " : target.getClass().getName(),
+                throwable.getMessage()));
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.utils;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of {@link MethodInvoker} for one method signature, keyed by the class where the method is looked up. It is
+ * expected to be declared once as a constant, so that looking up the invoker of a class does not walk the class
+ * hierarchy again:
+ * <pre>
+ *     private static final MethodInvokerCache GET_METHOD_NAME = new MethodInvokerCache("getMethodName");
+ *
+ *     String methodName = (String) GET_METHOD_NAME.invoke(invocation);
+ * </pre>
+ * The method is resolved in the same way as {@link ReflectUtils#findMethod}. Missing methods are cached as well. The
+ * invokers are owned by the cache instance and both the classes and the invokers are held weakly. An invoker
+ * references its class through the method, so holding it strongly or softly would keep the looked up class alive. An
+ * invoker that is only referenced by the cache is resolved again after it is collected
+ *
+ * @author zhouss
+ * @since 2025-01-15
+ */
+public class MethodInvokerCache {
+    private final String methodName;
+
+    private final Class<?>[] paramsType;
+
+    private final Map<ClassKey, Reference<MethodInvoker>> invokers = new ConcurrentHashMap<>();
+
+    private final ReferenceQueue<Class<?>> releasedClasses = new ReferenceQueue<>();
+
+    /**
+     * Constructor
+     *
+     * @param methodName method name
+     * @param paramsType parameter types
+     */
+    public MethodInvokerCache(String methodName, Class<?>... paramsType) {
+        this.methodName = methodName;
+        this.paramsType = paramsType;
+    }
+
+    /**
+     * Get the invoker of the method declared by the class or its superclasses and interfaces
+     *
+     * @param clazz class
+     * @return MethodInvoker, {@link MethodInvoker#isPresent()} is false if the method is not found
+     */
+    public MethodInvoker get(Class<?> clazz) {
+        if (clazz == null) {
+            return MethodInvoker.ABSENT;
+        }
+        final Reference<MethodInvoker> reference = invokers.get(new LookupKey(clazz));
+        MethodInvoker invoker = reference == null ? null : reference.get();
+        if (invoker == null) {
+            invoker = ReflectUtils.findMethod(clazz, methodName, paramsType).map(MethodInvoker::of)
+                    .orElse(MethodInvoker.ABSENT);
+            purge();
+            invokers.put(new WeakClassKey(clazz, releasedClasses), new WeakReference<>(invoker));
+        }
+        return invoker;
+    }
+
+    /**
+     * Invoke the parameterless method of the target object
+     *
+     * @param target target object
+     * @return result, null if the method does not exist or failed to invoke
+     */
+    public Object invoke(Object target) {
+        if (target == null) {
+            return null;
+        }
+        return get(target.getClass()).invoke(target);
+    }
+
+    /**
+     * Invoke the method of the target object
+     *
+     * @param target target object
+     * @param params parameters
+     * @return result, null if the method does not exist or failed to invoke
+     */
+    public Object invoke(Object target, Object... params) {
+        if (target == null) {
+            return null;
+        }
+        return get(target.getClass()).invoke(target, params);
+    }
+
+    /**
+     * Number of cached classes, for test
+     *
+     * @return size
+     */
+    int size() {
+        purge();
+        return invokers.size();
+    }
+
+    private void purge() {
+        Reference<? extends Class<?>> released;
+        while ((released = releasedClasses.poll()) != null) {
+            invokers.remove(released);
+        }
+    }
+
+    /**
+     * Key of the cached class, compared by the identity of the class
+     *
+     * @since 2025-01-15
+     */
+    private interface ClassKey {
+        Class<?> getKeyClass();
+    }
+
+    /**
+     * Key stored in the cache, the class is held weakly
+     *
+     * @since 2025-01-15
+     */
+    private static final class WeakClassKey extends WeakReference<Class<?>> implements ClassKey {
+        private final int hash;
+
+        WeakClassKey(Class<?> clazz, ReferenceQueue<Class<?>> queue) {
+            super(clazz, queue);
+            this.hash = System.identityHashCode(clazz);
+        }
+
+        @Override
+        public Class<?> getKeyClass() {
+            return get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ClassKey)) {
+                return false;
+            }
+            final Class<?> clazz = get();
+            return clazz != null && clazz == ((ClassKey) obj).getKeyClass();
+        }
+    }
+
+    /**
+     * Key used to look up the cache
+     *
+     * @since 2025-01-15
+     */
+    private static final class LookupKey implements ClassKey {
+        private final Class<?> clazz;
+
+        LookupKey(Class<?> clazz) {
+            this.clazz = clazz;
+        }
+
+        @Override
+        public Class<?> getKeyClass() {
+            return clazz;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(clazz);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof ClassKey && clazz == ((ClassKey) obj).getKeyClass();
+        }
+    }
+}
@@ -50,16 +50,29 @@ public class ReflectUtils {
     private static final Map<Class<?>, Map<String, Field>> FIELD_CACHE = new ConcurrentHashMap<>();
 
     /**
-     * Method cache, key: class#method(params) value: method
+     * Method cache of class, key: method(params) value: method, the method may be declared by the superclasses or
+     * interfaces. Missing methods are cached as empty
      */
-    private static final Map<String, Method> METHOD_CACHE = new ConcurrentHashMap<>();
+    private static final ClassValue<Map<String, Optional<Method>>> METHOD_CACHE =
+            new ClassValue<Map<String, Optional<Method>>>() {
+                @Override
+                protected Map<String, Optional<Method>> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
 
     private static final Map<String, Optional<Class<?>>> CLASS_CACHE = new ConcurrentHashMap<>();
 
     /**
-     * Constructor cache
+     * Constructor cache of class, key: &lt;init&gt;(params) value: constructor
      */
-    private static final Map<String, Optional<Constructor<?>>> CONSTRUCTOR_CACHE = new ConcurrentHashMap<>();
+    private static final ClassValue<Map<String, Optional<Constructor<?>>>> CONSTRUCTOR_CACHE =
+            new ClassValue<Map<String, Optional<Constructor<?>>>>() {
+                @Override
+                protected Map<String, Optional<Constructor<?>>> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
 
     /**
      * The initial capacity of a field cached for a single class
@@ -188,22 +201,22 @@ public class ReflectUtils {
         if (clazz == null) {
             return Optional.empty();
         }
-        final String methodKey = buildMethodKey(clazz, methodName, paramsType);
+        final Map<String, Optional<Method>> cache = METHOD_CACHE.get(clazz);
+        final String methodKey = buildMethodKey(methodName, paramsType);
+        Optional<Method> method = cache.get(methodKey);
+        if (method == null) {
+            method = searchMethod(clazz, methodName, paramsType);
+            cache.putIfAbsent(methodKey, method);
+        }
+        return method;
+    }
+
+    private static Optional<Method> searchMethod(Class<?> clazz, String methodName, Class<?>[] paramsType) {
         try {
-            Method method = METHOD_CACHE.get(methodKey);
-            if (method != null) {
-                return Optional.of(method);
-            }
-            method = setObjectAccessible(clazz.getDeclaredMethod(methodName, paramsType));
-            METHOD_CACHE.put(methodKey, method);
-            return Optional.of(method);
+            return Optional.of(setObjectAccessible(clazz.getDeclaredMethod(methodName, paramsType)));
         } catch (NoSuchMethodException ex) {
-            Optional<Method> method = findSuperClass(clazz, methodName, paramsType);
-            if (method.isPresent()) {
-                return method;
-            }
+            return findSuperClass(clazz, methodName, paramsType);
         }
-        return Optional.empty();
     }
 
     private static Optional<Method> findSuperClass(Class<?> clazz, String methodName, Class<?>[] paramsType) {
@@ -277,7 +290,7 @@ public class ReflectUtils {
         }
 
         // Add to constructor cache
-        return CONSTRUCTOR_CACHE.computeIfAbsent(buildMethodKey(clazz, "<init>", paramsTypes), key -> {
+        return CONSTRUCTOR_CACHE.get(clazz).computeIfAbsent(buildMethodKey("<init>", paramsTypes), key -> {
             try {
                 return Optional.of(setObjectAccessible(clazz.getDeclaredConstructor(paramsTypes)));
             } catch (NoSuchMethodException e) {
@@ -288,14 +301,15 @@ public class ReflectUtils {
         });
     }
 
-    private static String buildMethodKey(Class<?> clazz, String methodName, Class<?>[] paramsType) {
-        final String name = clazz.getName();
-        final StringBuilder sb = new StringBuilder(name.length() + methodName.length() + EXTRA_LENGTH_FOR_METHOD_KEY);
-        sb.append(name).append("#").append(methodName).append("(");
-        if (paramsType != null) {
-            for (Class<?> paramType : paramsType) {
-                sb.append(paramType.getName()).append(",");
-            }
+    private static String buildMethodKey(String methodName, Class<?>[] paramsType) {
+        if (paramsType == null || paramsType.length == 0) {
+            // The method name itself is the key of parameterless method, so that no key needs to be built
+            return methodName;
+        }
+        final StringBuilder sb = new StringBuilder(methodName.length() + EXTRA_LENGTH_FOR_METHOD_KEY);
+        sb.append(methodName).append("(");
+        for (Class<?> paramType : paramsType) {
+            sb.append(paramType.getName()).append(",");
         }
         return sb.append(")").toString();
     }
@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.common;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MpscRingBuffer test
+ *
+ * @author luanwenfei
+ * @since 2025-01-27
+ */
+public class MpscRingBufferTest {
+    @Test
+    public void testOfferAndPollInOrder() {
+        MpscRingBuffer<Integer> ringBuffer = new MpscRingBuffer<>(3);
+        Assert.assertEquals(4, ringBuffer.getCapacity());
+        for (int i = 0; i < 4; i++) {
+            Assert.assertTrue(ringBuffer.offer(i));
+        }
+        Assert.assertFalse(ringBuffer.offer(4));
+        Assert.assertEquals(4, ringBuffer.size());
+        Assert.assertEquals(Integer.valueOf(0), ringBuffer.poll());
+
+        // The released slot is reused in the next lap
+        Assert.assertTrue(ringBuffer.offer(4));
+        List<Integer> list = new ArrayList<>();
+        Assert.assertEquals(4, ringBuffer.drainTo(list, 10));
+        Assert.assertEquals(Arrays.asList(1, 2, 3, 4), list);
+        Assert.assertNull(ringBuffer.poll());
+        Assert.assertTrue(ringBuffer.isEmpty());
+    }
+
+    @Test
+    public void testConcurrentProducers() throws InterruptedException {
+        int producers = 4;
+        int countPerProducer = 10000;
+        MpscRingBuffer<Integer> ringBuffer = new MpscRingBuffer<>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch latch = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int base = p * countPerProducer;
+            executor.execute(() -> {
+                for (int i = 0; i < countPerProducer; i++) {
+                    while (!ringBuffer.offer(base + i)) {
+                        Thread.yield();
+                    }
+                }
+                latch.countDown();
+            });
+        }
+        Set<Integer> received = new HashSet<>();
+        int[] lastOfProducer = new int[producers];
+        Arrays.fill(lastOfProducer, -1);
+        while (received.size() < producers * countPerProducer) {
+            Integer element = ringBuffer.poll();
+            if (element == null) {
+                Thread.yield();
+                continue;
+            }
+            Assert.assertTrue(received.add(element));
+
+            // Elements of one producer are consumed in the order they are offered
+            int producer = element / countPerProducer;
+            Assert.assertTrue(element > lastOfProducer[producer]);
+            lastOfProducer[producer] = element;
+        }
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        Assert.assertNull(ringBuffer.poll());
+    }
+}
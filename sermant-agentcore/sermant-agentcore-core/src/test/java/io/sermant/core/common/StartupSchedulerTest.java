@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.common;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * StartupScheduler test
+ *
+ * @author luanwenfei
+ * @since 2025-01-24
+ */
+public class StartupSchedulerTest {
+    @Test
+    public void testRunInOrderWithSingleThread() {
+        List<String> executed = new CopyOnWriteArrayList<>();
+        new StartupScheduler("test", 1)
+                .addTask("a", Collections.singletonList("c"), () -> executed.add("a"))
+                .addTask("b", Collections.emptyList(), () -> executed.add("b"))
+                .addTask("c", Collections.singletonList("unknown"), () -> executed.add("c"))
+                .run();
+        Assert.assertEquals(Arrays.asList("b", "c", "a"), executed);
+    }
+
+    @Test
+    public void testRunInParallelAfterDependencies() {
+        List<String> executed = new CopyOnWriteArrayList<>();
+        new StartupScheduler("test", 4)
+                .addTask("a", Arrays.asList("b", "c"), () -> executed.add("a"))
+                .addTask("b", Collections.singletonList("c"), () -> executed.add("b"))
+                .addTask("c", Collections.emptyList(), () -> executed.add("c"))
+                .addTask("d", Collections.emptyList(), () -> executed.add("d"))
+                .run();
+        Assert.assertEquals(4, executed.size());
+        Assert.assertTrue(executed.indexOf("c") < executed.indexOf("b"));
+        Assert.assertTrue(executed.indexOf("b") < executed.indexOf("a"));
+    }
+
+    @Test
+    public void testSkipDependentsOfFailedTask() {
+        List<String> executed = new CopyOnWriteArrayList<>();
+        StartupScheduler scheduler = new StartupScheduler("test", 2)
+                .addTask("a", Collections.emptyList(), () -> {
+                    throw new IllegalStateException("failed");
+                })
+                .addTask("b", Collections.singletonList("a"), () -> executed.add("b"))
+                .addTask("c", Collections.emptyList(), () -> executed.add("c"));
+        try {
+            scheduler.run();
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("failed", e.getMessage());
+        }
+        Assert.assertEquals(Collections.singletonList("c"), executed);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCyclicDependencies() {
+        new StartupScheduler("test", 2)
+                .addTask("a", Collections.singletonList("b"), () -> { })
+                .addTask("b", Collections.singletonList("a"), () -> { })
+                .run();
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.event;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * OfferTimeSketch test
+ *
+ * @author luanwenfei
+ * @since 2025-01-27
+ */
+public class OfferTimeSketchTest {
+    private static final long BASE_TIME = 1000000L;
+
+    private static final long OFFER_INTERVAL = 60000L;
+
+    @Test
+    public void testOfferOncePerInterval() {
+        OfferTimeSketch sketch = new OfferTimeSketch(BASE_TIME);
+        int fingerprint = "event".hashCode();
+        Assert.assertTrue(sketch.tryOffer(fingerprint, BASE_TIME, OFFER_INTERVAL));
+        Assert.assertFalse(sketch.tryOffer(fingerprint, BASE_TIME + 1L, OFFER_INTERVAL));
+        Assert.assertFalse(sketch.tryOffer(fingerprint, BASE_TIME + OFFER_INTERVAL, OFFER_INTERVAL));
+        Assert.assertTrue(sketch.tryOffer(fingerprint, BASE_TIME + OFFER_INTERVAL + OfferTimeSketch.BUCKET_MILLIS,
+                OFFER_INTERVAL));
+    }
+
+    @Test
+    public void testDistinctEvents() {
+        OfferTimeSketch sketch = new OfferTimeSketch(BASE_TIME);
+        int offered = 0;
+        for (int i = 0; i < 100; i++) {
+            if (sketch.tryOffer(("event" + i).hashCode(), BASE_TIME, OFFER_INTERVAL)) {
+                offered++;
+            }
+        }
+
+        // Collisions of all rows are rare for the events far fewer than the width
+        Assert.assertTrue(offered >= 99);
+    }
+}
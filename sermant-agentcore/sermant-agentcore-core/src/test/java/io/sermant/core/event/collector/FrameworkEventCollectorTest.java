@@ -22,6 +22,7 @@ import static org.mockito.Mockito.mockConstruction;
 import static org.mockito.Mockito.when;
 
 import io.sermant.core.common.BootArgsIndexer;
+import io.sermant.core.common.MpscRingBuffer;
 import io.sermant.core.config.ConfigManager;
 import io.sermant.core.event.Event;
 import io.sermant.core.event.config.EventConfig;
@@ -37,7 +38,6 @@ import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 import java.util.Optional;
-import java.util.concurrent.BlockingQueue;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
 
@@ -72,7 +72,7 @@ public class FrameworkEventCollectorTest {
                         "Hot plugging command[INSTALL-PLUGINS] has been processed.");
         Optional<Object> optional = ReflectUtils.getFieldValue(FrameworkEventCollector.getInstance(), "eventQueue");
         Assert.assertTrue(optional.isPresent());
-        BlockingQueue<Event> eventQueue = (BlockingQueue<Event>) optional.get();
+        MpscRingBuffer<Event> eventQueue = (MpscRingBuffer<Event>) optional.get();
         Assert.assertTrue(eventQueue.isEmpty());
     }
 
@@ -87,9 +87,10 @@ public class FrameworkEventCollectorTest {
                         "Hot plugging command[INSTALL-PLUGINS] has been processed.");
         Optional<Object> optional = ReflectUtils.getFieldValue(FrameworkEventCollector.getInstance(), "eventQueue");
         Assert.assertTrue(optional.isPresent());
-        BlockingQueue<Event> eventQueue = (BlockingQueue<Event>) optional.get();
+        MpscRingBuffer<Event> eventQueue = (MpscRingBuffer<Event>) optional.get();
         Assert.assertFalse(eventQueue.isEmpty());
-        eventQueue.clear();
+        Assert.assertFalse(FrameworkEventCollector.getInstance().collect().isEmpty());
+        Assert.assertTrue(eventQueue.isEmpty());
     }
 
     @After
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.event.collector;
+
+import io.sermant.core.event.config.EventConfig;
+import io.sermant.core.utils.JarFileUtils;
+import io.sermant.core.utils.ReflectUtils;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.MockedConstruction;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.util.Locale;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * LogEventCollector test
+ *
+ * @author luanwenfei
+ * @since 2025-01-27
+ */
+public class LogEventCollectorTest {
+    @Test
+    public void testFingerprintOfSameLog() {
+        LogRecord record = record("Fail to connect {0}.", new Object[]{"127.0.0.1"});
+        LogRecord another = record("Fail to connect {0}.", new Object[]{"127.0.0.2"});
+        Assert.assertEquals(LogEventCollector.fingerprint(record), LogEventCollector.fingerprint(another));
+    }
+
+    @Test
+    public void testFingerprintOfFormattedMessages() {
+        LogRecord record = record(String.format(Locale.ROOT, "Fail to connect %s.", "127.0.0.1"), null);
+        LogRecord another = record(String.format(Locale.ROOT, "Fail to connect %s.", "127.0.0.2"), null);
+        another.setThreadID(2);
+        Assert.assertEquals(LogEventCollector.fingerprint(record), LogEventCollector.fingerprint(another));
+    }
+
+    @Test
+    public void testSuppressFormattedMessagesOfSameSite() {
+        // The core version is read from the manifest when the event is created
+        try (MockedConstruction<JarFile> ignored = Mockito.mockConstruction(JarFile.class,
+                (mock, context) -> Mockito.when(mock.getManifest()).thenReturn(new Manifest()));
+                MockedStatic<JarFileUtils> jarFileUtils = Mockito.mockStatic(JarFileUtils.class)) {
+            jarFileUtils.when(() -> JarFileUtils.getManifestAttr(ArgumentMatchers.any(), ArgumentMatchers.anyString()))
+                    .thenReturn("1.0.0");
+            offerFormattedMessages();
+        }
+    }
+
+    private static void offerFormattedMessages() {
+        LogEventCollector collector = LogEventCollector.getInstance();
+        EventConfig eventConfig = new EventConfig();
+        eventConfig.setEnable(true);
+        eventConfig.setOfferWarnLog(true);
+        eventConfig.setOfferInterval(60000L);
+        ReflectUtils.setFieldValue(collector, "eventConfig", eventConfig);
+        collector.collect();
+
+        LogRecord record = record(String.format(Locale.ROOT, "Fail to send %d bytes.", 10), null);
+        record.setSourceMethodName("send");
+        collector.offerWarning(record);
+        LogRecord another = record(String.format(Locale.ROOT, "Fail to send %d bytes.", 20), null);
+        another.setSourceMethodName("send");
+        collector.offerWarning(another);
+        Assert.assertEquals(1, collector.collect().size());
+    }
+
+    @Test
+    public void testFingerprintOfDifferentThrowables() {
+        LogRecord record = record("Fail to connect.", null);
+        LogRecord another = record("Fail to connect.", null);
+        another.setThrown(new IllegalStateException("closed"));
+        Assert.assertNotEquals(LogEventCollector.fingerprint(record), LogEventCollector.fingerprint(another));
+
+        // Only the class of the throwable is considered
+        record.setThrown(new IllegalStateException("timeout"));
+        Assert.assertEquals(LogEventCollector.fingerprint(record), LogEventCollector.fingerprint(another));
+    }
+
+    private static LogRecord record(String message, Object[] params) {
+        LogRecord record = new LogRecord(Level.WARNING, message);
+        record.setParameters(params);
+        record.setSourceClassName("io.sermant.demo.Client");
+        record.setSourceMethodName("connect");
+        record.setThreadID(1);
+        return record;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.notification;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NotificationDispatcher test
+ *
+ * @author zhp
+ * @since 2025-01-27
+ */
+public class NotificationDispatcherTest {
+    private static final long TIMEOUT_SECONDS = 5L;
+
+    @Test
+    public void testOrderAndCoalesce() throws InterruptedException {
+        NotificationDispatcher dispatcher = new NotificationDispatcher(2, 16);
+        CountDownLatch blocking = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3);
+        List<Object> received = Collections.synchronizedList(new ArrayList<>());
+        NotificationListener listener = notificationInfo -> {
+            awaitQuietly(blocking);
+            received.add(notificationInfo.getNotificationType());
+            done.countDown();
+        };
+
+        // The listener is blocked by the first notification, so the following flaps are coalesced into the latest
+        dispatcher.dispatch(listener, new NotificationInfo(SermantNotificationType.LOAD_COMPLETE, null));
+        dispatcher.dispatch(listener, new NotificationInfo(NettyNotificationType.DISCONNECTED, null));
+        dispatcher.dispatch(listener, new NotificationInfo(NettyNotificationType.CONNECTED, null));
+        dispatcher.dispatch(listener, new NotificationInfo(NettyNotificationType.DISCONNECTED, null));
+        dispatcher.dispatch(listener, new NotificationInfo(ZookeeperNotificationType.CONNECTED, null));
+        blocking.countDown();
+        Assert.assertTrue(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        Assert.assertEquals(Arrays.asList(SermantNotificationType.LOAD_COMPLETE, NettyNotificationType.DISCONNECTED,
+                ZookeeperNotificationType.CONNECTED), received);
+    }
+
+    @Test
+    public void testDiscardOldestWhenFull() throws InterruptedException {
+        NotificationDispatcher dispatcher = new NotificationDispatcher(1, 2);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch blocking = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3);
+        List<Object> received = Collections.synchronizedList(new ArrayList<>());
+        NotificationListener listener = notificationInfo -> {
+            started.countDown();
+            awaitQuietly(blocking);
+            received.add(notificationInfo.getContent());
+            done.countDown();
+        };
+        dispatcher.dispatch(listener, new NotificationInfo(SermantNotificationType.LOAD_COMPLETE, 0));
+        Assert.assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        for (int i = 1; i < 5; i++) {
+            dispatcher.dispatch(listener, new NotificationInfo(SermantNotificationType.LOAD_COMPLETE, i));
+        }
+        blocking.countDown();
+        Assert.assertTrue(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        // The first one is being processed, 1 and 2 are discarded
+        Assert.assertEquals(Arrays.asList(0, 3, 4), received);
+    }
+
+    @Test
+    public void testRemoveWhileProcessing() throws InterruptedException {
+        NotificationDispatcher dispatcher = new NotificationDispatcher(2, 16);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch blocking = new CountDownLatch(1);
+        List<Object> received = Collections.synchronizedList(new ArrayList<>());
+        NotificationListener listener = notificationInfo -> {
+            started.countDown();
+            awaitQuietly(blocking);
+            received.add(notificationInfo.getContent());
+        };
+        dispatcher.dispatch(listener, new NotificationInfo(SermantNotificationType.LOAD_COMPLETE, 0));
+        Assert.assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        dispatcher.dispatch(listener, new NotificationInfo(SermantNotificationType.LOAD_COMPLETE, 1));
+
+        // The pending notification is discarded, the one being processed is completed
+        dispatcher.remove(listener);
+        blocking.countDown();
+        dispatcher.shutdown();
+        Assert.assertTrue(awaitTermination(dispatcher));
+        Assert.assertEquals(Collections.singletonList(0), received);
+    }
+
+    @Test
+    public void testQueueDepthAndLatency() throws InterruptedException {
+        NotificationDispatcher dispatcher = new NotificationDispatcher(2, 16);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch blocking = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3);
+        NotificationListener listener = notificationInfo -> {
+            started.countDown();
+            awaitQuietly(blocking);
+            done.countDown();
+        };
+        NotificationListener otherListener = notificationInfo -> {
+        };
+        dispatcher.dispatch(listener, new NotificationInfo(SermantNotificationType.LOAD_COMPLETE, 0));
+        Assert.assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        dispatcher.dispatch(listener, new NotificationInfo(SermantNotificationType.LOAD_COMPLETE, 1));
+        dispatcher.dispatch(listener, new NotificationInfo(SermantNotificationType.LOAD_COMPLETE, 2));
+        Assert.assertEquals(2, dispatcher.getQueueDepth(listener));
+        Assert.assertEquals(0, dispatcher.getQueueDepth(otherListener));
+        Assert.assertEquals(2, dispatcher.getQueueDepth());
+        Thread.sleep(10L);
+        blocking.countDown();
+        Assert.assertTrue(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        dispatcher.shutdown();
+        Assert.assertTrue(awaitTermination(dispatcher));
+        Assert.assertEquals(3L, dispatcher.getDispatchCount());
+        Assert.assertTrue(dispatcher.getMaxLatencyNanos() >= TimeUnit.MILLISECONDS.toNanos(10L));
+        Assert.assertTrue(dispatcher.getTotalLatencyNanos() >= dispatcher.getMaxLatencyNanos());
+        Assert.assertEquals(0, dispatcher.getQueueDepth());
+    }
+
+    @Test
+    public void testDiscardAfterShutdown() throws InterruptedException {
+        NotificationDispatcher dispatcher = new NotificationDispatcher(1, 16);
+        List<Object> received = Collections.synchronizedList(new ArrayList<>());
+        NotificationListener listener = notificationInfo -> received.add(notificationInfo.getContent());
+        dispatcher.shutdown();
+        dispatcher.dispatch(listener, new NotificationInfo(SermantNotificationType.LOAD_COMPLETE, 0));
+        Assert.assertTrue(awaitTermination(dispatcher));
+        Assert.assertTrue(received.isEmpty());
+    }
+
+    private static boolean awaitTermination(NotificationDispatcher dispatcher) throws InterruptedException {
+        return dispatcher.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -13,6 +13,7 @@ import org.junit.Test;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class NotificationManagerTest {
     private static final String LISTENER_MAP = "NOTIFICATION_LISTENER_MAP";
@@ -61,6 +62,26 @@ public class NotificationManagerTest {
         Assert.assertTrue(isSendNotificationFlag);
     }
 
+    @Test
+    public void ignoreNotificationAfterShutdown() throws InterruptedException {
+        List<NotificationInfo> received = new CopyOnWriteArrayList<>();
+        NotificationListener listener = received::add;
+        NotificationManager.registry(listener, ZookeeperNotificationType.class);
+        try {
+            NotificationManager.shutdown();
+            NotificationManager.doNotify(new NotificationInfo(ZookeeperNotificationType.CONNECTED, null));
+            Thread.sleep(100);
+            Assert.assertTrue(received.isEmpty());
+
+            // The dispatcher is not created again
+            Optional<?> dispatcherOptional = ReflectUtils.getStaticFieldValue(NotificationManager.class, "dispatcher");
+            Assert.assertFalse(dispatcherOptional.isPresent());
+        } finally {
+            NotificationManager.unRegistry(listener, ZookeeperNotificationType.class);
+            ReflectUtils.setStaticFieldValue(NotificationManager.class, "isShutdown", false);
+        }
+    }
+
     class ListenerTest implements NotificationListener {
         @Override
         public void process(NotificationInfo notificationInfo) {
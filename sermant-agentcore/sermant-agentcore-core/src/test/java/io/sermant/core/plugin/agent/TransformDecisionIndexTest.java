@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.plugin.agent;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.security.CodeSource;
+import java.security.ProtectionDomain;
+import java.security.cert.Certificate;
+
+/**
+ * TransformDecisionIndex test
+ *
+ * @author luanwenfei
+ * @since 2025-01-20
+ */
+public class TransformDecisionIndexTest {
+    private static final long FINGERPRINT = 1L;
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        File dir = Files.createTempDirectory("transform-index").toFile();
+        File jar = new File(dir, "app.jar");
+        Files.write(jar.toPath(), new byte[]{1, 2, 3});
+        ProtectionDomain domain = createDomain(jar.toURI().toURL());
+        ClassLoader loader = getClass().getClassLoader();
+        long unmatchedKey = TransformDecisionIndex.computeKey("com.example.Unmatched", loader, domain);
+        long matchedKey = TransformDecisionIndex.computeKey("com.example.Matched", loader, domain);
+        Assert.assertNotEquals(TransformDecisionIndex.NONE_KEY, unmatchedKey);
+        Assert.assertNotEquals(unmatchedKey, matchedKey);
+
+        File indexFile = new File(dir, "index.bin");
+        TransformDecisionIndex index = TransformDecisionIndex.load(indexFile, FINGERPRINT);
+        Assert.assertFalse(index.contains(unmatchedKey));
+        index.recordUnmatched(unmatchedKey);
+        index.recordUnmatched(matchedKey);
+        index.recordMatched(matchedKey);
+        index.save();
+
+        TransformDecisionIndex loaded = TransformDecisionIndex.load(indexFile, FINGERPRINT);
+        Assert.assertTrue(loaded.contains(unmatchedKey));
+        Assert.assertFalse(loaded.contains(matchedKey));
+        Assert.assertFalse(TransformDecisionIndex.load(indexFile, FINGERPRINT + 1).contains(unmatchedKey));
+    }
+
+    @Test
+    public void testComputeKeyWithoutStableCodeSource() throws IOException {
+        ClassLoader loader = getClass().getClassLoader();
+        File dir = Files.createTempDirectory("transform-index").toFile();
+        Assert.assertEquals(TransformDecisionIndex.NONE_KEY,
+                TransformDecisionIndex.computeKey("com.example.Generated", loader, null));
+        Assert.assertEquals(TransformDecisionIndex.NONE_KEY, TransformDecisionIndex.computeKey(
+                "com.example.InDirectory", loader, createDomain(dir.toURI().toURL())));
+        Assert.assertNotEquals(TransformDecisionIndex.NONE_KEY,
+                TransformDecisionIndex.computeKey("java.lang.String", null, null));
+    }
+
+    @Test
+    public void testFingerprintChangesWithFile() throws IOException {
+        File dir = Files.createTempDirectory("transform-index").toFile();
+        File plugin = new File(dir, "plugin.jar");
+        Files.write(plugin.toPath(), new byte[]{1});
+        long fingerprint = TransformDecisionIndex.computeFingerprint(dir);
+        Assert.assertEquals(fingerprint, TransformDecisionIndex.computeFingerprint(dir));
+        Files.write(plugin.toPath(), new byte[]{1, 2});
+        Assert.assertNotEquals(fingerprint, TransformDecisionIndex.computeFingerprint(dir));
+    }
+
+    private ProtectionDomain createDomain(URL location) {
+        return new ProtectionDomain(new CodeSource(location, (Certificate[]) null), null);
+    }
+}
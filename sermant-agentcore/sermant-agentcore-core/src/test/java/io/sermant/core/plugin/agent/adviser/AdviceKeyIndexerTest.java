@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.plugin.agent.adviser;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * AdviceKeyIndexer test
+ *
+ * @author luanwenfei
+ * @since 2025-01-27
+ */
+public class AdviceKeyIndexerTest {
+    @Test
+    public void testStableIndex() {
+        String adviceKey = "TemplateForMember_stable_" + System.nanoTime();
+        Assert.assertEquals(AdviceKeyIndexer.UNKNOWN_INDEX, AdviceKeyIndexer.findIndex(adviceKey));
+        int index = AdviceKeyIndexer.getIndex(adviceKey);
+        Assert.assertEquals(index, AdviceKeyIndexer.getIndex(adviceKey));
+        Assert.assertEquals(index, AdviceKeyIndexer.findIndex(adviceKey));
+        Assert.assertEquals(adviceKey, AdviceKeyIndexer.getAdviceKey(index));
+        Assert.assertNull(AdviceKeyIndexer.getAdviceKey(-1));
+        Assert.assertNull(AdviceKeyIndexer.getAdviceKey(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testGrowBeyondInitialCapacity() {
+        String prefix = "TemplateForStatic_grow_" + System.nanoTime() + "_";
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            indexes.add(AdviceKeyIndexer.getIndex(prefix + i));
+        }
+        for (int i = 0; i < 600; i++) {
+            Assert.assertEquals(prefix + i, AdviceKeyIndexer.getAdviceKey(indexes.get(i)));
+        }
+    }
+
+    @Test
+    public void testConcurrentIndexing() throws Exception {
+        String prefix = "TemplateForCtor_concurrent_" + System.nanoTime() + "_";
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<Integer>>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                Callable<List<Integer>> task = () -> {
+                    List<Integer> indexes = new ArrayList<>();
+                    for (int i = 0; i < 100; i++) {
+                        indexes.add(AdviceKeyIndexer.getIndex(prefix + i));
+                    }
+                    return indexes;
+                };
+                futures.add(executor.submit(task));
+            }
+            List<Integer> expected = futures.get(0).get();
+            for (Future<List<Integer>> future : futures) {
+                Assert.assertEquals(expected, future.get());
+            }
+            Set<Integer> distinct = new HashSet<>(expected);
+            Assert.assertEquals(100, distinct.size());
+            for (int i = 0; i < 100; i++) {
+                Assert.assertEquals(prefix + i, AdviceKeyIndexer.getAdviceKey(expected.get(i)));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
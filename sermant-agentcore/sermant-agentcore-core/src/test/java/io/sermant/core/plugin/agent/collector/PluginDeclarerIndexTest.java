@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.plugin.agent.collector;
+
+import io.sermant.core.plugin.agent.declarer.AbstractPluginDeclarer;
+import io.sermant.core.plugin.agent.declarer.InterceptDeclarer;
+import io.sermant.core.plugin.agent.declarer.PluginDeclarer;
+import io.sermant.core.plugin.agent.matcher.ClassMatcher;
+
+import net.bytebuddy.description.type.TypeDescription;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.Callable;
+
+/**
+ * PluginDeclarerIndex test
+ *
+ * @author luanwenfei
+ * @since 2025-01-22
+ */
+public class PluginDeclarerIndexTest {
+    private final PluginDeclarerIndex index = new PluginDeclarerIndex(Arrays.asList(
+            createDeclarer(ClassMatcher.isExtendedFrom(Runnable.class)),
+            createDeclarer(ClassMatcher.isAnnotatedWith(Deprecated.class)),
+            createDeclarer(ClassMatcher.namePrefixedWith("io.sermant")),
+            createDeclarer(ClassMatcher.isExtendedFrom(Callable.class).or(ClassMatcher.isExtendedFrom(Runnable.class))),
+            createDeclarer(ClassMatcher.isExtendedFrom(Callable.class).not())));
+
+    @Test
+    public void testGetCandidates() {
+        Assert.assertEquals(bits(0, 2, 3, 4), index.getCandidates(TypeDescription.ForLoadedType.of(SubTask.class)));
+        Assert.assertEquals(bits(1, 2, 4), index.getCandidates(TypeDescription.ForLoadedType.of(OldClass.class)));
+        Assert.assertEquals(bits(2, 3, 4), index.getCandidates(TypeDescription.ForLoadedType.of(CallTask.class)));
+        Assert.assertEquals(bits(2, 4), index.getCandidates(TypeDescription.ForLoadedType.of(String.class)));
+    }
+
+    private static BitSet bits(int... indexes) {
+        BitSet bitSet = new BitSet();
+        for (int i : indexes) {
+            bitSet.set(i);
+        }
+        return bitSet;
+    }
+
+    private static PluginDeclarer createDeclarer(ClassMatcher classMatcher) {
+        return new AbstractPluginDeclarer() {
+            @Override
+            public ClassMatcher getClassMatcher() {
+                return classMatcher;
+            }
+
+            @Override
+            public InterceptDeclarer[] getInterceptDeclarers(ClassLoader classLoader) {
+                return new InterceptDeclarer[0];
+            }
+        };
+    }
+
+    /**
+     * Task
+     *
+     * @since 2025-01-22
+     */
+    public static class Task implements Runnable {
+        @Override
+        public void run() {
+        }
+    }
+
+    /**
+     * Sub task
+     *
+     * @since 2025-01-22
+     */
+    public static class SubTask extends Task {
+    }
+
+    /**
+     * Call task
+     *
+     * @since 2025-01-22
+     */
+    public abstract static class CallTask implements Callable<Object> {
+    }
+
+    /**
+     * Deprecated class
+     *
+     * @since 2025-01-22
+     */
+    @Deprecated
+    public static class OldClass {
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.plugin.agent.entity;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * FieldAccessor test
+ *
+ * @author luanwenfei
+ * @since 2025-01-27
+ */
+public class FieldAccessorTest {
+    @Test
+    public void testMemberField() throws Exception {
+        Sample sample = new Sample();
+        FieldAccessor accessor = FieldAccessor.of(Sample.class, "name");
+        Assert.assertFalse(accessor.isStatic());
+        Assert.assertEquals("init", accessor.get(sample));
+        accessor.set(sample, "changed");
+        Assert.assertEquals("changed", sample.name);
+        Assert.assertSame(accessor, FieldAccessor.of(Sample.class, "name"));
+    }
+
+    @Test
+    public void testStaticField() throws Exception {
+        FieldAccessor accessor = FieldAccessor.of(Sample.class, "counter");
+        Assert.assertTrue(accessor.isStatic());
+        accessor.set(null, 5);
+        Assert.assertEquals(5, accessor.get(null));
+    }
+
+    @Test
+    public void testPrimitiveAndFinalField() throws Exception {
+        Sample sample = new Sample();
+        FieldAccessor primitive = FieldAccessor.of(Sample.class, "count");
+        primitive.set(sample, 3);
+        Assert.assertEquals(3, primitive.get(sample));
+
+        // Final fields are written by reflection
+        FieldAccessor finalField = FieldAccessor.of(Sample.class, "finalName");
+        finalField.set(sample, "written");
+        Assert.assertEquals("written", finalField.get(sample));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetMismatchedType() throws Exception {
+        FieldAccessor.of(Sample.class, "name").set(new Sample(), 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetNullToPrimitiveField() throws Exception {
+        FieldAccessor.of(Sample.class, "count").set(new Sample(), null);
+    }
+
+    @Test
+    public void testPublicFieldOfSuperclass() throws Exception {
+        SubSample sample = new SubSample();
+        Assert.assertEquals("parent", FieldAccessor.of(SubSample.class, "publicName").get(sample));
+        try {
+            FieldAccessor.of(SubSample.class, "name");
+            Assert.fail();
+        } catch (NoSuchFieldException ignored) {
+            // Private fields of the superclass are not retrieved, and the absence is cached
+        }
+        try {
+            FieldAccessor.of(SubSample.class, "name");
+            Assert.fail();
+        } catch (NoSuchFieldException ignored) {
+            // The cached absence is reported again
+        }
+    }
+
+    @Test
+    public void testExecuteContextRawFields() throws Exception {
+        Sample sample = new Sample();
+        ExecuteContext context = ExecuteContext.forMemberMethod(sample, null, new Object[0], null, null);
+        context.setRawMemberFieldValue("name", "context");
+        Assert.assertEquals("context", context.getRawMemberFieldValue("name"));
+        try {
+            context.getRawStaticFieldValue("name");
+            Assert.fail();
+        } catch (NoSuchFieldException ignored) {
+            // A member field is not accessible as a static field
+        }
+    }
+
+    /**
+     * Class with fields to be accessed
+     *
+     * @since 2025-01-27
+     */
+    public static class Sample {
+        private static Integer counter = 0;
+
+        public String publicName = "parent";
+
+        private final String finalName = new String("final");
+
+        private String name = "init";
+
+        private int count;
+    }
+
+    /**
+     * Subclass of the sample
+     *
+     * @since 2025-01-27
+     */
+    public static class SubSample extends Sample {
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.plugin.agent.entity;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * LocalFieldKey test
+ *
+ * @author luanwenfei
+ * @since 2025-01-27
+ */
+public class LocalFieldKeyTest {
+    @Test
+    public void testSameNameSameKey() {
+        LocalFieldKey key = LocalFieldKey.of("startTime");
+        Assert.assertSame(key, LocalFieldKey.of("startTime"));
+        Assert.assertSame(key, LocalFieldKey.find("startTime"));
+        Assert.assertEquals("startTime", key.getName());
+        Assert.assertNull(LocalFieldKey.find("notRegistered"));
+    }
+
+    @Test
+    public void testNullName() {
+        LocalFieldKey key = LocalFieldKey.of(null);
+        Assert.assertSame(key, LocalFieldKey.find(null));
+        Assert.assertNull(key.getName());
+    }
+
+    @Test
+    public void testStringAndKeyApisInteroperable() {
+        ExecuteContext context = ExecuteContext.forMemberMethod(new Object(), null, new Object[0], null, null);
+        context.setLocalFieldValue("field", "value");
+        Assert.assertEquals("value", context.getLocalFieldValue(LocalFieldKey.of("field")));
+        context.setLocalFieldValue(LocalFieldKey.of("other"), 1);
+        Assert.assertEquals(1, context.getLocalFieldValue("other"));
+        context.setLocalFieldValue((String) null, "nullValue");
+        Assert.assertEquals("nullValue", context.getLocalFieldValue((String) null));
+    }
+
+    @Test
+    public void testKeyHeldStrongly() throws InterruptedException {
+        int identity = System.identityHashCode(LocalFieldKey.of("stringField"));
+        WeakReference<Object> collected = new WeakReference<>(new Object());
+        for (int i = 0; i < 50 && collected.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+
+        // The key registered by name is not released, so the field can still be found by the name
+        Assert.assertNotNull(LocalFieldKey.find("stringField"));
+        Assert.assertEquals(identity, System.identityHashCode(LocalFieldKey.of("stringField")));
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.plugin.classloader;
+
+import io.sermant.core.config.ConfigManager;
+import io.sermant.core.config.common.BaseConfig;
+import io.sermant.core.config.common.ConfigTypeKey;
+import io.sermant.core.plugin.agent.config.AgentConfig;
+import io.sermant.core.utils.ReflectUtils;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+
+/**
+ * PluginClassLoader test
+ *
+ * @author luanwenfei
+ * @since 2025-01-27
+ */
+public class PluginClassLoaderTest {
+    private static final String SAMPLE_CLASS_NAME = Sample.class.getName();
+
+    @BeforeClass
+    public static void setUp() {
+        Optional<?> optional = ReflectUtils.getStaticFieldValue(ConfigManager.class, "CONFIG_MAP");
+        if (optional.isPresent()) {
+            Map<String, BaseConfig> configMap = (Map<String, BaseConfig>) optional.get();
+            configMap.put(AgentConfig.class.getAnnotation(ConfigTypeKey.class).value(), new AgentConfig());
+        }
+    }
+
+    @Test
+    public void testLoadIndexedClass() throws Exception {
+        PluginClassLoader loader = new PluginClassLoader(new URL[]{createSampleJar().toURI().toURL()}, null);
+        Class<?> clazz = loader.loadClass(SAMPLE_CLASS_NAME);
+        Assert.assertSame(loader, clazz.getClassLoader());
+        Assert.assertSame(clazz, loader.loadSermantClass(SAMPLE_CLASS_NAME));
+    }
+
+    @Test
+    public void testAppendJarAfterMiss() throws Exception {
+        PluginClassLoader loader = new PluginClassLoader(new URL[0], null);
+        try {
+            loader.loadSermantClass(SAMPLE_CLASS_NAME);
+            Assert.fail();
+        } catch (ClassNotFoundException ignored) {
+            // The class is not in the search path yet
+        }
+        try (JarFile jarFile = new JarFile(createSampleJar())) {
+            loader.appendJar(jarFile);
+        }
+        Assert.assertSame(loader, loader.loadSermantClass(SAMPLE_CLASS_NAME).getClassLoader());
+    }
+
+    @Test
+    public void testLoadClassFromLocalLoader() throws Exception {
+        PluginClassLoader loader = new PluginClassLoader(new URL[0], null);
+        loader.setLocalLoader(getClass().getClassLoader());
+        try {
+            Assert.assertSame(Sample.class, loader.loadClass(SAMPLE_CLASS_NAME));
+        } finally {
+            loader.removeLocalLoader();
+        }
+        try {
+            loader.loadSermantClass(SAMPLE_CLASS_NAME);
+            Assert.fail();
+        } catch (ClassNotFoundException ignored) {
+            // The local loader is not used by loadSermantClass
+        }
+    }
+
+    @Test
+    public void testMissingClassNamesBounded() throws Exception {
+        PluginClassLoader loader = new PluginClassLoader(new URL[0], null);
+        for (int i = 0; i < 5000; i++) {
+            try {
+                loader.loadSermantClass("io.sermant.missing.Class" + i);
+                Assert.fail();
+            } catch (ClassNotFoundException ignored) {
+                // The class does not exist
+            }
+        }
+        Optional<Object> missingClassNames = ReflectUtils.getFieldValue(loader, "missingSermantClassNames");
+        Assert.assertTrue(missingClassNames.isPresent());
+        Assert.assertTrue(((Set<?>) missingClassNames.get()).size() <= 4096);
+    }
+
+    @Test
+    public void testLoadClassConcurrently() throws Exception {
+        PluginClassLoader loader = new PluginClassLoader(new URL[]{createSampleJar().toURI().toURL()}, null);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Class<?>>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                Callable<Class<?>> task = () -> loader.loadClass(SAMPLE_CLASS_NAME);
+                futures.add(executor.submit(task));
+            }
+            Class<?> expected = futures.get(0).get();
+            for (Future<Class<?>> future : futures) {
+                Assert.assertSame(expected, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static File createSampleJar() throws IOException {
+        File jar = Files.createTempFile("plugin-class-loader", ".jar").toFile();
+        jar.deleteOnExit();
+        String entryName = SAMPLE_CLASS_NAME.replace('.', '/') + ".class";
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar.toPath()));
+                InputStream in = PluginClassLoaderTest.class.getClassLoader().getResourceAsStream(entryName)) {
+            out.putNextEntry(new JarEntry(entryName));
+            byte[] buffer = new byte[1024];
+            for (int len = in.read(buffer); len > 0; len = in.read(buffer)) {
+                out.write(buffer, 0, len);
+            }
+        }
+        return jar;
+    }
+
+    /**
+     * Class packaged into the plugin jar
+     *
+     * @since 2025-01-27
+     */
+    public static class Sample {
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.service;
+
+import io.sermant.core.utils.KeyGenerateUtils;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * ServiceManager test
+ *
+ * @author luanwenfei
+ * @since 2025-01-17
+ */
+public class ServiceManagerTest {
+    @After
+    public void tearDown() {
+        ServiceManager.shutdown();
+    }
+
+    @Test
+    public void testGetServiceAfterLoadAndStop() {
+        assertNotFound(TestService.class);
+        TestServiceImpl service = new TestServiceImpl();
+        Assert.assertTrue(ServiceManager.loadService(service, TestServiceImpl.class, BaseService.class));
+        Assert.assertSame(service, ServiceManager.getService(TestService.class));
+        Assert.assertSame(service, ServiceManager.getService(TestServiceImpl.class));
+
+        ServiceManager.stopService(KeyGenerateUtils.generateClassKeyWithClassLoader(TestService.class));
+        assertNotFound(TestService.class);
+        Assert.assertSame(service, ServiceManager.getService(TestServiceImpl.class));
+    }
+
+    private void assertNotFound(Class<? extends BaseService> serviceClass) {
+        try {
+            ServiceManager.getService(serviceClass);
+            Assert.fail();
+        } catch (IllegalArgumentException ignored) {
+            // The service is expected to be not found
+        }
+    }
+
+    /**
+     * Test service
+     *
+     * @since 2025-01-17
+     */
+    public interface TestService extends BaseService {
+    }
+
+    /**
+     * Test service implementation
+     *
+     * @since 2025-01-17
+     */
+    public static class TestServiceImpl implements TestService {
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.service.metric.histogram;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LogLinearHistogram test
+ *
+ * @author zwmagic
+ * @since 2025-01-27
+ */
+public class LogLinearHistogramTest {
+    @Test
+    public void testBucketBounds() {
+        for (long value : new long[]{0L, 1L, 15L, 16L, 17L, 31L, 32L, 33L, 1000L, 123456789L, 1L << 40}) {
+            int index = LogLinearHistogram.bucketIndex(value);
+            Assert.assertTrue(LogLinearHistogram.lowestValue(index) <= value);
+            Assert.assertTrue(LogLinearHistogram.highestValue(index) >= value);
+        }
+        for (int i = 0; i < LogLinearHistogram.BUCKET_COUNT - 1; i++) {
+            Assert.assertEquals(i, LogLinearHistogram.bucketIndex(LogLinearHistogram.lowestValue(i)));
+            Assert.assertEquals(i, LogLinearHistogram.bucketIndex(LogLinearHistogram.highestValue(i)));
+        }
+        Assert.assertEquals(LogLinearHistogram.BUCKET_COUNT - 1, LogLinearHistogram.bucketIndex(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testPercentiles() {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i, TimeUnit.MICROSECONDS);
+        }
+        HistogramSnapshot snapshot = histogram.snapshot();
+        Assert.assertEquals(1000L, snapshot.getCount());
+        Assert.assertEquals(500.5D, snapshot.getMean(TimeUnit.MICROSECONDS), 0.001D);
+        assertNear(TimeUnit.MICROSECONDS.toNanos(500L), snapshot.getValueAtPercentile(50.0D));
+        assertNear(TimeUnit.MICROSECONDS.toNanos(990L), snapshot.getValueAtPercentile(99.0D));
+        assertNear(TimeUnit.MICROSECONDS.toNanos(999L), snapshot.getValueAtPercentile(99.9D));
+        Assert.assertEquals(0L, snapshot.getCountAtOrBelow(-1L));
+        Assert.assertEquals(1000L, snapshot.getCountAtOrBelow(TimeUnit.SECONDS.toNanos(1L)));
+    }
+
+    @Test
+    public void testCountAtOrBelowSplitsBoundaryBucket() {
+        LogLinearHistogram histogram = new LogLinearHistogram(1);
+        long bound = TimeUnit.MILLISECONDS.toNanos(1L);
+        int index = LogLinearHistogram.bucketIndex(bound);
+        long lowest = LogLinearHistogram.lowestValue(index);
+        long highest = LogLinearHistogram.highestValue(index);
+
+        // The values above the bound in the bucket of the bound are not counted as a whole
+        for (int i = 0; i < 100; i++) {
+            histogram.recordNanos(highest);
+        }
+        HistogramSnapshot snapshot = histogram.snapshot();
+        long expected = 100L * (bound - lowest + 1L) / (highest - lowest + 1L);
+        Assert.assertEquals(expected, snapshot.getCountAtOrBelow(bound));
+        Assert.assertTrue(snapshot.getCountAtOrBelow(bound) < 100L);
+        Assert.assertEquals(0L, snapshot.getCountAtOrBelow(lowest - 1L));
+        Assert.assertEquals(100L, snapshot.getCountAtOrBelow(highest));
+
+        // The count grows with the bound
+        long previous = 0L;
+        for (long nanos = lowest; nanos <= highest; nanos += 1024L) {
+            long count = snapshot.getCountAtOrBelow(nanos);
+            Assert.assertTrue(count >= previous);
+            previous = count;
+        }
+    }
+
+    @Test
+    public void testIntervalSnapshot() {
+        LogLinearHistogram histogram = new LogLinearHistogram(2);
+        histogram.recordNanos(100L);
+        histogram.recordNanos(-1L);
+        Assert.assertEquals(1L, histogram.intervalSnapshot().getCount());
+        histogram.recordNanos(200L);
+        histogram.recordNanos(300L);
+        HistogramSnapshot interval = histogram.intervalSnapshot();
+        Assert.assertEquals(2L, interval.getCount());
+        Assert.assertEquals(500.0D, interval.getSum(TimeUnit.NANOSECONDS), 0.0D);
+        Assert.assertEquals(3L, histogram.count());
+        Assert.assertEquals(0L, histogram.intervalSnapshot().getCount());
+    }
+
+    private static void assertNear(long expected, long actual) {
+        Assert.assertTrue("actual: " + actual, actual >= expected && actual <= expected + expected / 16);
+    }
+}
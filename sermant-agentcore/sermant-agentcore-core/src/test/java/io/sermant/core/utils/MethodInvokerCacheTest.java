@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.utils;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.FixedValue;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * MethodInvokerCache test
+ *
+ * @author zhouss
+ * @since 2025-01-15
+ */
+public class MethodInvokerCacheTest {
+    private static final MethodInvokerCache GET_NAME = new MethodInvokerCache("getName");
+
+    private static final MethodInvokerCache ADD = new MethodInvokerCache("add", int.class, Integer.class);
+
+    private static final MethodInvokerCache STATIC_NAME = new MethodInvokerCache("staticName");
+
+    private static final MethodInvokerCache MISSING = new MethodInvokerCache("missing");
+
+    private static final MethodInvokerCache FAIL = new MethodInvokerCache("fail");
+
+    @Test
+    public void testInvokeInheritedMethod() {
+        Assert.assertEquals("parent", GET_NAME.invoke(new Child()));
+        Assert.assertSame(GET_NAME.get(Child.class), GET_NAME.get(Child.class));
+        Assert.assertEquals(Parent.class, GET_NAME.get(Child.class).getMethod().getDeclaringClass());
+    }
+
+    @Test
+    public void testInvokeWithParameters() {
+        Assert.assertEquals(3, ADD.invoke(new Child(), 1, 2));
+        Assert.assertNull(ADD.invoke(new Child(), "1", 2));
+    }
+
+    @Test
+    public void testInvokeStaticMethod() {
+        Assert.assertEquals("static", STATIC_NAME.invoke(new Child()));
+        Assert.assertEquals("static", STATIC_NAME.get(Parent.class).invoke(null));
+    }
+
+    @Test
+    public void testMissingMethod() {
+        Assert.assertFalse(MISSING.get(Child.class).isPresent());
+        Assert.assertNull(MISSING.invoke(new Child()));
+        Assert.assertNull(MISSING.invoke(null));
+        Assert.assertFalse(MISSING.get(null).isPresent());
+    }
+
+    @Test
+    public void testInvokeFailure() {
+        Assert.assertTrue(FAIL.get(Child.class).isPresent());
+        Assert.assertNull(FAIL.invoke(new Child()));
+    }
+
+    @Test
+    public void testReleaseUnloadedClass() throws InterruptedException {
+        MethodInvokerCache cache = new MethodInvokerCache("missing");
+        WeakReference<Class<?>> reference = new WeakReference<>(defineClass());
+        Assert.assertFalse(cache.get(reference.get()).isPresent());
+        Assert.assertEquals(1, cache.size());
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        Assert.assertNull(reference.get());
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testReleaseClassDeclaringCachedMethod() throws InterruptedException {
+        MethodInvokerCache cache = new MethodInvokerCache("getName");
+        WeakReference<Class<?>> reference = new WeakReference<>(new ByteBuddy().subclass(Object.class)
+                .defineMethod("getName", String.class, Visibility.PUBLIC).intercept(FixedValue.value("defined"))
+                .make()
+                .load(MethodInvokerCacheTest.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded());
+        Assert.assertTrue(cache.get(reference.get()).isPresent());
+
+        // The cached invoker references the class through the method, it must not keep the class alive
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        Assert.assertNull(reference.get());
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testCacheNotReferencedByClass() throws InterruptedException {
+        WeakReference<MethodInvokerCache> reference = new WeakReference<>(new MethodInvokerCache("getName"));
+        Assert.assertEquals("parent", reference.get().invoke(new Child()));
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        Assert.assertNull(reference.get());
+    }
+
+    private static Class<?> defineClass() {
+        return new ByteBuddy().subclass(Object.class).make()
+                .load(MethodInvokerCacheTest.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+    }
+
+    /**
+     * Parent class
+     *
+     * @since 2025-01-15
+     */
+    public static class Parent {
+        private static String staticName() {
+            return "static";
+        }
+
+        public String getName() {
+            return "parent";
+        }
+
+        private int add(int first, Integer second) {
+            return first + second;
+        }
+    }
+
+    /**
+     * Child class
+     *
+     * @since 2025-01-15
+     */
+    public static class Child extends Parent {
+        /**
+         * Method that always fails
+         */
+        public void fail() {
+            throw new IllegalStateException("fail");
+        }
+    }
+}
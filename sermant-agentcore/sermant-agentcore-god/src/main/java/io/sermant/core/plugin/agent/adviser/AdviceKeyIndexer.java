@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.plugin.agent.adviser;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Advice key indexer. Each adviceKey is resolved to a stable int index at transform time, the index is woven into the
+ * enhanced method as a constant, so that the advice does not need to build or hash the adviceKey on every call.
+ * <p>The indexer is loaded by the bootstrap classloader and shared by all Sermant instances, so the same adviceKey is
+ * mapped to the same index in the multi-sermant scenario
+ *
+ * @author luanwenfei
+ * @since 2025-01-06
+ */
+public class AdviceKeyIndexer {
+    /**
+     * Index returned when the adviceKey has not been indexed
+     */
+    public static final int UNKNOWN_INDEX = -1;
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private static final Map<String, Integer> INDEX_MAP = new ConcurrentHashMap<>();
+
+    private static volatile String[] adviceKeys = new String[INITIAL_CAPACITY];
+
+    private static int size;
+
+    private AdviceKeyIndexer() {
+    }
+
+    /**
+     * Get the index of the adviceKey, a new index is assigned if the adviceKey has not been indexed
+     *
+     * @param adviceKey The advice keyword consists of the class and method description, the advice template, and the
+     * classloader for the enhanced class
+     * @return index of the adviceKey
+     */
+    public static int getIndex(String adviceKey) {
+        Integer index = INDEX_MAP.get(adviceKey);
+        if (index != null) {
+            return index;
+        }
+        synchronized (AdviceKeyIndexer.class) {
+            index = INDEX_MAP.get(adviceKey);
+            if (index != null) {
+                return index;
+            }
+            int newIndex = size;
+            String[] keys = adviceKeys;
+            if (newIndex >= keys.length) {
+                keys = Arrays.copyOf(keys, keys.length << 1);
+            }
+            keys[newIndex] = adviceKey;
+            adviceKeys = keys;
+            size = newIndex + 1;
+            INDEX_MAP.put(adviceKey, newIndex);
+            return newIndex;
+        }
+    }
+
+    /**
+     * Get the index of the adviceKey without assigning a new one
+     *
+     * @param adviceKey adviceKey
+     * @return index of the adviceKey, {@link #UNKNOWN_INDEX} if the adviceKey has not been indexed
+     */
+    public static int findIndex(String adviceKey) {
+        Integer index = INDEX_MAP.get(adviceKey);
+        return index == null ? UNKNOWN_INDEX : index;
+    }
+
+    /**
+     * Get the adviceKey by index
+     *
+     * @param index index of the adviceKey
+     * @return adviceKey, null if the index has not been assigned
+     */
+    public static String getAdviceKey(int index) {
+        String[] keys = adviceKeys;
+        if (index < 0 || index >= keys.length) {
+            return null;
+        }
+        return keys[index];
+    }
+}
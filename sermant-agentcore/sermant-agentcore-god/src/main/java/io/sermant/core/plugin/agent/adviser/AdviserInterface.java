@@ -44,4 +44,28 @@ public interface AdviserInterface {
      * @throws Throwable Throwable
      */
     ExecuteContext onMethodExit(ExecuteContext context, String adviceKey) throws Throwable;
+
+    /**
+     * The preceding trigger point of method, the adviceKey is resolved from the index woven at transform time
+     *
+     * @param context execute Context
+     * @param adviceIndex index of the adviceKey, see {@link AdviceKeyIndexer}
+     * @return ExecuteContext
+     * @throws Throwable Throwable
+     */
+    default ExecuteContext onMethodEnter(ExecuteContext context, int adviceIndex) throws Throwable {
+        return onMethodEnter(context, AdviceKeyIndexer.getAdviceKey(adviceIndex));
+    }
+
+    /**
+     * The post trigger point of method, the adviceKey is resolved from the index woven at transform time
+     *
+     * @param context execute Context
+     * @param adviceIndex index of the adviceKey, see {@link AdviceKeyIndexer}
+     * @return ExecuteContext
+     * @throws Throwable Throwable
+     */
+    default ExecuteContext onMethodExit(ExecuteContext context, int adviceIndex) throws Throwable {
+        return onMethodExit(context, AdviceKeyIndexer.getAdviceKey(adviceIndex));
+    }
 }
@@ -18,9 +18,8 @@ package io.sermant.core.plugin.agent.adviser;
 
 import io.sermant.core.plugin.agent.entity.ExecuteContext;
 
-import java.util.ArrayList;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Arrays;
+import java.util.BitSet;
 
 /**
  * Adviser scheduler
@@ -29,9 +28,15 @@ import java.util.concurrent.ConcurrentHashMap;
  * @since 2023-04-11
  */
 public class AdviserScheduler {
-    private static final ArrayList<AdviserInterface> ADVISERS = new ArrayList<>();
+    /**
+     * Registered advisers, copy on write so that the advice can iterate them without lock or iterator allocation
+     */
+    private static volatile AdviserInterface[] advisers = new AdviserInterface[0];
 
-    private static final Map<String, Boolean> ADVICE_LOCKS = new ConcurrentHashMap<>();
+    /**
+     * Advice locks indexed by the index of the adviceKey, only accessed when transforming or uninstalling plugins
+     */
+    private static final BitSet ADVICE_LOCKS = new BitSet();
 
     private AdviserScheduler() {
     }
@@ -41,8 +46,10 @@ public class AdviserScheduler {
      *
      * @param adviser adviser
      */
-    public static void registry(AdviserInterface adviser) {
-        ADVISERS.add(adviser);
+    public static synchronized void registry(AdviserInterface adviser) {
+        AdviserInterface[] newAdvisers = Arrays.copyOf(advisers, advisers.length + 1);
+        newAdvisers[newAdvisers.length - 1] = adviser;
+        advisers = newAdvisers;
     }
 
     /**
@@ -50,8 +57,17 @@ public class AdviserScheduler {
      *
      * @param adviser adviser
      */
-    public static void unRegistry(AdviserInterface adviser) {
-        ADVISERS.remove(adviser);
+    public static synchronized void unRegistry(AdviserInterface adviser) {
+        AdviserInterface[] oldAdvisers = advisers;
+        for (int i = 0; i < oldAdvisers.length; i++) {
+            if (oldAdvisers[i] == adviser) {
+                AdviserInterface[] newAdvisers = new AdviserInterface[oldAdvisers.length - 1];
+                System.arraycopy(oldAdvisers, 0, newAdvisers, 0, i);
+                System.arraycopy(oldAdvisers, i + 1, newAdvisers, i, oldAdvisers.length - i - 1);
+                advisers = newAdvisers;
+                return;
+            }
+        }
     }
 
     /**
@@ -68,7 +84,7 @@ public class AdviserScheduler {
         ExecuteContext executeContext = (ExecuteContext) context;
 
         // In multi-sermant scenario, method enter is executed in sequence
-        for (AdviserInterface currentAdviser : ADVISERS) {
+        for (AdviserInterface currentAdviser : advisers) {
             if (currentAdviser != null) {
                 executeContext = currentAdviser.onMethodEnter(executeContext, adviceKey);
             }
@@ -76,6 +92,28 @@ public class AdviserScheduler {
         return executeContext;
     }
 
+    /**
+     * The Adviser logic of the method entry, the adviceKey is represented by the index woven at transform time
+     *
+     * @param context execute context
+     * @param adviceIndex index of the adviceKey, see {@link AdviceKeyIndexer}
+     * @return ExecuteContext
+     * @throws Throwable Throwable
+     */
+    public static ExecuteContext onMethodEnter(Object context, int adviceIndex) throws Throwable {
+        ExecuteContext executeContext = (ExecuteContext) context;
+        AdviserInterface[] currentAdvisers = advisers;
+
+        // In multi-sermant scenario, method enter is executed in sequence
+        for (int i = 0; i < currentAdvisers.length; i++) {
+            AdviserInterface currentAdviser = currentAdvisers[i];
+            if (currentAdviser != null) {
+                executeContext = currentAdviser.onMethodEnter(executeContext, adviceIndex);
+            }
+        }
+        return executeContext;
+    }
+
     /**
      * The Adviser logic of the method exit
      *
@@ -90,8 +128,9 @@ public class AdviserScheduler {
         ExecuteContext executeContext = (ExecuteContext) context;
 
         // In multi-sermant scenario, method exit is executed in reverse order
-        for (int i = ADVISERS.size() - 1; i >= 0; i--) {
-            AdviserInterface currentAdviser = ADVISERS.get(i);
+        AdviserInterface[] currentAdvisers = advisers;
+        for (int i = currentAdvisers.length - 1; i >= 0; i--) {
+            AdviserInterface currentAdviser = currentAdvisers[i];
             if (currentAdviser != null) {
                 executeContext = currentAdviser.onMethodExit(executeContext, adviceKey);
             }
@@ -99,6 +138,28 @@ public class AdviserScheduler {
         return executeContext;
     }
 
+    /**
+     * The Adviser logic of the method exit, the adviceKey is represented by the index woven at transform time
+     *
+     * @param context execute context
+     * @param adviceIndex index of the adviceKey, see {@link AdviceKeyIndexer}
+     * @return ExecuteContext
+     * @throws Throwable Throwable
+     */
+    public static ExecuteContext onMethodExit(Object context, int adviceIndex) throws Throwable {
+        ExecuteContext executeContext = (ExecuteContext) context;
+
+        // In multi-sermant scenario, method exit is executed in reverse order
+        AdviserInterface[] currentAdvisers = advisers;
+        for (int i = currentAdvisers.length - 1; i >= 0; i--) {
+            AdviserInterface currentAdviser = currentAdvisers[i];
+            if (currentAdviser != null) {
+                executeContext = currentAdviser.onMethodExit(executeContext, adviceIndex);
+            }
+        }
+        return executeContext;
+    }
+
     /**
      * Add an advice lock to the adviceKey
      *
@@ -106,12 +167,16 @@ public class AdviserScheduler {
      * @return Whether the lock can be acquired
      */
     public static boolean lock(String adviceKey) {
-        Boolean adviceLock = ADVICE_LOCKS.get(adviceKey);
-        if (adviceLock == null || !adviceLock) {
-            ADVICE_LOCKS.put(adviceKey, Boolean.TRUE);
+        int adviceIndex = AdviceKeyIndexer.getIndex(adviceKey);
+
+        // Test and set must be atomic, the same class may be transformed by multiple sermant at the same time
+        synchronized (ADVICE_LOCKS) {
+            if (ADVICE_LOCKS.get(adviceIndex)) {
+                return false;
+            }
+            ADVICE_LOCKS.set(adviceIndex);
             return true;
         }
-        return false;
     }
 
     /**
@@ -120,6 +185,12 @@ public class AdviserScheduler {
      * @param adviceKey Indicate the enhancement location
      */
     public static void unLock(String adviceKey) {
-        ADVICE_LOCKS.put(adviceKey, Boolean.FALSE);
+        int adviceIndex = AdviceKeyIndexer.findIndex(adviceKey);
+        if (adviceIndex == AdviceKeyIndexer.UNKNOWN_INDEX) {
+            return;
+        }
+        synchronized (ADVICE_LOCKS) {
+            ADVICE_LOCKS.clear(adviceIndex);
+        }
     }
 }
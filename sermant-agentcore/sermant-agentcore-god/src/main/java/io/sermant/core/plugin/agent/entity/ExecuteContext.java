@@ -19,9 +19,7 @@ package io.sermant.core.plugin.agent.entity;
 import io.sermant.core.plugin.agent.interceptor.Interceptor;
 
 import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.ListIterator;
@@ -100,9 +98,20 @@ public class ExecuteContext {
     private Map<String, Object> extMemberFields;
 
     /**
-     * Map of local fields throughout the execution context procedure
+     * Initial number of local fields, most interceptors only keep one or two local fields
      */
-    private Map<String, Object> localFields;
+    private static final int INITIAL_LOCAL_FIELD_SIZE = 4;
+
+    /**
+     * Local fields throughout the execution context procedure, stored as [key0, value0, key1, value1, ...] and looked
+     * up by the identity of {@link LocalFieldKey}
+     */
+    private Object[] localFields;
+
+    /**
+     * Number of local fields
+     */
+    private int localFieldSize;
 
     /**
      * Interceptor bidirectional iterator
@@ -110,9 +119,14 @@ public class ExecuteContext {
     private ListIterator<Interceptor> interceptorIterator;
 
     /**
-     * Map of raw fields, where each fetched field is temporarily stored
+     * Interceptor chain of the enhanced method, resolved by the index of the adviceKey
+     */
+    private Interceptor[] interceptorChain;
+
+    /**
+     * Cursor of the interceptor chain, the number of interceptors that have been entered
      */
-    private Map<String, Field> rawFields;
+    private int interceptorCursor;
 
     private ExecuteContext(Object object, Class<?> rawCls, Constructor<?> constructor, Method method,
             Object[] arguments) {
@@ -249,80 +263,50 @@ public class ExecuteContext {
         this.interceptorIterator = interceptorIterator;
     }
 
-    /**
-     * Both static and member field are retrieved here. Only fields defined by the enhanced class and their public
-     * fields are retrieved. Protected fields of the superclass will not be retrieved
-     *
-     * @param fieldName field name
-     * @return Field
-     * @throws NoSuchFieldException Get field exception
-     */
-    private Field searchField(String fieldName) throws NoSuchFieldException {
-        Field field;
-        try {
-            field = rawCls.getDeclaredField(fieldName);
-            if (!field.isAccessible()) {
-                field.setAccessible(true);
-            }
-        } catch (NoSuchFieldException ignored) {
-            field = rawCls.getField(fieldName);
-        }
-        return field;
+    public Interceptor[] getInterceptorChain() {
+        return interceptorChain;
     }
 
-    /**
-     * Get field. Fields retrieved from {@link #searchField} are temporarily stored in {@link #rawFields} for next
-     * retrieval
-     * <p>Takes effect only during a call to an enhanced method
-     *
-     * @param fieldName field name
-     * @return Field
-     * @throws NoSuchFieldException Get field exception
-     */
-    private Field getField(String fieldName) throws NoSuchFieldException {
-        Field field;
-        if (rawFields == null) {
-            field = searchField(fieldName);
-            rawFields = new HashMap<>();
-            rawFields.put(fieldName, field);
-        } else {
-            field = rawFields.get(fieldName);
-            if (field == null) {
-                field = searchField(fieldName);
-                rawFields.put(fieldName, field);
-            }
-        }
-        return field;
+    public void setInterceptorChain(Interceptor[] interceptorChain) {
+        this.interceptorChain = interceptorChain;
+    }
+
+    public int getInterceptorCursor() {
+        return interceptorCursor;
+    }
+
+    public void setInterceptorCursor(int interceptorCursor) {
+        this.interceptorCursor = interceptorCursor;
     }
 
     /**
-     * Get static field，see {@link #getField}
+     * Get static field accessor, see {@link FieldAccessor#of}
      *
      * @param fieldName field name
-     * @return Field
+     * @return FieldAccessor
      * @throws NoSuchFieldException Get field exception
      */
-    private Field getStaticField(String fieldName) throws NoSuchFieldException {
-        final Field field = getField(fieldName);
-        if (Modifier.isStatic(field.getModifiers())) {
-            return field;
+    private FieldAccessor getStaticField(String fieldName) throws NoSuchFieldException {
+        final FieldAccessor accessor = FieldAccessor.of(rawCls, fieldName);
+        if (accessor.isStatic()) {
+            return accessor;
         }
         throw new NoSuchFieldException();
     }
 
     /**
-     * Get member field，see {@link #getField}
+     * Get member field accessor, see {@link FieldAccessor#of}
      *
      * @param fieldName field name
-     * @return Field
+     * @return FieldAccessor
      * @throws NoSuchFieldException Get field exception
      */
-    private Field getMemberField(String fieldName) throws NoSuchFieldException {
-        final Field field = getField(fieldName);
-        if (Modifier.isStatic(field.getModifiers())) {
+    private FieldAccessor getMemberField(String fieldName) throws NoSuchFieldException {
+        final FieldAccessor accessor = FieldAccessor.of(rawCls, fieldName);
+        if (accessor.isStatic()) {
             throw new NoSuchFieldException();
         }
-        return field;
+        return accessor;
     }
 
     /**
@@ -500,14 +484,11 @@ public class ExecuteContext {
     /**
      * Set local field value
      *
-     * @param fieldName 属性名
-     * @param value 属性值
+     * @param fieldName field name
+     * @param value field value
      */
     public void setLocalFieldValue(String fieldName, Object value) {
-        if (localFields == null) {
-            localFields = new HashMap<>();
-        }
-        localFields.put(fieldName, value);
+        setLocalFieldValue(LocalFieldKey.of(fieldName), value);
     }
 
     /**
@@ -517,7 +498,69 @@ public class ExecuteContext {
      * @return field value
      */
     public Object getLocalFieldValue(String fieldName) {
-        return localFields == null ? null : localFields.get(fieldName);
+        if (localFields == null) {
+            return null;
+        }
+        final LocalFieldKey key = LocalFieldKey.find(fieldName);
+        return key == null ? null : getLocalFieldValue(key);
+    }
+
+    /**
+     * Set local field value by the key declared by the interceptor
+     *
+     * @param key key of the local field
+     * @param value field value
+     */
+    public void setLocalFieldValue(LocalFieldKey key, Object value) {
+        if (localFields == null) {
+            localFields = new Object[INITIAL_LOCAL_FIELD_SIZE << 1];
+        }
+        final int end = localFieldSize << 1;
+        for (int i = 0; i < end; i += 2) {
+            if (localFields[i] == key) {
+                localFields[i + 1] = value;
+                return;
+            }
+        }
+        if (end == localFields.length) {
+            localFields = Arrays.copyOf(localFields, end << 1);
+        }
+        localFields[end] = key;
+        localFields[end + 1] = value;
+        localFieldSize++;
+    }
+
+    /**
+     * Get local field value by the key declared by the interceptor
+     *
+     * @param key key of the local field
+     * @return field value
+     */
+    public Object getLocalFieldValue(LocalFieldKey key) {
+        if (localFields == null) {
+            return null;
+        }
+        final int end = localFieldSize << 1;
+        for (int i = 0; i < end; i += 2) {
+            if (localFields[i] == key) {
+                return localFields[i + 1];
+            }
+        }
+        return null;
+    }
+
+    private String localFieldsToString() {
+        if (localFields == null) {
+            return "null";
+        }
+        final StringBuilder builder = new StringBuilder("{");
+        for (int i = 0; i < localFieldSize << 1; i += 2) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(localFields[i]).append('=').append(localFields[i + 1]);
+        }
+        return builder.append('}').toString();
     }
 
     /**
@@ -607,8 +650,7 @@ public class ExecuteContext {
                 + ", throwable=" + throwable
                 + ", extStaticFields=" + extStaticFields
                 + ", extMemberFields=" + extMemberFields
-                + ", localFields=" + localFields
-                + ", rawFields=" + rawFields
+                + ", localFields=" + localFieldsToString()
                 + '}';
     }
 }
@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.plugin.agent.entity;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Accessor of the raw field of the enhanced class used by {@link ExecuteContext}. Accessors are cached by class and
+ * field name through {@link ClassValue}, so the field is searched and the method handles are created once per class
+ * instead of once per call. The cache is bound to the class and is released together with its classloader
+ *
+ * @author luanwenfei
+ * @since 2025-01-13
+ */
+final class FieldAccessor {
+    /**
+     * Accessor placeholder of the field that does not exist
+     */
+    private static final FieldAccessor ABSENT = new FieldAccessor(null, null, null);
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final MethodType STATIC_GETTER_TYPE = MethodType.methodType(Object.class);
+
+    private static final MethodType STATIC_SETTER_TYPE = MethodType.methodType(void.class, Object.class);
+
+    private static final ClassValue<Map<String, FieldAccessor>> ACCESSORS =
+            new ClassValue<Map<String, FieldAccessor>>() {
+                @Override
+                protected Map<String, FieldAccessor> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private final Field field;
+
+    private final MethodHandle getter;
+
+    private final MethodHandle setter;
+
+    private final boolean isStatic;
+
+    private FieldAccessor(Field field, MethodHandle getter, MethodHandle setter) {
+        this.field = field;
+        this.getter = getter;
+        this.setter = setter;
+        this.isStatic = field != null && Modifier.isStatic(field.getModifiers());
+    }
+
+    /**
+     * Get the accessor of the field. Only fields defined by the class and public fields are retrieved. Protected
+     * fields of the superclass will not be retrieved
+     *
+     * @param cls class
+     * @param fieldName field name
+     * @return FieldAccessor
+     * @throws NoSuchFieldException The field could not be found
+     */
+    static FieldAccessor of(Class<?> cls, String fieldName) throws NoSuchFieldException {
+        final Map<String, FieldAccessor> accessors = ACCESSORS.get(cls);
+        FieldAccessor accessor = accessors.get(fieldName);
+        if (accessor == null) {
+            accessor = create(cls, fieldName);
+            final FieldAccessor existing = accessors.putIfAbsent(fieldName, accessor);
+            if (existing != null) {
+                accessor = existing;
+            }
+        }
+        if (accessor == ABSENT) {
+            throw new NoSuchFieldException(fieldName);
+        }
+        return accessor;
+    }
+
+    private static FieldAccessor create(Class<?> cls, String fieldName) {
+        final Field field;
+        try {
+            field = searchField(cls, fieldName);
+        } catch (NoSuchFieldException | SecurityException ignored) {
+            return ABSENT;
+        }
+        final boolean isStaticField = Modifier.isStatic(field.getModifiers());
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle getter;
+        try {
+            getter = lookup.unreflectGetter(field).asType(isStaticField ? STATIC_GETTER_TYPE : GETTER_TYPE);
+        } catch (IllegalAccessException ignored) {
+            getter = null;
+        }
+        MethodHandle setter;
+        try {
+            setter = lookup.unreflectSetter(field).asType(isStaticField ? STATIC_SETTER_TYPE : SETTER_TYPE);
+        } catch (IllegalAccessException ignored) {
+            // Final fields can not be written by method handle, fall back to reflection
+            setter = null;
+        }
+        return new FieldAccessor(field, getter, setter);
+    }
+
+    private static Field searchField(Class<?> cls, String fieldName) throws NoSuchFieldException {
+        Field field;
+        try {
+            field = cls.getDeclaredField(fieldName);
+            if (!field.isAccessible()) {
+                field.setAccessible(true);
+            }
+        } catch (NoSuchFieldException ignored) {
+            field = cls.getField(fieldName);
+        }
+        return field;
+    }
+
+    boolean isStatic() {
+        return isStatic;
+    }
+
+    /**
+     * Get the field value
+     *
+     * @param object object, ignored for static field
+     * @return field value
+     * @throws IllegalAccessException field access failure
+     */
+    Object get(Object object) throws IllegalAccessException {
+        if (getter == null) {
+            return field.get(object);
+        }
+        try {
+            return isStatic ? (Object) getter.invokeExact() : (Object) getter.invokeExact(object);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    /**
+     * Set the field value
+     *
+     * @param object object, ignored for static field
+     * @param value field value
+     * @throws IllegalAccessException field access failure
+     */
+    void set(Object object, Object value) throws IllegalAccessException {
+        if (value == null && field.getType().isPrimitive()) {
+            // Keep consistent with Field#set instead of failing with NPE when unboxing
+            throw new IllegalArgumentException(String.format(Locale.ROOT, "Can not set %s field %s to null value",
+                    field.getType().getName(), field.getName()));
+        }
+        if (setter == null) {
+            field.set(object, value);
+            return;
+        }
+        try {
+            if (isStatic) {
+                setter.invokeExact(value);
+            } else {
+                setter.invokeExact(object, value);
+            }
+        } catch (ClassCastException e) {
+            // Keep consistent with Field#set when the value type does not match
+            throw new IllegalArgumentException(e);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+}
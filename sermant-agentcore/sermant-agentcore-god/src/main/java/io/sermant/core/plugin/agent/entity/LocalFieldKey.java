@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.core.plugin.agent.entity;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Key of the local field of {@link ExecuteContext}. The key is expected to be declared once as a constant by the
+ * interceptor, local fields are then stored and looked up by key identity without hashing the field name
+ * <pre>
+ *     private static final LocalFieldKey START_TIME = LocalFieldKey.of("startTime");
+ *
+ *     context.setLocalFieldValue(START_TIME, System.currentTimeMillis());
+ * </pre>
+ * Keys with the same name are the same instance, so the String based APIs of local field are interoperable with the
+ * key based APIs. The registry holds the keys strongly, so a field set by name can always be found by the same name
+ * later, the number of keys is bounded by the field names declared by the interceptors
+ *
+ * @author luanwenfei
+ * @since 2025-01-10
+ */
+public final class LocalFieldKey {
+    /**
+     * Key of the null field name, which is accepted as a name by the String based APIs
+     */
+    private static final LocalFieldKey NULL_NAME_KEY = new LocalFieldKey(null);
+
+    private static final Map<String, LocalFieldKey> KEYS = new ConcurrentHashMap<>();
+
+    private final String name;
+
+    private LocalFieldKey(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Get or register the key of the local field
+     *
+     * @param name field name
+     * @return LocalFieldKey
+     */
+    public static LocalFieldKey of(String name) {
+        LocalFieldKey key = find(name);
+        if (key != null) {
+            return key;
+        }
+        return KEYS.computeIfAbsent(name, LocalFieldKey::new);
+    }
+
+    /**
+     * Find the registered key of the local field
+     *
+     * @param name field name
+     * @return LocalFieldKey, null if the key is not registered
+     */
+    public static LocalFieldKey find(String name) {
+        if (name == null) {
+            return NULL_NAME_KEY;
+        }
+        return KEYS.get(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
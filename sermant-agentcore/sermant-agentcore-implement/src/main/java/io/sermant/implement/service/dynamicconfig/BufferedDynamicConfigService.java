@@ -16,28 +16,77 @@
 
 package io.sermant.implement.service.dynamicconfig;
 
+import io.sermant.core.common.LoggerFactory;
+import io.sermant.core.config.ConfigManager;
+import io.sermant.core.plugin.config.ServiceMeta;
 import io.sermant.core.service.dynamicconfig.DynamicConfigService;
+import io.sermant.core.service.dynamicconfig.common.DynamicConfigEvent;
+import io.sermant.core.service.dynamicconfig.common.DynamicConfigEventType;
 import io.sermant.core.service.dynamicconfig.common.DynamicConfigListener;
+import io.sermant.core.utils.FileUtils;
+import io.sermant.core.utils.StringUtils;
+import io.sermant.core.utils.ThreadFactoryUtils;
 import io.sermant.implement.service.dynamicconfig.kie.KieDynamicConfigService;
 import io.sermant.implement.service.dynamicconfig.nacos.NacosDynamicConfigService;
 import io.sermant.implement.service.dynamicconfig.zookeeper.ZooKeeperDynamicConfigService;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
 
 /**
  * DynamicConfigService wrapper. Determine which implementation should be used based on the static configuration
+ * <p>If the snapshot is enabled, the configurations received by the listeners are written through to the {@link
+ * ConfigSnapshot}, which is loaded when the service is created. A listener added with the initialization event is
+ * notified of the configurations in the snapshot at once, so they are available before the config center is connected
+ * or when it is not reachable. Afterwards they are reconciled with the config center, the ones not changed are not
+ * notified again
  *
  * @author HapThorin
  * @version 1.0.0
  * @since 2021-12-14
  */
 public class BufferedDynamicConfigService extends DynamicConfigService {
+    private static final Logger LOGGER = LoggerFactory.getLogger();
+
+    /**
+     * Directory of the snapshot under the agent path
+     */
+    private static final String SNAPSHOT_DIR = "snapshot";
+
+    /**
+     * Interval of reconciling the configurations loaded from the snapshot with the config center, unit: ms
+     */
+    private static final long RECONCILE_INTERVAL = 5000L;
+
     /**
      * DynamicConfigService object
      */
     private final DynamicConfigService service;
 
+    /**
+     * Snapshot of the subscribed configurations, null if the snapshot is disabled or can not be opened
+     */
+    private final ConfigSnapshot snapshot;
+
+    /**
+     * Listeners notified of the configurations in the snapshot, which are not confirmed by the config center yet
+     */
+    private final List<SnapshotListener> unconfirmedListeners = new CopyOnWriteArrayList<>();
+
+    private ScheduledExecutorService reconcileExecutor;
+
     /**
      * Constructor
      */
@@ -53,16 +102,54 @@ public class BufferedDynamicConfigService extends DynamicConfigService {
             default:
                 service = new ZooKeeperDynamicConfigService();
         }
+        snapshot = CONFIG.isSnapshotEnable() ? openSnapshot() : null;
+    }
+
+    /**
+     * Constructor
+     *
+     * @param service DynamicConfigService of the config center
+     * @param snapshot snapshot of the subscribed configurations, null to disable the snapshot
+     */
+    BufferedDynamicConfigService(DynamicConfigService service, ConfigSnapshot snapshot) {
+        this.service = service;
+        this.snapshot = snapshot;
+    }
+
+    private static ConfigSnapshot openSnapshot() {
+        // The snapshot is separated by the config center and the service
+        final String owner = CONFIG.getServerAddress() + "," + ConfigManager.getConfig(ServiceMeta.class).getService();
+        final String fileName = String.format(Locale.ROOT, "dynamic-config-%s-%08x.log",
+                CONFIG.getServiceType().name().toLowerCase(Locale.ROOT), owner.hashCode());
+        try {
+            return ConfigSnapshot.open(new File(new File(FileUtils.getAgentPath(), SNAPSHOT_DIR), fileName));
+        } catch (IOException e) {
+            LOGGER.warning(String.format(Locale.ROOT, "Failed to open the snapshot of the dynamic configurations, "
+                    + "they are only got from the config center. Exception info: %s", e.getMessage()));
+            return null;
+        }
     }
 
     @Override
     public void start() {
+        if (snapshot != null && service instanceof GroupKeysQuery) {
+            reconcileExecutor = new ScheduledThreadPoolExecutor(1,
+                    new ThreadFactoryUtils("dynamic-config-snapshot-reconcile"));
+            reconcileExecutor.scheduleWithFixedDelay(this::reconcile, RECONCILE_INTERVAL, RECONCILE_INTERVAL,
+                    TimeUnit.MILLISECONDS);
+        }
         service.start();
     }
 
     @Override
     public void stop() {
+        if (reconcileExecutor != null) {
+            reconcileExecutor.shutdownNow();
+        }
         service.stop();
+        if (snapshot != null) {
+            snapshot.close();
+        }
     }
 
     @Override
@@ -97,31 +184,33 @@ public class BufferedDynamicConfigService extends DynamicConfigService {
 
     @Override
     public boolean addConfigListener(String key, DynamicConfigListener listener) {
-        return service.addConfigListener(key, listener);
+        return service.addConfigListener(key, wrapConfigListener(key, null, listener, false));
     }
 
     @Override
     public boolean addConfigListener(String key, String group, DynamicConfigListener listener) {
-        return service.addConfigListener(key, group, listener);
+        return service.addConfigListener(key, group, wrapConfigListener(key, group, listener, false));
     }
 
     @Override
     public boolean addConfigListener(String key, DynamicConfigListener listener, boolean ifNotify) {
-        return service.addConfigListener(key, listener, ifNotify);
+        return service.addConfigListener(key, wrapConfigListener(key, null, listener, ifNotify), ifNotify);
     }
 
     @Override
     public boolean addConfigListener(String key, String group, DynamicConfigListener listener, boolean ifNotify) {
-        return service.addConfigListener(key, group, listener, ifNotify);
+        return service.addConfigListener(key, group, wrapConfigListener(key, group, listener, ifNotify), ifNotify);
     }
 
     @Override
     public boolean removeConfigListener(String key) {
+        forgetUnconfirmed(key, null);
         return service.removeConfigListener(key);
     }
 
     @Override
     public boolean removeConfigListener(String key, String group) {
+        forgetUnconfirmed(key, group);
         return service.removeConfigListener(key, group);
     }
 
@@ -132,16 +221,17 @@ public class BufferedDynamicConfigService extends DynamicConfigService {
 
     @Override
     public boolean addGroupListener(String group, DynamicConfigListener listener) {
-        return service.addGroupListener(group, listener);
+        return service.addGroupListener(group, wrapGroupListener(group, listener, false));
     }
 
     @Override
     public boolean addGroupListener(String group, DynamicConfigListener listener, boolean ifNotify) {
-        return service.addGroupListener(group, listener, ifNotify);
+        return service.addGroupListener(group, wrapGroupListener(group, listener, ifNotify), ifNotify);
     }
 
     @Override
     public boolean removeGroupListener(String group) {
+        forgetUnconfirmed(null, group);
         return service.removeGroupListener(group);
     }
 
@@ -162,11 +252,12 @@ public class BufferedDynamicConfigService extends DynamicConfigService {
 
     @Override
     public boolean doAddConfigListener(String key, String group, DynamicConfigListener listener) {
-        return service.doAddConfigListener(key, group, listener);
+        return service.doAddConfigListener(key, group, wrapConfigListener(key, group, listener, false));
     }
 
     @Override
     public boolean doRemoveConfigListener(String key, String group) {
+        forgetUnconfirmed(key, group);
         return service.doRemoveConfigListener(key, group);
     }
 
@@ -177,11 +268,172 @@ public class BufferedDynamicConfigService extends DynamicConfigService {
 
     @Override
     public boolean doAddGroupListener(String group, DynamicConfigListener listener) {
-        return service.doAddGroupListener(group, listener);
+        return service.doAddGroupListener(group, wrapGroupListener(group, listener, false));
     }
 
     @Override
     public boolean doRemoveGroupListener(String group) {
+        forgetUnconfirmed(null, group);
         return service.doRemoveGroupListener(group);
     }
+
+    private DynamicConfigListener wrapConfigListener(String key, String group, DynamicConfigListener listener,
+            boolean ifNotify) {
+        if (StringUtils.isEmpty(key)) {
+            return listener;
+        }
+        return wrap(key, group, listener, ifNotify);
+    }
+
+    private DynamicConfigListener wrapGroupListener(String group, DynamicConfigListener listener, boolean ifNotify) {
+        return wrap(null, group, listener, ifNotify);
+    }
+
+    private DynamicConfigListener wrap(String key, String group, DynamicConfigListener listener, boolean ifNotify) {
+        if (snapshot == null || listener == null) {
+            return listener;
+        }
+        final SnapshotListener snapshotListener = new SnapshotListener(key, fixGroup(group), listener);
+        if (ifNotify) {
+            snapshotListener.replay();
+        }
+        return snapshotListener;
+    }
+
+    private void forgetUnconfirmed(String key, String group) {
+        final String fixedGroup = fixGroup(group);
+        unconfirmedListeners.removeIf(listener -> Objects.equals(listener.key, key)
+                && listener.group.equals(fixedGroup));
+    }
+
+    /**
+     * Reconcile the configurations notified from the snapshot with the config center, the listeners of which all
+     * configurations are reconciled are not reconciled again
+     */
+    void reconcile() {
+        for (SnapshotListener listener : unconfirmedListeners) {
+            try {
+                if (listener.reconcile()) {
+                    unconfirmedListeners.remove(listener);
+                }
+            } catch (RuntimeException e) {
+                LOGGER.warning(String.format(Locale.ROOT, "Failed to reconcile the snapshot of group %s. "
+                        + "Exception info: %s", listener.group, e.getMessage()));
+            }
+        }
+    }
+
+    /**
+     * Listener writing the configurations through to the snapshot
+     *
+     * @since 2025-01-27
+     */
+    private class SnapshotListener implements DynamicConfigListener {
+        /**
+         * Listened key, null for a group listener
+         */
+        private final String key;
+
+        private final String group;
+
+        private final DynamicConfigListener listener;
+
+        /**
+         * Configurations notified from the snapshot, which are not confirmed by the config center yet
+         */
+        private final Map<String, String> replayed = new ConcurrentHashMap<>();
+
+        SnapshotListener(String key, String group, DynamicConfigListener listener) {
+            this.key = key;
+            this.group = group;
+            this.listener = listener;
+        }
+
+        /**
+         * Notify the listener of the configurations in the snapshot
+         */
+        synchronized void replay() {
+            final Map<String, String> entries;
+            if (key == null) {
+                entries = snapshot.getGroup(group);
+            } else {
+                final String content = snapshot.get(key, group);
+                entries = content == null ? Collections.emptyMap() : Collections.singletonMap(key, content);
+            }
+            if (entries.isEmpty()) {
+                return;
+            }
+            replayed.putAll(entries);
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                listener.process(DynamicConfigEvent.initEvent(entry.getKey(), group, entry.getValue()));
+            }
+            unconfirmedListeners.add(this);
+            LOGGER.info(String.format(Locale.ROOT, "Loaded %d configurations of group %s from the snapshot.",
+                    entries.size(), group));
+        }
+
+        @Override
+        public synchronized void process(DynamicConfigEvent event) {
+            final String eventKey = event.getKey();
+            final String content = event.getContent();
+            final String replayedContent = replayed.remove(eventKey);
+            if (event.getEventType() == DynamicConfigEventType.DELETE) {
+                snapshot.remove(eventKey, group);
+            } else if (StringUtils.isEmpty(content)) {
+                if (event.getEventType() == DynamicConfigEventType.INIT && replayedContent != null) {
+                    // The config center may be not reachable, which is decided when reconciling
+                    replayed.put(eventKey, replayedContent);
+                    return;
+                }
+                snapshot.remove(eventKey, group);
+            } else {
+                snapshot.put(eventKey, group, content);
+                if (content.equals(replayedContent)) {
+                    // The listener has been notified of the configuration from the snapshot
+                    return;
+                }
+            }
+            listener.process(event);
+        }
+
+        /**
+         * Reconcile the configurations notified from the snapshot with the config center
+         *
+         * @return whether all configurations are reconciled
+         */
+        boolean reconcile() {
+            if (replayed.isEmpty()) {
+                return true;
+            }
+            final Optional<List<String>> keys = ((GroupKeysQuery) service).queryKeysFromGroup(group);
+            if (!keys.isPresent()) {
+                return false;
+            }
+            for (Map.Entry<String, String> entry : replayed.entrySet()) {
+                final String replayedKey = entry.getKey();
+
+                // The key listed without content is deleted as well, otherwise it is reconciled again and again
+                final String content = keys.get().contains(replayedKey) ? service.getConfig(replayedKey, group) : null;
+                if (StringUtils.isEmpty(content)) {
+                    confirm(entry, DynamicConfigEvent.deleteEvent(replayedKey, group, entry.getValue()));
+                } else {
+                    confirm(entry, DynamicConfigEvent.modifyEvent(replayedKey, group, content));
+                }
+            }
+            return replayed.isEmpty();
+        }
+
+        /**
+         * Notify the listener of the configuration got from the config center, unless it has been notified by the
+         * config center meanwhile
+         *
+         * @param entry configuration notified from the snapshot
+         * @param event event of the configuration got from the config center
+         */
+        private synchronized void confirm(Map.Entry<String, String> entry, DynamicConfigEvent event) {
+            if (entry.getValue().equals(replayed.get(entry.getKey()))) {
+                process(event);
+            }
+        }
+    }
 }
@@ -0,0 +1,356 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.dynamicconfig;
+
+import io.sermant.core.common.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Snapshot of the subscribed configurations on the disk, which is written through when the configurations change
+ * <p>The snapshot is an append only log starting with the magic number and the format version. Each record consists
+ * of the payload length, the CRC of the payload and the payload, which is the operation, the group, the key and the
+ * content of the put operation. When the snapshot is opened, all records are replayed into the memory, and the records
+ * torn by a crash are discarded because of the CRC mismatch. The log is compacted when most of the records are
+ * overwritten
+ *
+ * @author HapThorin
+ * @since 2025-01-27
+ */
+public class ConfigSnapshot implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger();
+
+    private static final int MAGIC = 0x53434653;
+
+    private static final int VERSION = 1;
+
+    /**
+     * magic number and format version
+     */
+    private static final int FILE_HEADER_SIZE = Integer.BYTES + Integer.BYTES;
+
+    /**
+     * payload length and CRC
+     */
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES + Integer.BYTES;
+
+    private static final byte OPERATION_PUT = 1;
+
+    private static final byte OPERATION_REMOVE = 2;
+
+    /**
+     * The log is not compacted until the count of the records reaches it
+     */
+    private static final int COMPACT_MIN_RECORDS = 1024;
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final File file;
+
+    /**
+     * group -> key -> content
+     */
+    private final Map<String, Map<String, String>> groups = new HashMap<>();
+
+    private FileChannel channel;
+
+    private int recordCount;
+
+    private int entryCount;
+
+    private ConfigSnapshot(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Open the snapshot, and load the configurations in it
+     *
+     * @param file snapshot file
+     * @return ConfigSnapshot
+     * @throws IOException the snapshot can not be accessed, or it is used by another process
+     */
+    public static ConfigSnapshot open(File file) throws IOException {
+        final File dir = file.getParentFile();
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Can not create snapshot directory: " + dir.getPath());
+        }
+        final ConfigSnapshot snapshot = new ConfigSnapshot(file);
+        try {
+            snapshot.load();
+        } catch (IOException e) {
+            snapshot.close();
+            throw e;
+        }
+        return snapshot;
+    }
+
+    private void load() throws IOException {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        if (!tryLock(channel)) {
+            throw new IOException("Snapshot is used by another process: " + file.getPath());
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+        while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) >= 0) {
+            // Read the whole snapshot, which only contains the configurations of this process
+        }
+        buffer.flip();
+        if (buffer.remaining() < FILE_HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            if (buffer.limit() > 0) {
+                LOGGER.warning(String.format(Locale.ROOT, "Discard the snapshot of unknown format: %s",
+                        file.getPath()));
+            }
+            rewrite();
+            return;
+        }
+        while (readRecord(buffer)) {
+            recordCount++;
+        }
+        if (buffer.hasRemaining()) {
+            LOGGER.warning(String.format(Locale.ROOT, "Discard the torn records at %d of the snapshot: %s",
+                    buffer.position(), file.getPath()));
+            channel.truncate(buffer.position());
+        }
+        channel.position(buffer.position());
+        compactIfNecessary();
+    }
+
+    private static boolean tryLock(FileChannel target) throws IOException {
+        try {
+            return target.tryLock() != null;
+        } catch (OverlappingFileLockException ignored) {
+            // The snapshot is opened twice in this process
+            return false;
+        }
+    }
+
+    private boolean readRecord(ByteBuffer buffer) {
+        if (buffer.remaining() < RECORD_HEADER_SIZE) {
+            return false;
+        }
+        final int start = buffer.position();
+        final int length = buffer.getInt();
+        final int crc = buffer.getInt();
+        if (length <= 0 || length > buffer.remaining()) {
+            buffer.position(start);
+            return false;
+        }
+        final CRC32 crc32 = new CRC32();
+        crc32.update(buffer.array(), buffer.position(), length);
+        if ((int) crc32.getValue() != crc) {
+            buffer.position(start);
+            return false;
+        }
+        final ByteBuffer payload = ByteBuffer.wrap(buffer.array(), buffer.position(), length);
+        buffer.position(buffer.position() + length);
+        final byte operation = payload.get();
+        final String group = readString(payload);
+        final String key = readString(payload);
+        if (operation == OPERATION_PUT) {
+            apply(group, key, readString(payload));
+        } else if (operation == OPERATION_REMOVE) {
+            apply(group, key, null);
+        }
+        return true;
+    }
+
+    private static String readString(ByteBuffer payload) {
+        final int length = payload.getInt();
+        final String value = new String(payload.array(), payload.position(), length, StandardCharsets.UTF_8);
+        payload.position(payload.position() + length);
+        return value;
+    }
+
+    /**
+     * Get the configurations of the group
+     *
+     * @param group group
+     * @return key -> content
+     */
+    public synchronized Map<String, String> getGroup(String group) {
+        final Map<String, String> entries = groups.get(group);
+        return entries == null ? Collections.emptyMap() : new HashMap<>(entries);
+    }
+
+    /**
+     * Get the configuration
+     *
+     * @param key key
+     * @param group group
+     * @return content, or null if the configuration is not in the snapshot
+     */
+    public synchronized String get(String key, String group) {
+        final Map<String, String> entries = groups.get(group);
+        return entries == null ? null : entries.get(key);
+    }
+
+    /**
+     * Put the configuration, the record is appended only if the content is changed
+     *
+     * @param key key
+     * @param group group
+     * @param content content
+     */
+    public synchronized void put(String key, String group, String content) {
+        if (content.equals(get(key, group))) {
+            return;
+        }
+        apply(group, key, content);
+        append(OPERATION_PUT, group, key, content);
+    }
+
+    /**
+     * Remove the configuration
+     *
+     * @param key key
+     * @param group group
+     */
+    public synchronized void remove(String key, String group) {
+        if (get(key, group) == null) {
+            return;
+        }
+        apply(group, key, null);
+        append(OPERATION_REMOVE, group, key, null);
+    }
+
+    private void apply(String group, String key, String content) {
+        if (content != null) {
+            if (groups.computeIfAbsent(group, name -> new HashMap<>()).put(key, content) == null) {
+                entryCount++;
+            }
+            return;
+        }
+        final Map<String, String> entries = groups.get(group);
+        if (entries != null && entries.remove(key) != null) {
+            entryCount--;
+            if (entries.isEmpty()) {
+                groups.remove(group);
+            }
+        }
+    }
+
+    private void append(byte operation, String group, String key, String content) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            write(channel, encode(operation, group, key, content));
+            channel.force(false);
+            recordCount++;
+            compactIfNecessary();
+        } catch (IOException e) {
+            LOGGER.warning(String.format(Locale.ROOT, "Failed to write the snapshot, it is not updated any more. "
+                    + "Exception info: %s", e.getMessage()));
+            close();
+        }
+    }
+
+    private static ByteBuffer encode(byte operation, String group, String key, String content) {
+        final byte[] groupBytes = group.getBytes(StandardCharsets.UTF_8);
+        final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        final byte[] contentBytes = content == null ? null : content.getBytes(StandardCharsets.UTF_8);
+        final int length = 1 + Integer.BYTES + groupBytes.length + Integer.BYTES + keyBytes.length
+                + (contentBytes == null ? 0 : Integer.BYTES + contentBytes.length);
+        final ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_SIZE + length);
+        buffer.putInt(length).putInt(0).put(operation);
+        buffer.putInt(groupBytes.length).put(groupBytes).putInt(keyBytes.length).put(keyBytes);
+        if (contentBytes != null) {
+            buffer.putInt(contentBytes.length).put(contentBytes);
+        }
+        final CRC32 crc32 = new CRC32();
+        crc32.update(buffer.array(), RECORD_HEADER_SIZE, length);
+        buffer.putInt(Integer.BYTES, (int) crc32.getValue());
+        buffer.flip();
+        return buffer;
+    }
+
+    private static void write(FileChannel target, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+    }
+
+    private void compactIfNecessary() throws IOException {
+        if (recordCount >= COMPACT_MIN_RECORDS && recordCount > entryCount * 2) {
+            rewrite();
+        }
+    }
+
+    /**
+     * Write the configurations in the memory into a new log, which replaces the current log atomically
+     *
+     * @throws IOException the new log can not be written or locked
+     */
+    private void rewrite() throws IOException {
+        final File temp = new File(file.getPath() + TEMP_SUFFIX);
+        try (FileChannel tempChannel = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            final ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+            header.flip();
+            write(tempChannel, header);
+            for (Map.Entry<String, Map<String, String>> group : groups.entrySet()) {
+                for (Map.Entry<String, String> entry : group.getValue().entrySet()) {
+                    write(tempChannel, encode(OPERATION_PUT, group.getKey(), entry.getKey(), entry.getValue()));
+                }
+            }
+            tempChannel.force(true);
+        }
+        final FileChannel oldChannel = channel;
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        try {
+            if (!tryLock(channel)) {
+                // The new log may be written by another process, so the snapshot is disabled
+                throw new IOException("Rewritten snapshot is used by another process: " + file.getPath());
+            }
+        } finally {
+            oldChannel.close();
+        }
+        recordCount = entryCount;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOGGER.warning(String.format(Locale.ROOT, "Failed to close the snapshot. Exception info: %s",
+                    e.getMessage()));
+        }
+        channel = null;
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.dynamicconfig;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Query of the keys of a group from the config center, which tells a group without keys from a config center which
+ * can not be reached. It is used to reconcile the configurations loaded from the snapshot
+ *
+ * @author HapThorin
+ * @since 2025-01-27
+ */
+public interface GroupKeysQuery {
+    /**
+     * Query the keys of the group from the config center
+     *
+     * @param group group
+     * @return key list, or empty if the config center can not be reached
+     */
+    Optional<List<String>> queryKeysFromGroup(String group);
+}
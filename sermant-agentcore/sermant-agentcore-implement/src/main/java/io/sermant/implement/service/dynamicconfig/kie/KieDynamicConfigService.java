@@ -19,6 +19,7 @@ package io.sermant.implement.service.dynamicconfig.kie;
 import io.sermant.core.common.LoggerFactory;
 import io.sermant.core.service.dynamicconfig.DynamicConfigService;
 import io.sermant.core.service.dynamicconfig.common.DynamicConfigListener;
+import io.sermant.implement.service.dynamicconfig.GroupKeysQuery;
 import io.sermant.implement.service.dynamicconfig.kie.client.kie.KieConfigEntity;
 import io.sermant.implement.service.dynamicconfig.kie.client.kie.KieResponse;
 import io.sermant.implement.service.dynamicconfig.kie.constants.KieConstants;
@@ -38,7 +39,7 @@ import java.util.logging.Logger;
  * @author zhouss
  * @since 2021-11-22
  */
-public class KieDynamicConfigService extends DynamicConfigService {
+public class KieDynamicConfigService extends DynamicConfigService implements GroupKeysQuery {
     private static final Logger LOGGER = LoggerFactory.getLogger();
 
     private static SubscriberManager subscriberManager;
@@ -60,6 +61,11 @@ public class KieDynamicConfigService extends DynamicConfigService {
         subscriberManager = new SubscriberManager(serverAddress, project, CONFIG.getTimeoutValue());
     }
 
+    @Override
+    public void stop() {
+        subscriberManager.close();
+    }
+
     @Override
     public boolean doRemoveGroupListener(String group) {
         return updateGroupListener(group, null, false, false);
@@ -82,13 +88,17 @@ public class KieDynamicConfigService extends DynamicConfigService {
 
     @Override
     public boolean addConfigListener(String key, String group, DynamicConfigListener listener, boolean ifNotify) {
-        String newGroup = group;
-        if (!LabelGroupUtils.isLabelGroup(group)) {
-            // Add label group judgment to adapt irregular groups
-            newGroup = LabelGroupUtils.createLabelGroup(Collections.singletonMap(KieConstants.DEFAULT_GROUP,
-                    fixSeparator(group, true)));
+        return subscriberManager.addConfigListener(key, toLabelGroup(group), listener, ifNotify);
+    }
+
+    private String toLabelGroup(String group) {
+        if (LabelGroupUtils.isLabelGroup(group)) {
+            return group;
         }
-        return subscriberManager.addConfigListener(key, newGroup, listener, ifNotify);
+
+        // Add label group judgment to adapt irregular groups
+        return LabelGroupUtils.createLabelGroup(Collections.singletonMap(KieConstants.DEFAULT_GROUP,
+                fixSeparator(group, true)));
     }
 
     @Override
@@ -125,17 +135,26 @@ public class KieDynamicConfigService extends DynamicConfigService {
 
     @Override
     public List<String> doListKeysFromGroup(String group) {
+        return listKeys(group).orElse(Collections.emptyList());
+    }
+
+    @Override
+    public Optional<List<String>> queryKeysFromGroup(String group) {
+        return listKeys(toLabelGroup(group));
+    }
+
+    private Optional<List<String>> listKeys(String group) {
         final KieResponse kieResponse =
                 subscriberManager.queryConfigurations(null, LabelGroupUtils.getLabelCondition(group));
-        if (isValidResponse(kieResponse)) {
-            final List<KieConfigEntity> data = kieResponse.getData();
-            final List<String> keys = new ArrayList<>(data.size());
-            for (KieConfigEntity entity : data) {
-                keys.add(entity.getKey());
-            }
-            return keys;
+        if (!isValidResponse(kieResponse)) {
+            return Optional.empty();
+        }
+        final List<KieConfigEntity> data = kieResponse.getData();
+        final List<String> keys = new ArrayList<>(data.size());
+        for (KieConfigEntity entity : data) {
+            keys.add(entity.getKey());
         }
-        return Collections.emptyList();
+        return Optional.of(keys);
     }
 
     private boolean isValidResponse(KieResponse kieResponse) {
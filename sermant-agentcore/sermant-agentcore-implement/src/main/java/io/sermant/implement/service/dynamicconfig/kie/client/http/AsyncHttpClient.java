@@ -0,0 +1,305 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.dynamicconfig.kie.client.http;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.pool.AbstractChannelPoolHandler;
+import io.netty.channel.pool.AbstractChannelPoolMap;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.channel.pool.SimpleChannelPool;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpClientCodec;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ScheduledFuture;
+import io.sermant.core.common.LoggerFactory;
+import io.sermant.core.utils.ThreadFactoryUtils;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import javax.net.ssl.SSLException;
+
+/**
+ * Non-blocking http client based on netty, which is used by the long polling requests of the subscribers
+ * <p>A request occupies a pooled keep-alive connection of the route until the response is received, but no thread is
+ * blocked while the server holds the request, so all subscribers share the few I/O threads of the client. The
+ * connections are reused by the following requests of the route
+ *
+ * @author zhouss
+ * @since 2025-01-27
+ */
+public class AsyncHttpClient {
+    private static final Logger LOGGER = LoggerFactory.getLogger();
+
+    private static final AttributeKey<Exchange> EXCHANGE_KEY = AttributeKey.valueOf("kieHttpExchange");
+
+    private static final String HTTPS = "https";
+
+    private static final int HTTP_PORT = 80;
+
+    private static final int HTTPS_PORT = 443;
+
+    /**
+     * Maximum length of the response body
+     */
+    private static final int MAX_CONTENT_LENGTH = 16 * 1024 * 1024;
+
+    private final ResponseHandler responseHandler = new ResponseHandler();
+
+    private final EventLoopGroup eventLoopGroup;
+
+    private final Bootstrap bootstrap;
+
+    private final AbstractChannelPoolMap<String, SimpleChannelPool> poolMap;
+
+    private SslContext sslContext;
+
+    /**
+     * Constructor
+     *
+     * @param ioThreads number of the I/O threads
+     * @param connectTimeout connect timeout in milliseconds
+     */
+    public AsyncHttpClient(int ioThreads, int connectTimeout) {
+        eventLoopGroup = new NioEventLoopGroup(ioThreads, new ThreadFactoryUtils("kie-http-io"));
+        bootstrap = new Bootstrap().group(eventLoopGroup).channel(NioSocketChannel.class)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .option(ChannelOption.TCP_NODELAY, true);
+        try {
+            // Consistent with DefaultHttpClient, the certificate of the server is trusted
+            sslContext = SslContextBuilder.forClient().trustManager(InsecureTrustManagerFactory.INSTANCE).build();
+        } catch (SSLException ex) {
+            LOGGER.warning(String.format(Locale.ENGLISH, "Failed to build SslContext, reason: %s", ex.getMessage()));
+        }
+        poolMap = new AbstractChannelPoolMap<String, SimpleChannelPool>() {
+            @Override
+            protected SimpleChannelPool newPool(String route) {
+                final URI uri = URI.create(route);
+                return new SimpleChannelPool(bootstrap.clone().remoteAddress(uri.getHost(), uri.getPort()),
+                        new RouteChannelPoolHandler(uri));
+            }
+        };
+    }
+
+    /**
+     * get request, the returned future is completed on the I/O thread, the callbacks of the future must not block
+     *
+     * @param url request address
+     * @param timeout timeout of the whole request in milliseconds
+     * @return HttpResult, {@link HttpResult#error()} if the request failed
+     */
+    public CompletableFuture<HttpResult> doGet(String url, long timeout) {
+        final CompletableFuture<HttpResult> future = new CompletableFuture<>();
+        final URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException ex) {
+            LOGGER.warning(String.format(Locale.ENGLISH, "Invalid request url %s.", url));
+            future.complete(HttpResult.error());
+            return future;
+        }
+        final ChannelPool pool = poolMap.get(route(uri));
+        pool.acquire().addListener((Future<Channel> acquired) -> {
+            if (!acquired.isSuccess()) {
+                LOGGER.warning(String.format(Locale.ENGLISH, "Connect to %s failed, %s", uri.getHost(),
+                        acquired.cause().getMessage()));
+                future.complete(HttpResult.error());
+                return;
+            }
+            send(acquired.getNow(), pool, uri, timeout, future);
+        });
+        return future;
+    }
+
+    private void send(Channel channel, ChannelPool pool, URI uri, long timeout, CompletableFuture<HttpResult> future) {
+        final Exchange exchange = new Exchange(channel, pool, future);
+        channel.attr(EXCHANGE_KEY).set(exchange);
+        exchange.timeoutFuture = channel.eventLoop().schedule(() -> {
+            LOGGER.fine(String.format(Locale.ENGLISH, "Request to %s timed out.", uri.getHost()));
+            exchange.complete(HttpResult.error(), false);
+        }, timeout, TimeUnit.MILLISECONDS);
+        final String path = uri.getRawQuery() == null ? uri.getRawPath() : uri.getRawPath() + "?" + uri.getRawQuery();
+        final FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, path,
+                Unpooled.EMPTY_BUFFER);
+        request.headers().set(HttpHeaderNames.HOST, uri.getRawAuthority())
+                .set(HttpHeaderNames.CONTENT_TYPE, "application/json; charset=utf-8")
+                .set(HttpHeaderNames.USER_AGENT, "sermant/client")
+                .set(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE);
+        channel.writeAndFlush(request).addListener(written -> {
+            if (!written.isSuccess()) {
+                LOGGER.warning(String.format(Locale.ENGLISH, "Send request to %s failed, %s", uri.getHost(),
+                        written.cause().getMessage()));
+                exchange.complete(HttpResult.error(), false);
+            }
+        });
+    }
+
+    private static String route(URI uri) {
+        final boolean isHttps = HTTPS.equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort();
+        if (port < 0) {
+            port = isHttps ? HTTPS_PORT : HTTP_PORT;
+        }
+        return (isHttps ? HTTPS : "http") + "://" + uri.getHost() + ":" + port;
+    }
+
+    /**
+     * Close the connections and release the I/O threads
+     */
+    public void close() {
+        poolMap.close();
+        eventLoopGroup.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+    }
+
+    /**
+     * A request in flight on a pooled connection
+     *
+     * @since 2025-01-27
+     */
+    private static class Exchange {
+        private final Channel channel;
+
+        private final ChannelPool pool;
+
+        private final CompletableFuture<HttpResult> future;
+
+        private volatile ScheduledFuture<?> timeoutFuture;
+
+        Exchange(Channel channel, ChannelPool pool, CompletableFuture<HttpResult> future) {
+            this.channel = channel;
+            this.pool = pool;
+            this.future = future;
+        }
+
+        /**
+         * Complete the request, and give the connection back to the pool. The connection is closed if it can not be
+         * used by the next request
+         *
+         * @param result result
+         * @param isReusable whether the connection can be reused
+         */
+        void complete(HttpResult result, boolean isReusable) {
+            if (!channel.attr(EXCHANGE_KEY).compareAndSet(this, null)) {
+                return;
+            }
+            if (timeoutFuture != null) {
+                timeoutFuture.cancel(false);
+            }
+            if (!isReusable) {
+                channel.close();
+            }
+            pool.release(channel);
+            future.complete(result);
+        }
+    }
+
+    /**
+     * Initialize the pipeline of the new connections of a route
+     *
+     * @since 2025-01-27
+     */
+    private class RouteChannelPoolHandler extends AbstractChannelPoolHandler {
+        private final URI route;
+
+        RouteChannelPoolHandler(URI route) {
+            this.route = route;
+        }
+
+        @Override
+        public void channelCreated(Channel channel) {
+            final ChannelPipeline pipeline = channel.pipeline();
+            if (HTTPS.equals(route.getScheme()) && sslContext != null) {
+                pipeline.addLast(sslContext.newHandler(channel.alloc(), route.getHost(), route.getPort()));
+            }
+            pipeline.addLast(new HttpClientCodec())
+                    .addLast(new HttpObjectAggregator(MAX_CONTENT_LENGTH))
+                    .addLast(responseHandler);
+        }
+    }
+
+    /**
+     * Complete the request in flight of the connection
+     *
+     * @since 2025-01-27
+     */
+    @Sharable
+    private static class ResponseHandler extends SimpleChannelInboundHandler<FullHttpResponse> {
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, FullHttpResponse response) {
+            final Exchange exchange = ctx.channel().attr(EXCHANGE_KEY).get();
+            if (exchange == null) {
+                return;
+            }
+            // Header names are case-insensitive
+            final Map<String, Object> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (Map.Entry<String, String> header : response.headers()) {
+                headers.put(header.getKey(), header.getValue());
+            }
+            exchange.complete(new HttpResult(response.status().code(),
+                    response.content().toString(StandardCharsets.UTF_8), headers), HttpUtil.isKeepAlive(response));
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) {
+            final Exchange exchange = ctx.channel().attr(EXCHANGE_KEY).get();
+            if (exchange != null) {
+                exchange.complete(HttpResult.error(), false);
+            }
+            ctx.fireChannelInactive();
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            LOGGER.fine(String.format(Locale.ENGLISH, "Kie connection failed, %s", cause.getMessage()));
+            final Exchange exchange = ctx.channel().attr(EXCHANGE_KEY).get();
+            if (exchange != null) {
+                exchange.complete(HttpResult.error(), false);
+            } else {
+                ctx.close();
+            }
+        }
+    }
+}
@@ -69,13 +69,26 @@ public class HttpResult {
         }
     }
 
+    /**
+     * Constructor
+     *
+     * @param code Response code
+     * @param result Response result
+     * @param responseHeaders Response headers
+     */
+    public HttpResult(int code, String result, Map<String, Object> responseHeaders) {
+        this.code = code;
+        this.result = result;
+        this.responseHeaders = responseHeaders;
+    }
+
     /**
      * Error response result
      *
      * @return HttpResult
      */
     public static HttpResult error() {
-        return new HttpResult(ERROR_CODE, null, null);
+        return new HttpResult(ERROR_CODE, null, (Header[]) null);
     }
 
     /**
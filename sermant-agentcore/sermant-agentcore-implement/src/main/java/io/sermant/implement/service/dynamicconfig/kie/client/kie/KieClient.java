@@ -20,6 +20,7 @@ import io.sermant.implement.service.dynamicconfig.ConfigClient;
 import io.sermant.implement.service.dynamicconfig.common.DynamicConstants;
 import io.sermant.implement.service.dynamicconfig.kie.client.AbstractClient;
 import io.sermant.implement.service.dynamicconfig.kie.client.ClientUrlManager;
+import io.sermant.implement.service.dynamicconfig.kie.client.http.AsyncHttpClient;
 import io.sermant.implement.service.dynamicconfig.kie.client.http.HttpClient;
 import io.sermant.implement.service.dynamicconfig.kie.client.http.HttpResult;
 import io.sermant.implement.service.dynamicconfig.kie.constants.KieConstants;
@@ -36,7 +37,9 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.regex.Pattern;
 
 /**
@@ -53,6 +56,11 @@ public class KieClient extends AbstractClient implements ConfigClient {
      */
     private static final String ABSENT_REVISION = "0";
 
+    /**
+     * Number of the I/O threads shared by all long polling requests
+     */
+    private static final int ASYNC_IO_THREADS = 1;
+
     private static final String KIE_API_TEMPLATE = "/v1/%s/kie/kv?";
 
     private final ResultHandler<KieResponse> defaultHandler = new ResultHandler.DefaultResultHandler();
@@ -64,6 +72,12 @@ public class KieClient extends AbstractClient implements ConfigClient {
 
     private String kieApi;
 
+    private final int timeout;
+
+    private volatile AsyncHttpClient asyncHttpClient;
+
+    private boolean isClosed;
+
     /**
      * Kie client constructor
      *
@@ -85,6 +99,7 @@ public class KieClient extends AbstractClient implements ConfigClient {
      */
     public KieClient(ClientUrlManager clientUrlManager, HttpClient httpClient, String project, int timeout) {
         super(clientUrlManager, httpClient, timeout);
+        this.timeout = timeout;
         kieApi = String.format(KIE_API_TEMPLATE, project);
     }
 
@@ -119,6 +134,56 @@ public class KieClient extends AbstractClient implements ConfigClient {
         if (request == null || responseHandler == null) {
             return null;
         }
+        final HttpResult httpResult = httpClient.doGet(buildQueryUrl(request), request.getRequestConfig());
+        return responseHandler.handle(httpResult);
+    }
+
+    /**
+     * Querying Kie Configuration without blocking the calling thread, which is used by the long polling requests
+     *
+     * @param request Kie request
+     * @param timeout timeout of the request in milliseconds
+     * @param executor executor handling the response, the I/O thread of the async http client is not blocked by it
+     * @return Response result, the future is completed exceptionally if the request failed
+     * @throws IllegalStateException the client is closed
+     */
+    public CompletableFuture<KieResponse> queryConfigurationsAsync(KieRequest request, long timeout,
+            Executor executor) {
+        return getAsyncHttpClient().doGet(buildQueryUrl(request), timeout).thenApplyAsync(httpResult -> {
+            if (httpResult.isError()) {
+                throw new IllegalStateException("request failed, code is " + httpResult.getCode());
+            }
+            return defaultHandler.handle(httpResult);
+        }, executor);
+    }
+
+    private AsyncHttpClient getAsyncHttpClient() {
+        if (asyncHttpClient == null) {
+            synchronized (this) {
+                if (isClosed) {
+                    throw new IllegalStateException("kie client is closed");
+                }
+                if (asyncHttpClient == null) {
+                    asyncHttpClient = new AsyncHttpClient(ASYNC_IO_THREADS, timeout);
+                }
+            }
+        }
+        return asyncHttpClient;
+    }
+
+    /**
+     * Close the connections and the I/O threads of the long polling requests, the asynchronous queries are rejected
+     * after the client is closed
+     */
+    public synchronized void close() {
+        isClosed = true;
+        if (asyncHttpClient != null) {
+            asyncHttpClient.close();
+            asyncHttpClient = null;
+        }
+    }
+
+    private String buildQueryUrl(KieRequest request) {
         final StringBuilder requestUrl = new StringBuilder().append(clientUrlManager.getUrl()).append(kieApi);
         requestUrl.append(formatNullString(request.getLabelCondition()))
                 .append("&revision=")
@@ -136,8 +201,7 @@ public class KieClient extends AbstractClient implements ConfigClient {
         if (request.getWait() != null) {
             requestUrl.append("&wait=").append(formatNullString(request.getWait())).append("s");
         }
-        final HttpResult httpResult = httpClient.doGet(requestUrl.toString(), request.getRequestConfig());
-        return responseHandler.handle(httpResult);
+        return requestUrl.toString();
     }
 
     /**
@@ -0,0 +1,228 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.dynamicconfig.kie.listener;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.TimerTask;
+import io.sermant.core.common.LoggerFactory;
+import io.sermant.core.utils.ThreadFactoryUtils;
+import io.sermant.implement.service.dynamicconfig.kie.client.kie.KieClient;
+import io.sermant.implement.service.dynamicconfig.kie.client.kie.KieRequest;
+import io.sermant.implement.service.dynamicconfig.kie.client.kie.KieResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Long polling engine of the kie subscribers
+ * <p>The long polling requests of all label groups are sent by the non-blocking http client of {@link KieClient}, so
+ * a label group holds a pooled connection instead of a thread while the server holds the request. The intervals and
+ * the retries are scheduled on a timer wheel instead of sleeping threads, and the label groups polled with the same
+ * revision are woken by one timeout and sent together. The responses are handled one by one on a single thread, so
+ * the listeners of the label groups are notified in order as before
+ *
+ * @author zhouss
+ * @since 2025-01-27
+ */
+class LongPollEngine {
+    private static final Logger LOGGER = LoggerFactory.getLogger();
+
+    /**
+     * Seconds are converted to milliseconds
+     */
+    private static final int SECONDS_UNIT = 1000;
+
+    /**
+     * Long connection pull interval
+     */
+    private static final long POLL_INTERVAL_MS = 2000L;
+
+    private static final long BASE_BACKOFF_MS = 3000L;
+
+    private static final long MAX_BACKOFF_MS = 60 * 1000L;
+
+    private static final long TICK_DURATION_MS = 100L;
+
+    private static final int TICKS_PER_WHEEL = 512;
+
+    private static final String ABSENT_REVISION = "";
+
+    private final KieClient kieClient;
+
+    private final HashedWheelTimer timer = new HashedWheelTimer(new ThreadFactoryUtils("kie-subscribe-timer"),
+            TICK_DURATION_MS, TimeUnit.MILLISECONDS, TICKS_PER_WHEEL);
+
+    private final ThreadPoolExecutor responseExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), new ThreadFactoryUtils("kie-subscribe-long-task"));
+
+    /**
+     * map< revision, label groups waiting for the next poll with the revision >
+     */
+    private final Map<String, List<Subscription>> pendingPolls = new ConcurrentHashMap<>();
+
+    private volatile boolean isClosed;
+
+    /**
+     * Constructor
+     *
+     * @param kieClient kie client
+     */
+    LongPollEngine(KieClient kieClient) {
+        this.kieClient = kieClient;
+    }
+
+    /**
+     * Send the long polling request of the label group, the calling thread is not blocked
+     *
+     * @param subscription subscription of the label group
+     */
+    void poll(Subscription subscription) {
+        if (isClosed || !subscription.isActive()) {
+            return;
+        }
+        final KieRequest kieRequest = subscription.getKieRequest();
+        final long timeout = (Integer.parseInt(kieRequest.getWait()) + 1L) * SECONDS_UNIT;
+        kieClient.queryConfigurationsAsync(kieRequest, timeout, responseExecutor)
+                .whenCompleteAsync((kieResponse, ex) -> handleResponse(subscription, kieResponse, ex),
+                        responseExecutor);
+    }
+
+    private void handleResponse(Subscription subscription, KieResponse kieResponse, Throwable throwable) {
+        if (isClosed || !subscription.isActive()) {
+            return;
+        }
+        if (throwable != null) {
+            final Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+            retryLater(subscription, cause.getMessage());
+            return;
+        }
+        try {
+            if (kieResponse != null) {
+                subscription.onResponse(kieResponse);
+            }
+        } catch (Exception ex) {
+            retryLater(subscription, ex.getMessage());
+            return;
+        }
+        subscription.setFailCount(0);
+
+        // Pull at intervals to reduce service pressure; If there are key changes in the interval, the service can
+        // judge whether the latest data needs to be returned immediately through the input revision, and there is
+        // no problem that the key cannot be listened to
+        pollLater(subscription);
+    }
+
+    private void pollLater(Subscription subscription) {
+        final String revision = subscription.getKieRequest().getRevision();
+        pendingPolls.compute(revision == null ? ABSENT_REVISION : revision, (key, batch) -> {
+            List<Subscription> subscriptions = batch;
+            if (subscriptions == null) {
+                subscriptions = new ArrayList<>();
+                schedule(timeout -> pollBatch(key), POLL_INTERVAL_MS);
+            }
+            subscriptions.add(subscription);
+            return subscriptions;
+        });
+    }
+
+    private void pollBatch(String revision) {
+        final List<Subscription> subscriptions = pendingPolls.remove(revision);
+        if (subscriptions == null) {
+            return;
+        }
+        for (Subscription subscription : subscriptions) {
+            poll(subscription);
+        }
+    }
+
+    private void retryLater(Subscription subscription, String reason) {
+        LOGGER.warning(String.format(Locale.ENGLISH, "pull kie config failed, %s, it will rePull", reason));
+        final int failCount = subscription.getFailCount() + 1;
+        subscription.setFailCount(failCount);
+        final long backoff = Math.min(MAX_BACKOFF_MS, BASE_BACKOFF_MS * failCount * failCount);
+        schedule(timeout -> poll(subscription), backoff);
+    }
+
+    private void schedule(TimerTask task, long delayMs) {
+        try {
+            timer.newTimeout(task, delayMs, TimeUnit.MILLISECONDS);
+        } catch (IllegalStateException ex) {
+            // The timer is stopped by close, the polls are not sent any more
+            LOGGER.fine("The long polling engine is closed, the poll is discarded.");
+        }
+    }
+
+    /**
+     * Stop polling, the pending polls are discarded and the timer and the response thread are released
+     */
+    void close() {
+        isClosed = true;
+        timer.stop();
+        responseExecutor.shutdownNow();
+        pendingPolls.clear();
+    }
+
+    /**
+     * Long polling subscription of a label group
+     *
+     * @since 2025-01-27
+     */
+    interface Subscription {
+        /**
+         * Request of the label group, the revision of the request is updated by {@link #onResponse(KieResponse)}
+         *
+         * @return kie request
+         */
+        KieRequest getKieRequest();
+
+        /**
+         * Whether the label group is still subscribed
+         *
+         * @return boolean
+         */
+        boolean isActive();
+
+        /**
+         * Handle the response of the long polling request
+         *
+         * @param kieResponse kie response
+         */
+        void onResponse(KieResponse kieResponse);
+
+        /**
+         * Number of the consecutive failures
+         *
+         * @return fail count
+         */
+        int getFailCount();
+
+        /**
+         * Set the number of the consecutive failures
+         *
+         * @param failCount fail count
+         */
+        void setFailCount(int failCount);
+    }
+}
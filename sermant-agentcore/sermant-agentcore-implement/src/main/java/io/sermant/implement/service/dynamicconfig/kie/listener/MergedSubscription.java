@@ -0,0 +1,262 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.dynamicconfig.kie.listener;
+
+import io.sermant.core.common.LoggerFactory;
+import io.sermant.implement.service.dynamicconfig.kie.client.kie.KieConfigEntity;
+import io.sermant.implement.service.dynamicconfig.kie.client.kie.KieRequest;
+import io.sermant.implement.service.dynamicconfig.kie.client.kie.KieResponse;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Long polling subscription merging the label groups of the same app
+ * <p>Kie filters a query with all of its labels, so the label groups can not be queried together by their own labels.
+ * Instead the merged subscription polls the labels shared by all of its label groups without exact matching, which
+ * returns the configurations of all of its label groups in one round trip. The configurations are dispatched to each
+ * label group by exact label matching, and each label group keeps its own revision
+ *
+ * @author zhouss
+ * @since 2025-01-27
+ */
+class MergedSubscription implements LongPollEngine.Subscription {
+    private static final Logger LOGGER = LoggerFactory.getLogger();
+
+    private static final String LABEL_PREFIX = "label=";
+
+    private static final String LABEL_SEPARATOR = "&";
+
+    private static final String LABEL_QUERY_SEPARATOR = ":";
+
+    /**
+     * The label groups are merged only if they share the app label
+     */
+    private static final String APP_LABEL = "app";
+
+    /**
+     * map< label group, labels of the label group >, the label groups receiving the responses
+     */
+    private final Map<LongPollEngine.Subscription, Map<String, String>> members = new ConcurrentHashMap<>();
+
+    /**
+     * map< label group, labels of the label group >, the label groups merged after the request in flight is sent. The
+     * request in flight is queried without their labels, so they join the members by the next request
+     */
+    private final Map<LongPollEngine.Subscription, Map<String, String>> pendingMembers = new HashMap<>();
+
+    private final KieRequest mergedRequest;
+
+    private Map<String, String> commonLabels;
+
+    private int failCount;
+
+    /**
+     * Constructor
+     *
+     * @param labels labels of the first label group
+     * @param wait wait time of the long polling request in seconds
+     */
+    MergedSubscription(Map<String, String> labels, String wait) {
+        this.commonLabels = new TreeMap<>(labels);
+        this.mergedRequest = new KieRequest().setLabelCondition(buildLabelCondition(commonLabels)).setWait(wait);
+        this.mergedRequest.setAccurateMatchLabel(false);
+    }
+
+    /**
+     * Labels shared by the label group and the merged label groups
+     *
+     * @param labels labels of the label group
+     * @return shared labels, empty if the label group can not be merged
+     */
+    synchronized Map<String, String> getCommonLabels(Map<String, String> labels) {
+        final Map<String, String> result = intersect(commonLabels, labels);
+        return result.containsKey(APP_LABEL) ? result : Collections.emptyMap();
+    }
+
+    /**
+     * Merge the label group, the label group receives the responses of the requests sent after it is merged
+     *
+     * @param member label group
+     * @param labels labels of the label group
+     */
+    synchronized void addMember(LongPollEngine.Subscription member, Map<String, String> labels) {
+        pendingMembers.put(member, labels);
+        updateCommonLabels(intersect(commonLabels, labels));
+    }
+
+    /**
+     * Request of the next poll, the label groups merged since the last request join the members
+     *
+     * @return kie request
+     */
+    @Override
+    public synchronized KieRequest getKieRequest() {
+        for (Entry<LongPollEngine.Subscription, Map<String, String>> entry : pendingMembers.entrySet()) {
+            final String revision = entry.getKey().getKieRequest().getRevision();
+            if (members.isEmpty()) {
+                mergedRequest.setRevision(revision);
+            } else if (!Objects.equals(mergedRequest.getRevision(), revision)) {
+                // Query all the configurations immediately, the changes of the label group missed since its revision
+                // are published
+                mergedRequest.setRevision(null);
+            }
+            members.put(entry.getKey(), entry.getValue());
+        }
+        pendingMembers.clear();
+        return mergedRequest;
+    }
+
+    @Override
+    public synchronized boolean isActive() {
+        boolean isRemoved = members.keySet().removeIf(member -> !member.isActive());
+        isRemoved = pendingMembers.keySet().removeIf(member -> !member.isActive()) || isRemoved;
+        if (isRemoved && (!members.isEmpty() || !pendingMembers.isEmpty())) {
+            // The remaining label groups may share more labels, the query is narrowed to them
+            Map<String, String> labels = null;
+            for (Map<String, String> memberLabels : members.values()) {
+                labels = labels == null ? memberLabels : intersect(labels, memberLabels);
+            }
+            for (Map<String, String> memberLabels : pendingMembers.values()) {
+                labels = labels == null ? memberLabels : intersect(labels, memberLabels);
+            }
+            updateCommonLabels(labels);
+        }
+        return !members.isEmpty() || !pendingMembers.isEmpty();
+    }
+
+    @Override
+    public void onResponse(KieResponse kieResponse) {
+        for (Entry<LongPollEngine.Subscription, Map<String, String>> entry : members.entrySet()) {
+            try {
+                entry.getKey().onResponse(select(kieResponse, entry.getValue()));
+            } catch (Exception ex) {
+                LOGGER.warning(String.format(Locale.ENGLISH, "Handle the response of group %s failed, %s",
+                        entry.getKey().getKieRequest().getLabelCondition(), ex.getMessage()));
+            }
+        }
+        if (kieResponse.isChanged()) {
+            synchronized (this) {
+                mergedRequest.setRevision(kieResponse.getRevision());
+            }
+        }
+    }
+
+    private void updateCommonLabels(Map<String, String> labels) {
+        if (!labels.equals(commonLabels)) {
+            commonLabels = new TreeMap<>(labels);
+            mergedRequest.setLabelCondition(buildLabelCondition(commonLabels));
+        }
+    }
+
+    private static Map<String, String> intersect(Map<String, String> labels, Map<String, String> others) {
+        final Map<String, String> result = new TreeMap<>();
+        for (Entry<String, String> entry : labels.entrySet()) {
+            if (entry.getValue().equals(others.get(entry.getKey()))) {
+                result.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    private KieResponse select(KieResponse kieResponse, Map<String, String> labels) {
+        final KieResponse result = new KieResponse();
+        result.setChanged(kieResponse.isChanged());
+        result.setRevision(kieResponse.getRevision());
+        if (kieResponse.getData() == null) {
+            return result;
+        }
+        final List<KieConfigEntity> data = new ArrayList<>();
+        for (KieConfigEntity entity : kieResponse.getData()) {
+            if (labels.equals(entity.getLabels())) {
+                data.add(entity);
+            }
+        }
+        result.setData(data);
+        result.setTotal(data.size());
+        return result;
+    }
+
+    @Override
+    public int getFailCount() {
+        return failCount;
+    }
+
+    @Override
+    public void setFailCount(int failCount) {
+        this.failCount = failCount;
+    }
+
+    /**
+     * Resolve the labels of the label condition built by {@link io.sermant.implement.utils.LabelGroupUtils}
+     *
+     * @param labelCondition label condition, such as label=app%3Adefault&label=environment%3Aprod
+     * @return labels
+     */
+    static Map<String, String> resolveLabels(String labelCondition) {
+        if (labelCondition == null || labelCondition.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        final Map<String, String> labels = new TreeMap<>();
+        try {
+            for (String label : labelCondition.split(LABEL_SEPARATOR)) {
+                if (!label.startsWith(LABEL_PREFIX)) {
+                    continue;
+                }
+                final String decoded = URLDecoder.decode(label.substring(LABEL_PREFIX.length()),
+                        StandardCharsets.UTF_8.name());
+                final int index = decoded.indexOf(LABEL_QUERY_SEPARATOR);
+                if (index > 0) {
+                    labels.put(decoded.substring(0, index), decoded.substring(index + 1));
+                }
+            }
+        } catch (UnsupportedEncodingException | IllegalArgumentException ex) {
+            LOGGER.warning(String.format(Locale.ENGLISH, "Invalid label condition %s.", labelCondition));
+            return Collections.emptyMap();
+        }
+        return labels;
+    }
+
+    private static String buildLabelCondition(Map<String, String> labels) {
+        final StringBuilder condition = new StringBuilder();
+        try {
+            for (Entry<String, String> entry : labels.entrySet()) {
+                if (condition.length() > 0) {
+                    condition.append(LABEL_SEPARATOR);
+                }
+                condition.append(LABEL_PREFIX).append(URLEncoder.encode(entry.getKey() + LABEL_QUERY_SEPARATOR
+                        + entry.getValue(), StandardCharsets.UTF_8.name()));
+            }
+        } catch (UnsupportedEncodingException ex) {
+            LOGGER.warning(String.format(Locale.ENGLISH, "Encode labels failed, %s", ex.getMessage()));
+        }
+        return condition.toString();
+    }
+}
@@ -37,8 +37,8 @@ import io.sermant.implement.service.dynamicconfig.kie.client.kie.ResultHandler;
 import io.sermant.implement.service.dynamicconfig.kie.constants.KieConstants;
 import io.sermant.implement.utils.LabelGroupUtils;
 
-import org.apache.http.client.config.RequestConfig;
-
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -47,10 +47,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
-import java.util.concurrent.SynchronousQueue;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 
 /**
@@ -61,7 +58,8 @@ import java.util.logging.Logger;
  */
 public class SubscriberManager {
     /**
-     * Maximum number of threads
+     * Maximum number of threads. The long polling requests no longer occupy threads, it is kept for the size of the
+     * connection pool of {@link io.sermant.implement.service.dynamicconfig.kie.client.http.DefaultHttpClient}
      */
     public static final int MAX_THREAD_SIZE = 100;
 
@@ -72,11 +70,6 @@ public class SubscriberManager {
      */
     private static final int THREAD_SIZE = 5;
 
-    /**
-     * Seconds are converted to milliseconds
-     */
-    private static final int SECONDS_UNIT = 1000;
-
     /**
      * request interval
      */
@@ -87,17 +80,6 @@ public class SubscriberManager {
      */
     private static final String WAIT = "20";
 
-    /**
-     * Long connection pull interval
-     */
-    private static final long LONG_CONNECTION_REQUEST_INTERVAL_MS = 2000L;
-
-    /**
-     * Number of current long connection requests. The maximum number of connections must be smaller than
-     * MAX_THREAD_SIZE
-     */
-    private final AtomicInteger curLongConnectionRequestCount = new AtomicInteger(0);
-
     /**
      * map< listener key, list of listeners listening for the key >. A group has only one KieListenerWrapper
      */
@@ -115,11 +97,17 @@ public class SubscriberManager {
     private final ResultHandler<KieResponse> receiveAllDataHandler = new ResultHandler.DefaultResultHandler(false);
 
     /**
-     * LongRequestExecutor for subscription. A maximum of MAX_THREAD_SIZE tasks are supported. Because it is a long
-     * connection request, it will inevitably occupy threads, so the task is not considered to be stored in the queue
+     * Long polling engine shared by all long connection subscriptions, the subscriptions do not occupy threads while
+     * waiting for the server
      */
-    private final ThreadPoolExecutor longRequestExecutor = new ThreadPoolExecutor(THREAD_SIZE, MAX_THREAD_SIZE, 0,
-            TimeUnit.MILLISECONDS, new SynchronousQueue<>(), new ThreadFactoryUtils("kie-subscribe-long-task"));
+    private final LongPollEngine longPollEngine;
+
+    /**
+     * Merged long polling subscriptions, the label groups of the same app are polled by one request
+     */
+    private final List<MergedSubscription> mergedSubscriptions = new ArrayList<>();
+
+    private final boolean isMergeLabelGroups;
 
     /**
      * Used for quick return requests
@@ -133,8 +121,10 @@ public class SubscriberManager {
      * @param timeout timeout
      */
     public SubscriberManager(String serverAddress, int timeout) {
-        kieClient = new KieClient(new ClientUrlManager(serverAddress),
-                ConfigManager.getConfig(KieDynamicConfig.class).getProject(), timeout);
+        final KieDynamicConfig kieDynamicConfig = ConfigManager.getConfig(KieDynamicConfig.class);
+        kieClient = new KieClient(new ClientUrlManager(serverAddress), kieDynamicConfig.getProject(), timeout);
+        longPollEngine = new LongPollEngine(kieClient);
+        isMergeLabelGroups = kieDynamicConfig.isMergeLabelGroups();
     }
 
     /**
@@ -146,6 +136,9 @@ public class SubscriberManager {
      */
     public SubscriberManager(String serverAddress, String project, int timeout) {
         kieClient = new KieClient(new ClientUrlManager(serverAddress), project, timeout);
+        longPollEngine = new LongPollEngine(kieClient);
+        final KieDynamicConfig kieDynamicConfig = ConfigManager.getConfig(KieDynamicConfig.class);
+        isMergeLabelGroups = kieDynamicConfig == null || kieDynamicConfig.isMergeLabelGroups();
     }
 
     /**
@@ -267,13 +260,6 @@ public class SubscriberManager {
         if (!kieSubscriber.isLongConnectionRequest()) {
             task = new ShortTimerTask(kieSubscriber, kieListenerWrapper);
         } else {
-            if (exceedMaxLongRequestCount()) {
-                LOGGER.warning(String.format(Locale.ENGLISH,
-                        "Exceeded max long connection request subscribers, the max number is %s, it will be discarded!",
-                        curLongConnectionRequestCount.get()));
-                return false;
-            }
-            buildRequestConfig(kieRequest);
             task = new LoopPullTask(kieSubscriber, kieListenerWrapper);
         }
         kieListenerWrapper.setTask(task);
@@ -283,15 +269,6 @@ public class SubscriberManager {
         return true;
     }
 
-    /**
-     * Whether the number of long connection tasks exceeded the upper limit
-     *
-     * @return boolean
-     */
-    private boolean exceedMaxLongRequestCount() {
-        return curLongConnectionRequestCount.incrementAndGet() > MAX_THREAD_SIZE;
-    }
-
     /**
      * In the scenario of long requests, need to perform the first pull to obtain existing data
      *
@@ -377,18 +354,24 @@ public class SubscriberManager {
         return false;
     }
 
-    private void buildRequestConfig(KieRequest kieRequest) {
-        int wait = (Integer.parseInt(kieRequest.getWait()) + 1) * SECONDS_UNIT;
-        if (kieRequest.getRequestConfig() == null) {
-            kieRequest.setRequestConfig(RequestConfig.custom().setConnectionRequestTimeout(wait).setConnectTimeout(wait)
-                    .setSocketTimeout(wait).build());
+    /**
+     * Stop the subscriptions and release the threads and the connections of the long polling requests
+     */
+    public void close() {
+        for (KieListenerWrapper wrapper : listenerMap.values()) {
+            wrapper.getTask().stop();
+        }
+        longPollEngine.close();
+        if (scheduledExecutorService != null) {
+            scheduledExecutorService.shutdownNow();
         }
+        kieClient.close();
     }
 
     private void executeTask(final Task task) {
         try {
             if (task.isLongConnectionRequest()) {
-                longRequestExecutor.execute(new TaskRunnable(task));
+                task.execute();
             } else {
                 executeScheduledTask(task);
             }
@@ -410,6 +393,38 @@ public class SubscriberManager {
                 TimeUnit.MILLISECONDS);
     }
 
+    /**
+     * Poll the label group with the merged subscription sharing the most labels with it, a new merged subscription is
+     * created if no merged subscription shares the app label with it
+     *
+     * @param task long polling task of the label group
+     */
+    private synchronized void pollMerged(LoopPullTask task) {
+        final Map<String, String> labels = MergedSubscription.resolveLabels(task.getKieRequest().getLabelCondition());
+        if (labels.isEmpty()) {
+            longPollEngine.poll(task);
+            return;
+        }
+        mergedSubscriptions.removeIf(subscription -> !subscription.isActive());
+        MergedSubscription target = null;
+        int maxCommonSize = 0;
+        for (MergedSubscription subscription : mergedSubscriptions) {
+            final int commonSize = subscription.getCommonLabels(labels).size();
+            if (commonSize > maxCommonSize) {
+                target = subscription;
+                maxCommonSize = commonSize;
+            }
+        }
+        if (target != null) {
+            target.addMember(task, labels);
+            return;
+        }
+        final MergedSubscription subscription = new MergedSubscription(labels, task.getKieRequest().getWait());
+        subscription.addMember(task, labels);
+        mergedSubscriptions.add(subscription);
+        longPollEngine.poll(subscription);
+    }
+
     private void tryPublishEvent(KieResponse kieResponse, KieListenerWrapper kieListenerWrapper, boolean isFirst) {
         final KvDataHolder kvDataHolder = kieListenerWrapper.getKvDataHolder();
         final KvDataHolder.EventDataHolder eventDataHolder = kvDataHolder.analyzeLatestData(kieResponse, isFirst);
@@ -486,6 +501,15 @@ public class SubscriberManager {
             isContinue = false;
         }
 
+        /**
+         * Whether the task is not stopped
+         *
+         * @return boolean
+         */
+        public boolean isActive() {
+            return isContinue;
+        }
+
         /**
          * subclass executive method
          */
@@ -523,11 +547,11 @@ public class SubscriberManager {
     }
 
     /**
-     * LoopPullTask
+     * LoopPullTask, the long polling requests are sent by {@link LongPollEngine}
      *
      * @since 2021-11-17
      */
-    class LoopPullTask extends AbstractTask {
+    class LoopPullTask extends AbstractTask implements LongPollEngine.Subscription {
         private final KieSubscriber kieSubscriber;
 
         private final KieListenerWrapper kieListenerWrapper;
@@ -541,82 +565,40 @@ public class SubscriberManager {
 
         @Override
         public void executeInner() {
-            try {
-                final KieResponse kieResponse = kieClient.queryConfigurations(kieSubscriber.getKieRequest());
-                if (kieResponse != null && kieResponse.isChanged()) {
-                    tryPublishEvent(kieResponse, kieListenerWrapper, false);
-                    kieSubscriber.getKieRequest().setRevision(kieResponse.getRevision());
-                }
-
-                // Pull at intervals to reduce service pressure; If there are key changes in the interval, the
-                // service can judge whether the latest data needs to be returned immediately through the input
-                // revision, and there is no problem that the key cannot be listened to
-                this.failCount = 0;
-                SubscriberManager.this.executeTask(new SleepCallBackTask(this, LONG_CONNECTION_REQUEST_INTERVAL_MS));
-            } catch (Exception ex) {
-                LOGGER.warning(
-                        String.format(Locale.ENGLISH, "pull kie config failed, %s, it will rePull", ex.getMessage()));
-                ++failCount;
-                SubscriberManager.this.executeTask(new SleepCallBackTask(this, failCount));
+            final KieRequest kieRequest = getKieRequest();
+            if (isMergeLabelGroups && kieRequest.isAccurateMatchLabel() && kieRequest.getKey() == null) {
+                pollMerged(this);
+            } else {
+                longPollEngine.poll(this);
             }
         }
 
         @Override
-        public boolean isLongConnectionRequest() {
-            return kieSubscriber.isLongConnectionRequest();
-        }
-    }
-
-    /**
-     * SleepCallBackTask
-     *
-     * @since 2021-11-17
-     */
-    class SleepCallBackTask extends AbstractTask {
-        private static final long MAX_WAIT_MS = 60 * 1000 * 60L;
-
-        private static final long BASE_MS = 3000L;
-
-        private final Task nextTask;
-
-        private int failedCount;
-
-        private long waitTimeMs;
-
-        SleepCallBackTask(Task nextTask, int failedCount) {
-            this.nextTask = nextTask;
-            this.failedCount = failedCount;
+        public KieRequest getKieRequest() {
+            return kieSubscriber.getKieRequest();
         }
 
-        SleepCallBackTask(Task nextTask, long waitTimeMs) {
-            this.nextTask = nextTask;
-            this.waitTimeMs = waitTimeMs;
+        @Override
+        public void onResponse(KieResponse kieResponse) {
+            if (kieResponse.isChanged()) {
+                tryPublishEvent(kieResponse, kieListenerWrapper, false);
+                kieSubscriber.getKieRequest().setRevision(kieResponse.getRevision());
+            }
         }
 
         @Override
-        public void executeInner() {
-            long wait;
-            if (waitTimeMs != 0) {
-                wait = Math.min(waitTimeMs, MAX_WAIT_MS);
-            } else {
-                wait = Math.min(MAX_WAIT_MS, BASE_MS * failedCount * failedCount);
-            }
-            try {
-                Thread.sleep(wait);
-                SubscriberManager.this.executeTask(nextTask);
-            } catch (InterruptedException ignored) {
-                // ignored
-            }
+        public int getFailCount() {
+            return failCount;
         }
 
         @Override
-        public boolean isLongConnectionRequest() {
-            return nextTask.isLongConnectionRequest();
+        public void setFailCount(int failCount) {
+            this.failCount = failCount;
         }
 
         @Override
-        public void stop() {
-            nextTask.stop();
+        public boolean isLongConnectionRequest() {
+            return kieSubscriber.isLongConnectionRequest();
         }
     }
 }
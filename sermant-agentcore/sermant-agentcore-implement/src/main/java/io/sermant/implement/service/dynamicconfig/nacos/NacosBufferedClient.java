@@ -30,6 +30,7 @@ import io.sermant.core.utils.StringUtils;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -107,6 +108,25 @@ public class NacosBufferedClient implements Closeable {
         }
     }
 
+    /**
+     * Get the keys of the group from the server
+     *
+     * @param group configuration group
+     * @return key list, or empty if the server can not be reached
+     */
+    public Optional<List<String>> queryGroupKeys(String group) {
+        if (!this.nacosClient.isConnect()) {
+            return Optional.empty();
+        }
+        try {
+            final List<String> keys = this.nacosClient.getGroupKeys(null, group, this.namepase, true).get(group);
+            return Optional.of(keys == null ? Collections.emptyList() : keys);
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Nacos http request exception.");
+            return Optional.empty();
+        }
+    }
+
     /**
      * Get configuration
      *
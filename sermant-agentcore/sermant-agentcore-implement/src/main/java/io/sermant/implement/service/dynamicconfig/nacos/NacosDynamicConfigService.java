@@ -28,6 +28,8 @@ import io.sermant.core.service.dynamicconfig.common.DynamicConfigListener;
 import io.sermant.core.utils.AesUtil;
 import io.sermant.core.utils.CollectionUtils;
 import io.sermant.core.utils.StringUtils;
+import io.sermant.core.utils.ThreadFactoryUtils;
+import io.sermant.implement.service.dynamicconfig.GroupKeysQuery;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -36,10 +38,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -49,7 +54,7 @@ import java.util.logging.Logger;
  * @author tangle
  * @since 2023-08-17
  */
-public class NacosDynamicConfigService extends DynamicConfigService {
+public class NacosDynamicConfigService extends DynamicConfigService implements GroupKeysQuery {
     /**
      * logger
      */
@@ -69,6 +74,11 @@ public class NacosDynamicConfigService extends DynamicConfigService {
      */
     private static final long UPDATE_TIME_INTERVAL = 3000L;
 
+    /**
+     * Number of the threads processing the configuration changes of all listeners
+     */
+    private static final int DISPATCH_THREADS = 2;
+
     private final ServiceMeta serviceMeta;
 
     private final List<NacosListener> listeners;
@@ -77,13 +87,28 @@ public class NacosDynamicConfigService extends DynamicConfigService {
      * The thread pool for updating listeners periodically
      */
     private ScheduledThreadPoolExecutor scheduledThreadPoolExecutor;
+
+    /**
+     * Whether an update of the group listeners is submitted and not started yet
+     */
+    private final AtomicBoolean isUpdatePending = new AtomicBoolean();
+
+    /**
+     * Start time and number of the updates of the group listeners, which are only written by the update thread
+     */
+    private volatile long lastUpdateTime;
+
+    private volatile long updateCount;
+
+    private NacosListenerDispatcher dispatcher;
+
     private NacosBufferedClient nacosClient;
 
     /**
      * Constructor: Compile the regular expression and initialize the List
      */
     public NacosDynamicConfigService() {
-        listeners = new ArrayList<>();
+        listeners = new CopyOnWriteArrayList<>();
         serviceMeta = ConfigManager.getConfig(ServiceMeta.class);
     }
 
@@ -96,7 +121,9 @@ public class NacosDynamicConfigService extends DynamicConfigService {
             nacosClient = new NacosBufferedClient(CONFIG.getServerAddress(), CONFIG.getTimeoutValue(),
                     serviceMeta.getProject());
         }
-        scheduledThreadPoolExecutor = new ScheduledThreadPoolExecutor(1);
+        dispatcher = new NacosListenerDispatcher(DISPATCH_THREADS);
+        scheduledThreadPoolExecutor = new ScheduledThreadPoolExecutor(1,
+                new ThreadFactoryUtils("nacos-group-listener-update"));
         scheduledThreadPoolExecutor.scheduleWithFixedDelay(this::updateConfigListener, UPDATE_TIME_INTERVAL,
                 UPDATE_TIME_INTERVAL,
                 TimeUnit.MILLISECONDS);
@@ -108,7 +135,10 @@ public class NacosDynamicConfigService extends DynamicConfigService {
             nacosClient.close();
         }
         if (scheduledThreadPoolExecutor != null) {
-            scheduledThreadPoolExecutor.shutdown();
+            scheduledThreadPoolExecutor.shutdownNow();
+        }
+        if (dispatcher != null) {
+            dispatcher.shutdown();
         }
         listeners.clear();
     }
@@ -206,7 +236,7 @@ public class NacosDynamicConfigService extends DynamicConfigService {
         }
         String validGroup = NacosUtils.rebuildGroup(group);
         List<String> keys = doListKeysFromGroup(validGroup);
-        Map<String, Listener> keyListenerMap = new HashMap<>();
+        Map<String, Listener> keyListenerMap = new ConcurrentHashMap<>();
         for (String key : keys) {
             Listener nacosListener = instantiateListener(key, validGroup, listener);
             if (!nacosClient.addListener(key, validGroup, nacosListener)) {
@@ -216,7 +246,8 @@ public class NacosDynamicConfigService extends DynamicConfigService {
             }
             keyListenerMap.put(key, nacosListener);
         }
-        listeners.add(new NacosListener(TYPE_GROUP, validGroup, keyListenerMap, listener));
+        NacosListener groupListener = new NacosListener(TYPE_GROUP, validGroup, keyListenerMap, listener);
+        listeners.add(groupListener);
         LOGGER.log(Level.INFO, "nacos add group config listener success, group: {0}", validGroup);
         return true;
     }
@@ -254,6 +285,14 @@ public class NacosDynamicConfigService extends DynamicConfigService {
         return CollectionUtils.isEmpty(resultList) ? Collections.emptyList() : resultList;
     }
 
+    @Override
+    public Optional<List<String>> queryKeysFromGroup(String group) {
+        if (!NacosUtils.isValidGroupName(group)) {
+            return Optional.of(Collections.emptyList());
+        }
+        return nacosClient.queryGroupKeys(NacosUtils.rebuildGroup(group));
+    }
+
     /**
      * Get listener
      *
@@ -284,7 +323,7 @@ public class NacosDynamicConfigService extends DynamicConfigService {
      */
     private Listener instantiateListener(String key, String validGroup, DynamicConfigListener listener) {
         return new Listener() {
-            private final Executor defaultExecutor = Executors.newSingleThreadExecutor();
+            private final Executor defaultExecutor = dispatcher.newSerialExecutor();
 
             private boolean isCreateOrModify = false;
 
@@ -296,6 +335,11 @@ public class NacosDynamicConfigService extends DynamicConfigService {
             @Override
             public void receiveConfigInfo(String content) {
                 listener.process(listenerEvent(key, validGroup, content));
+
+                // The keys of a group are usually published together, check the new keys of the group now
+                if (!getGroupListener(validGroup).isEmpty()) {
+                    submitUpdateConfigListener();
+                }
             }
 
             /**
@@ -340,10 +384,37 @@ public class NacosDynamicConfigService extends DynamicConfigService {
         return list;
     }
 
+    /**
+     * Update group listeners once the update interval has passed since the last update, the pending updates are
+     * merged. The update is skipped if the periodic update runs in the meantime
+     */
+    private void submitUpdateConfigListener() {
+        if (!isUpdatePending.compareAndSet(false, true)) {
+            return;
+        }
+        final long submittedCount = updateCount;
+        final long delay = Math.max(0L, lastUpdateTime + UPDATE_TIME_INTERVAL - System.currentTimeMillis());
+        try {
+            scheduledThreadPoolExecutor.schedule(() -> {
+                isUpdatePending.set(false);
+                if (updateCount == submittedCount) {
+                    updateConfigListener();
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            isUpdatePending.set(false);
+        }
+    }
+
     /**
      * Update group listeners periodically
      */
     private void updateConfigListener() {
+        lastUpdateTime = System.currentTimeMillis();
+        updateCount++;
+        if (!hasGroupListener()) {
+            return;
+        }
         Map<String, List<String>> groupKeys = nacosClient.getGroupKeys();
         for (NacosListener nacosListener : listeners) {
             if (!nacosListener.getType().equals(TYPE_GROUP)) {
@@ -365,6 +436,15 @@ public class NacosDynamicConfigService extends DynamicConfigService {
         }
     }
 
+    private boolean hasGroupListener() {
+        for (NacosListener nacosListener : listeners) {
+            if (nacosListener.getType().equals(TYPE_GROUP)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private boolean doUpdateConfigListener(NacosListener nacosListener, String group, Map<String, Listener> listenerMap,
                                            String key) {
         Listener listenerNacos;
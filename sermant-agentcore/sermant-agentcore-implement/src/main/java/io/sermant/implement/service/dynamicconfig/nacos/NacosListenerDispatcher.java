@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.dynamicconfig.nacos;
+
+import io.sermant.core.common.LoggerFactory;
+import io.sermant.core.utils.ThreadFactoryUtils;
+
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Dispatcher of the configuration changes pushed by nacos, all listeners share a small thread pool
+ * <p>Each nacos listener gets a serial executor from {@link #newSerialExecutor()}, which runs at most one task of the
+ * listener at a time, so the changes of a key are processed in the order they are pushed. A listener only occupies a
+ * thread while processing a change
+ *
+ * @author tangle
+ * @since 2025-01-27
+ */
+class NacosListenerDispatcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger();
+
+    /**
+     * Maximum number of tasks processed in one run of a serial executor, so that the other listeners get the thread
+     */
+    private static final int MAX_BATCH = 16;
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Constructor
+     *
+     * @param threads number of dispatch threads
+     */
+    NacosListenerDispatcher(int threads) {
+        final int poolSize = Math.max(1, threads);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new ThreadFactoryUtils("nacos-listener-dispatcher"));
+    }
+
+    /**
+     * Create the executor of a nacos listener
+     *
+     * @return serial executor backed by the shared thread pool
+     */
+    Executor newSerialExecutor() {
+        return new SerialExecutor();
+    }
+
+    /**
+     * Stop the dispatch threads, the pending changes are discarded
+     */
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Executor running the tasks of a listener one by one on the shared thread pool
+     *
+     * @since 2025-01-27
+     */
+    private class SerialExecutor implements Executor, Runnable {
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+
+        /**
+         * Whether the executor is submitted to the thread pool or being processed, guarded by this
+         */
+        private boolean isScheduled;
+
+        @Override
+        public void execute(Runnable task) {
+            final boolean isSubmitting;
+            synchronized (this) {
+                tasks.add(task);
+                isSubmitting = !isScheduled;
+                isScheduled = true;
+            }
+            if (isSubmitting) {
+                submit();
+            }
+        }
+
+        private void submit() {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException ex) {
+                LOGGER.warning("Nacos listener dispatcher rejects the changes, it may have been stopped.");
+                synchronized (this) {
+                    tasks.clear();
+                    isScheduled = false;
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < MAX_BATCH; i++) {
+                final Runnable task;
+                synchronized (this) {
+                    task = tasks.poll();
+                    if (task == null) {
+                        isScheduled = false;
+                        return;
+                    }
+                }
+                try {
+                    task.run();
+                } catch (Throwable throwable) {
+                    LOGGER.log(Level.SEVERE, String.format(Locale.ROOT, "Nacos listener failed to process the "
+                            + "change, %s", throwable.getMessage()), throwable);
+                }
+            }
+
+            // Yield the thread to the other listeners and continue later
+            synchronized (this) {
+                if (tasks.isEmpty()) {
+                    isScheduled = false;
+                    return;
+                }
+            }
+            submit();
+        }
+    }
+}
@@ -31,6 +31,9 @@ import org.apache.zookeeper.ZooKeeper;
 
 import java.io.Closeable;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 /**
@@ -68,6 +71,13 @@ public class ZooKeeperBufferedClient implements Closeable {
      */
     private ZooKeeperClient zkClient;
 
+    /**
+     * map< root path, mirrored tree under the root path >
+     */
+    private final Map<String, ZooKeeperTreeCache> treeCaches = new ConcurrentHashMap<>();
+
+    private volatile boolean isDisconnected;
+
     /**
      * Create a ZooKeeperBufferedClient, initialize the ZK client, and provide an expired reconnection mechanism
      *
@@ -84,6 +94,7 @@ public class ZooKeeperBufferedClient implements Closeable {
                 if (event.getState() == Event.KeeperState.Expired) {
                     zkClient = new ZooKeeperClient(connectString, sessionTimeout, this);
                 }
+                restartTreeCaches(event);
                 postZookeeperConnectNotification(event);
             }
         });
@@ -111,6 +122,7 @@ public class ZooKeeperBufferedClient implements Closeable {
                     waitConnect();
                     zkClient.addAuthInfo(SCHEME, authInfo.getBytes(CommonConstant.DEFAULT_CHARSET));
                 }
+                restartTreeCaches(event);
                 postZookeeperConnectNotification(event);
             }
         });
@@ -133,6 +145,30 @@ public class ZooKeeperBufferedClient implements Closeable {
         }
     }
 
+    /**
+     * Load the mirrored trees again after the connection is restored, the watches are added to the new client if the
+     * session is expired
+     *
+     * @param event connection event
+     */
+    private void restartTreeCaches(WatchedEvent event) {
+        final Watcher.Event.KeeperState state = event.getState();
+        if (state == Watcher.Event.KeeperState.Disconnected || state == Watcher.Event.KeeperState.Expired) {
+            isDisconnected = true;
+            return;
+        }
+        if (state != Watcher.Event.KeeperState.SyncConnected || !isDisconnected) {
+            return;
+        }
+        isDisconnected = false;
+        for (ZooKeeperTreeCache treeCache : treeCaches.values()) {
+            if (!treeCache.restart(zkClient)) {
+                LOGGER.warning(String.format(Locale.ENGLISH, "Restart the tree cache of [%s] failed. ",
+                        treeCache.getRootPath()));
+            }
+        }
+    }
+
     /**
      * Check connection
      *
@@ -163,6 +199,15 @@ public class ZooKeeperBufferedClient implements Closeable {
         }
     }
 
+    /**
+     * Whether the client is connected to the server
+     *
+     * @return whether the client is connected
+     */
+    public boolean isConnect() {
+        return zkClient.isConnect();
+    }
+
     /**
      * Check whether the node exists
      *
@@ -170,6 +215,10 @@ public class ZooKeeperBufferedClient implements Closeable {
      * @return whether the node exists
      */
     public boolean ifNodeExist(String path) {
+        final ZooKeeperTreeCache treeCache = getTreeCache(path);
+        if (treeCache != null && treeCache.isSynced(path)) {
+            return treeCache.contains(path);
+        }
         return zkClient.ifNodeExist(path);
     }
 
@@ -181,6 +230,23 @@ public class ZooKeeperBufferedClient implements Closeable {
      * @return node content
      */
     public String getNode(String key, String group) {
+        final String path = ZooKeeperClient.toPath(key, group);
+        final ZooKeeperTreeCache treeCache = getTreeCache(path);
+        if (treeCache != null && treeCache.isSynced(path)) {
+            final String data = treeCache.getData(path);
+            return data == null ? "" : data;
+        }
+        return zkClient.getConfig(key, group);
+    }
+
+    /**
+     * Get configuration from the server, the mirrored tree is not used
+     *
+     * @param key configuration key
+     * @param group configuration group
+     * @return node content
+     */
+    public String getLatestNode(String key, String group) {
         return zkClient.getConfig(key, group);
     }
 
@@ -191,7 +257,12 @@ public class ZooKeeperBufferedClient implements Closeable {
      * @return create result
      */
     public boolean createParent(String path) {
-        return zkClient.createParent(path);
+        final boolean isCreated = zkClient.createParent(path);
+        final int index = path.lastIndexOf(ZK_PATH_SEPARATOR);
+        if (index > 0) {
+            onWritten(path.substring(0, index));
+        }
+        return isCreated;
     }
 
     /**
@@ -203,7 +274,9 @@ public class ZooKeeperBufferedClient implements Closeable {
      * @return update result
      */
     public boolean updateNode(String key, String group, String data) {
-        return zkClient.publishConfig(key, group, data);
+        final boolean isUpdated = zkClient.publishConfig(key, group, data);
+        onWritten(ZooKeeperClient.toPath(key, group));
+        return isUpdated;
     }
 
     /**
@@ -214,7 +287,9 @@ public class ZooKeeperBufferedClient implements Closeable {
      * @return remove result
      */
     public boolean removeNode(String key, String group) {
-        return zkClient.removeConfig(key, group);
+        final boolean isRemoved = zkClient.removeConfig(key, group);
+        onWritten(ZooKeeperClient.toPath(key, group));
+        return isRemoved;
     }
 
     /**
@@ -224,9 +299,70 @@ public class ZooKeeperBufferedClient implements Closeable {
      * @return path list
      */
     public List<String> listAllNodes(String path) {
+        final ZooKeeperTreeCache treeCache = getTreeCache(path);
+        if (treeCache != null && treeCache.isSynced(path)) {
+            return treeCache.listAllNodes(path);
+        }
         return zkClient.listAllNodes(path);
     }
 
+    /**
+     * Mirror the tree under the node and listen to the changes of the descendant nodes. The reads of the nodes in the
+     * tree are served by the mirrored tree
+     *
+     * @param path node path
+     * @param listener listener
+     * @return add result
+     */
+    public synchronized boolean addTreeCacheListener(String path, ZooKeeperTreeCache.Listener listener) {
+        ZooKeeperTreeCache treeCache = treeCaches.get(path);
+        if (treeCache == null) {
+            treeCache = new ZooKeeperTreeCache(path);
+            treeCache.addListener(listener);
+            if (!treeCache.start(zkClient, CONFIG.getRequestTimeout())) {
+                return false;
+            }
+            treeCaches.put(path, treeCache);
+            return true;
+        }
+        treeCache.addListener(listener);
+        return true;
+    }
+
+    /**
+     * Remove the mirrored tree under the node and all watches of the node
+     *
+     * @param path node path
+     * @return remove result
+     */
+    public synchronized boolean removeTreeCache(String path) {
+        treeCaches.remove(path);
+        return zkClient.removeAllWatches(path);
+    }
+
+    /**
+     * The mirrored trees may handle the watch events of the writes of this client later than the writes return, so the
+     * written node is read from the server until the mirrored tree reads it back
+     *
+     * @param path path of the written node
+     */
+    private void onWritten(String path) {
+        for (ZooKeeperTreeCache treeCache : treeCaches.values()) {
+            if (treeCache.covers(path)) {
+                treeCache.onWritten(path);
+            }
+        }
+    }
+
+    private ZooKeeperTreeCache getTreeCache(String path) {
+        for (ZooKeeperTreeCache treeCache : treeCaches.values()) {
+            if (treeCache.isInitialized() && treeCache.covers(path)) {
+                return treeCache;
+            }
+        }
+        return null;
+    }
+
     /**
      * Adds a loop watch for temporary data that will re-register after triggering until the listener removal event is
      * received
@@ -19,6 +19,7 @@ package io.sermant.implement.service.dynamicconfig.zookeeper;
 import io.sermant.implement.service.dynamicconfig.ConfigClient;
 
 import org.apache.zookeeper.AddWatchMode;
+import org.apache.zookeeper.AsyncCallback;
 import org.apache.zookeeper.CreateMode;
 import org.apache.zookeeper.KeeperException;
 import org.apache.zookeeper.WatchedEvent;
@@ -329,6 +330,28 @@ public class ZooKeeperClient implements ConfigClient {
         return nodes;
     }
 
+    /**
+     * Read the data of the node asynchronously, the requests are pipelined on the connection and the callbacks are
+     * executed in order on the event thread of the client
+     *
+     * @param path node path
+     * @param callback data callback
+     */
+    public void getDataAsync(String path, AsyncCallback.DataCallback callback) {
+        getZkClient().getData(path, false, callback, null);
+    }
+
+    /**
+     * Read the children of the node asynchronously, the requests are pipelined on the connection and the callbacks
+     * are executed in order on the event thread of the client
+     *
+     * @param path node path
+     * @param callback children callback
+     */
+    public void getChildrenAsync(String path, AsyncCallback.ChildrenCallback callback) {
+        getZkClient().getChildren(path, false, callback, null);
+    }
+
     /**
      * Adds a loop watch for temporary data that will re-register after triggering until the listener removal event is
      * received
@@ -427,7 +450,7 @@ public class ZooKeeperClient implements ConfigClient {
      * @param group group
      * @return ZK path
      */
-    private String toPath(String key, String group) {
+    static String toPath(String key, String group) {
         if (group == null || group.isEmpty() || String.valueOf(ZK_PATH_SEPARATOR).equals(group)) {
             return toPath(key);
         }
@@ -443,7 +466,7 @@ public class ZooKeeperClient implements ConfigClient {
      * @param keyOrGroup key or group
      * @return ZK path
      */
-    private String toPath(String keyOrGroup) {
+    private static String toPath(String keyOrGroup) {
         return keyOrGroup.charAt(0) == ZK_PATH_SEPARATOR ? keyOrGroup : ZK_PATH_SEPARATOR + keyOrGroup;
     }
 
@@ -20,6 +20,7 @@ import io.sermant.core.common.LoggerFactory;
 import io.sermant.core.service.dynamicconfig.DynamicConfigService;
 import io.sermant.core.service.dynamicconfig.common.DynamicConfigEvent;
 import io.sermant.core.service.dynamicconfig.common.DynamicConfigListener;
+import io.sermant.implement.service.dynamicconfig.GroupKeysQuery;
 
 import org.apache.zookeeper.WatchedEvent;
 
@@ -36,7 +37,7 @@ import java.util.logging.Logger;
  * @version 1.0.0
  * @since 2021-12-15
  */
-public class ZooKeeperDynamicConfigService extends DynamicConfigService {
+public class ZooKeeperDynamicConfigService extends DynamicConfigService implements GroupKeysQuery {
     /**
      * logger
      */
@@ -99,9 +100,9 @@ public class ZooKeeperDynamicConfigService extends DynamicConfigService {
     private DynamicConfigEvent transEvent(String key, String group, WatchedEvent watchedEvent) {
         switch (watchedEvent.getType()) {
             case NodeCreated:
-                return DynamicConfigEvent.createEvent(key, group, doGetConfig(key, group).orElse(null));
+                return DynamicConfigEvent.createEvent(key, group, getLatestConfig(key, group));
             case NodeDeleted:
-                return DynamicConfigEvent.deleteEvent(key, group, doGetConfig(key, group).orElse(null));
+                return DynamicConfigEvent.deleteEvent(key, group, getLatestConfig(key, group));
             case None:
             case NodeDataChanged:
             case DataWatchRemoved:
@@ -109,10 +110,22 @@ public class ZooKeeperDynamicConfigService extends DynamicConfigService {
             case NodeChildrenChanged:
             case PersistentWatchRemoved:
             default:
-                return DynamicConfigEvent.modifyEvent(key, group, doGetConfig(key, group).orElse(null));
+                return DynamicConfigEvent.modifyEvent(key, group, getLatestConfig(key, group));
         }
     }
 
+    /**
+     * The event of a key listener is processed before the mirrored tree is updated, so the configuration is read from
+     * the server
+     *
+     * @param key key
+     * @param group group
+     * @return configuration
+     */
+    private String getLatestConfig(String key, String group) {
+        return zkClient.getLatestNode(key, group);
+    }
+
     @Override
     public Optional<String> doGetConfig(String key, String group) {
         return Optional.ofNullable(zkClient.getNode(key, group));
@@ -160,30 +173,35 @@ public class ZooKeeperDynamicConfigService extends DynamicConfigService {
         return keys;
     }
 
+    @Override
+    public Optional<List<String>> queryKeysFromGroup(String group) {
+        if (!zkClient.isConnect()) {
+            return Optional.empty();
+        }
+        return Optional.of(doListKeysFromGroup(group));
+    }
+
     @Override
     public boolean doAddGroupListener(String group, DynamicConfigListener listener) {
         final String groupPath = toPath(group);
-        return zkClient.addPersistentRecursiveWatches(groupPath, watchedEvent -> {
-            final String eventPath = watchedEvent.getPath();
-            if (eventPath == null) {
-                LOGGER.warning("Unexpected empty event path. ");
-                return;
-            }
-            if (groupPath.equals(eventPath)) {
-                LOGGER.fine(String.format(Locale.ROOT, "Skip processing group event [%s]. ", groupPath));
-                return;
-            }
-            if (!eventPath.startsWith(groupPath) || eventPath.charAt(groupPath.length()) != ZK_PATH_SEPARATOR) {
-                LOGGER.warning(String.format(Locale.ROOT,
-                        "Event path [%s] is not child of [%s]. ", eventPath, groupPath));
-                return;
+        return zkClient.addTreeCacheListener(groupPath, (path, eventType, data) -> {
+            final String key = path.substring(groupPath.length() + 1);
+            switch (eventType) {
+                case CREATE:
+                    listener.process(DynamicConfigEvent.createEvent(key, group, data));
+                    break;
+                case DELETE:
+                    listener.process(DynamicConfigEvent.deleteEvent(key, group, data));
+                    break;
+                default:
+                    listener.process(DynamicConfigEvent.modifyEvent(key, group, data));
+                    break;
             }
-            listener.process(transEvent(eventPath.substring(groupPath.length() + 1), group, watchedEvent));
         });
     }
 
     @Override
     public boolean doRemoveGroupListener(String group) {
-        return zkClient.removeAllWatches(toPath(group));
+        return zkClient.removeTreeCache(toPath(group));
     }
 }
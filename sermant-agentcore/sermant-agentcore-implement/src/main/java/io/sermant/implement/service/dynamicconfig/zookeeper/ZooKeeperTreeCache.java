@@ -0,0 +1,421 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.dynamicconfig.zookeeper;
+
+import io.sermant.core.common.LoggerFactory;
+import io.sermant.core.service.dynamicconfig.common.DynamicConfigEventType;
+
+import org.apache.zookeeper.KeeperException.Code;
+import org.apache.zookeeper.WatchedEvent;
+import org.apache.zookeeper.Watcher;
+import org.apache.zookeeper.data.Stat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Local mirror of the tree under a node, which is kept up to date by a persistent recursive watch
+ * <p>The tree is loaded by pipelined asynchronous reads, so a pass over the tree costs about one round trip per level
+ * instead of one per node. The watch events and the read callbacks are handled in order on the event thread of the
+ * client, and the data of a node is only replaced by the data of a larger modified zxid, so the mirror never goes back
+ * to an older version of a node. After the connection is restored, the tree is loaded again and the differences are
+ * published to the listeners as the events of the nodes
+ *
+ * @author zhp
+ * @since 2025-01-27
+ */
+public class ZooKeeperTreeCache implements Watcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger();
+
+    private final String rootPath;
+
+    /**
+     * map< node path, node >
+     */
+    private final Map<String, Node> nodes = new ConcurrentHashMap<>();
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * map< node path, number of the writes of this client which are not read back yet >
+     */
+    private final Map<String, Integer> unsyncedWrites = new ConcurrentHashMap<>();
+
+    private volatile ZooKeeperClient client;
+
+    private volatile Sync sync;
+
+    private volatile boolean isInitialized;
+
+    /**
+     * Constructor
+     *
+     * @param rootPath path of the root node
+     */
+    public ZooKeeperTreeCache(String rootPath) {
+        this.rootPath = rootPath;
+    }
+
+    /**
+     * Watch the root node and load the tree, the tree is served after the first load is finished
+     *
+     * @param zooKeeperClient zk client
+     * @param timeout maximum time to wait for the first load in milliseconds
+     * @return whether the watch is added
+     */
+    public boolean start(ZooKeeperClient zooKeeperClient, long timeout) {
+        if (!restart(zooKeeperClient)) {
+            return false;
+        }
+        final Sync current = sync;
+        if (current != null) {
+            try {
+                if (!current.latch.await(timeout, TimeUnit.MILLISECONDS)) {
+                    LOGGER.warning(String.format(Locale.ENGLISH, "Load the tree of [%s] timed out. ", rootPath));
+                }
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Watch the root node with the client and load the tree again without waiting, which is used after the connection
+     * is restored
+     *
+     * @param zooKeeperClient zk client
+     * @return whether the watch is added
+     */
+    public boolean restart(ZooKeeperClient zooKeeperClient) {
+        this.client = zooKeeperClient;
+        if (!zooKeeperClient.addPersistentRecursiveWatches(rootPath, this)) {
+            return false;
+        }
+        final Sync current = new Sync(isInitialized);
+        sync = current;
+        load(current, rootPath);
+        current.countDown();
+        return true;
+    }
+
+    /**
+     * Add listener of the changes of the descendant nodes
+     *
+     * @param listener listener
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public String getRootPath() {
+        return rootPath;
+    }
+
+    public boolean isInitialized() {
+        return isInitialized;
+    }
+
+    /**
+     * Whether the node is in the tree
+     *
+     * @param path node path
+     * @return boolean
+     */
+    public boolean covers(String path) {
+        return path.equals(rootPath) || path.startsWith(rootPath) && path.length() > rootPath.length()
+                && path.charAt(rootPath.length()) == ZooKeeperClient.ZK_PATH_SEPARATOR;
+    }
+
+    /**
+     * Whether the node exists
+     *
+     * @param path node path
+     * @return boolean
+     */
+    public boolean contains(String path) {
+        return nodes.containsKey(path);
+    }
+
+    /**
+     * Get the data of the node
+     *
+     * @param path node path
+     * @return data, null if the node does not exist
+     */
+    public String getData(String path) {
+        final Node node = nodes.get(path);
+        if (node == null) {
+            return null;
+        }
+        return node.data == null ? "" : new String(node.data, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Query the path list of all descendant nodes under a node
+     *
+     * @param path node path
+     * @return path list in order
+     */
+    public List<String> listAllNodes(String path) {
+        final String prefix = path + ZooKeeperClient.ZK_PATH_SEPARATOR;
+        final List<String> result = new ArrayList<>();
+        for (String nodePath : nodes.keySet()) {
+            if (nodePath.startsWith(prefix)) {
+                result.add(nodePath);
+            }
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    /**
+     * Whether the node and its descendant nodes are up to date with the writes of this client. The tree may not have
+     * handled the watch events of the writes yet, so the nodes written by this client are read from the server until
+     * they are read back by the tree
+     *
+     * @param path node path
+     * @return boolean
+     */
+    public boolean isSynced(String path) {
+        if (unsyncedWrites.isEmpty()) {
+            return true;
+        }
+        final String prefix = path + ZooKeeperClient.ZK_PATH_SEPARATOR;
+        for (String writtenPath : unsyncedWrites.keySet()) {
+            if (writtenPath.equals(path) || writtenPath.startsWith(prefix)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Read the node written by this client back. The read is sent after the write, so the tree is up to date with the
+     * write once the read is handled
+     *
+     * @param path node path
+     */
+    public void onWritten(String path) {
+        unsyncedWrites.merge(path, 1, Integer::sum);
+        fetch(path, true);
+    }
+
+    @Override
+    public void process(WatchedEvent event) {
+        final String path = event.getPath();
+        if (path == null) {
+            return;
+        }
+        switch (event.getType()) {
+            case NodeCreated:
+            case NodeDataChanged:
+                fetch(path, false);
+                break;
+            case NodeDeleted:
+                remove(path, true);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void fetch(String path, boolean isWritten) {
+        try {
+            client.getDataAsync(path, (rc, nodePath, ctx, data, stat) -> {
+                if (rc == Code.OK.intValue()) {
+                    final Sync current = sync;
+                    if (current != null) {
+                        current.seen.add(nodePath);
+                    }
+                    apply(nodePath, data, stat, true);
+                } else if (rc == Code.NONODE.intValue()) {
+                    remove(nodePath, true);
+                } else {
+                    LOGGER.warning(String.format(Locale.ENGLISH, "Read node [%s] failed, code is %s. ", nodePath,
+                            Code.get(rc)));
+                }
+                if (isWritten) {
+                    releaseWrite(nodePath);
+                }
+            });
+        } catch (ZooKeeperConnectionException ex) {
+            // The tree is loaded again after the connection is restored
+            LOGGER.fine(String.format(Locale.ENGLISH, "Read node [%s] failed, %s", path, ex.getMessage()));
+            if (isWritten) {
+                releaseWrite(path);
+            }
+        }
+    }
+
+    private void releaseWrite(String path) {
+        unsyncedWrites.computeIfPresent(path, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private void load(Sync current, String path) {
+        current.pending.addAndGet(2);
+        try {
+            client.getChildrenAsync(path, (rc, nodePath, ctx, children) -> {
+                if (rc == Code.OK.intValue() && current == sync) {
+                    for (String child : children) {
+                        load(current, nodePath + ZooKeeperClient.ZK_PATH_SEPARATOR + child);
+                    }
+                } else if (rc != Code.OK.intValue() && rc != Code.NONODE.intValue()) {
+                    current.isFailed = true;
+                }
+                current.countDown();
+            });
+            client.getDataAsync(path, (rc, nodePath, ctx, data, stat) -> {
+                if (rc == Code.OK.intValue() && current == sync) {
+                    current.seen.add(nodePath);
+                    apply(nodePath, data, stat, current.isNotify);
+                } else if (rc != Code.OK.intValue() && rc != Code.NONODE.intValue()) {
+                    current.isFailed = true;
+                }
+                current.countDown();
+            });
+        } catch (ZooKeeperConnectionException ex) {
+            LOGGER.warning(String.format(Locale.ENGLISH, "Load the tree of [%s] failed, %s", rootPath,
+                    ex.getMessage()));
+            current.isFailed = true;
+            current.pending.addAndGet(-2);
+        }
+    }
+
+    private void apply(String path, byte[] data, Stat stat, boolean isNotify) {
+        final Node old = nodes.get(path);
+        if (old != null && old.mzxid >= stat.getMzxid()) {
+            return;
+        }
+        nodes.put(path, new Node(data, stat.getMzxid()));
+        if (isNotify) {
+            notifyListeners(path, old == null ? DynamicConfigEventType.CREATE : DynamicConfigEventType.MODIFY, data);
+        }
+    }
+
+    private void remove(String path, boolean isNotify) {
+        if (nodes.remove(path) != null && isNotify) {
+            notifyListeners(path, DynamicConfigEventType.DELETE, null);
+        }
+    }
+
+    private void finish(Sync current) {
+        if (current != sync) {
+            current.latch.countDown();
+            return;
+        }
+        sync = null;
+        if (current.isFailed) {
+            // Keep the nodes, the tree is loaded again after the connection is restored
+            LOGGER.warning(String.format(Locale.ENGLISH, "Load the tree of [%s] failed. ", rootPath));
+            current.latch.countDown();
+            return;
+        }
+        for (String path : new ArrayList<>(nodes.keySet())) {
+            if (!current.seen.contains(path)) {
+                remove(path, current.isNotify);
+            }
+        }
+        isInitialized = true;
+        current.latch.countDown();
+    }
+
+    private void notifyListeners(String path, DynamicConfigEventType eventType, byte[] data) {
+        if (rootPath.equals(path)) {
+            return;
+        }
+        final String content = data == null ? "" : new String(data, StandardCharsets.UTF_8);
+        for (Listener listener : listeners) {
+            try {
+                listener.onChanged(path, eventType, content);
+            } catch (Exception ex) {
+                LOGGER.warning(String.format(Locale.ENGLISH, "Process the event of [%s] failed, %s", path,
+                        ex.getMessage()));
+            }
+        }
+    }
+
+    /**
+     * Listener of the changes of the descendant nodes
+     *
+     * @since 2025-01-27
+     */
+    public interface Listener {
+        /**
+         * Process the change of a node
+         *
+         * @param path node path
+         * @param eventType event type
+         * @param data data of the node, empty if the node is deleted
+         */
+        void onChanged(String path, DynamicConfigEventType eventType, String data);
+    }
+
+    /**
+     * Cached node
+     *
+     * @since 2025-01-27
+     */
+    private static class Node {
+        private final byte[] data;
+
+        private final long mzxid;
+
+        Node(byte[] data, long mzxid) {
+            this.data = data;
+            this.mzxid = mzxid;
+        }
+    }
+
+    /**
+     * A pass loading the tree, the nodes not seen by the pass are removed at the end of the pass
+     *
+     * @since 2025-01-27
+     */
+    private class Sync {
+        private final boolean isNotify;
+
+        private final AtomicInteger pending = new AtomicInteger(1);
+
+        private final Set<String> seen = ConcurrentHashMap.newKeySet();
+
+        private final CountDownLatch latch = new CountDownLatch(1);
+
+        private volatile boolean isFailed;
+
+        Sync(boolean isNotify) {
+            this.isNotify = isNotify;
+        }
+
+        void countDown() {
+            if (pending.decrementAndGet() == 0) {
+                finish(this);
+            }
+        }
+    }
+}
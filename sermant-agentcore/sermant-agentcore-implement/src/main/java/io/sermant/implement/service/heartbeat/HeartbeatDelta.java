@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.heartbeat;
+
+import io.sermant.core.service.heartbeat.common.ExternalAgentInfo;
+import io.sermant.core.service.heartbeat.common.PluginInfo;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Changes of the heartbeat since the version acknowledged by the backend, sent as {@code HEARTBEAT_DELTA_DATA}. The
+ * fields which are not changed are null and omitted from the json, so a heartbeat without changes only carries the
+ * identity, the versions and the heartbeat time
+ *
+ * @author luanwenfei
+ * @since 2025-01-27
+ */
+public class HeartbeatDelta {
+    private String service;
+
+    private String instanceId;
+
+    private long baseVersion;
+
+    private long version;
+
+    private long heartbeatTime;
+
+    private long lastHeartbeatTime;
+
+    private String hostName;
+
+    private List<String> ip;
+
+    private Map<String, PluginInfo> pluginInfoMap;
+
+    private List<String> removedPlugins;
+
+    private Map<String, ExternalAgentInfo> externalAgentInfoMap;
+
+    private List<String> removedExternalAgents;
+
+    public String getService() {
+        return service;
+    }
+
+    public void setService(String service) {
+        this.service = service;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public void setInstanceId(String instanceId) {
+        this.instanceId = instanceId;
+    }
+
+    public long getBaseVersion() {
+        return baseVersion;
+    }
+
+    public void setBaseVersion(long baseVersion) {
+        this.baseVersion = baseVersion;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public long getHeartbeatTime() {
+        return heartbeatTime;
+    }
+
+    public void setHeartbeatTime(long heartbeatTime) {
+        this.heartbeatTime = heartbeatTime;
+    }
+
+    public long getLastHeartbeatTime() {
+        return lastHeartbeatTime;
+    }
+
+    public void setLastHeartbeatTime(long lastHeartbeatTime) {
+        this.lastHeartbeatTime = lastHeartbeatTime;
+    }
+
+    public String getHostName() {
+        return hostName;
+    }
+
+    public void setHostName(String hostName) {
+        this.hostName = hostName;
+    }
+
+    public List<String> getIp() {
+        return ip;
+    }
+
+    public void setIp(List<String> ip) {
+        this.ip = ip;
+    }
+
+    public Map<String, PluginInfo> getPluginInfoMap() {
+        return pluginInfoMap;
+    }
+
+    public void setPluginInfoMap(Map<String, PluginInfo> pluginInfoMap) {
+        this.pluginInfoMap = pluginInfoMap;
+    }
+
+    public List<String> getRemovedPlugins() {
+        return removedPlugins;
+    }
+
+    public void setRemovedPlugins(List<String> removedPlugins) {
+        this.removedPlugins = removedPlugins;
+    }
+
+    public Map<String, ExternalAgentInfo> getExternalAgentInfoMap() {
+        return externalAgentInfoMap;
+    }
+
+    public void setExternalAgentInfoMap(Map<String, ExternalAgentInfo> externalAgentInfoMap) {
+        this.externalAgentInfoMap = externalAgentInfoMap;
+    }
+
+    public List<String> getRemovedExternalAgents() {
+        return removedExternalAgents;
+    }
+
+    public void setRemovedExternalAgents(List<String> removedExternalAgents) {
+        this.removedExternalAgents = removedExternalAgents;
+    }
+}
@@ -78,11 +78,30 @@ public class HeartbeatServiceImpl implements HeartbeatService {
     // Initialize the heartbeat data message
     private final HeartbeatMessage heartbeatMessage = new HeartbeatMessage();
 
+    /**
+     * Whether to send only the changes of the heartbeat after the backend acknowledges it
+     */
+    private boolean deltaEnabled;
+
+    /**
+     * Snapshot of the latest heartbeat sent
+     */
+    private volatile HeartbeatSnapshot lastSnapshot;
+
+    /**
+     * Snapshot of the heartbeat acknowledged by the backend, null if the full heartbeat is to be sent
+     */
+    private volatile HeartbeatSnapshot ackedSnapshot;
+
     @Override
     public void start() {
         executorService =
                 Executors.newScheduledThreadPool(1, new ThreadFactoryUtils("heartbeat-task"));
         nettyClient = NettyClientFactory.getInstance().getDefaultNettyClient();
+        deltaEnabled = ConfigManager.getConfig(HeartbeatConfig.class).isDelta();
+        if (deltaEnabled && nettyClient != null) {
+            nettyClient.setHeartbeatAckListener(this::onHeartbeatAck);
+        }
         executorService.scheduleAtFixedRate(this::execute, 0,
                 Math.max(ConfigManager.getConfig(HeartbeatConfig.class).getInterval(),
                         HeartbeatConstant.HEARTBEAT_MINIMAL_INTERVAL),
@@ -126,10 +145,53 @@ public class HeartbeatServiceImpl implements HeartbeatService {
             LOGGER.warning("Netty client is null when send heartbeat message.");
             return;
         }
+        if (!deltaEnabled) {
+            sendFullHeartbeat();
+            return;
+        }
+        HeartbeatSnapshot snapshot = HeartbeatSnapshot.of(heartbeatMessage, lastSnapshot);
+        lastSnapshot = snapshot;
+        HeartbeatSnapshot acked = ackedSnapshot;
+        if (acked == null) {
+            heartbeatMessage.setSnapshotVersion(snapshot.getVersion());
+            sendFullHeartbeat();
+            return;
+        }
+        HeartbeatDelta delta = snapshot.diff(acked);
+        delta.setService(heartbeatMessage.getService());
+        delta.setInstanceId(heartbeatMessage.getInstanceId());
+        delta.setHeartbeatTime(heartbeatMessage.getHeartbeatTime());
+        delta.setLastHeartbeatTime(heartbeatMessage.getLastHeartbeatTime());
+        nettyClient.sendInstantData(JSONObject.toJSONString(delta).getBytes(CommonConstant.DEFAULT_CHARSET),
+                Message.ServiceData.DataType.HEARTBEAT_DELTA_DATA);
+    }
+
+    private void sendFullHeartbeat() {
         nettyClient.sendInstantData(JSONObject.toJSONString(heartbeatMessage).getBytes(CommonConstant.DEFAULT_CHARSET),
                 Message.ServiceData.DataType.HEARTBEAT_DATA);
     }
 
+    /**
+     * Handle the heartbeat version acknowledged by the backend. Version 0 means the backend does not hold the
+     * heartbeat the changes are based on, for example after it restarts, so the full heartbeat is sent at once
+     *
+     * @param version heartbeat version
+     */
+    private void onHeartbeatAck(long version) {
+        if (version <= 0L) {
+            ackedSnapshot = null;
+            ScheduledExecutorService executor = executorService;
+            if (executor != null && !executor.isShutdown()) {
+                executor.execute(this::execute);
+            }
+            return;
+        }
+        HeartbeatSnapshot snapshot = lastSnapshot;
+        if (snapshot != null && snapshot.getVersion() == version) {
+            ackedSnapshot = snapshot;
+        }
+    }
+
     /**
      * Add additional heartbeat information
      *
@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.heartbeat;
+
+import io.sermant.core.service.heartbeat.common.ExternalAgentInfo;
+import io.sermant.core.service.heartbeat.common.HeartbeatMessage;
+import io.sermant.core.service.heartbeat.common.PluginInfo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Copy of the changeable state of the heartbeat, namely the host, the plugins and the external agents, with the
+ * version of the state. The version increases whenever the state changes
+ *
+ * @author luanwenfei
+ * @since 2025-01-27
+ */
+class HeartbeatSnapshot {
+    private final String hostName;
+
+    private final List<String> ip;
+
+    private final Map<String, PluginInfo> plugins = new HashMap<>();
+
+    private final Map<String, ExternalAgentInfo> externalAgents = new HashMap<>();
+
+    private long version;
+
+    private HeartbeatSnapshot(String hostName, List<String> ip, Map<String, PluginInfo> pluginInfoMap,
+            Map<String, ExternalAgentInfo> externalAgentInfoMap) {
+        this.hostName = hostName;
+        this.ip = ip == null ? null : new ArrayList<>(ip);
+        for (PluginInfo pluginInfo : pluginInfoMap.values()) {
+            PluginInfo copy = new PluginInfo(pluginInfo.getName(), pluginInfo.getVersion());
+            if (pluginInfo.getExtInfo() != null) {
+                copy.setExtInfo(new HashMap<>(pluginInfo.getExtInfo()));
+            }
+            plugins.put(pluginInfo.getName(), copy);
+        }
+        for (ExternalAgentInfo agentInfo : externalAgentInfoMap.values()) {
+            externalAgents.put(agentInfo.getName(), new ExternalAgentInfo(agentInfo.getName(), agentInfo.getVersion()));
+        }
+    }
+
+    /**
+     * Take the snapshot of the heartbeat, the version is the version of the previous snapshot if the state is not
+     * changed, otherwise the next version
+     *
+     * @param message heartbeat
+     * @param previous previous snapshot, null for the first snapshot
+     * @return snapshot
+     */
+    static HeartbeatSnapshot of(HeartbeatMessage message, HeartbeatSnapshot previous) {
+        return of(message.getHostName(), message.getIp(), message.getPluginInfoMap(),
+                message.getExternalAgentInfoMap(), previous);
+    }
+
+    /**
+     * Take the snapshot of the state of the heartbeat
+     *
+     * @param hostName host name
+     * @param ip ip addresses
+     * @param pluginInfoMap plugins
+     * @param externalAgentInfoMap external agents
+     * @param previous previous snapshot, null for the first snapshot
+     * @return snapshot
+     */
+    static HeartbeatSnapshot of(String hostName, List<String> ip, Map<String, PluginInfo> pluginInfoMap,
+            Map<String, ExternalAgentInfo> externalAgentInfoMap, HeartbeatSnapshot previous) {
+        HeartbeatSnapshot snapshot = new HeartbeatSnapshot(hostName, ip, pluginInfoMap, externalAgentInfoMap);
+        if (previous == null) {
+            snapshot.version = 1L;
+        } else {
+            snapshot.version = snapshot.isSameState(previous) ? previous.version : previous.version + 1L;
+        }
+        return snapshot;
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * Build the changes from a base snapshot to this snapshot
+     *
+     * @param base snapshot acknowledged by the backend
+     * @return changes, the identity and the heartbeat time are not set
+     */
+    HeartbeatDelta diff(HeartbeatSnapshot base) {
+        HeartbeatDelta delta = new HeartbeatDelta();
+        delta.setBaseVersion(base.version);
+        delta.setVersion(version);
+        if (version == base.version) {
+            return delta;
+        }
+        if (!Objects.equals(hostName, base.hostName)) {
+            delta.setHostName(hostName);
+        }
+        if (!Objects.equals(ip, base.ip)) {
+            delta.setIp(ip);
+        }
+        Map<String, PluginInfo> changedPlugins = new HashMap<>();
+        for (PluginInfo pluginInfo : plugins.values()) {
+            if (!isSamePlugin(pluginInfo, base.plugins.get(pluginInfo.getName()))) {
+                changedPlugins.put(pluginInfo.getName(), pluginInfo);
+            }
+        }
+        if (!changedPlugins.isEmpty()) {
+            delta.setPluginInfoMap(changedPlugins);
+        }
+        List<String> removedPlugins = removedKeys(base.plugins, plugins);
+        if (!removedPlugins.isEmpty()) {
+            delta.setRemovedPlugins(removedPlugins);
+        }
+        Map<String, ExternalAgentInfo> changedAgents = new HashMap<>();
+        for (ExternalAgentInfo agentInfo : externalAgents.values()) {
+            if (!isSameAgent(agentInfo, base.externalAgents.get(agentInfo.getName()))) {
+                changedAgents.put(agentInfo.getName(), agentInfo);
+            }
+        }
+        if (!changedAgents.isEmpty()) {
+            delta.setExternalAgentInfoMap(changedAgents);
+        }
+        List<String> removedAgents = removedKeys(base.externalAgents, externalAgents);
+        if (!removedAgents.isEmpty()) {
+            delta.setRemovedExternalAgents(removedAgents);
+        }
+        return delta;
+    }
+
+    private boolean isSameState(HeartbeatSnapshot other) {
+        if (!Objects.equals(hostName, other.hostName) || !Objects.equals(ip, other.ip)
+                || plugins.size() != other.plugins.size() || externalAgents.size() != other.externalAgents.size()) {
+            return false;
+        }
+        for (PluginInfo pluginInfo : plugins.values()) {
+            if (!isSamePlugin(pluginInfo, other.plugins.get(pluginInfo.getName()))) {
+                return false;
+            }
+        }
+        for (ExternalAgentInfo agentInfo : externalAgents.values()) {
+            if (!isSameAgent(agentInfo, other.externalAgents.get(agentInfo.getName()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSamePlugin(PluginInfo pluginInfo, PluginInfo other) {
+        return other != null && Objects.equals(pluginInfo.getVersion(), other.getVersion())
+                && Objects.equals(pluginInfo.getExtInfo(), other.getExtInfo());
+    }
+
+    private static boolean isSameAgent(ExternalAgentInfo agentInfo, ExternalAgentInfo other) {
+        return other != null && Objects.equals(agentInfo.getVersion(), other.getVersion());
+    }
+
+    private static List<String> removedKeys(Map<String, ?> base, Map<String, ?> current) {
+        List<String> removed = new ArrayList<>();
+        for (String key : base.keySet()) {
+            if (!current.containsKey(key)) {
+                removed.add(key);
+            }
+        }
+        return removed;
+    }
+}
@@ -17,11 +17,14 @@
 package io.sermant.implement.service.hotplugging;
 
 import io.sermant.core.common.LoggerFactory;
+import io.sermant.core.service.BaseService;
 import io.sermant.core.service.ServiceManager;
 import io.sermant.core.service.dynamicconfig.DynamicConfigService;
 import io.sermant.core.service.hotplugging.HotPluggingService;
 import io.sermant.implement.service.hotplugging.listener.HotPluggingListener;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -53,6 +56,11 @@ public class HotPluggingServiceImpl implements HotPluggingService {
         LOGGER.log(Level.INFO, "Success to subscribe {0}/{1}", new Object[]{DYNAMIC_CONFIG_GROUP, DYNAMIC_CONFIG_KEY});
     }
 
+    @Override
+    public List<Class<? extends BaseService>> getDependencies() {
+        return Collections.singletonList(DynamicConfigService.class);
+    }
+
     @Override
     public void stop() {
         DynamicConfigService dynamicConfigService = ServiceManager.getService(DynamicConfigService.class);
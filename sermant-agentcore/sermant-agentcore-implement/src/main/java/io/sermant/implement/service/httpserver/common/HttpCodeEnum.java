@@ -56,7 +56,12 @@ public enum HttpCodeEnum {
     /**
      * Server internal error, unable to fulfill the request
      */
-    SERVER_ERROR(500, "SERVER ERROR");
+    SERVER_ERROR(500, "SERVER ERROR"),
+
+    /**
+     * Server is too busy to handle the request
+     */
+    SERVICE_UNAVAILABLE(503, "SERVICE UNAVAILABLE");
 
     /**
      * HTTP status code
@@ -21,6 +21,7 @@ import io.sermant.core.plugin.Plugin;
 import io.sermant.core.plugin.PluginManager;
 import io.sermant.core.service.httpserver.annotation.HttpRouteMapping;
 import io.sermant.core.service.httpserver.api.HttpRequest;
+import io.sermant.core.service.httpserver.api.HttpResponse;
 import io.sermant.core.service.httpserver.api.HttpRouteHandler;
 import io.sermant.core.service.httpserver.exception.HttpServerException;
 import io.sermant.core.utils.CollectionUtils;
@@ -71,6 +72,33 @@ public class HttpRouteHandlerManager {
         return Optional.empty();
     }
 
+    /**
+     * Handles the request with the matching HttpRouteHandler, the errors are written to the response
+     *
+     * @param request The request object
+     * @param response The response object
+     */
+    public static void handle(HttpRequest request, HttpResponse response) {
+        try {
+            Optional<HttpRouteHandler> handlerOptional = getHandler(request);
+            if (!handlerOptional.isPresent()) {
+                throw new HttpServerException(HttpCodeEnum.NOT_FOUND.getCode(),
+                        HttpCodeEnum.NOT_FOUND.getMessage());
+            }
+            handlerOptional.get().handle(request, response);
+        } catch (HttpServerException e) {
+            response.setStatus(e.getStatus());
+            if (e.getStatus() < HttpCodeEnum.SERVER_ERROR.getCode()) {
+                response.writeBody(e.getMessage());
+            } else {
+                response.writeBody(e);
+            }
+        } catch (Exception e) {
+            response.setStatus(HttpCodeEnum.SERVER_ERROR.getCode());
+            response.writeBody(e);
+        }
+    }
+
     private List<HttpRouter> getRouteHandlers(String pluginName) {
         List<HttpRouter> routers = ROUTERS_MAPPING.get(pluginName);
         if (routers != null) {
@@ -0,0 +1,201 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.httpserver.netty;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import io.sermant.core.service.httpserver.api.HttpRequest;
+import io.sermant.core.service.httpserver.exception.HttpServerException;
+import io.sermant.core.utils.StringUtils;
+import io.sermant.implement.service.httpserver.common.Constants;
+import io.sermant.implement.service.httpserver.common.HttpCodeEnum;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Netty HTTP request implementation, the body of the request is aggregated before the request is handled
+ *
+ * @author zwmagic
+ * @since 2025-01-27
+ */
+public class NettyHttpRequest implements HttpRequest {
+    private final FullHttpRequest request;
+
+    private URI uri;
+
+    private String originalPath;
+
+    private String path;
+
+    private Map<String, String> params;
+
+    private Map<String, List<String>> headers;
+
+    /**
+     * Create a NettyHttpRequest object.
+     *
+     * @param request The aggregated request
+     */
+    public NettyHttpRequest(FullHttpRequest request) {
+        this.request = request;
+    }
+
+    @Override
+    public URI getUri() {
+        if (uri == null) {
+            uri = URI.create(request.uri());
+        }
+        return uri;
+    }
+
+    @Override
+    public String getPath() {
+        if (path != null) {
+            return path;
+        }
+        String[] array = getOriginalPath().split(Constants.HTTP_PATH_DIVIDER);
+        List<String> phases = Stream.of(array).filter(phase -> !phase.isEmpty()).collect(Collectors.toList());
+        path = Constants.HTTP_PATH_DIVIDER + String.join(Constants.HTTP_PATH_DIVIDER, phases);
+        return path;
+    }
+
+    @Override
+    public String getOriginalPath() {
+        if (originalPath != null) {
+            return originalPath;
+        }
+        originalPath = request.uri().split("\\?")[0];
+        return originalPath;
+    }
+
+    @Override
+    public String getMethod() {
+        return request.method().name();
+    }
+
+    @Override
+    public String getContentType() {
+        return getFirstHeader(HttpHeaderNames.CONTENT_TYPE.toString());
+    }
+
+    @Override
+    public String getIp() {
+        String ip = getFirstHeader("X-Real-IP");
+        if (StringUtils.isEmpty(ip) || "unknown".equalsIgnoreCase(ip)) {
+            ip = getFirstHeader("X-Forwarded-For");
+        }
+        return ip;
+    }
+
+    @Override
+    public String getFirstHeader(String name) {
+        return request.headers().get(name);
+    }
+
+    @Override
+    public String getFirstHeader(String name, String defaultValue) {
+        String value = getFirstHeader(name);
+        return value == null ? defaultValue : value;
+    }
+
+    @Override
+    public Map<String, List<String>> getHeaders() {
+        if (headers != null) {
+            return headers;
+        }
+        headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Map.Entry<String, String> entry : request.headers()) {
+            headers.computeIfAbsent(entry.getKey(), key -> new ArrayList<>()).add(entry.getValue());
+        }
+        return headers;
+    }
+
+    @Override
+    public String getParam(String name) {
+        return getParams().get(name);
+    }
+
+    @Override
+    public String getParam(String name, String def) {
+        return getParams().getOrDefault(name, def);
+    }
+
+    @Override
+    public Map<String, String> getParams() {
+        if (params != null) {
+            return params;
+        }
+        params = new HashMap<>();
+        Map<String, List<String>> parameters = new QueryStringDecoder(request.uri(), StandardCharsets.UTF_8)
+                .parameters();
+        for (Map.Entry<String, List<String>> entry : parameters.entrySet()) {
+            params.put(entry.getKey(), entry.getValue().isEmpty() ? "" : entry.getValue().get(0));
+        }
+        return params;
+    }
+
+    @Override
+    public String getBody() throws HttpServerException {
+        return getBody(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String getBody(Charset charset) throws HttpServerException {
+        return request.content().toString(charset);
+    }
+
+    @Override
+    public <T> T getBody(Class<T> clazz) throws HttpServerException {
+        return JSONObject.parseObject(getBody(), clazz);
+    }
+
+    @Override
+    public <T> List<T> getBodyAsList(Class<T> clazz) throws HttpServerException {
+        return JSON.parseArray(getBody(), clazz);
+    }
+
+    @Override
+    public byte[] getBodyAsBytes() throws HttpServerException {
+        try {
+            byte[] bytes = new byte[request.content().readableBytes()];
+            request.content().getBytes(request.content().readerIndex(), bytes);
+            return bytes;
+        } catch (RuntimeException e) {
+            throw new HttpServerException(HttpCodeEnum.SERVER_ERROR.getCode(), e);
+        }
+    }
+
+    @Override
+    public InputStream getBodyAsStream() {
+        return new ByteBufInputStream(request.content().duplicate());
+    }
+}
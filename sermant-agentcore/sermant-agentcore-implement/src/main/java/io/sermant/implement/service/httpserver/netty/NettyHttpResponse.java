@@ -0,0 +1,279 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.httpserver.netty;
+
+import com.alibaba.fastjson.JSON;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.sermant.core.service.httpserver.api.HttpResponse;
+import io.sermant.core.service.httpserver.exception.HttpServerException;
+import io.sermant.implement.service.httpserver.common.Constants;
+import io.sermant.implement.service.httpserver.common.HttpCodeEnum;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Netty HTTP response implementation, the response is written from the thread handling the request
+ *
+ * @author zwmagic
+ * @since 2025-01-27
+ */
+public class NettyHttpResponse implements HttpResponse {
+    private static final int CHUNK_SIZE = 8192;
+
+    private final ChannelHandlerContext ctx;
+
+    private final HttpVersion version;
+
+    private final boolean keepAlive;
+
+    private final HttpHeaders headers = new DefaultHttpHeaders();
+
+    private int status = HttpCodeEnum.SUCCESS.getCode();
+
+    private boolean committed;
+
+    private ChunkedOutputStream outputStream;
+
+    /**
+     * Constructs a NettyHttpResponse object.
+     *
+     * @param ctx Context of the channel of the request
+     * @param version Protocol version of the request
+     * @param keepAlive Whether the connection is kept alive after the response
+     */
+    public NettyHttpResponse(ChannelHandlerContext ctx, HttpVersion version, boolean keepAlive) {
+        this.ctx = ctx;
+        this.version = version;
+        this.keepAlive = keepAlive;
+    }
+
+    @Override
+    public int getStatus() {
+        return status;
+    }
+
+    @Override
+    public HttpResponse setStatus(int code) {
+        this.status = code;
+        return this;
+    }
+
+    @Override
+    public HttpResponse addHeader(String name, String value) {
+        headers.add(name, value);
+        return this;
+    }
+
+    @Override
+    public HttpResponse setHeader(String name, String value) {
+        headers.set(name, value);
+        return this;
+    }
+
+    @Override
+    public HttpResponse setHeaders(Map<String, String> headerMap) {
+        for (Map.Entry<String, String> entry : headerMap.entrySet()) {
+            headers.set(entry.getKey(), entry.getValue());
+        }
+        return this;
+    }
+
+    @Override
+    public HttpResponse setContentType(String contentType) {
+        if (!contentType.contains("charset")) {
+            setHeader(Constants.CONTENT_TYPE, contentType + ";charset=" + StandardCharsets.UTF_8);
+            return this;
+        }
+        setHeader(Constants.CONTENT_TYPE, contentType);
+        return this;
+    }
+
+    @Override
+    public HttpResponse setContentLength(long size) {
+        setHeader(Constants.CONTENT_LENGTH, String.valueOf(size));
+        return this;
+    }
+
+    @Override
+    public void writeBody(Throwable ex) {
+        this.writeBody(ex.getMessage());
+    }
+
+    @Override
+    public void writeBody(byte[] bytes) {
+        commit();
+        FullHttpResponse response = new DefaultFullHttpResponse(version, HttpResponseStatus.valueOf(status),
+                Unpooled.wrappedBuffer(bytes));
+        response.headers().set(headers);
+        HttpUtil.setContentLength(response, bytes.length);
+        HttpUtil.setKeepAlive(response, keepAlive);
+        complete(ctx.writeAndFlush(response));
+    }
+
+    @Override
+    public void writeBody(String str) {
+        byte[] bytes = str == null ? new byte[0] : str.getBytes(StandardCharsets.UTF_8);
+        writeBody(bytes);
+    }
+
+    @Override
+    public void writeBodyAsJson(String json) {
+        setContentType("application/json;charset=utf-8");
+        writeBody(json);
+    }
+
+    @Override
+    public void writeBodyAsJson(Object obj) {
+        writeBodyAsJson(JSON.toJSONString(obj));
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+        commit();
+        DefaultHttpResponse response = new DefaultHttpResponse(version, HttpResponseStatus.valueOf(status));
+        response.headers().set(headers);
+        response.headers().remove(Constants.CONTENT_LENGTH);
+        HttpUtil.setTransferEncodingChunked(response, true);
+        HttpUtil.setKeepAlive(response, keepAlive);
+        ctx.write(response);
+        outputStream = new ChunkedOutputStream();
+        return outputStream;
+    }
+
+    /**
+     * Completes the response after the request is handled, an empty body is sent if the handler writes nothing and
+     * the stream of the body is closed if the handler leaves it open
+     *
+     * @throws IOException failed to write the last chunk
+     */
+    void finish() throws IOException {
+        if (outputStream != null) {
+            outputStream.close();
+            return;
+        }
+        if (!committed) {
+            writeBody(new byte[0]);
+        }
+    }
+
+    private void commit() {
+        if (committed) {
+            throw new HttpServerException(HttpCodeEnum.SERVER_ERROR.getCode(), "The response is already committed.");
+        }
+        committed = true;
+    }
+
+    private void complete(ChannelFuture future) {
+        if (!keepAlive) {
+            future.addListener(ChannelFutureListener.CLOSE);
+        }
+    }
+
+    /**
+     * Output stream sending the body in chunks. When the channel is not writable, the writer waits for the chunk to
+     * be flushed, so that a slow client does not make the whole body pile up in memory
+     *
+     * @since 2025-01-27
+     */
+    private class ChunkedOutputStream extends OutputStream {
+        private final byte[] buffer = new byte[CHUNK_SIZE];
+
+        private int count;
+
+        private boolean closed;
+
+        @Override
+        public void write(int value) throws IOException {
+            ensureOpen();
+            if (count == buffer.length) {
+                flushBuffer();
+            }
+            buffer[count++] = (byte) value;
+        }
+
+        @Override
+        public void write(byte[] bytes, int off, int len) throws IOException {
+            ensureOpen();
+            int offset = off;
+            int remaining = len;
+            while (remaining > 0) {
+                if (count == buffer.length) {
+                    flushBuffer();
+                }
+                int length = Math.min(remaining, buffer.length - count);
+                System.arraycopy(bytes, offset, buffer, count, length);
+                count += length;
+                offset += length;
+                remaining -= length;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            ensureOpen();
+            flushBuffer();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            flushBuffer();
+            closed = true;
+            complete(ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT));
+        }
+
+        private void ensureOpen() throws IOException {
+            if (closed) {
+                throw new IOException("The stream is closed.");
+            }
+        }
+
+        private void flushBuffer() throws IOException {
+            if (count == 0) {
+                ctx.flush();
+                return;
+            }
+            ChannelFuture future = ctx.writeAndFlush(new DefaultHttpContent(Unpooled.copiedBuffer(buffer, 0, count)));
+            count = 0;
+            if (!ctx.channel().isWritable()) {
+                future.awaitUninterruptibly();
+            }
+            if (future.isDone() && !future.isSuccess()) {
+                throw new IOException("Failed to write the response body.", future.cause());
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.httpserver.netty;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.sermant.core.common.LoggerFactory;
+import io.sermant.implement.service.httpserver.common.HttpCodeEnum;
+import io.sermant.implement.service.httpserver.common.HttpRouteHandlerManager;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Handler of the requests of a connection. The requests are handled off the I/O thread one at a time, so that the
+ * responses of the pipelined requests are sent in order. The reading of the connection is paused while a request is
+ * being handled
+ *
+ * @author zwmagic
+ * @since 2025-01-27
+ */
+public class NettyHttpServerHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+    private static final Logger LOGGER = LoggerFactory.getLogger();
+
+    private final Executor executor;
+
+    private final Queue<FullHttpRequest> pendingRequests = new ArrayDeque<>();
+
+    private boolean handling;
+
+    /**
+     * Constructor
+     *
+     * @param executor executor of the route handlers
+     */
+    public NettyHttpServerHandler(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) {
+        pendingRequests.add(request.retain());
+        handleNext(ctx);
+    }
+
+    private void handleNext(ChannelHandlerContext ctx) {
+        while (!handling) {
+            FullHttpRequest request = pendingRequests.poll();
+            if (request == null) {
+                ctx.channel().config().setAutoRead(true);
+                return;
+            }
+            handling = true;
+            ctx.channel().config().setAutoRead(false);
+            try {
+                executor.execute(() -> handle(ctx, request));
+            } catch (RejectedExecutionException e) {
+                handling = false;
+                NettyHttpResponse response = new NettyHttpResponse(ctx, request.protocolVersion(),
+                        HttpUtil.isKeepAlive(request));
+                request.release();
+                response.setStatus(HttpCodeEnum.SERVICE_UNAVAILABLE.getCode());
+                response.writeBody(HttpCodeEnum.SERVICE_UNAVAILABLE.getMessage());
+            }
+        }
+    }
+
+    private void handle(ChannelHandlerContext ctx, FullHttpRequest request) {
+        NettyHttpResponse response = new NettyHttpResponse(ctx, request.protocolVersion(),
+                HttpUtil.isKeepAlive(request));
+        try {
+            if (request.decoderResult().isSuccess()) {
+                HttpRouteHandlerManager.handle(new NettyHttpRequest(request), response);
+            } else {
+                response.setStatus(HttpCodeEnum.BAD_REQUEST.getCode());
+                response.writeBody(HttpCodeEnum.BAD_REQUEST.getMessage());
+            }
+            response.finish();
+        } catch (Exception e) {
+            LOGGER.log(Level.FINE, "Failed to handle the http request, the connection is closed.", e);
+            ctx.close();
+        } finally {
+            request.release();
+            ctx.executor().execute(() -> {
+                handling = false;
+                handleNext(ctx);
+            });
+        }
+    }
+
+    @Override
+    public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+        if (evt instanceof IdleStateEvent) {
+            if (!handling) {
+                ctx.close();
+            }
+            return;
+        }
+        super.userEventTriggered(ctx, evt);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        FullHttpRequest request;
+        while ((request = pendingRequests.poll()) != null) {
+            request.release();
+        }
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        LOGGER.log(Level.FINE, "Exception occurs on the http connection, the connection is closed.", cause);
+        ctx.close();
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.httpserver.netty;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.HttpContentCompressor;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.sermant.core.common.LoggerFactory;
+import io.sermant.core.config.ConfigManager;
+import io.sermant.core.service.httpserver.config.HttpServerConfig;
+import io.sermant.core.service.httpserver.config.HttpServerTypeEnum;
+import io.sermant.core.utils.ReflectUtils;
+import io.sermant.core.utils.ThreadFactoryUtils;
+import io.sermant.implement.service.httpserver.HttpServerProvider;
+
+import org.kohsuke.MetaInfServices;
+
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Netty HTTP server provider. The connections are kept alive, the responses are compressed by gzip when the client
+ * accepts it, and the route handlers run on a bounded thread pool, or on virtual threads on JDK 21+ if configured
+ *
+ * @author zwmagic
+ * @since 2025-01-27
+ */
+@MetaInfServices(HttpServerProvider.class)
+public class NettyHttpServerProvider implements HttpServerProvider {
+    private static final Logger LOGGER = LoggerFactory.getLogger();
+
+    private static final long HTTP_SERVER_KEEP_ALIVE_TIME = 60000L;
+
+    private static final int IDLE_TIMEOUT_SECONDS = 60;
+
+    private static final int WORKER_THREADS = 2;
+
+    private static final long SHUTDOWN_QUIET_PERIOD = 0L;
+
+    private static final long SHUTDOWN_TIMEOUT = 1L;
+
+    private EventLoopGroup bossGroup;
+
+    private EventLoopGroup workerGroup;
+
+    private ExecutorService executor;
+
+    private Channel serverChannel;
+
+    @Override
+    public String getType() {
+        return HttpServerTypeEnum.NETTY.getType();
+    }
+
+    @Override
+    public void start() throws Exception {
+        HttpServerConfig config = ConfigManager.getConfig(HttpServerConfig.class);
+        this.executor = createExecutor(config);
+        this.bossGroup = new NioEventLoopGroup(1, new ThreadFactoryUtils("nettyHttpserver-boss"));
+        this.workerGroup = new NioEventLoopGroup(WORKER_THREADS, new ThreadFactoryUtils("nettyHttpserver-io"));
+        ServerBootstrap bootstrap = new ServerBootstrap().group(bossGroup, workerGroup)
+                .channel(NioServerSocketChannel.class)
+                .option(ChannelOption.SO_BACKLOG, config.getBacklog())
+                .childOption(ChannelOption.TCP_NODELAY, true)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel channel) {
+                        initPipeline(channel.pipeline(), config.getMaxContentLength(), executor);
+                    }
+                });
+        this.serverChannel = bootstrap.bind(config.getPort()).sync().channel();
+    }
+
+    @Override
+    public void stop() throws Exception {
+        if (serverChannel == null) {
+            return;
+        }
+        serverChannel.close().sync();
+        bossGroup.shutdownGracefully(SHUTDOWN_QUIET_PERIOD, SHUTDOWN_TIMEOUT, TimeUnit.SECONDS);
+        workerGroup.shutdownGracefully(SHUTDOWN_QUIET_PERIOD, SHUTDOWN_TIMEOUT, TimeUnit.SECONDS);
+        executor.shutdown();
+    }
+
+    /**
+     * Add the handlers of a connection
+     *
+     * @param pipeline pipeline of the connection
+     * @param maxContentLength maximum length of the request body
+     * @param executor executor of the route handlers
+     */
+    static void initPipeline(ChannelPipeline pipeline, int maxContentLength, Executor executor) {
+        pipeline.addLast(new IdleStateHandler(0, 0, IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS), new HttpServerCodec(),
+                new HttpContentCompressor(), new HttpObjectAggregator(maxContentLength),
+                new NettyHttpServerHandler(executor));
+    }
+
+    private ExecutorService createExecutor(HttpServerConfig config) {
+        if (config.isVirtualThread()) {
+            Optional<Object> virtualThreadExecutor = ReflectUtils.invokeMethod(Executors.class,
+                    "newVirtualThreadPerTaskExecutor", new Class<?>[0], null);
+            if (virtualThreadExecutor.isPresent()) {
+                return (ExecutorService) virtualThreadExecutor.get();
+            }
+            LOGGER.warning("Virtual threads are not supported by the current JVM, use the thread pool instead.");
+        }
+        int threads = Runtime.getRuntime().availableProcessors();
+        int coreThread = config.getServerCorePoolSize() == null ? threads : config.getServerCorePoolSize();
+        int maxThread = config.getServerMaxPoolSize() == null ? threads : config.getServerMaxPoolSize();
+        return new ThreadPoolExecutor(coreThread, maxThread, HTTP_SERVER_KEEP_ALIVE_TIME, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getServerQueueSize()), new ThreadFactoryUtils("nettyHttpserver"));
+    }
+}
@@ -24,6 +24,7 @@ import io.sermant.core.service.httpserver.exception.HttpServerException;
 import io.sermant.implement.service.httpserver.common.Constants;
 import io.sermant.implement.service.httpserver.common.HttpCodeEnum;
 
+import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
@@ -110,6 +111,17 @@ public class SimpleHttpResponse implements HttpResponse {
         }
     }
 
+    @Override
+    public OutputStream getOutputStream() {
+        try {
+            // A response length of zero selects the chunked transfer encoding
+            exchange.sendResponseHeaders(status, 0);
+        } catch (IOException ex) {
+            throw new HttpServerException(HttpCodeEnum.SERVER_ERROR.getCode(), ex);
+        }
+        return exchange.getResponseBody();
+    }
+
     @Override
     public void writeBody(String str) {
         byte[] bytes = str == null ? new byte[0] : str.getBytes(StandardCharsets.UTF_8);
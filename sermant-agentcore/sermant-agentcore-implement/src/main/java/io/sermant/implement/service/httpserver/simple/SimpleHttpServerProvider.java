@@ -19,20 +19,14 @@ package io.sermant.implement.service.httpserver.simple;
 import com.sun.net.httpserver.HttpServer;
 
 import io.sermant.core.config.ConfigManager;
-import io.sermant.core.service.httpserver.api.HttpRequest;
-import io.sermant.core.service.httpserver.api.HttpResponse;
-import io.sermant.core.service.httpserver.api.HttpRouteHandler;
 import io.sermant.core.service.httpserver.config.HttpServerConfig;
 import io.sermant.core.service.httpserver.config.HttpServerTypeEnum;
-import io.sermant.core.service.httpserver.exception.HttpServerException;
 import io.sermant.implement.service.httpserver.HttpServerProvider;
-import io.sermant.implement.service.httpserver.common.HttpCodeEnum;
 import io.sermant.implement.service.httpserver.common.HttpRouteHandlerManager;
 
 import org.kohsuke.MetaInfServices;
 
 import java.net.InetSocketAddress;
-import java.util.Optional;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -76,28 +70,8 @@ public class SimpleHttpServerProvider implements HttpServerProvider {
                             }
                         }));
 
-        httpServer.createContext("/", exchange -> {
-            HttpRequest request = new SimpleHttpRequest(exchange);
-            HttpResponse response = new SimpleHttpResponse(exchange);
-            try {
-                Optional<HttpRouteHandler> handlerOptional = HttpRouteHandlerManager.getHandler(request);
-                if (!handlerOptional.isPresent()) {
-                    throw new HttpServerException(HttpCodeEnum.NOT_FOUND.getCode(),
-                            HttpCodeEnum.NOT_FOUND.getMessage());
-                }
-                handlerOptional.get().handle(request, response);
-            } catch (HttpServerException e) {
-                response.setStatus(e.getStatus());
-                if (e.getStatus() < HttpCodeEnum.SERVER_ERROR.getCode()) {
-                    response.writeBody(e.getMessage());
-                } else {
-                    response.writeBody(e);
-                }
-            } catch (Exception e) {
-                response.setStatus(HttpCodeEnum.SERVER_ERROR.getCode());
-                response.writeBody(e);
-            }
-        });
+        httpServer.createContext("/", exchange -> HttpRouteHandlerManager.handle(new SimpleHttpRequest(exchange),
+                new SimpleHttpResponse(exchange)));
         httpServer.start();
     }
 
@@ -26,6 +26,7 @@ import io.micrometer.core.instrument.config.MeterFilter;
 import io.sermant.core.service.metric.api.Counter;
 import io.sermant.core.service.metric.api.DistributionStatisticConfig;
 import io.sermant.core.service.metric.api.Gauge;
+import io.sermant.core.service.metric.api.Histogram;
 import io.sermant.core.service.metric.api.Metric;
 import io.sermant.core.service.metric.api.Summary;
 import io.sermant.core.service.metric.api.Tags;
@@ -53,6 +54,12 @@ public class MeterMetric implements Metric {
 
     private final MeterRegistry registry;
 
+    private final MeterRegistryProvider registryProvider;
+
+    private final List<Tag> commonTags = new ArrayList<>();
+
+    private final int maxTimeSeries;
+
     /**
      * Constructor that initializes a MeterMetric instance
      *
@@ -61,6 +68,8 @@ public class MeterMetric implements Metric {
      */
     public MeterMetric(MeterRegistryProvider registryProvider, MetricConfig metricConfig) {
         this.registry = registryProvider.getRegistry();
+        this.registryProvider = registryProvider;
+        this.maxTimeSeries = metricConfig.getMaxTimeSeries();
         MeterRegistry.Config config = this.registry.config();
         Set<String> commonTagKeys = metricConfig.getCommonTagKeySet();
         if (CollectionUtils.isEmpty(commonTagKeys)) {
@@ -81,6 +90,7 @@ public class MeterMetric implements Metric {
         }
         if (!CollectionUtils.isEmpty(tags)) {
             config.commonTags(tags);
+            commonTags.addAll(tags);
         }
         config.meterFilter(MeterFilter.maximumAllowableMetrics(metricConfig.getMaxTimeSeries()));
     }
@@ -141,6 +151,13 @@ public class MeterMetric implements Metric {
         return new MeterSummary(summary);
     }
 
+    @Override
+    public Histogram histogram(String metricName, Tags tags, String description) {
+        List<Tag> histogramTags = new ArrayList<>(commonTags);
+        getMeterTags(tags).forEach(histogramTags::add);
+        return registryProvider.histogram(metricName, histogramTags, description, maxTimeSeries);
+    }
+
     /**
      * Converts a Tags object into an iterable collection of Tag objects.
      *
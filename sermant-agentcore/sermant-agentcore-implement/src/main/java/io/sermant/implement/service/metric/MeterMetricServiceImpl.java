@@ -21,6 +21,7 @@ import io.sermant.core.config.ConfigManager;
 import io.sermant.core.service.metric.api.Counter;
 import io.sermant.core.service.metric.api.DistributionStatisticConfig;
 import io.sermant.core.service.metric.api.Gauge;
+import io.sermant.core.service.metric.api.Histogram;
 import io.sermant.core.service.metric.api.Metric;
 import io.sermant.core.service.metric.api.MetricService;
 import io.sermant.core.service.metric.api.Summary;
@@ -29,6 +30,8 @@ import io.sermant.core.service.metric.api.Timer;
 import io.sermant.core.service.metric.config.MetricConfig;
 import io.sermant.core.utils.SpiLoadUtils;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -41,6 +44,9 @@ import java.util.stream.Collectors;
  */
 public class MeterMetricServiceImpl implements MetricService {
     private static MeterRegistryProvider meterRegistryProvider;
+
+    private static ScrapeCache scrapeCache;
+
     private Metric metric;
 
     /**
@@ -63,6 +69,7 @@ public class MeterMetricServiceImpl implements MetricService {
         }
         Metrics.addRegistry(meterRegistryProvider.getRegistry());
         metric = new MeterMetric(meterRegistryProvider, metricConfig);
+        scrapeCache = new ScrapeCache(metricConfig.getScrapeCacheTime());
     }
 
     /**
@@ -74,6 +81,38 @@ public class MeterMetricServiceImpl implements MetricService {
         return meterRegistryProvider.getScrape();
     }
 
+    /**
+     * Writes the current metric data to the writer as it is collected, so the memory used by a scrape does not grow
+     * with the number of time series.
+     *
+     * @param writer The writer of the metric data
+     * @param contentType The exposition format
+     * @throws IOException Failed to write the metric data
+     */
+    public static void scrape(Writer writer, String contentType) throws IOException {
+        meterRegistryProvider.scrape(writer, contentType);
+    }
+
+    /**
+     * Whether the rendered metric data is cached and shared by the scrapes in a short time.
+     *
+     * @return true if the rendered metric data is cached
+     */
+    public static boolean isScrapeCached() {
+        return scrapeCache != null && scrapeCache.isEnabled();
+    }
+
+    /**
+     * Retrieves the cached metric data, which is rendered again once the cache expires.
+     *
+     * @param contentType The exposition format
+     * @return The metric data encoded in UTF-8
+     * @throws IOException Failed to render the metric data
+     */
+    public static byte[] getCachedScrape(String contentType) throws IOException {
+        return scrapeCache.get(contentType, meterRegistryProvider);
+    }
+
     @Override
     public Counter counter(String metricName) {
         return counter(metricName, null);
@@ -154,4 +193,24 @@ public class MeterMetricServiceImpl implements MetricService {
                            DistributionStatisticConfig distributionStatisticConfig) {
         return metric.summary(metricName, tags, description, distributionStatisticConfig);
     }
+
+    @Override
+    public Histogram histogram(String metricName) {
+        return histogram(metricName, null);
+    }
+
+    @Override
+    public Histogram histogram(String metricName, String tagKey, String tagValue) {
+        return histogram(metricName, Tags.of(tagKey, tagValue));
+    }
+
+    @Override
+    public Histogram histogram(String metricName, Tags tags) {
+        return histogram(metricName, tags, null);
+    }
+
+    @Override
+    public Histogram histogram(String metricName, Tags tags, String description) {
+        return metric.histogram(metricName, tags, description);
+    }
 }
@@ -17,6 +17,12 @@
 package io.sermant.implement.service.metric;
 
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.sermant.core.service.metric.api.Histogram;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
 
 /**
  * Interface defining the core components for monitoring data collection. It provides access and configuration
@@ -46,4 +52,26 @@ public interface MeterRegistryProvider {
      * @return The configuration information for scraping monitoring data
      */
     String getScrape();
+
+    /**
+     * Writes the monitoring data to the writer sample by sample, without rendering it into one string
+     *
+     * @param writer The writer of the monitoring data
+     * @param contentType The exposition format, the text format 0.0.4 or OpenMetrics 1.0.0
+     * @throws IOException Failed to write the monitoring data
+     */
+    void scrape(Writer writer, String contentType) throws IOException;
+
+    /**
+     * Gets the latency histogram of the name and tags, the histogram is created and exported if absent. Once the
+     * number of the meters and the exported histograms reaches the limit, one shared histogram which is not exported
+     * is returned for the new histograms
+     *
+     * @param metricName The name of the metric
+     * @param tags The tags of the histogram, including the common tags
+     * @param description The description of the metric
+     * @param maxTimeSeries The maximum number of the meters and the exported histograms
+     * @return The histogram
+     */
+    Histogram histogram(String metricName, List<Tag> tags, String description, int maxTimeSeries);
 }
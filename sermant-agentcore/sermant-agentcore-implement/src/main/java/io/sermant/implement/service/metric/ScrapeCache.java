@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.metric;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of the rendered scrapes. The concurrent scrapes within the cache time share one rendering per exposition
+ * format, and the scrapes arriving while it is rendered wait for it instead of rendering it again
+ *
+ * @author zwmagic
+ * @since 2025-01-27
+ */
+class ScrapeCache {
+    private static final int INITIAL_SIZE = 8192;
+
+    private final long cacheTimeNanos;
+
+    private final Map<String, Rendering> renderings = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param cacheTime cache time in milliseconds, 0 disables the cache
+     */
+    ScrapeCache(long cacheTime) {
+        this.cacheTimeNanos = TimeUnit.MILLISECONDS.toNanos(cacheTime);
+    }
+
+    boolean isEnabled() {
+        return cacheTimeNanos > 0;
+    }
+
+    /**
+     * Gets the rendered scrape, the scrape is rendered again once it expires
+     *
+     * @param contentType exposition format
+     * @param provider provider of the registry
+     * @return rendered scrape encoded in UTF-8
+     * @throws IOException failed to render the scrape
+     */
+    byte[] get(String contentType, MeterRegistryProvider provider) throws IOException {
+        Rendering rendering = renderings.computeIfAbsent(contentType, key -> new Rendering());
+        synchronized (rendering) {
+            long now = System.nanoTime();
+            if (rendering.bytes == null || now - rendering.renderTime >= cacheTimeNanos) {
+                int size = rendering.bytes == null ? INITIAL_SIZE : rendering.bytes.length;
+                ByteArrayOutputStream output = new ByteArrayOutputStream(size);
+                Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+                provider.scrape(writer, contentType);
+                writer.flush();
+                rendering.bytes = output.toByteArray();
+                rendering.renderTime = now;
+            }
+            return rendering.bytes;
+        }
+    }
+
+    /**
+     * Rendered scrape of an exposition format
+     *
+     * @since 2025-01-27
+     */
+    private static class Rendering {
+        private byte[] bytes;
+
+        private long renderTime;
+    }
+}
@@ -24,6 +24,11 @@ import io.sermant.core.service.httpserver.api.HttpResponse;
 import io.sermant.core.service.httpserver.api.HttpRouteHandler;
 import io.sermant.implement.service.metric.MeterMetricServiceImpl;
 
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
 /**
  * provide http metric
  *
@@ -34,11 +39,22 @@ import io.sermant.implement.service.metric.MeterMetricServiceImpl;
 public class MetricHttpRouteHandler implements HttpRouteHandler {
     private static final int SUCCESS_CODE = 200;
 
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final String ACCEPT = "Accept";
+
     @Override
     public void handle(HttpRequest request, HttpResponse response) throws Exception {
-        String scrape = MeterMetricServiceImpl.getScrape();
+        String contentType = TextFormat.chooseContentType(request.getFirstHeader(ACCEPT));
         response.setStatus(SUCCESS_CODE)
-                .setContentType(TextFormat.CONTENT_TYPE_004)
-                .writeBody(scrape);
+                .setContentType(contentType);
+        if (MeterMetricServiceImpl.isScrapeCached()) {
+            response.writeBody(MeterMetricServiceImpl.getCachedScrape(contentType));
+            return;
+        }
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            MeterMetricServiceImpl.scrape(writer, contentType);
+        }
     }
 }
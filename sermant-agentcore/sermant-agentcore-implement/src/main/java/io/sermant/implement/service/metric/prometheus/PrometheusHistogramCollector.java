@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.metric.prometheus;
+
+import io.prometheus.client.Collector;
+import io.sermant.core.service.metric.api.Histogram;
+import io.sermant.core.service.metric.histogram.HistogramSnapshot;
+import io.sermant.core.service.metric.histogram.LogLinearHistogram;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collector exporting the latency histograms of a metric name as a Prometheus histogram with classic buckets in
+ * seconds. The buckets are read from the log-linear buckets of the histograms when scraped
+ *
+ * @author zwmagic
+ * @since 2025-01-27
+ */
+public class PrometheusHistogramCollector extends Collector {
+    private static final double[] BUCKETS = {0.001D, 0.0025D, 0.005D, 0.01D, 0.025D, 0.05D, 0.1D, 0.25D, 0.5D, 1.0D,
+        2.5D, 5.0D, 10.0D};
+
+    private static final String LE = "le";
+
+    private static final String INF = "+Inf";
+
+    private final String name;
+
+    private final String help;
+
+    private final Map<Series, Histogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param name name of the metric
+     * @param help description of the metric
+     */
+    public PrometheusHistogramCollector(String name, String help) {
+        this.name = name;
+        this.help = help == null ? "" : help;
+    }
+
+    /**
+     * Gets the histogram of the labels, the histogram is created if absent
+     *
+     * @param labelNames names of the labels
+     * @param labelValues values of the labels
+     * @return histogram
+     */
+    public Histogram histogram(List<String> labelNames, List<String> labelValues) {
+        return histograms.computeIfAbsent(new Series(labelNames, labelValues), series -> new LogLinearHistogram());
+    }
+
+    /**
+     * Gets the histogram of the labels
+     *
+     * @param labelNames names of the labels
+     * @param labelValues values of the labels
+     * @return histogram, null if absent
+     */
+    public Histogram getHistogram(List<String> labelNames, List<String> labelValues) {
+        return histograms.get(new Series(labelNames, labelValues));
+    }
+
+    /**
+     * Gets the number of the exported histograms
+     *
+     * @return number of the histograms
+     */
+    public int size() {
+        return histograms.size();
+    }
+
+    @Override
+    public List<MetricFamilySamples> collect() {
+        List<MetricFamilySamples.Sample> samples = new ArrayList<>();
+        for (Map.Entry<Series, Histogram> entry : histograms.entrySet()) {
+            Series series = entry.getKey();
+            HistogramSnapshot snapshot = entry.getValue().snapshot();
+            List<String> bucketLabelNames = new ArrayList<>(series.labelNames);
+            bucketLabelNames.add(LE);
+            for (double bucket : BUCKETS) {
+                long nanos = (long) (bucket * NANOSECONDS_PER_SECOND);
+                samples.add(new MetricFamilySamples.Sample(name + "_bucket", bucketLabelNames,
+                        withBound(series.labelValues, doubleToGoString(bucket)), snapshot.getCountAtOrBelow(nanos)));
+            }
+            samples.add(new MetricFamilySamples.Sample(name + "_bucket", bucketLabelNames,
+                    withBound(series.labelValues, INF), snapshot.getCount()));
+            samples.add(new MetricFamilySamples.Sample(name + "_count", series.labelNames, series.labelValues,
+                    snapshot.getCount()));
+            samples.add(new MetricFamilySamples.Sample(name + "_sum", series.labelNames, series.labelValues,
+                    snapshot.getSum(TimeUnit.SECONDS)));
+        }
+        return Collections.singletonList(new MetricFamilySamples(name, Type.HISTOGRAM, help, samples));
+    }
+
+    private static List<String> withBound(List<String> labelValues, String bound) {
+        List<String> values = new ArrayList<>(labelValues.size() + 1);
+        values.addAll(labelValues);
+        values.add(bound);
+        return values;
+    }
+
+    /**
+     * Labels of a histogram
+     *
+     * @since 2025-01-27
+     */
+    private static class Series {
+        private final List<String> labelNames;
+
+        private final List<String> labelValues;
+
+        Series(List<String> labelNames, List<String> labelValues) {
+            this.labelNames = labelNames;
+            this.labelValues = labelValues;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Series)) {
+                return false;
+            }
+            Series other = (Series) obj;
+            return labelNames.equals(other.labelNames) && labelValues.equals(other.labelValues);
+        }
+
+        @Override
+        public int hashCode() {
+            return labelNames.hashCode() * 31 + labelValues.hashCode();
+        }
+    }
+}
@@ -16,11 +16,27 @@
 
 package io.sermant.implement.service.metric.prometheus;
 
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.config.NamingConvention;
 import io.micrometer.prometheus.PrometheusConfig;
 import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.sermant.core.common.LoggerFactory;
+import io.sermant.core.service.metric.api.Histogram;
+import io.sermant.core.service.metric.histogram.LogLinearHistogram;
 import io.sermant.implement.service.metric.MeterRegistryProvider;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
 /**
  * Prometheus meter registry provider
  *
@@ -28,8 +44,19 @@ import io.sermant.implement.service.metric.MeterRegistryProvider;
  * @since 2024-08-19
  */
 public class PrometheusMeterRegistryProvider implements MeterRegistryProvider {
+    private static final Logger LOGGER = LoggerFactory.getLogger();
+
     private final PrometheusMeterRegistry meterRegistry;
 
+    private final Map<String, PrometheusHistogramCollector> histogramCollectors = new ConcurrentHashMap<>();
+
+    /**
+     * Histogram shared by all the histograms beyond the limit of the time series, it is not exported
+     */
+    private final Histogram unexportedHistogram = new LogLinearHistogram();
+
+    private final AtomicBoolean isLimitWarned = new AtomicBoolean();
+
     /**
      * Constructor that initializes the Prometheus meter registry.
      */
@@ -51,4 +78,51 @@ public class PrometheusMeterRegistryProvider implements MeterRegistryProvider {
     public String getScrape() {
         return meterRegistry.scrape();
     }
+
+    @Override
+    public void scrape(Writer writer, String contentType) throws IOException {
+        meterRegistry.scrape(writer, contentType);
+    }
+
+    @Override
+    public Histogram histogram(String metricName, List<Tag> tags, String description, int maxTimeSeries) {
+        NamingConvention namingConvention = meterRegistry.config().namingConvention();
+        String name = namingConvention.name(metricName, Meter.Type.TIMER);
+        List<String> labelNames = new ArrayList<>(tags.size());
+        List<String> labelValues = new ArrayList<>(tags.size());
+        for (Tag tag : tags) {
+            labelNames.add(namingConvention.tagKey(tag.getKey()));
+            labelValues.add(namingConvention.tagValue(tag.getValue()));
+        }
+        PrometheusHistogramCollector collector = histogramCollectors.get(name);
+        if (collector != null) {
+            Histogram histogram = collector.getHistogram(labelNames, labelValues);
+            if (histogram != null) {
+                return histogram;
+            }
+        }
+
+        // The same limit as the meters of the registry, the histograms beyond it share one unexported histogram
+        if (meterRegistry.getMeters().size() + countHistograms() >= maxTimeSeries) {
+            if (isLimitWarned.compareAndSet(false, true)) {
+                LOGGER.warning(String.format(Locale.ROOT, "The number of time series reaches the limit [%d], histogram "
+                        + "[%s] and the later new histograms are not exported.", maxTimeSeries, name));
+            }
+            return unexportedHistogram;
+        }
+        if (collector == null) {
+            collector = histogramCollectors.computeIfAbsent(name,
+                    key -> new PrometheusHistogramCollector(key, description)
+                            .register(meterRegistry.getPrometheusRegistry()));
+        }
+        return collector.histogram(labelNames, labelValues);
+    }
+
+    private int countHistograms() {
+        int count = 0;
+        for (PrometheusHistogramCollector collector : histogramCollectors.values()) {
+            count += collector.size();
+        }
+        return count;
+    }
 }
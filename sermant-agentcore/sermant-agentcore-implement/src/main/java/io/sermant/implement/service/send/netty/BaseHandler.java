@@ -42,9 +42,33 @@ public abstract class BaseHandler extends SimpleChannelInboundHandler<NettyMessa
 
         if (type == MessageType.SERVICE_DATA_VALUE) {
             handlerData(ctx, msg);
+        } else if (type == MessageType.HANDSHAKE_VALUE) {
+            handlerHandshake(ctx, msg);
+        } else if (type == MessageType.HEARTBEAT_ACK_VALUE) {
+            handlerHeartbeatAck(ctx, msg);
         }
     }
 
+    /**
+     * Handshake processing method
+     *
+     * @param ctx Context object
+     * @param msg Message received
+     */
+    protected void handlerHandshake(ChannelHandlerContext ctx, NettyMessage msg) {
+        LOGGER.debug("Handshake received...");
+    }
+
+    /**
+     * Heartbeat acknowledgement processing method
+     *
+     * @param ctx Context object
+     * @param msg Message received
+     */
+    protected void handlerHeartbeatAck(ChannelHandlerContext ctx, NettyMessage msg) {
+        LOGGER.debug("Heartbeat acknowledgement received...");
+    }
+
     /**
      * Data processing method
      *
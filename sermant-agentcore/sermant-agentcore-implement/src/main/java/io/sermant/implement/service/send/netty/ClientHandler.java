@@ -19,6 +19,7 @@ package io.sermant.implement.service.send.netty;
 import io.netty.channel.ChannelHandlerContext;
 import io.sermant.core.common.LoggerFactory;
 import io.sermant.implement.service.send.netty.pojo.Message.NettyMessage;
+import io.sermant.implement.service.send.netty.pojo.Message.NettyMessage.Codec;
 
 import java.util.Locale;
 import java.util.logging.Logger;
@@ -48,11 +49,34 @@ public class ClientHandler extends BaseHandler {
     protected void handlerData(ChannelHandlerContext ctx, NettyMessage msg) {
     }
 
+    @Override
+    protected void handlerHandshake(ChannelHandlerContext ctx, NettyMessage msg) {
+        // The backend which does not support the handshake never replies, and the data is compressed by gzip
+        FrameEncoder encoder = ctx.pipeline().get(FrameEncoder.class);
+        if (encoder != null && msg.getCodecsList().contains(Codec.DEFLATE_STREAM)) {
+            encoder.setCodec(Codec.DEFLATE_STREAM);
+            LOGGER.info("Backend accepts the frame compression.");
+        }
+    }
+
+    @Override
+    protected void handlerHeartbeatAck(ChannelHandlerContext ctx, NettyMessage msg) {
+        client.onHeartbeatAck(msg.getHeartbeatVersion());
+    }
+
     @Override
     protected void handlerAllIdle(ChannelHandlerContext ctx) {
         super.handlerAllIdle(ctx);
     }
 
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+        if (ctx.channel().isWritable()) {
+            client.onWritable();
+        }
+        ctx.fireChannelWritabilityChanged();
+    }
+
     @Override
     public void channelInactive(ChannelHandlerContext ctx) {
         LOGGER.severe("Server channel is inaction");
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.send.netty;
+
+import com.google.protobuf.ByteString;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToMessageEncoder;
+import io.sermant.implement.service.send.netty.pojo.Message.NettyMessage;
+import io.sermant.implement.service.send.netty.pojo.Message.NettyMessage.Codec;
+import io.sermant.implement.service.send.netty.pojo.Message.NettyMessage.MessageType;
+import io.sermant.implement.service.send.netty.pojo.Message.ServiceData;
+import io.sermant.implement.utils.GzipUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * Encoder of the service data sent to the backend, the service data are queued uncompressed and compressed here on
+ * the I/O thread of the channel
+ * <p>Before the backend accepts {@link Codec#DEFLATE_STREAM} in the handshake, the data of each service data is
+ * compressed by gzip as before. Afterwards the whole message is compressed once into a {@link
+ * MessageType#COMPRESSED_FRAME}. All frames of a channel share one deflate stream starting with {@link #DICTIONARY},
+ * so the fields repeated in the heartbeats and events are encoded as back references
+ *
+ * @author lilai
+ * @since 2025-01-27
+ */
+public class FrameEncoder extends MessageToMessageEncoder<NettyMessage> {
+    /**
+     * Preset dictionary of the deflate stream, which must be identical to the dictionary of the backend. The common
+     * strings are placed at the end, which can be referenced with shorter distances
+     */
+    static final byte[] DICTIONARY = ("\"metaHash\":\"\",\"scope\":\"\",\"eventLevel\":\"\",\"eventType\":\"\","
+            + "\"eventInfo\":{},\"logInfo\":{},\"events\":[],\"extInfo\":{},\"zone\":\"\",\"project\":\"\","
+            + "\"environment\":\"\",\"serverName\":\"\",\"serverType\":\"\",\"operateType\":\"\","
+            + "\"applicationName\":\"\",\"groupName\":\"\",\"consanguinityList\":[],\"contractList\":[],"
+            + "\"registryInfo\":{},\"validateDate\":,\"instanceIds\":[],\"externalAgentInfoMap\":{},"
+            + "\"pluginInfoMap\":{},\"name\":\"\",\"version\":\"\",\"hostName\":\"\",\"ip\":[],\"heartbeatTime\":,"
+            + "\"lastHeartbeatTime\":,\"appName\":\"\",\"appType\":\"\",\"artifact\":\"\",\"processId\":\"\","
+            + "\"dynamicInstall\":false,\"time\":,\"service\":\"\",\"instanceId\":\"\",true,false,null")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    private volatile Codec codec = Codec.GZIP;
+
+    private Deflater deflater;
+
+    /**
+     * Set the codec chosen by the backend
+     *
+     * @param codec codec
+     */
+    public void setCodec(Codec codec) {
+        this.codec = codec;
+    }
+
+    public Codec getCodec() {
+        return codec;
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, NettyMessage msg, List<Object> out) {
+        if (msg.getMessageType() != MessageType.SERVICE_DATA) {
+            out.add(msg);
+            return;
+        }
+        if (codec == Codec.DEFLATE_STREAM) {
+            out.add(NettyMessage.newBuilder().setMessageType(MessageType.COMPRESSED_FRAME)
+                    .setFrame(deflate(msg.toByteArray())).build());
+            return;
+        }
+        final NettyMessage.Builder builder = NettyMessage.newBuilder().setMessageType(MessageType.SERVICE_DATA);
+        for (ServiceData serviceData : msg.getServiceDataList()) {
+            builder.addServiceData(ServiceData.newBuilder().setDataType(serviceData.getDataType())
+                    .setData(ByteString.copyFrom(GzipUtils.compress(serviceData.getData().toByteArray()))).build());
+        }
+        out.add(builder.build());
+    }
+
+    /**
+     * Compress the frame with the deflate stream of the channel, the stream is flushed at the end of the frame so
+     * that the backend can decompress it without the following frames
+     *
+     * @param frame frame
+     * @return compressed frame
+     */
+    ByteString deflate(byte[] frame) {
+        if (deflater == null) {
+            deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+            deflater.setDictionary(DICTIONARY);
+        }
+        deflater.setInput(frame);
+        final ByteString.Output output = ByteString.newOutput(Math.min(frame.length, BUFFER_SIZE));
+        int length;
+        do {
+            length = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+            output.write(buffer, 0, length);
+        } while (length == buffer.length);
+        return output.toByteString();
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        if (deflater != null) {
+            deflater.end();
+            deflater = null;
+        }
+    }
+}
@@ -26,8 +26,7 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.handler.codec.protobuf.ProtobufDecoder;
 import io.netty.handler.codec.protobuf.ProtobufEncoder;
 import io.netty.handler.codec.protobuf.ProtobufVarint32FrameDecoder;
@@ -39,17 +38,24 @@ import io.sermant.core.notification.NettyNotificationType;
 import io.sermant.core.notification.NotificationInfo;
 import io.sermant.core.notification.NotificationManager;
 import io.sermant.core.service.send.config.GatewayConfig;
+import io.sermant.core.utils.FileUtils;
 import io.sermant.core.utils.ThreadFactoryUtils;
 import io.sermant.implement.service.send.netty.pojo.Message;
+import io.sermant.implement.service.send.netty.pojo.Message.NettyMessage.Codec;
 import io.sermant.implement.service.send.netty.pojo.Message.ServiceData;
-import io.sermant.implement.utils.GzipUtils;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
 import java.util.logging.Logger;
 
 /**
@@ -67,6 +73,18 @@ public class NettyClient {
      */
     private static final int BACKOFF_FACTOR = 2;
 
+    /**
+     * Directory of the spill log under the agent path
+     */
+    private static final String SPILL_DIR = "spill";
+
+    private static final int SPILL_SEGMENT_SIZE = 4 * 1024 * 1024;
+
+    /**
+     * Time to wait for the replay task reading the spill log to exit, in milliseconds
+     */
+    private static final long REPLAY_TERMINATION_TIMEOUT = 3000L;
+
     /**
      * Message sending interval
      */
@@ -88,22 +106,43 @@ public class NettyClient {
     private final int compareTime;
 
     // Block queue, used to cache messages, for non-instant messages, reduce the frequency of message sending, set
-    // the capacity to 100 messages
+    // the capacity to 100 messages. Messages are compressed by FrameEncoder on the I/O thread when they are sent
     private final BlockingQueue<ServiceData> queue = new ArrayBlockingQueue<>(100);
 
     private final String ip;
 
     private final int port;
 
+    /**
+     * Whether to negotiate the frame compression with the backend
+     */
+    private final boolean frameCompression;
+
+    /**
+     * Log which absorbs the messages when the queue is full or the connection is unavailable, null if disabled
+     */
+    private final SpillLog spillLog;
+
+    /**
+     * Executor which replays the spilled messages, null if the spill is disabled
+     */
+    private final ExecutorService replayExecutor;
+
     private Bootstrap bootstrap;
 
     private EventLoopGroup eventLoopGroup;
 
     private Channel channel;
 
-    private ScheduledExecutorService executorService;
+    private Sender sender;
+
+    private ScheduledFuture<?> sendFuture;
+
+    private volatile boolean stopped;
 
-    private boolean connectionAvailable = false;
+    private volatile boolean connectionAvailable = false;
+
+    private volatile LongConsumer heartbeatAckListener;
 
     private int reconnectInternalTime;
 
@@ -124,9 +163,13 @@ public class NettyClient {
         initReconnectInternalTime = gatewayConfig.getInitReconnectInternalTime();
         maxReconnectInternalTime = gatewayConfig.getMaxReconnectInternalTime();
         compareTime = maxReconnectInternalTime / BACKOFF_FACTOR;
+        frameCompression = gatewayConfig.isFrameCompression();
         ip = serverIp;
         port = serverPort;
         reconnectInternalTime = initReconnectInternalTime;
+        spillLog = gatewayConfig.isSpillEnable() ? openSpillLog(gatewayConfig) : null;
+        replayExecutor = spillLog == null ? null
+                : Executors.newSingleThreadExecutor(new ThreadFactoryUtils("netty-spill-replay"));
 
         bind();
     }
@@ -135,15 +178,60 @@ public class NettyClient {
      * Gracefully close Netty
      */
     public void stop() {
-        eventLoopGroup.shutdownGracefully();
+        synchronized (this) {
+            stopped = true;
+            if (sendFuture != null) {
+                sendFuture.cancel(false);
+            }
+            if (channel != null) {
+                channel.close();
+            }
+        }
+        NettyEventLoops.release();
+        if (spillLog != null) {
+            replayExecutor.shutdownNow();
+            try {
+                if (!replayExecutor.awaitTermination(REPLAY_TERMINATION_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                    LOGGER.warning("Spill replay task is not terminated before closing the spill log.");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            // Keep the messages not sent for the next start
+            List<ServiceData> list = new ArrayList<>();
+            queue.drainTo(list);
+            list.forEach(this::spill);
+            spillLog.close();
+        }
+    }
+
+    private static SpillLog openSpillLog(GatewayConfig gatewayConfig) {
+        try {
+            return SpillLog.open(new File(FileUtils.getAgentPath(), SPILL_DIR), SPILL_SEGMENT_SIZE,
+                    gatewayConfig.getSpillMaxBytes(), gatewayConfig.getSpillMaxAge());
+        } catch (IOException e) {
+            LOGGER.warning(String.format(Locale.ROOT, "Failed to open spill log, messages will be dropped when "
+                    + "the queue is full. Exception info: %s", e.getMessage()));
+            return null;
+        }
+    }
+
+    private void spill(ServiceData serviceData) {
+        if (!spillLog.append(serviceData.getDataTypeValue(), serviceData.getData().toByteArray())) {
+            LOGGER.info(String.format(Locale.ROOT, "Spill %s failed.", serviceData.getDataType()));
+        }
     }
 
     private void bind() {
-        eventLoopGroup = new NioEventLoopGroup(new ThreadFactoryUtils("netty-nio-event-loop-group"));
+        GatewayConfig gatewayConfig = ConfigManager.getConfig(GatewayConfig.class);
+        eventLoopGroup = NettyEventLoops.acquire();
         bootstrap = new Bootstrap();
-        bootstrap.group(eventLoopGroup).channel(NioSocketChannel.class).option(ChannelOption.TCP_NODELAY, true)
-                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
-                        ConfigManager.getConfig(GatewayConfig.class).getNettyConnectTimeout())
+        bootstrap.group(eventLoopGroup).channel(NettyEventLoops.getChannelClass(eventLoopGroup))
+                .option(ChannelOption.TCP_NODELAY, true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, gatewayConfig.getNettyConnectTimeout())
+                .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(
+                        gatewayConfig.getWriteBufferLowWaterMark(), gatewayConfig.getWriteBufferHighWaterMark()))
                 .handler(new ChannelInitializer<Channel>() {
                     @Override
                     protected void initChannel(Channel newChannel) {
@@ -155,6 +243,7 @@ public class NettyClient {
                         pipeline.addLast(new ProtobufDecoder(Message.NettyMessage.getDefaultInstance()));
                         pipeline.addLast(new ProtobufVarint32LengthFieldPrepender());
                         pipeline.addLast(new ProtobufEncoder());
+                        pipeline.addLast(new FrameEncoder());
                         pipeline.addLast(new ClientHandler(NettyClient.this));
                     }
                 });
@@ -166,11 +255,13 @@ public class NettyClient {
      */
     public synchronized void doConnect() {
         LOGGER.info("Netty do connect.");
-        if (channel != null && channel.isActive()) {
+        if (stopped || channel != null && channel.isActive()) {
             return;
         }
-        if (executorService != null && !executorService.isShutdown()) {
-            executorService.shutdownNow();
+        connectionAvailable = false;
+        if (sendFuture != null) {
+            sendFuture.cancel(false);
+            sendFuture = null;
         }
         ChannelFuture connect = bootstrap.connect(ip, port);
 
@@ -215,16 +306,53 @@ public class NettyClient {
         channel = channelFuture.channel();
         if (channel.isActive()) {
             isConnected = true;
-            Sender sender = new Sender(channel, queue);
+            if (frameCompression) {
+                channel.writeAndFlush(Message.NettyMessage.newBuilder()
+                        .setMessageType(Message.NettyMessage.MessageType.HANDSHAKE)
+                        .addCodecs(Codec.DEFLATE_STREAM).build());
+            }
+            sender = new Sender(channel, queue, spillLog, replayExecutor);
             LOGGER.info("Successfully Connected to server");
-            executorService = Executors.newScheduledThreadPool(1, new ThreadFactoryUtils("netty-send-thread"));
-            executorService.scheduleAtFixedRate(sender, 0, sendInternalTime, TimeUnit.SECONDS);
+
+            // The sender runs on the event loop of the channel, so no thread is dedicated to it
+            sendFuture = channel.eventLoop().scheduleAtFixedRate(sender, 0, sendInternalTime, TimeUnit.SECONDS);
             if (NotificationManager.isEnable()) {
                 NotificationManager.doNotify(new NotificationInfo(NettyNotificationType.CONNECTED, null));
             }
         }
     }
 
+    /**
+     * Resume sending when the channel becomes writable, called on the event loop of the channel
+     */
+    public void onWritable() {
+        Sender currentSender = sender;
+        if (currentSender != null && channel != null && channel.isWritable()) {
+            currentSender.run();
+        }
+    }
+
+    /**
+     * Set the listener of the heartbeat versions acknowledged by the backend
+     *
+     * @param listener listener
+     */
+    public void setHeartbeatAckListener(LongConsumer listener) {
+        this.heartbeatAckListener = listener;
+    }
+
+    /**
+     * Pass the heartbeat version acknowledged by the backend to the listener, called on the event loop of the channel
+     *
+     * @param heartbeatVersion heartbeat version
+     */
+    public void onHeartbeatAck(long heartbeatVersion) {
+        LongConsumer listener = heartbeatAckListener;
+        if (listener != null) {
+            listener.accept(heartbeatVersion);
+        }
+    }
+
     /**
      * Send data to the server
      *
@@ -236,12 +364,20 @@ public class NettyClient {
             LOGGER.warning("Message is null.");
             return;
         }
-        byte[] compressMsg = GzipUtils.compress(msg);
         Message.ServiceData serviceData =
-                Message.ServiceData.newBuilder().setDataType(dataType).setData(ByteString.copyFrom(compressMsg))
-                        .build();
-        if (!queue.offer(serviceData)) {
-            LOGGER.info(String.format(Locale.ROOT, "Message queue is full, add %s failed.", serviceData.getDataType()));
+                Message.ServiceData.newBuilder().setDataType(dataType).setData(ByteString.copyFrom(msg)).build();
+        if (spillLog == null) {
+            if (!queue.offer(serviceData)) {
+                LOGGER.info(String.format(Locale.ROOT, "Message queue is full, add %s failed.",
+                        serviceData.getDataType()));
+            }
+            return;
+        }
+
+        // Messages are spilled while the connection is unavailable or there are spilled messages not replayed, so
+        // that they are sent in order
+        if (!connectionAvailable || !spillLog.isEmpty() || !queue.offer(serviceData)) {
+            spill(serviceData);
         }
     }
 
@@ -257,15 +393,16 @@ public class NettyClient {
             LOGGER.warning("Netty connection is not available.");
             return false;
         }
-        byte[] compressMsg = GzipUtils.compress(msg);
         Message.ServiceData serviceData =
-                Message.ServiceData.newBuilder().setDataType(dataType).setData(ByteString.copyFrom(compressMsg))
-                        .build();
+                Message.ServiceData.newBuilder().setDataType(dataType).setData(ByteString.copyFrom(msg)).build();
         Message.NettyMessage message = Message.NettyMessage.newBuilder()
                 .setMessageType(Message.NettyMessage.MessageType.SERVICE_DATA).addServiceData(serviceData).build();
         if (channel == null) {
             LOGGER.warning("Netty channel is null, send instant data failure.");
             return false;
+        } else if (!channel.isWritable()) {
+            LOGGER.warning("Netty channel is unwritable, send instant data failure.");
+            return false;
         } else {
             channel.writeAndFlush(message);
             LOGGER.info("Sent instant data successfully by netty.");
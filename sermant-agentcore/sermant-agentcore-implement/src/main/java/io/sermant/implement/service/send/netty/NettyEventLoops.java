@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.send.netty;
+
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.sermant.core.common.LoggerFactory;
+import io.sermant.core.config.ConfigManager;
+import io.sermant.core.service.send.config.GatewayConfig;
+import io.sermant.core.utils.ThreadFactoryUtils;
+
+import java.util.Locale;
+import java.util.logging.Logger;
+
+/**
+ * Event loop group shared by the netty clients of the agent. The group is created when the first client acquires it,
+ * and is shut down when the last client releases it. Epoll is used when it is available
+ *
+ * @author lilai
+ * @since 2025-01-27
+ */
+public class NettyEventLoops {
+    private static final Logger LOGGER = LoggerFactory.getLogger();
+
+    private static EventLoopGroup eventLoopGroup;
+
+    private static int references;
+
+    private NettyEventLoops() {
+    }
+
+    /**
+     * Acquire the shared event loop group
+     *
+     * @return EventLoopGroup
+     */
+    public static EventLoopGroup acquire() {
+        return acquire(ConfigManager.getConfig(GatewayConfig.class).getNettyEventLoopThreads());
+    }
+
+    /**
+     * Acquire the shared event loop group, the number of threads is used only when the group is created
+     *
+     * @param eventLoopThreads number of the event loop threads
+     * @return EventLoopGroup
+     */
+    static synchronized EventLoopGroup acquire(int eventLoopThreads) {
+        if (eventLoopGroup == null) {
+            int threads = Math.max(1, eventLoopThreads);
+            ThreadFactoryUtils threadFactory = new ThreadFactoryUtils("netty-event-loop-group");
+            if (Epoll.isAvailable()) {
+                eventLoopGroup = new EpollEventLoopGroup(threads, threadFactory);
+            } else {
+                eventLoopGroup = new NioEventLoopGroup(threads, threadFactory);
+            }
+            LOGGER.info(String.format(Locale.ROOT, "Create netty event loop group with %d threads, epoll: %s.", threads,
+                    eventLoopGroup instanceof EpollEventLoopGroup));
+        }
+        references++;
+        return eventLoopGroup;
+    }
+
+    /**
+     * Release the shared event loop group, it is shut down when no client uses it
+     */
+    public static synchronized void release() {
+        if (references == 0) {
+            return;
+        }
+        references--;
+        if (references == 0) {
+            eventLoopGroup.shutdownGracefully();
+            eventLoopGroup = null;
+        }
+    }
+
+    /**
+     * Get the channel class which matches the event loop group
+     *
+     * @param group event loop group
+     * @return channel class
+     */
+    public static Class<? extends Channel> getChannelClass(EventLoopGroup group) {
+        return group instanceof EpollEventLoopGroup ? EpollSocketChannel.class : NioSocketChannel.class;
+    }
+}
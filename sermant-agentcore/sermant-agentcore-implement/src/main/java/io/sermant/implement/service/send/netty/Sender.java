@@ -16,7 +16,10 @@
 
 package io.sermant.implement.service.send.netty;
 
+import com.google.protobuf.ByteString;
+
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
 import io.sermant.implement.service.send.netty.pojo.Message;
 import io.sermant.implement.service.send.netty.pojo.Message.NettyMessage;
 import io.sermant.implement.service.send.netty.pojo.Message.ServiceData;
@@ -27,6 +30,9 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Data sender
@@ -38,10 +44,48 @@ import java.util.concurrent.BlockingQueue;
 public class Sender implements Runnable {
     private static final Logger LOGGER = LoggerFactory.getLogger(Sender.class);
 
+    /**
+     * Max number of spilled messages replayed in one message
+     */
+    private static final int REPLAY_BATCH_SIZE = 200;
+
+    /**
+     * Max number of runs skipped after a replay failure
+     */
+    private static final int MAX_REPLAY_BACKOFF_RUNS = 16;
+
     private final BlockingQueue<ServiceData> queue;
 
     private final Channel channel;
 
+    private final SpillLog spillLog;
+
+    /**
+     * Executor of the spill log I/O, so that the event loop shared by the channels does not wait for the disk
+     */
+    private final Executor replayExecutor;
+
+    private final AtomicBoolean replaying = new AtomicBoolean();
+
+    private volatile int backoffRuns;
+
+    private volatile int skippedRuns;
+
+    /**
+     * Whether the channel was unwritable in the last run
+     */
+    private volatile boolean isHeldBack;
+
+    /**
+     * Number of the queued messages held back because the channel is unwritable
+     */
+    private volatile int heldBackMessages;
+
+    /**
+     * Bytes of the queued messages held back because the channel is unwritable
+     */
+    private volatile long heldBackBytes;
+
     /**
      * Constructor
      *
@@ -49,12 +93,38 @@ public class Sender implements Runnable {
      * @param queue queue
      */
     public Sender(Channel channel, BlockingQueue<ServiceData> queue) {
+        this(channel, queue, null, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param channel channel
+     * @param queue queue
+     * @param spillLog log of the spilled messages, null if disabled
+     * @param replayExecutor executor which reads and commits the spilled messages, null if the spill is disabled
+     */
+    public Sender(Channel channel, BlockingQueue<ServiceData> queue, SpillLog spillLog, Executor replayExecutor) {
         this.queue = queue;
         this.channel = channel;
+        this.spillLog = spillLog;
+        this.replayExecutor = replayExecutor;
     }
 
     @Override
     public void run() {
+        // Pause draining while the outbound buffer is above the high water mark. The messages stay in the queue, and
+        // the new ones are spilled or dropped when the queue is full
+        if (channel != null && !channel.isWritable()) {
+            holdBack();
+            return;
+        }
+        if (isHeldBack) {
+            LOGGER.info("Channel is writable again, send {} held back messages.", heldBackMessages);
+            isHeldBack = false;
+            heldBackMessages = 0;
+            heldBackBytes = 0L;
+        }
         List<ServiceData> list;
 
         // Send a message when the message queue is not empty
@@ -70,5 +140,103 @@ public class Sender implements Runnable {
                 LOGGER.info("The message is sent to the gateway successfully. Number of messages: {}", list.size());
             }
         }
+        if (spillLog != null && channel != null) {
+            replay();
+        }
+    }
+
+    private void holdBack() {
+        long bytes = 0L;
+        for (ServiceData serviceData : queue) {
+            bytes += serviceData.getData().size();
+        }
+        heldBackMessages = queue.size();
+        heldBackBytes = bytes;
+
+        // Only the transition into the unwritable state is worth a warning, not every run until it is writable
+        if (!isHeldBack) {
+            isHeldBack = true;
+            LOGGER.warn("Channel is unwritable, hold back {} messages of {} bytes, {} bytes to be written before "
+                    + "writable.", queue.size(), bytes, channel.bytesBeforeWritable());
+        } else {
+            LOGGER.debug("Channel is still unwritable, hold back {} messages of {} bytes.", queue.size(), bytes);
+        }
+    }
+
+    public int getHeldBackMessages() {
+        return heldBackMessages;
+    }
+
+    public long getHeldBackBytes() {
+        return heldBackBytes;
+    }
+
+    /**
+     * Replay the spilled messages batch by batch, the next batch is sent after the previous one is written. If a batch
+     * fails, the replay is suspended for exponentially more runs
+     */
+    private void replay() {
+        if (skippedRuns < backoffRuns) {
+            skippedRuns++;
+            return;
+        }
+        if (!replaying.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            replayExecutor.execute(this::replayBatch);
+        } catch (RejectedExecutionException e) {
+            // The client is stopped
+            replaying.set(false);
+        }
+    }
+
+    private void replayBatch() {
+        if (spillLog.isEmpty()) {
+            replaying.set(false);
+            return;
+        }
+        SpillLog.Batch batch = spillLog.read(REPLAY_BATCH_SIZE);
+        if (batch.getRecords().isEmpty()) {
+            // Only expired messages are read
+            spillLog.commit(batch);
+            replaying.set(false);
+            return;
+        }
+        List<ServiceData> list = new ArrayList<>(batch.getRecords().size());
+        for (SpillLog.Record record : batch.getRecords()) {
+            list.add(ServiceData.newBuilder().setDataTypeValue(record.getDataType())
+                    .setData(ByteString.copyFrom(record.getData())).build());
+        }
+        NettyMessage message = Message.NettyMessage.newBuilder()
+                .setMessageType(Message.NettyMessage.MessageType.SERVICE_DATA).addAllServiceData(list).build();
+        channel.writeAndFlush(message).addListener((ChannelFutureListener) future -> {
+            try {
+                replayExecutor.execute(() -> onReplayed(future.isSuccess(), batch, list.size()));
+            } catch (RejectedExecutionException e) {
+                replaying.set(false);
+            }
+        });
+    }
+
+    private void onReplayed(boolean isSuccess, SpillLog.Batch batch, int size) {
+        if (!isSuccess) {
+            backoffRuns = Math.min(Math.max(1, backoffRuns * 2), MAX_REPLAY_BACKOFF_RUNS);
+            skippedRuns = 0;
+            replaying.set(false);
+            LOGGER.warn("Failed to replay spilled messages, retry after {} runs.", backoffRuns);
+            return;
+        }
+        spillLog.commit(batch);
+        backoffRuns = 0;
+        LOGGER.info("Spilled messages are replayed to the gateway. Number of messages: {}", size);
+
+        // Continue with the next batch until the spilled messages are all replayed, or wait for the channel to be
+        // writable again
+        if (channel.isWritable()) {
+            replayBatch();
+        } else {
+            replaying.set(false);
+        }
     }
 }
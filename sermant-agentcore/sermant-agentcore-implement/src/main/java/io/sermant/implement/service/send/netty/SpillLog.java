@@ -0,0 +1,507 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.send.netty;
+
+import io.sermant.core.common.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Bounded log on the disk which absorbs the messages that can not be sent to the backend, and replays them in order
+ * <p>The log is split into segment files of the same size, which are memory mapped. Each record consists of the data
+ * length, the data type, the append time, the CRC of them and the data. A checkpoint file records the position up to
+ * which the records have been replayed. When the log is opened, the records after the checkpoint are recovered, and
+ * the records torn by a crash are discarded because of the CRC mismatch
+ * <p>When the total size exceeds the limit, the oldest segment is evicted. Records older than the max age are skipped
+ * when replaying, and the segments containing only such records are evicted
+ *
+ * @author lilai
+ * @since 2025-01-27
+ */
+public class SpillLog {
+    private static final Logger LOGGER = LoggerFactory.getLogger();
+
+    /**
+     * data length, data type, append time and CRC
+     */
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES;
+
+    /**
+     * segment sequence, offset and CRC
+     */
+    private static final int CHECKPOINT_SIZE = Long.BYTES + Integer.BYTES + Integer.BYTES;
+
+    private static final String SEGMENT_PREFIX = "spill-";
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private static final String CHECKPOINT_FILE = "spill.checkpoint";
+
+    private final File dir;
+
+    private final int segmentSize;
+
+    private final long maxBytes;
+
+    private final long maxAgeMillis;
+
+    /**
+     * Segments in the order of sequence, the last one is being written
+     */
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+
+    private MappedByteBuffer writeBuffer;
+
+    private long readSeq;
+
+    private int readOffset;
+
+    private long mappedReadSeq = -1L;
+
+    private ByteBuffer mappedReadBuffer;
+
+    private SpillLog(File dir, int segmentSize, long maxBytes, long maxAgeMillis) {
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        this.maxBytes = maxBytes;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    /**
+     * Open the log in the directory, and recover the records not replayed
+     *
+     * @param dir directory
+     * @param segmentSize size of each segment
+     * @param maxBytes max total size of the segments
+     * @param maxAgeMillis max age of the records
+     * @return SpillLog
+     * @throws IOException the directory or the segments can not be accessed
+     */
+    public static SpillLog open(File dir, int segmentSize, long maxBytes, long maxAgeMillis) throws IOException {
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Can not create spill directory: " + dir.getPath());
+        }
+        final SpillLog spillLog = new SpillLog(dir, segmentSize, maxBytes, maxAgeMillis);
+        spillLog.recover();
+        return spillLog;
+    }
+
+    private void recover() throws IOException {
+        final File[] files = dir.listFiles((file, name) -> name.startsWith(SEGMENT_PREFIX)
+                && name.endsWith(SEGMENT_SUFFIX));
+        if (files != null) {
+            for (File file : files) {
+                final String name = file.getName();
+                try {
+                    final long seq = Long.parseLong(
+                            name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                    segments.put(seq, new Segment(file, readFirstTime(file)));
+                } catch (NumberFormatException ignored) {
+                    // Not a segment of the log
+                }
+            }
+        }
+        readCheckpoint();
+        if (segments.isEmpty()) {
+            createSegment(readSeq);
+        } else {
+            final Map.Entry<Long, Segment> last = segments.lastEntry();
+            writeBuffer = map(last.getValue().file, MapMode.READ_WRITE);
+            writeBuffer.position(findEnd(writeBuffer));
+        }
+
+        // Segments before the checkpoint have been replayed
+        while (segments.firstKey() < readSeq && segments.size() > 1) {
+            deleteSegment(segments.firstKey());
+        }
+        if (!segments.containsKey(readSeq)) {
+            readSeq = segments.firstKey();
+            readOffset = 0;
+        }
+        if (readSeq == segments.lastKey()) {
+            readOffset = Math.min(readOffset, writeBuffer.position());
+        }
+        evictExpired(System.currentTimeMillis());
+    }
+
+    /**
+     * Append a record, the oldest segment is evicted if the total size exceeds the limit
+     *
+     * @param dataType data type
+     * @param data data
+     * @return whether the record is appended
+     */
+    public synchronized boolean append(int dataType, byte[] data) {
+        final int size = RECORD_HEADER_SIZE + data.length;
+        if (writeBuffer == null || size > segmentSize) {
+            return false;
+        }
+        final long now = System.currentTimeMillis();
+        if (writeBuffer.remaining() < size) {
+            try {
+                roll(now);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Fail to create spill segment: {0}", e.getMessage());
+                return false;
+            }
+        }
+        final Segment segment = segments.lastEntry().getValue();
+        if (segment.firstTime == 0L) {
+            segment.firstTime = now;
+        }
+        writeBuffer.putInt(data.length).putInt(dataType).putLong(now).putInt(crc(dataType, now, data)).put(data);
+        return true;
+    }
+
+    /**
+     * Read the records after the replayed position, the position is not moved until the batch is committed
+     *
+     * @param maxRecords max number of the records
+     * @return batch of records, empty if the log is closed
+     */
+    public synchronized Batch read(int maxRecords) {
+        if (writeBuffer == null) {
+            return new Batch(Collections.emptyList(), readSeq, readOffset);
+        }
+        final List<Record> records = new ArrayList<>();
+        final long expireTime = System.currentTimeMillis() - maxAgeMillis;
+        long seq = readSeq;
+        int offset = readOffset;
+        while (records.size() < maxRecords) {
+            final Record record = readRecord(getReadBuffer(seq), offset);
+            if (record == null) {
+                final Long next = segments.higherKey(seq);
+                if (next == null) {
+                    break;
+                }
+                seq = next;
+                offset = 0;
+                continue;
+            }
+            offset += RECORD_HEADER_SIZE + record.data.length;
+            if (record.time >= expireTime) {
+                records.add(record);
+            }
+        }
+        return new Batch(records, seq, offset);
+    }
+
+    /**
+     * Move the replayed position to the end of the batch
+     *
+     * @param batch batch which has been replayed
+     */
+    public synchronized void commit(Batch batch) {
+        if (batch.endSeq < readSeq || batch.endSeq == readSeq && batch.endOffset <= readOffset) {
+            return;
+        }
+        readSeq = batch.endSeq;
+        readOffset = batch.endOffset;
+        while (segments.firstKey() < readSeq) {
+            deleteSegment(segments.firstKey());
+        }
+        writeCheckpoint();
+    }
+
+    /**
+     * Whether all records have been replayed
+     *
+     * @return boolean
+     */
+    public synchronized boolean isEmpty() {
+        return writeBuffer == null || readSeq == segments.lastKey() && readOffset >= writeBuffer.position();
+    }
+
+    /**
+     * Flush the records and the checkpoint to the disk
+     */
+    public synchronized void close() {
+        if (writeBuffer != null) {
+            writeBuffer.force();
+            writeBuffer = null;
+        }
+        mappedReadBuffer = null;
+        writeCheckpoint();
+    }
+
+    private void roll(long now) throws IOException {
+        writeBuffer.force();
+        final long seq = segments.lastKey() + 1;
+        evictExpired(now);
+
+        // Keep room for the new segment, at least the new segment is kept
+        while ((long) (segments.size() + 1) * segmentSize > maxBytes && !segments.isEmpty()) {
+            evictOldest();
+        }
+        createSegment(seq);
+    }
+
+    private void evictExpired(long now) {
+        // A segment is expired if the first record of the next segment is expired
+        while (segments.size() > 1) {
+            final Segment next = segments.higherEntry(segments.firstKey()).getValue();
+            if (next.firstTime == 0L || next.firstTime >= now - maxAgeMillis) {
+                return;
+            }
+            evictOldest();
+        }
+    }
+
+    private void evictOldest() {
+        final long seq = segments.firstKey();
+        if (seq == readSeq) {
+            LOGGER.warning(String.format(Locale.ROOT, "Evict spill segment %d with %d records not replayed.", seq,
+                    countRecords(seq, readOffset)));
+            // The segment being written is evicted only when a new segment is created after it
+            final Long next = segments.higherKey(seq);
+            readSeq = next == null ? seq + 1 : next;
+            readOffset = 0;
+        }
+        deleteSegment(seq);
+    }
+
+    private int countRecords(long seq, int from) {
+        final ByteBuffer buffer = getReadBuffer(seq);
+        int count = 0;
+        for (Record record = readRecord(buffer, from); record != null; record = readRecord(buffer, from)) {
+            from += RECORD_HEADER_SIZE + record.data.length;
+            count++;
+        }
+        return count;
+    }
+
+    private void createSegment(long seq) throws IOException {
+        final File file = new File(dir, String.format(Locale.ROOT, "%s%020d%s", SEGMENT_PREFIX, seq, SEGMENT_SUFFIX));
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            randomAccessFile.setLength(segmentSize);
+        }
+        segments.put(seq, new Segment(file, 0L));
+        writeBuffer = map(file, MapMode.READ_WRITE);
+    }
+
+    private void deleteSegment(long seq) {
+        final Segment segment = segments.remove(seq);
+        if (seq == mappedReadSeq) {
+            mappedReadSeq = -1L;
+            mappedReadBuffer = null;
+        }
+        if (segment != null && !segment.file.delete()) {
+            LOGGER.warning(String.format(Locale.ROOT, "Fail to delete spill segment %s.", segment.file.getName()));
+        }
+    }
+
+    private ByteBuffer getReadBuffer(long seq) {
+        if (!segments.containsKey(seq)) {
+            return null;
+        }
+        if (seq == segments.lastKey()) {
+            // Only the appended records of the segment being written are readable
+            final ByteBuffer buffer = writeBuffer.duplicate();
+            buffer.limit(buffer.position());
+            return buffer;
+        }
+        if (seq != mappedReadSeq) {
+            try {
+                mappedReadBuffer = map(segments.get(seq).file, MapMode.READ_ONLY);
+                mappedReadSeq = seq;
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Fail to read spill segment: {0}", e.getMessage());
+                return null;
+            }
+        }
+        return mappedReadBuffer;
+    }
+
+    private static MappedByteBuffer map(File file, MapMode mode) throws IOException {
+        final StandardOpenOption[] options = mode == MapMode.READ_ONLY ? new StandardOpenOption[]{
+                StandardOpenOption.READ} : new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE};
+        try (FileChannel channel = FileChannel.open(file.toPath(), options)) {
+            return channel.map(mode, 0, channel.size());
+        }
+    }
+
+    private static long readFirstTime(File file) {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+            if (randomAccessFile.length() < RECORD_HEADER_SIZE) {
+                return 0L;
+            }
+            randomAccessFile.seek(Integer.BYTES + Integer.BYTES);
+            return randomAccessFile.readLong();
+        } catch (IOException ignored) {
+            return 0L;
+        }
+    }
+
+    private static int findEnd(ByteBuffer buffer) {
+        int offset = 0;
+        for (Record record = readRecord(buffer, offset); record != null; record = readRecord(buffer, offset)) {
+            offset += RECORD_HEADER_SIZE + record.data.length;
+        }
+        return offset;
+    }
+
+    private static Record readRecord(ByteBuffer buffer, int offset) {
+        if (buffer == null || offset > buffer.limit() - RECORD_HEADER_SIZE) {
+            return null;
+        }
+        final int length = buffer.getInt(offset);
+        final int dataType = buffer.getInt(offset + Integer.BYTES);
+        final long time = buffer.getLong(offset + Integer.BYTES + Integer.BYTES);
+        final int crc = buffer.getInt(offset + Integer.BYTES + Integer.BYTES + Long.BYTES);
+        if (time <= 0L || length < 0 || length > buffer.limit() - offset - RECORD_HEADER_SIZE) {
+            return null;
+        }
+        final byte[] data = new byte[length];
+        final ByteBuffer slice = buffer.duplicate();
+        slice.position(offset + RECORD_HEADER_SIZE);
+        slice.get(data);
+        return crc == crc(dataType, time, data) ? new Record(dataType, time, data) : null;
+    }
+
+    private static int crc(int dataType, long time, byte[] data) {
+        final CRC32 crc32 = new CRC32();
+        crc32.update(ByteBuffer.allocate(Integer.BYTES + Long.BYTES).putInt(dataType).putLong(time).array());
+        crc32.update(data);
+        return (int) crc32.getValue();
+    }
+
+    private void readCheckpoint() {
+        final File file = new File(dir, CHECKPOINT_FILE);
+        if (!file.isFile()) {
+            return;
+        }
+        try {
+            final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+            if (buffer.remaining() != CHECKPOINT_SIZE) {
+                return;
+            }
+            final long seq = buffer.getLong();
+            final int offset = buffer.getInt();
+            if (buffer.getInt() == crc(offset, seq, new byte[0])) {
+                readSeq = seq;
+                readOffset = offset;
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Fail to read spill checkpoint: {0}", e.getMessage());
+        }
+    }
+
+    private void writeCheckpoint() {
+        final ByteBuffer buffer = ByteBuffer.allocate(CHECKPOINT_SIZE);
+        buffer.putLong(readSeq).putInt(readOffset).putInt(crc(readOffset, readSeq, new byte[0]));
+        final File file = new File(dir, CHECKPOINT_FILE);
+        final File tempFile = new File(dir, CHECKPOINT_FILE + ".tmp");
+        try {
+            Files.write(tempFile.toPath(), buffer.array(), StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Fail to write spill checkpoint: {0}", e.getMessage());
+        }
+    }
+
+    /**
+     * Segment file
+     *
+     * @since 2025-01-27
+     */
+    private static class Segment {
+        private final File file;
+
+        /**
+         * Append time of the first record, 0 if the segment is empty
+         */
+        private long firstTime;
+
+        Segment(File file, long firstTime) {
+            this.file = file;
+            this.firstTime = firstTime;
+        }
+    }
+
+    /**
+     * Spilled record
+     *
+     * @since 2025-01-27
+     */
+    public static class Record {
+        private final int dataType;
+
+        private final long time;
+
+        private final byte[] data;
+
+        Record(int dataType, long time, byte[] data) {
+            this.dataType = dataType;
+            this.time = time;
+            this.data = data;
+        }
+
+        public int getDataType() {
+            return dataType;
+        }
+
+        public long getTime() {
+            return time;
+        }
+
+        public byte[] getData() {
+            return data;
+        }
+    }
+
+    /**
+     * Records read from the log and the position after them
+     *
+     * @since 2025-01-27
+     */
+    public static class Batch {
+        private final List<Record> records;
+
+        private final long endSeq;
+
+        private final int endOffset;
+
+        Batch(List<Record> records, long endSeq, int endOffset) {
+            this.records = Collections.unmodifiableList(records);
+            this.endSeq = endSeq;
+            this.endOffset = endOffset;
+        }
+
+        public List<Record> getRecords() {
+            return records;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Head-based sampler of the traces started by this node, the traces are sampled by ratio first and then limited by
+ * the number per second
+ *
+ * @author luanwenfei
+ * @since 2025-01-27
+ */
+public class TracingSampler {
+    private static final long WINDOW_MILLIS = 1000L;
+
+    /**
+     * Low bits of the state hold the count of the current window, and the high bits hold the window
+     */
+    private static final int COUNT_BITS = 24;
+
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final double sampleRatio;
+
+    private final long rateLimit;
+
+    private final AtomicLong state = new AtomicLong();
+
+    /**
+     * Constructor
+     *
+     * @param sampleRatio ratio of the sampled traces, from 0 to 1
+     * @param rateLimit maximum number of sampled traces per second, no limit if it is not positive
+     */
+    public TracingSampler(double sampleRatio, int rateLimit) {
+        this.sampleRatio = sampleRatio;
+        this.rateLimit = rateLimit <= 0 ? 0L : Math.min(rateLimit, COUNT_MASK);
+    }
+
+    /**
+     * Decide whether a new trace is sampled
+     *
+     * @return sampled or not
+     */
+    public boolean isSampled() {
+        if (sampleRatio <= 0D) {
+            return false;
+        }
+        if (sampleRatio < 1D && ThreadLocalRandom.current().nextDouble() >= sampleRatio) {
+            return false;
+        }
+        return rateLimit == 0L || tryAcquire(System.currentTimeMillis() / WINDOW_MILLIS);
+    }
+
+    /**
+     * Acquire a permit of the window, the window and its count are updated together by CAS
+     *
+     * @param window current window
+     * @return whether the permit is acquired
+     */
+    boolean tryAcquire(long window) {
+        while (true) {
+            long current = state.get();
+            long next;
+            if (current >>> COUNT_BITS == window) {
+                if ((current & COUNT_MASK) >= rateLimit) {
+                    return false;
+                }
+                next = current + 1;
+            } else {
+                next = (window << COUNT_BITS) | 1L;
+            }
+            if (state.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+}
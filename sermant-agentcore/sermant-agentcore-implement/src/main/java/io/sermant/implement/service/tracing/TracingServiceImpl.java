@@ -20,14 +20,20 @@ import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.serializer.SerializerFeature;
 
 import io.sermant.core.common.LoggerFactory;
+import io.sermant.core.config.ConfigManager;
+import io.sermant.core.service.BaseService;
+import io.sermant.core.service.send.api.GatewayClient;
 import io.sermant.core.service.tracing.api.ExtractService;
 import io.sermant.core.service.tracing.api.InjectService;
 import io.sermant.core.service.tracing.api.TracingService;
 import io.sermant.core.service.tracing.common.SpanEvent;
 import io.sermant.core.service.tracing.common.SpanEventContext;
 import io.sermant.core.service.tracing.common.TracingRequest;
+import io.sermant.core.service.tracing.config.TracingConfig;
 import io.sermant.implement.service.tracing.sender.TracingSender;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.logging.Logger;
@@ -55,6 +61,8 @@ public class TracingServiceImpl implements TracingService {
 
     private final ThreadLocal<SpanEventContext> threadLocal = new ThreadLocal<>();
 
+    private TracingSampler tracingSampler;
+
     /**
      * Tracing service switch
      */
@@ -62,11 +70,18 @@ public class TracingServiceImpl implements TracingService {
 
     @Override
     public void start() {
+        TracingConfig tracingConfig = ConfigManager.getConfig(TracingConfig.class);
+        tracingSampler = new TracingSampler(tracingConfig.getSampleRatio(), tracingConfig.getSampleRateLimit());
         this.isTracing = true;
         tracingSender.start();
         LOGGER.info("TracingService started.");
     }
 
+    @Override
+    public List<Class<? extends BaseService>> getDependencies() {
+        return Collections.singletonList(GatewayClient.class);
+    }
+
     @Override
     public void stop() {
         this.isTracing = false;
@@ -95,11 +110,20 @@ public class TracingServiceImpl implements TracingService {
         if (!filterSpanDepth(tracingRequest)) {
             return Optional.empty();
         }
+
+        // The decision of the upstream node is followed, otherwise the trace is sampled by this node
+        if (tracingRequest.getSampled() == null) {
+            tracingRequest.setSampled(tracingSampler.isSampled());
+        }
         long startTime = System.currentTimeMillis();
         SpanEventContext spanEventContext = new SpanEventContext(tracingRequest);
         SpanEvent spanEvent = spanEventContext.getSpanEvent();
         spanEvent.setStartTime(startTime);
         threadLocal.set(spanEventContext);
+        if (!spanEvent.isSampled()) {
+            // The context of the unsampled trace is kept only to propagate the decision to the downstream nodes
+            return Optional.empty();
+        }
         return Optional.of(spanEvent);
     }
 
@@ -122,6 +146,13 @@ public class TracingServiceImpl implements TracingService {
         if (!isTracing) {
             return Optional.empty();
         }
+        SpanEventContext unsampledContext = threadLocal.get();
+        if (unsampledContext != null && !unsampledContext.getSpanEvent().isSampled()) {
+            // No span is recorded for the unsampled trace, only the decision is propagated
+            unsampledContext.configNextSpanIdPrefix();
+            injectService.addToCarrier(unsampledContext.getSpanEvent(), carrier);
+            return Optional.empty();
+        }
         Optional<SpanEvent> spanEventOptional = configureSpanEvent(tracingRequest);
         if (!spanEventOptional.isPresent()) {
             return spanEventOptional;
@@ -142,6 +173,9 @@ public class TracingServiceImpl implements TracingService {
             threadLocal.remove();
             return Optional.empty();
         }
+        if (!spanEventContext.getSpanEvent().isSampled()) {
+            return Optional.empty();
+        }
         spanEventContext.addChildrenSpan();
         SpanEvent spanEvent = spanEventContext.getSpanEvent();
         spanEvent.setStartTime(System.currentTimeMillis());
@@ -156,7 +190,7 @@ public class TracingServiceImpl implements TracingService {
             return;
         }
         SpanEventContext spanEventContext = threadLocal.get();
-        if (spanEventContext == null) {
+        if (spanEventContext == null || !spanEventContext.getSpanEvent().isSampled()) {
             return;
         }
         SpanEvent spanEvent = spanEventContext.getSpanEvent();
@@ -176,7 +210,7 @@ public class TracingServiceImpl implements TracingService {
             return Optional.empty();
         }
         SpanEventContext spanEventContext = threadLocal.get();
-        if (spanEventContext == null) {
+        if (spanEventContext == null || !spanEventContext.getSpanEvent().isSampled()) {
             return Optional.empty();
         }
         SpanEvent spanEvent = spanEventContext.getSpanEvent();
@@ -203,8 +237,6 @@ public class TracingServiceImpl implements TracingService {
     }
 
     private void sendSpanEvent(SpanEvent spanEvent) {
-        LOGGER.info(String.format(Locale.ROOT, "Add spanEvent to queue , TraceId : [%s] , SpanId [%s] . ",
-                spanEvent.getTraceId(), spanEvent.getSpanId()));
         tracingSender.offerSpanEvent(spanEvent);
     }
 }
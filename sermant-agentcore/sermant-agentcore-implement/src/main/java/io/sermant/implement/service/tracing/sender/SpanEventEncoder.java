@@ -0,0 +1,250 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.tracing.sender;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+import io.sermant.core.service.tracing.common.SourceInfo;
+import io.sermant.core.service.tracing.common.SpanEvent;
+import io.sermant.core.service.tracing.common.TargetInfo;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encoder of the span events into the SpanEventBatch message of Message.proto
+ * <p>The message is written directly by {@link CodedOutputStream} into an array of the exact size, so no builder is
+ * created for each span event. The empty fields are omitted as proto3 does
+ *
+ * @author luanwenfei
+ * @since 2025-01-27
+ */
+public final class SpanEventEncoder {
+    private static final int BATCH_SPAN_EVENTS = 1;
+
+    private static final int BATCH_HEADER = 2;
+
+    private static final int HEADER_INSTANCE_ID = 1;
+
+    private static final int HEADER_APP_ID = 2;
+
+    private static final int SPAN_TRACE_ID = 1;
+
+    private static final int SPAN_SPAN_ID = 2;
+
+    private static final int SPAN_PARENT_SPAN_ID = 3;
+
+    private static final int SPAN_CLASS_NAME = 4;
+
+    private static final int SPAN_METHOD = 5;
+
+    private static final int SPAN_OPERATION_DESCRIPTION = 6;
+
+    private static final int SPAN_TYPE = 7;
+
+    private static final int SPAN_START_TIME = 8;
+
+    private static final int SPAN_DURATION = 9;
+
+    private static final int SPAN_ERROR = 10;
+
+    private static final int SPAN_ERROR_INFO = 11;
+
+    private static final int SPAN_ASYNC = 12;
+
+    private static final int SPAN_SOURCE_INFO = 13;
+
+    private static final int SPAN_TARGET_INFO = 14;
+
+    private static final int SPAN_TAGS = 15;
+
+    private static final int ENDPOINT_ADDRESS = 1;
+
+    private static final int ENDPOINT_CLASS_NAME = 2;
+
+    private static final int ENDPOINT_METHOD = 3;
+
+    private static final int ENTRY_KEY = 1;
+
+    private static final int ENTRY_VALUE = 2;
+
+    private SpanEventEncoder() {
+    }
+
+    /**
+     * Encode the span events into a SpanEventBatch
+     *
+     * @param header header of the node sending the span events
+     * @param spanEvents span events
+     * @return serialized SpanEventBatch
+     */
+    public static byte[] encode(TracingMessageHeader header, List<SpanEvent> spanEvents) {
+        int[] sizes = new int[spanEvents.size()];
+        int headerSize = computeHeaderSize(header);
+        int batchSize = computeMessageSize(BATCH_HEADER, headerSize);
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = computeSpanEventSize(spanEvents.get(i));
+            batchSize += CodedOutputStream.computeTagSize(BATCH_SPAN_EVENTS)
+                    + CodedOutputStream.computeUInt32SizeNoTag(sizes[i]) + sizes[i];
+        }
+        byte[] result = new byte[batchSize];
+        CodedOutputStream output = CodedOutputStream.newInstance(result);
+        try {
+            output.writeTag(BATCH_HEADER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            output.writeUInt32NoTag(headerSize);
+            writeString(output, HEADER_INSTANCE_ID, header.getInstanceId());
+            writeString(output, HEADER_APP_ID, header.getAppId());
+            for (int i = 0; i < sizes.length; i++) {
+                output.writeTag(BATCH_SPAN_EVENTS, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+                output.writeUInt32NoTag(sizes[i]);
+                writeSpanEvent(output, spanEvents.get(i));
+            }
+            output.checkNoSpaceLeft();
+        } catch (IOException e) {
+            // The array is sized exactly, which is never expected
+            throw new IllegalStateException("Failed to encode span events.", e);
+        }
+        return result;
+    }
+
+    private static int computeHeaderSize(TracingMessageHeader header) {
+        return computeStringSize(HEADER_INSTANCE_ID, header.getInstanceId())
+                + computeStringSize(HEADER_APP_ID, header.getAppId());
+    }
+
+    private static int computeSpanEventSize(SpanEvent spanEvent) {
+        int size = computeStringSize(SPAN_TRACE_ID, spanEvent.getTraceId())
+                + computeStringSize(SPAN_SPAN_ID, spanEvent.getSpanId())
+                + computeStringSize(SPAN_PARENT_SPAN_ID, spanEvent.getParentSpanId())
+                + computeStringSize(SPAN_CLASS_NAME, spanEvent.getClassName())
+                + computeStringSize(SPAN_METHOD, spanEvent.getMethod())
+                + computeStringSize(SPAN_OPERATION_DESCRIPTION, spanEvent.getOperationDescription())
+                + computeStringSize(SPAN_TYPE, spanEvent.getType())
+                + computeInt64Size(SPAN_START_TIME, spanEvent.getStartTime())
+                + computeInt64Size(SPAN_DURATION, getDuration(spanEvent))
+                + computeBoolSize(SPAN_ERROR, spanEvent.isError())
+                + computeStringSize(SPAN_ERROR_INFO, spanEvent.getErrorInfo())
+                + computeBoolSize(SPAN_ASYNC, spanEvent.isAsync());
+        SourceInfo sourceInfo = spanEvent.getSourceInfo();
+        if (sourceInfo != null) {
+            size += computeMessageSize(SPAN_SOURCE_INFO,
+                    computeEndpointSize(sourceInfo.getAddress(), sourceInfo.getClassName(), sourceInfo.getMethod()));
+        }
+        TargetInfo targetInfo = spanEvent.getTargetInfo();
+        if (targetInfo != null) {
+            size += computeMessageSize(SPAN_TARGET_INFO,
+                    computeEndpointSize(targetInfo.getAddress(), targetInfo.getClassName(), targetInfo.getMethod()));
+        }
+        if (spanEvent.getTags() != null) {
+            for (Map.Entry<String, String> entry : spanEvent.getTags().entrySet()) {
+                size += computeMessageSize(SPAN_TAGS, computeEntrySize(entry));
+            }
+        }
+        return size;
+    }
+
+    private static void writeSpanEvent(CodedOutputStream output, SpanEvent spanEvent) throws IOException {
+        writeString(output, SPAN_TRACE_ID, spanEvent.getTraceId());
+        writeString(output, SPAN_SPAN_ID, spanEvent.getSpanId());
+        writeString(output, SPAN_PARENT_SPAN_ID, spanEvent.getParentSpanId());
+        writeString(output, SPAN_CLASS_NAME, spanEvent.getClassName());
+        writeString(output, SPAN_METHOD, spanEvent.getMethod());
+        writeString(output, SPAN_OPERATION_DESCRIPTION, spanEvent.getOperationDescription());
+        writeString(output, SPAN_TYPE, spanEvent.getType());
+        writeInt64(output, SPAN_START_TIME, spanEvent.getStartTime());
+        writeInt64(output, SPAN_DURATION, getDuration(spanEvent));
+        writeBool(output, SPAN_ERROR, spanEvent.isError());
+        writeString(output, SPAN_ERROR_INFO, spanEvent.getErrorInfo());
+        writeBool(output, SPAN_ASYNC, spanEvent.isAsync());
+        SourceInfo sourceInfo = spanEvent.getSourceInfo();
+        if (sourceInfo != null) {
+            writeEndpoint(output, SPAN_SOURCE_INFO, sourceInfo.getAddress(), sourceInfo.getClassName(),
+                    sourceInfo.getMethod());
+        }
+        TargetInfo targetInfo = spanEvent.getTargetInfo();
+        if (targetInfo != null) {
+            writeEndpoint(output, SPAN_TARGET_INFO, targetInfo.getAddress(), targetInfo.getClassName(),
+                    targetInfo.getMethod());
+        }
+        if (spanEvent.getTags() != null) {
+            for (Map.Entry<String, String> entry : spanEvent.getTags().entrySet()) {
+                output.writeTag(SPAN_TAGS, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+                output.writeUInt32NoTag(computeEntrySize(entry));
+                writeString(output, ENTRY_KEY, entry.getKey());
+                writeString(output, ENTRY_VALUE, entry.getValue());
+            }
+        }
+    }
+
+    private static long getDuration(SpanEvent spanEvent) {
+        return Math.max(0L, spanEvent.getEndTime() - spanEvent.getStartTime());
+    }
+
+    private static int computeEndpointSize(String address, String className, String method) {
+        return computeStringSize(ENDPOINT_ADDRESS, address) + computeStringSize(ENDPOINT_CLASS_NAME, className)
+                + computeStringSize(ENDPOINT_METHOD, method);
+    }
+
+    private static void writeEndpoint(CodedOutputStream output, int fieldNumber, String address, String className,
+            String method) throws IOException {
+        output.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        output.writeUInt32NoTag(computeEndpointSize(address, className, method));
+        writeString(output, ENDPOINT_ADDRESS, address);
+        writeString(output, ENDPOINT_CLASS_NAME, className);
+        writeString(output, ENDPOINT_METHOD, method);
+    }
+
+    private static int computeEntrySize(Map.Entry<String, String> entry) {
+        return computeStringSize(ENTRY_KEY, entry.getKey()) + computeStringSize(ENTRY_VALUE, entry.getValue());
+    }
+
+    private static int computeMessageSize(int fieldNumber, int size) {
+        return CodedOutputStream.computeTagSize(fieldNumber) + CodedOutputStream.computeUInt32SizeNoTag(size) + size;
+    }
+
+    private static int computeStringSize(int fieldNumber, String value) {
+        return value == null || value.isEmpty() ? 0 : CodedOutputStream.computeStringSize(fieldNumber, value);
+    }
+
+    private static int computeInt64Size(int fieldNumber, long value) {
+        return value == 0L ? 0 : CodedOutputStream.computeInt64Size(fieldNumber, value);
+    }
+
+    private static int computeBoolSize(int fieldNumber, boolean value) {
+        return value ? CodedOutputStream.computeBoolSize(fieldNumber, true) : 0;
+    }
+
+    private static void writeString(CodedOutputStream output, int fieldNumber, String value) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            output.writeString(fieldNumber, value);
+        }
+    }
+
+    private static void writeInt64(CodedOutputStream output, int fieldNumber, long value) throws IOException {
+        if (value != 0L) {
+            output.writeInt64(fieldNumber, value);
+        }
+    }
+
+    private static void writeBool(CodedOutputStream output, int fieldNumber, boolean value) throws IOException {
+        if (value) {
+            output.writeBool(fieldNumber, true);
+        }
+    }
+}
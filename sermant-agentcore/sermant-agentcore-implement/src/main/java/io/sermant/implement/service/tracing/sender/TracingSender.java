@@ -16,25 +16,31 @@
 
 package io.sermant.implement.service.tracing.sender;
 
-import com.alibaba.fastjson.JSON;
-import com.alibaba.fastjson.serializer.SerializerFeature;
-
+import io.sermant.core.common.BootArgsIndexer;
 import io.sermant.core.common.LoggerFactory;
+import io.sermant.core.common.MpscRingBuffer;
+import io.sermant.core.config.ConfigManager;
 import io.sermant.core.service.ServiceManager;
 import io.sermant.core.service.send.api.GatewayClient;
 import io.sermant.core.service.tracing.common.SpanEvent;
+import io.sermant.core.service.tracing.config.TracingConfig;
 import io.sermant.implement.service.send.netty.pojo.Message;
 
-import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
-import java.util.Optional;
-import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 import java.util.logging.Logger;
 
 /**
  * Tracing message sender
+ * <p>The span events are offered into a lock-free ring buffer by the business threads, and sent by the sender thread
+ * in batches of the compact protobuf encoding. A batch is sent when it is full or its first span event has waited for
+ * the flush interval. The idle sender thread parks until a span event is offered or the pending batch is due
  *
  * @author luanwenfei
  * @since 2022-03-04
@@ -42,15 +48,27 @@ import java.util.logging.Logger;
 public class TracingSender {
     private static final Logger LOGGER = LoggerFactory.getLogger();
 
-    private static final int MAX_SPAN_EVENT_COUNT = 512;
+    /**
+     * Max time to park when no span event is pending, the thread wakes up periodically to log the discarded span events
+     */
+    private static final long IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(1L);
 
-    private static final long TRACING_SENDER_MINIMAL_INTERVAL = 1000L;
+    /**
+     * Minimal interval (ms) to log the discarded span events
+     */
+    private static final long DISCARD_LOG_INTERVAL = 60000L;
 
     private static final long STOP_TIME_OUT = 3000L;
 
     private static TracingSender tracingSender = null;
 
-    private final ArrayBlockingQueue<SpanEvent> spanEvents;
+    private final MpscRingBuffer<SpanEvent> spanEvents;
+
+    private final int batchSize;
+
+    private final long flushIntervalNanos;
+
+    private final AtomicLong discardedCount = new AtomicLong();
 
     private ExecutorService executorService;
 
@@ -59,10 +77,23 @@ public class TracingSender {
     /**
      * Flag that enable and disable the current service
      */
-    private boolean isSending;
+    private volatile boolean isSending;
+
+    /**
+     * Thread running the send task
+     */
+    private volatile Thread senderThread;
+
+    /**
+     * Whether the sender thread is about to park or parked, the producers only unpark it in that case
+     */
+    private volatile boolean isIdle;
 
     private TracingSender() {
-        spanEvents = new ArrayBlockingQueue<>(MAX_SPAN_EVENT_COUNT);
+        TracingConfig tracingConfig = ConfigManager.getConfig(TracingConfig.class);
+        spanEvents = new MpscRingBuffer<>(Math.max(1, tracingConfig.getBufferSize()));
+        batchSize = Math.max(1, tracingConfig.getBatchSize());
+        flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, tracingConfig.getFlushInterval()));
     }
 
     /**
@@ -91,9 +122,7 @@ public class TracingSender {
             executorService = Executors.newSingleThreadExecutor(
                     runnable -> new Thread(runnable, "tracing-sender-thread"));
         }
-        SpanEventSendThread spanEventSendThread = new SpanEventSendThread();
-        spanEventSendThread.setName("tracing-sender-thread");
-        executorService.execute(spanEventSendThread);
+        executorService.execute(new SpanEventSendTask());
     }
 
     /**
@@ -104,35 +133,36 @@ public class TracingSender {
             LOGGER.info("TracingSender has stopped.");
         }
         stopSoft(STOP_TIME_OUT);
-        this.isSending = false;
     }
 
     /**
-     * Check whether the block queue is empty or closes after waiting for timeout
+     * Stop the sender thread, which sends the remaining span events before exiting, or closes after waiting for
+     * timeout
      *
      * @param timeOut timeout
      */
     public void stopSoft(long timeOut) {
-        long timeDuring = 0L;
-        while (!spanEvents.isEmpty() && timeDuring < timeOut) {
-            try {
-                Thread.sleep(TRACING_SENDER_MINIMAL_INTERVAL);
-                timeDuring += TRACING_SENDER_MINIMAL_INTERVAL;
-            } catch (InterruptedException e) {
-                LOGGER.severe(String.format(Locale.ROOT,
-                        "Exception [%s] occurs for [%s] when waiting to stop TracingSender service. ", e.getClass(),
-                        e.getMessage()));
-            }
+        this.isSending = false;
+        if (executorService == null || executorService.isShutdown()) {
+            return;
         }
-        if (executorService != null && !executorService.isShutdown()) {
+        executorService.shutdown();
+        wakeUp();
+        try {
+            if (!executorService.awaitTermination(timeOut, TimeUnit.MILLISECONDS)) {
+                executorService.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            LOGGER.severe(String.format(Locale.ROOT,
+                    "Exception [%s] occurs for [%s] when waiting to stop TracingSender service. ", e.getClass(),
+                    e.getMessage()));
             executorService.shutdownNow();
         }
-        spanEvents.clear();
-        this.isSending = false;
     }
 
     /**
-     * Add SpanEvent to the blocking queue to send data to backend after the thread obtains it
+     * Add SpanEvent to the ring buffer to send data to backend after the thread obtains it, the span event is
+     * discarded if the buffer is full
      *
      * @param spanEvent span event
      */
@@ -140,56 +170,98 @@ public class TracingSender {
         if (spanEvent == null) {
             return;
         }
-        boolean isSuccessful = spanEvents.offer(spanEvent);
-        if (!isSuccessful) {
-            LOGGER.warning("Failed to offer spanEvent.");
+        if (!spanEvents.offer(spanEvent)) {
+            // Counted only, the sender thread logs the discarded span events
+            discardedCount.incrementAndGet();
+            return;
+        }
+        if (isIdle) {
+            wakeUp();
+        }
+    }
+
+    private void wakeUp() {
+        Thread thread = senderThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
         }
     }
 
     /**
-     * Tracing message sending thread
+     * Tracing message sending task
      *
      * @author luanwenfei
      * @since 2022-03-04
      */
-    private class SpanEventSendThread extends Thread {
+    private class SpanEventSendTask implements Runnable {
+        private final List<SpanEvent> batch = new ArrayList<>(batchSize);
+
+        private long batchStartTime;
+
+        private long lastDiscardLogTime;
+
         @Override
         public void run() {
             LOGGER.info("TracingSender started.");
-            while (isSending) {
-                Optional<TracingMessage> tracingMessage = buildTracingMessage();
-                if (!tracingMessage.isPresent()) {
-                    // If no SpanEvent is obtained, wait for a period of time and then execute it again
-                    try {
-                        Thread.sleep(TRACING_SENDER_MINIMAL_INTERVAL);
-                    } catch (InterruptedException e) {
-                        LOGGER.severe(String.format(Locale.ROOT, "Exception [%s] occurs for [%s] when waiting queue. ",
-                                e.getClass(), e.getMessage()));
-                    }
+            senderThread = Thread.currentThread();
+            while (isSending && !Thread.currentThread().isInterrupted()) {
+                int count = spanEvents.drainTo(batch, batchSize - batch.size());
+                if (count > 0 && batch.size() == count) {
+                    batchStartTime = System.nanoTime();
+                }
+                if (batch.size() >= batchSize
+                        || !batch.isEmpty() && System.nanoTime() - batchStartTime >= flushIntervalNanos) {
+                    sendBatch();
                     continue;
                 }
-                sendMessage(tracingMessage.get());
+                if (count == 0) {
+                    logDiscarded();
+                    park();
+                }
+            }
+            senderThread = null;
+
+            // Send the remaining span events when stopping
+            while (spanEvents.drainTo(batch, batchSize - batch.size()) > 0 || !batch.isEmpty()) {
+                sendBatch();
             }
+            logDiscarded();
             LOGGER.info("TracingSender stopped.");
         }
 
-        private Optional<TracingMessage> buildTracingMessage() {
-            SpanEvent spanEvent = spanEvents.poll();
-            if (spanEvent == null) {
-                return Optional.empty();
+        private void park() {
+            long parkNanos = batch.isEmpty() ? IDLE_PARK_NANOS
+                    : flushIntervalNanos - (System.nanoTime() - batchStartTime);
+            isIdle = true;
+
+            // Check again after the flag is published, a span event offered before it is not signaled
+            if (isSending && parkNanos > 0L && spanEvents.isEmpty()) {
+                LockSupport.parkNanos(this, parkNanos);
             }
+            isIdle = false;
+        }
 
-            // Node information needs to be obtained after the configuration is modified
-            TracingMessageHeader tracingMessageHeader = new TracingMessageHeader();
-            return Optional.of(new TracingMessage(spanEvent.getTraceId(), tracingMessageHeader, spanEvent));
+        private void sendBatch() {
+            // Node information needs to be obtained for each batch after the configuration is modified
+            TracingMessageHeader header = new TracingMessageHeader();
+            header.setInstanceId(BootArgsIndexer.getInstanceId());
+            header.setAppId(BootArgsIndexer.getAppName());
+            gatewayClient.send(SpanEventEncoder.encode(header, batch),
+                    Message.ServiceData.DataType.TRACING_BATCH_DATA_VALUE);
+            batch.clear();
         }
 
-        private void sendMessage(TracingMessage tracingMessage) {
-            LOGGER.info(String.format(Locale.ROOT, "Sending tracing message traceId : [%s] , spanId : [%s] .",
-                    tracingMessage.getBody().getTraceId(), tracingMessage.getBody().getSpanId()));
-            String serializedMessage = JSON.toJSONString(tracingMessage, SerializerFeature.WriteMapNullValue);
-            gatewayClient.send(serializedMessage.getBytes(StandardCharsets.UTF_8),
-                    Message.ServiceData.DataType.TRACING_DATA_VALUE);
+        private void logDiscarded() {
+            long now = System.currentTimeMillis();
+            if (now - lastDiscardLogTime < DISCARD_LOG_INTERVAL) {
+                return;
+            }
+            long discarded = discardedCount.getAndSet(0L);
+            if (discarded > 0L) {
+                lastDiscardLogTime = now;
+                LOGGER.warning(String.format(Locale.ROOT,
+                        "Discarded [%d] span events since the buffer of TracingSender is full.", discarded));
+            }
         }
     }
 }
@@ -0,0 +1,250 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.dynamicconfig;
+
+import io.sermant.core.service.dynamicconfig.DynamicConfigService;
+import io.sermant.core.service.dynamicconfig.common.DynamicConfigEvent;
+import io.sermant.core.service.dynamicconfig.common.DynamicConfigEventType;
+import io.sermant.core.service.dynamicconfig.common.DynamicConfigListener;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * BufferedDynamicConfigService test, the listeners are reconciled with a fake config center
+ *
+ * @author HapThorin
+ * @since 2025-01-27
+ */
+public class BufferedDynamicConfigServiceTest {
+    private static final String GROUP = "app=demo";
+
+    private final List<DynamicConfigEvent> events = new ArrayList<>();
+
+    private final DynamicConfigListener recorder = events::add;
+
+    private FakeConfigCenter configCenter;
+
+    private ConfigSnapshot snapshot;
+
+    private BufferedDynamicConfigService service;
+
+    @Before
+    public void setUp() throws IOException {
+        File dir = Files.createTempDirectory("buffered-dynamic-config").toFile();
+        dir.deleteOnExit();
+        File file = new File(dir, "snapshot.log");
+        file.deleteOnExit();
+        snapshot = ConfigSnapshot.open(file);
+        configCenter = new FakeConfigCenter();
+        service = new BufferedDynamicConfigService(configCenter, snapshot);
+    }
+
+    @After
+    public void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    public void testSuppressReplayedEqualEvent() {
+        snapshot.put("rule-a", GROUP, "a1");
+        configCenter.configs.put("rule-a", "a1");
+        Assert.assertTrue(service.addGroupListener(GROUP, recorder, true));
+
+        // The init event of the config center is the same as the replayed one
+        assertEvents(DynamicConfigEventType.INIT, "rule-a", "a1");
+        service.reconcile();
+        Assert.assertEquals(1, events.size());
+
+        // The later changes are notified
+        configCenter.listener.process(DynamicConfigEvent.modifyEvent("rule-a", GROUP, "a2"));
+        Assert.assertEquals(2, events.size());
+        Assert.assertEquals("a2", snapshot.get("rule-a", GROUP));
+    }
+
+    @Test
+    public void testKeepReplayedOnEmptyInit() {
+        snapshot.put("rule-a", GROUP, "a1");
+
+        // The config center is not reachable, the init event of the config listener has no content
+        configCenter.isReachable = false;
+        Assert.assertTrue(service.addConfigListener("rule-a", GROUP, recorder, true));
+        assertEvents(DynamicConfigEventType.INIT, "rule-a", "a1");
+        Assert.assertEquals("a1", snapshot.get("rule-a", GROUP));
+        service.reconcile();
+        Assert.assertEquals(1, events.size());
+
+        // The replayed configuration is reconciled once the config center is reachable
+        configCenter.isReachable = true;
+        configCenter.configs.put("rule-a", "a2");
+        service.reconcile();
+        Assert.assertEquals(2, events.size());
+        Assert.assertEquals(DynamicConfigEventType.MODIFY, events.get(1).getEventType());
+        Assert.assertEquals("a2", events.get(1).getContent());
+        Assert.assertEquals("a2", snapshot.get("rule-a", GROUP));
+    }
+
+    @Test
+    public void testDeleteMissingKey() {
+        snapshot.put("rule-a", GROUP, "a1");
+        snapshot.put("rule-b", GROUP, "b1");
+        configCenter.configs.put("rule-a", "a1");
+        addListenerUnreachable();
+        Assert.assertEquals(2, events.size());
+        service.reconcile();
+
+        // rule-a is the same as the replayed one, rule-b is not in the config center any more
+        Assert.assertEquals(3, events.size());
+        assertEvent(events.get(2), DynamicConfigEventType.DELETE, "rule-b", "b1");
+        Assert.assertNull(snapshot.get("rule-b", GROUP));
+        Assert.assertEquals("a1", snapshot.get("rule-a", GROUP));
+
+        // All configurations are reconciled
+        configCenter.configs.put("rule-a", "a2");
+        service.reconcile();
+        Assert.assertEquals(3, events.size());
+    }
+
+    @Test
+    public void testDeleteListedKeyWithoutContent() {
+        snapshot.put("rule-a", GROUP, "a1");
+        configCenter.configs.put("rule-a", "");
+        addListenerUnreachable();
+        service.reconcile();
+        Assert.assertEquals(2, events.size());
+        assertEvent(events.get(1), DynamicConfigEventType.DELETE, "rule-a", "a1");
+        Assert.assertNull(snapshot.get("rule-a", GROUP));
+    }
+
+    @Test
+    public void testLiveEventWinsOverConfirm() {
+        snapshot.put("rule-a", GROUP, "a1");
+        configCenter.configs.put("rule-a", "a2");
+        addListenerUnreachable();
+
+        // The config center pushes a newer configuration after it is got by the reconciliation
+        configCenter.onGetConfig = () -> configCenter.listener.process(
+                DynamicConfigEvent.modifyEvent("rule-a", GROUP, "a3"));
+        service.reconcile();
+        Assert.assertEquals(2, events.size());
+        assertEvent(events.get(1), DynamicConfigEventType.MODIFY, "rule-a", "a3");
+        Assert.assertEquals("a3", snapshot.get("rule-a", GROUP));
+    }
+
+    /**
+     * Add the group listener while the config center is not reachable, so it is only notified of the snapshot
+     */
+    private void addListenerUnreachable() {
+        configCenter.isReachable = false;
+        Assert.assertTrue(service.addGroupListener(GROUP, recorder, true));
+        configCenter.isReachable = true;
+    }
+
+    private void assertEvents(DynamicConfigEventType type, String key, String content) {
+        Assert.assertEquals(1, events.size());
+        assertEvent(events.get(0), type, key, content);
+    }
+
+    private static void assertEvent(DynamicConfigEvent event, DynamicConfigEventType type, String key,
+            String content) {
+        Assert.assertEquals(type, event.getEventType());
+        Assert.assertEquals(key, event.getKey());
+        Assert.assertEquals(GROUP, event.getGroup());
+        Assert.assertEquals(content, event.getContent());
+    }
+
+    /**
+     * Config center of a single group
+     *
+     * @since 2025-01-27
+     */
+    private static class FakeConfigCenter extends DynamicConfigService implements GroupKeysQuery {
+        private final Map<String, String> configs = new ConcurrentHashMap<>();
+
+        private volatile boolean isReachable = true;
+
+        private volatile DynamicConfigListener listener;
+
+        private Runnable onGetConfig;
+
+        @Override
+        public Optional<List<String>> queryKeysFromGroup(String group) {
+            return isReachable ? Optional.of(new ArrayList<>(configs.keySet())) : Optional.empty();
+        }
+
+        @Override
+        public Optional<String> doGetConfig(String key, String group) {
+            if (!isReachable) {
+                return Optional.empty();
+            }
+            String content = configs.get(key);
+            if (onGetConfig != null) {
+                onGetConfig.run();
+            }
+            return Optional.ofNullable(content);
+        }
+
+        @Override
+        public boolean doPublishConfig(String key, String group, String content) {
+            configs.put(key, content);
+            return true;
+        }
+
+        @Override
+        public boolean doRemoveConfig(String key, String group) {
+            return configs.remove(key) != null;
+        }
+
+        @Override
+        public boolean doAddConfigListener(String key, String group, DynamicConfigListener configListener) {
+            this.listener = configListener;
+            return true;
+        }
+
+        @Override
+        public boolean doRemoveConfigListener(String key, String group) {
+            return true;
+        }
+
+        @Override
+        public List<String> doListKeysFromGroup(String group) {
+            return isReachable ? new ArrayList<>(configs.keySet()) : new ArrayList<>();
+        }
+
+        @Override
+        public boolean doAddGroupListener(String group, DynamicConfigListener groupListener) {
+            this.listener = groupListener;
+            return true;
+        }
+
+        @Override
+        public boolean doRemoveGroupListener(String group) {
+            return true;
+        }
+    }
+}
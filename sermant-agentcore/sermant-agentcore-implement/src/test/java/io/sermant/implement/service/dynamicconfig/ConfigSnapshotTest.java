@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.dynamicconfig;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * ConfigSnapshot test
+ *
+ * @author HapThorin
+ * @since 2025-01-27
+ */
+public class ConfigSnapshotTest {
+    private static final String GROUP = "app=demo";
+
+    @Test
+    public void testReload() throws IOException {
+        File file = createFile();
+        try (ConfigSnapshot snapshot = ConfigSnapshot.open(file)) {
+            snapshot.put("rule-a", GROUP, "a1");
+            snapshot.put("rule-b", GROUP, "b1");
+            snapshot.put("rule-a", GROUP, "a2");
+            snapshot.remove("rule-b", GROUP);
+            snapshot.put("rule-c", "other", "c1");
+        }
+        try (ConfigSnapshot snapshot = ConfigSnapshot.open(file)) {
+            Assert.assertEquals(1, snapshot.getGroup(GROUP).size());
+            Assert.assertEquals("a2", snapshot.get("rule-a", GROUP));
+            Assert.assertNull(snapshot.get("rule-b", GROUP));
+            Assert.assertEquals("c1", snapshot.get("rule-c", "other"));
+        }
+    }
+
+    @Test
+    public void testDiscardTornRecord() throws IOException {
+        File file = createFile();
+        try (ConfigSnapshot snapshot = ConfigSnapshot.open(file)) {
+            snapshot.put("rule-a", GROUP, "a1");
+            snapshot.put("rule-b", GROUP, "b1");
+        }
+
+        // Lose the end of the last record as if the process crashed when writing it
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            randomAccessFile.setLength(randomAccessFile.length() - 1);
+        }
+        try (ConfigSnapshot snapshot = ConfigSnapshot.open(file)) {
+            Assert.assertEquals("a1", snapshot.get("rule-a", GROUP));
+            Assert.assertNull(snapshot.get("rule-b", GROUP));
+            snapshot.put("rule-c", GROUP, "c1");
+        }
+        try (ConfigSnapshot snapshot = ConfigSnapshot.open(file)) {
+            Assert.assertEquals("c1", snapshot.get("rule-c", GROUP));
+        }
+    }
+
+    @Test
+    public void testCompact() throws IOException {
+        File file = createFile();
+        try (ConfigSnapshot snapshot = ConfigSnapshot.open(file)) {
+            for (int i = 0; i < 5000; i++) {
+                snapshot.put("rule", GROUP, "value-" + i);
+            }
+        }
+        Assert.assertTrue(file.length() < 1024 * 64);
+        try (ConfigSnapshot snapshot = ConfigSnapshot.open(file)) {
+            Assert.assertEquals("value-4999", snapshot.get("rule", GROUP));
+        }
+    }
+
+    @Test
+    public void testDiscardUnknownFormat() throws IOException {
+        File file = createFile();
+        Files.write(file.toPath(), "rule=value".getBytes("UTF-8"));
+        try (ConfigSnapshot snapshot = ConfigSnapshot.open(file)) {
+            Assert.assertTrue(snapshot.getGroup(GROUP).isEmpty());
+            snapshot.put("rule", GROUP, "value");
+        }
+        try (ConfigSnapshot snapshot = ConfigSnapshot.open(file)) {
+            Assert.assertEquals("value", snapshot.get("rule", GROUP));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testOpenTwice() throws IOException {
+        File file = createFile();
+        try (ConfigSnapshot ignored = ConfigSnapshot.open(file)) {
+            ConfigSnapshot.open(file);
+        }
+    }
+
+    @Test
+    public void testDisableWhenRewrittenLogLocked() throws IOException {
+        File file = createFile();
+        File temp = new File(file.getPath() + ".tmp");
+        temp.deleteOnExit();
+
+        try (ConfigSnapshot snapshot = ConfigSnapshot.open(file)) {
+            // The new log replacing the snapshot is locked by someone else
+            try (FileChannel tempChannel = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE); FileLock ignored = tempChannel.lock()) {
+                for (int i = 0; i < 2000; i++) {
+                    snapshot.put("rule", GROUP, "value-" + i);
+                }
+            }
+
+            // The configurations are still kept in the memory
+            Assert.assertEquals("value-1999", snapshot.get("rule", GROUP));
+        }
+        try (ConfigSnapshot snapshot = ConfigSnapshot.open(file)) {
+            // The snapshot is not written after it is disabled by the first compaction
+            Assert.assertEquals("value-1023", snapshot.get("rule", GROUP));
+        }
+    }
+
+    private static File createFile() throws IOException {
+        File dir = Files.createTempDirectory("config-snapshot").toFile();
+        dir.deleteOnExit();
+        File file = new File(dir, "snapshot.log");
+        file.deleteOnExit();
+        return file;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.dynamicconfig.kie.client.http;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpVersion;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AsyncHttpClient test, the requests are sent to a local http server
+ *
+ * @author zhouss
+ * @since 2025-01-27
+ */
+public class AsyncHttpClientTest {
+    private static final long TIMEOUT_MS = 3000L;
+
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private final Set<Channel> openChannels = ConcurrentHashMap.newKeySet();
+
+    private final CountDownLatch closedLatch = new CountDownLatch(1);
+
+    private EventLoopGroup serverGroup;
+
+    private String address;
+
+    private AsyncHttpClient client;
+
+    @Before
+    public void setUp() throws InterruptedException {
+        serverGroup = new NioEventLoopGroup(1);
+        Channel serverChannel = new ServerBootstrap().group(serverGroup).channel(NioServerSocketChannel.class)
+                .childHandler(new ChannelInitializer<Channel>() {
+                    @Override
+                    protected void initChannel(Channel channel) {
+                        connections.incrementAndGet();
+                        openChannels.add(channel);
+                        channel.closeFuture().addListener(future -> {
+                            openChannels.remove(channel);
+                            closedLatch.countDown();
+                        });
+                        channel.pipeline().addLast(new HttpServerCodec())
+                                .addLast(new HttpObjectAggregator(65536))
+                                .addLast(new ServerHandler());
+                    }
+                }).bind("127.0.0.1", 0).sync().channel();
+        address = "http://127.0.0.1:" + ((InetSocketAddress) serverChannel.localAddress()).getPort();
+        client = new AsyncHttpClient(1, (int) TIMEOUT_MS);
+    }
+
+    @After
+    public void tearDown() {
+        client.close();
+        serverGroup.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testReuseConnectionAfterKeepAlive() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            HttpResult result = client.doGet(address + "/ok?index=" + i, TIMEOUT_MS).get(TIMEOUT_MS,
+                    TimeUnit.MILLISECONDS);
+            Assert.assertEquals(200, result.getCode());
+            Assert.assertEquals("/ok?index=" + i, result.getResult());
+        }
+        Assert.assertEquals(1, connections.get());
+
+        // The connection which the server closes is not reused
+        Assert.assertEquals(200, client.doGet(address + "/close", TIMEOUT_MS).get(TIMEOUT_MS,
+                TimeUnit.MILLISECONDS).getCode());
+        Assert.assertTrue(closedLatch.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(200, client.doGet(address + "/ok", TIMEOUT_MS).get(TIMEOUT_MS,
+                TimeUnit.MILLISECONDS).getCode());
+        Assert.assertEquals(2, connections.get());
+    }
+
+    @Test
+    public void testTimeoutClosesConnection() throws Exception {
+        long start = System.currentTimeMillis();
+        HttpResult result = client.doGet(address + "/hold", 200L).get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        Assert.assertTrue(result.isError());
+        Assert.assertTrue(System.currentTimeMillis() - start >= 200L);
+
+        // The response of the timed out request can not be read by the next request of the connection
+        Assert.assertTrue(closedLatch.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        Assert.assertTrue(openChannels.isEmpty());
+        HttpResult next = client.doGet(address + "/ok", TIMEOUT_MS).get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(200, next.getCode());
+        Assert.assertEquals(2, connections.get());
+    }
+
+    @Test
+    public void testConnectFailed() throws Exception {
+        serverGroup.shutdownGracefully(0, 0, TimeUnit.SECONDS).sync();
+        HttpResult result = client.doGet(address + "/ok", TIMEOUT_MS).get(TIMEOUT_MS * 2, TimeUnit.MILLISECONDS);
+        Assert.assertTrue(result.isError());
+    }
+
+    /**
+     * Responds with the uri of the request, the requests to /hold are never responded
+     *
+     * @since 2025-01-27
+     */
+    private static class ServerHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) {
+            if (request.uri().startsWith("/hold")) {
+                return;
+            }
+            FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+                    Unpooled.copiedBuffer(request.uri(), StandardCharsets.UTF_8));
+            response.headers().set(HttpHeaderNames.CONTENT_LENGTH, response.content().readableBytes());
+            if (request.uri().startsWith("/close")) {
+                response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+                ctx.writeAndFlush(response).addListener(future -> ctx.close());
+                return;
+            }
+            ctx.writeAndFlush(response);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.dynamicconfig.kie.listener;
+
+import io.sermant.implement.service.dynamicconfig.kie.client.ClientUrlManager;
+import io.sermant.implement.service.dynamicconfig.kie.client.kie.KieClient;
+import io.sermant.implement.service.dynamicconfig.kie.client.kie.KieRequest;
+import io.sermant.implement.service.dynamicconfig.kie.client.kie.KieResponse;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LongPollEngine test
+ *
+ * @author zhouss
+ * @since 2025-01-27
+ */
+public class LongPollEngineTest {
+    private static final long POLL_INTERVAL_MS = 2000L;
+
+    private static final long BACKOFF_MS = 3000L;
+
+    /**
+     * Tolerance of the timer wheel, whose tick is 100ms
+     */
+    private static final long TOLERANCE_MS = 300L;
+
+    private TestKieClient kieClient;
+
+    private LongPollEngine engine;
+
+    @Before
+    public void setUp() {
+        kieClient = new TestKieClient();
+        engine = new LongPollEngine(kieClient);
+    }
+
+    @After
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Test
+    public void testPollBatchByRevision() throws InterruptedException {
+        final TestSubscription first = new TestSubscription("app=first");
+        final TestSubscription second = new TestSubscription("app=second");
+        final TestSubscription other = new TestSubscription("app=other");
+        engine.poll(first);
+        engine.poll(second);
+        engine.poll(other);
+        final Map<TestSubscription, Poll> polls = takePolls(3, first, second, other);
+
+        polls.get(first).respond("5");
+        Thread.sleep(POLL_INTERVAL_MS / 4);
+        final long respondTime = System.currentTimeMillis();
+        polls.get(second).respond("5");
+        polls.get(other).respond("6");
+
+        // The second label group joins the poll of the first one waiting with the same revision
+        final Map<TestSubscription, Poll> nextPolls = takePolls(3, first, second, other);
+        Assert.assertEquals("5", nextPolls.get(second).revision);
+        Assert.assertEquals(nextPolls.get(first).sendTime, nextPolls.get(second).sendTime, TOLERANCE_MS / 3);
+        Assert.assertTrue(nextPolls.get(second).sendTime - respondTime < POLL_INTERVAL_MS - TOLERANCE_MS);
+        Assert.assertEquals("6", nextPolls.get(other).revision);
+        Assert.assertTrue(nextPolls.get(other).sendTime - respondTime >= POLL_INTERVAL_MS - TOLERANCE_MS);
+    }
+
+    @Test
+    public void testBackoffAfterFailure() throws InterruptedException {
+        final TestSubscription subscription = new TestSubscription("app=first");
+        engine.poll(subscription);
+        final long failTime = System.currentTimeMillis();
+        kieClient.polls.take().future.completeExceptionally(new IllegalStateException("request failed"));
+
+        final Poll retry = kieClient.polls.poll(BACKOFF_MS + POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        Assert.assertNotNull(retry);
+        Assert.assertTrue(retry.sendTime - failTime >= BACKOFF_MS - TOLERANCE_MS);
+        Assert.assertEquals(1, subscription.failCount);
+
+        // The fail count is reset by the successful response
+        retry.respond("5");
+        Assert.assertNotNull(kieClient.polls.poll(POLL_INTERVAL_MS * 2, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(0, subscription.failCount);
+    }
+
+    @Test
+    public void testSkipInactiveSubscription() throws InterruptedException {
+        final TestSubscription active = new TestSubscription("app=first");
+        final TestSubscription inactive = new TestSubscription("app=second");
+        engine.poll(active);
+        engine.poll(inactive);
+        final Map<TestSubscription, Poll> polls = takePolls(2, active, inactive);
+
+        // The label group is unsubscribed while its request is held by the server
+        inactive.isActive = false;
+        polls.get(active).respond("5");
+        polls.get(inactive).respond("5");
+        final Poll next = kieClient.polls.poll(POLL_INTERVAL_MS * 2, TimeUnit.MILLISECONDS);
+        Assert.assertNotNull(next);
+        Assert.assertEquals(active.kieRequest.getLabelCondition(), next.labelCondition);
+        Assert.assertNull(kieClient.polls.poll(TOLERANCE_MS, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(0, inactive.responseCount);
+
+        engine.poll(inactive);
+        Assert.assertNull(kieClient.polls.poll(TOLERANCE_MS, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testClose() throws InterruptedException {
+        final TestSubscription subscription = new TestSubscription("app=first");
+        engine.poll(subscription);
+        final Poll poll = kieClient.polls.take();
+        engine.close();
+        poll.respond("5");
+        engine.poll(subscription);
+        Assert.assertNull(kieClient.polls.poll(POLL_INTERVAL_MS + TOLERANCE_MS, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(0, subscription.responseCount);
+    }
+
+    private Map<TestSubscription, Poll> takePolls(int count, TestSubscription... subscriptions)
+            throws InterruptedException {
+        final Map<TestSubscription, Poll> polls = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            final Poll poll = kieClient.polls.poll(POLL_INTERVAL_MS * 2, TimeUnit.MILLISECONDS);
+            Assert.assertNotNull(poll);
+            for (TestSubscription subscription : subscriptions) {
+                if (subscription.kieRequest.getLabelCondition().equals(poll.labelCondition)) {
+                    polls.put(subscription, poll);
+                }
+            }
+        }
+        Assert.assertEquals(count, polls.size());
+        return polls;
+    }
+
+    /**
+     * Long polling request sent by the engine
+     *
+     * @since 2025-01-27
+     */
+    private static class Poll {
+        private final String labelCondition;
+
+        private final String revision;
+
+        private final long sendTime = System.currentTimeMillis();
+
+        private final CompletableFuture<KieResponse> future = new CompletableFuture<>();
+
+        Poll(KieRequest kieRequest) {
+            this.labelCondition = kieRequest.getLabelCondition();
+            this.revision = kieRequest.getRevision();
+        }
+
+        void respond(String newRevision) {
+            final KieResponse kieResponse = new KieResponse();
+            kieResponse.setRevision(newRevision);
+            kieResponse.setData(new ArrayList<>());
+            future.complete(kieResponse);
+        }
+    }
+
+    /**
+     * Kie client recording the long polling requests instead of sending them
+     *
+     * @since 2025-01-27
+     */
+    private static class TestKieClient extends KieClient {
+        private final BlockingQueue<Poll> polls = new LinkedBlockingQueue<>();
+
+        TestKieClient() {
+            super(new ClientUrlManager("http://127.0.0.1:30110"), "default", 1000);
+        }
+
+        @Override
+        public CompletableFuture<KieResponse> queryConfigurationsAsync(KieRequest request, long timeout,
+                Executor executor) {
+            final Poll poll = new Poll(request);
+            polls.add(poll);
+            return poll.future;
+        }
+    }
+
+    /**
+     * Subscription updating the revision of its request by the responses
+     *
+     * @since 2025-01-27
+     */
+    private static class TestSubscription implements LongPollEngine.Subscription {
+        private final KieRequest kieRequest;
+
+        private volatile boolean isActive = true;
+
+        private volatile int failCount;
+
+        private volatile int responseCount;
+
+        TestSubscription(String labelCondition) {
+            kieRequest = new KieRequest().setLabelCondition(labelCondition).setWait("20");
+        }
+
+        @Override
+        public KieRequest getKieRequest() {
+            return kieRequest;
+        }
+
+        @Override
+        public boolean isActive() {
+            return isActive;
+        }
+
+        @Override
+        public void onResponse(KieResponse kieResponse) {
+            responseCount++;
+            kieRequest.setRevision(kieResponse.getRevision());
+        }
+
+        @Override
+        public int getFailCount() {
+            return failCount;
+        }
+
+        @Override
+        public void setFailCount(int failCount) {
+            this.failCount = failCount;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.dynamicconfig.kie.listener;
+
+import io.sermant.implement.service.dynamicconfig.kie.client.kie.KieConfigEntity;
+import io.sermant.implement.service.dynamicconfig.kie.client.kie.KieRequest;
+import io.sermant.implement.service.dynamicconfig.kie.client.kie.KieResponse;
+import io.sermant.implement.utils.LabelGroupUtils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MergedSubscription test
+ *
+ * @author zhouss
+ * @since 2025-01-27
+ */
+public class MergedSubscriptionTest {
+    private static final String APP_GROUP = "app=demo&environment=prod";
+
+    private static final String SERVICE_GROUP = "app=demo&environment=prod&service=order";
+
+    @Test
+    public void testMergeLabelGroups() {
+        final TestSubscription appSubscription = new TestSubscription(APP_GROUP);
+        final TestSubscription serviceSubscription = new TestSubscription(SERVICE_GROUP);
+        final Map<String, String> appLabels = MergedSubscription.resolveLabels(
+                appSubscription.getKieRequest().getLabelCondition());
+        final Map<String, String> serviceLabels = MergedSubscription.resolveLabels(
+                serviceSubscription.getKieRequest().getLabelCondition());
+        Assert.assertEquals(LabelGroupUtils.resolveGroupLabels(SERVICE_GROUP), serviceLabels);
+
+        final MergedSubscription subscription = new MergedSubscription(serviceLabels, "20");
+        subscription.addMember(serviceSubscription, serviceLabels);
+        Assert.assertEquals(appLabels, subscription.getCommonLabels(appLabels));
+        subscription.addMember(appSubscription, appLabels);
+        Assert.assertFalse(subscription.getKieRequest().isAccurateMatchLabel());
+        Assert.assertEquals(appSubscription.getKieRequest().getLabelCondition(),
+                subscription.getKieRequest().getLabelCondition());
+        Assert.assertTrue(subscription.getCommonLabels(
+                MergedSubscription.resolveLabels(LabelGroupUtils.getLabelCondition("app=other"))).isEmpty());
+
+        final KieResponse kieResponse = new KieResponse();
+        kieResponse.setRevision("10");
+        kieResponse.setData(new ArrayList<>(Arrays.asList(entity("a", APP_GROUP), entity("b", SERVICE_GROUP),
+                entity("c", SERVICE_GROUP + "&version=1.0.0"))));
+        subscription.onResponse(kieResponse);
+        Assert.assertEquals(Arrays.asList("a"), appSubscription.keys);
+        Assert.assertEquals(Arrays.asList("b"), serviceSubscription.keys);
+        Assert.assertEquals("10", subscription.getKieRequest().getRevision());
+
+        serviceSubscription.isActive = false;
+        Assert.assertTrue(subscription.isActive());
+        appSubscription.isActive = false;
+        Assert.assertFalse(subscription.isActive());
+    }
+
+    @Test
+    public void testMemberJoinedWhileRequestInFlight() {
+        final TestSubscription serviceSubscription = new TestSubscription(SERVICE_GROUP);
+        final Map<String, String> serviceLabels = MergedSubscription.resolveLabels(
+                serviceSubscription.getKieRequest().getLabelCondition());
+        final MergedSubscription subscription = new MergedSubscription(serviceLabels, "20");
+        subscription.addMember(serviceSubscription, serviceLabels);
+        Assert.assertEquals(serviceSubscription.getKieRequest().getLabelCondition(),
+                subscription.getKieRequest().getLabelCondition());
+
+        // The app label group joins while the request queried with the labels of the service is in flight
+        final TestSubscription appSubscription = new TestSubscription(APP_GROUP);
+        appSubscription.getKieRequest().setRevision("8");
+        subscription.addMember(appSubscription, MergedSubscription.resolveLabels(
+                appSubscription.getKieRequest().getLabelCondition()));
+        subscription.onResponse(response("10", entity("b", SERVICE_GROUP)));
+        Assert.assertEquals(Arrays.asList("b"), serviceSubscription.keys);
+        Assert.assertNull(appSubscription.keys);
+
+        // The next request covers the app label group and queries all configurations for its older revision
+        final KieRequest nextRequest = subscription.getKieRequest();
+        Assert.assertEquals(appSubscription.getKieRequest().getLabelCondition(), nextRequest.getLabelCondition());
+        Assert.assertNull(nextRequest.getRevision());
+        subscription.onResponse(response("11", entity("a", APP_GROUP), entity("b", SERVICE_GROUP)));
+        Assert.assertEquals(Arrays.asList("a"), appSubscription.keys);
+        Assert.assertEquals(Arrays.asList("b"), serviceSubscription.keys);
+        Assert.assertEquals("11", subscription.getKieRequest().getRevision());
+    }
+
+    @Test
+    public void testMergeOnlySameApp() {
+        final Map<String, String> serviceLabels = LabelGroupUtils.resolveGroupLabels(SERVICE_GROUP);
+        final MergedSubscription subscription = new MergedSubscription(serviceLabels, "20");
+        subscription.addMember(new TestSubscription(SERVICE_GROUP), serviceLabels);
+        Assert.assertTrue(subscription.getCommonLabels(
+                LabelGroupUtils.resolveGroupLabels("app=other&environment=prod&service=order")).isEmpty());
+        Assert.assertEquals(LabelGroupUtils.resolveGroupLabels(APP_GROUP),
+                subscription.getCommonLabels(LabelGroupUtils.resolveGroupLabels(APP_GROUP + "&service=pay")));
+    }
+
+    @Test
+    public void testNarrowLabelsWhenMemberRemoved() {
+        final TestSubscription serviceSubscription = new TestSubscription(SERVICE_GROUP);
+        final TestSubscription appSubscription = new TestSubscription(APP_GROUP);
+        final Map<String, String> serviceLabels = LabelGroupUtils.resolveGroupLabels(SERVICE_GROUP);
+        final MergedSubscription subscription = new MergedSubscription(serviceLabels, "20");
+        subscription.addMember(serviceSubscription, serviceLabels);
+        subscription.addMember(appSubscription, LabelGroupUtils.resolveGroupLabels(APP_GROUP));
+        Assert.assertEquals(appSubscription.getKieRequest().getLabelCondition(),
+                subscription.getKieRequest().getLabelCondition());
+
+        appSubscription.isActive = false;
+        Assert.assertTrue(subscription.isActive());
+        Assert.assertEquals(serviceSubscription.getKieRequest().getLabelCondition(),
+                subscription.getKieRequest().getLabelCondition());
+    }
+
+    private static KieResponse response(String revision, KieConfigEntity... entities) {
+        final KieResponse kieResponse = new KieResponse();
+        kieResponse.setChanged(true);
+        kieResponse.setRevision(revision);
+        kieResponse.setData(new ArrayList<>(Arrays.asList(entities)));
+        return kieResponse;
+    }
+
+    private static KieConfigEntity entity(String key, String group) {
+        final KieConfigEntity entity = new KieConfigEntity();
+        entity.setKey(key);
+        entity.setValue(key);
+        entity.setLabels(new HashMap<>(LabelGroupUtils.resolveGroupLabels(group)));
+        return entity;
+    }
+
+    /**
+     * Subscription recording the keys of the last response
+     *
+     * @since 2025-01-27
+     */
+    private static class TestSubscription implements LongPollEngine.Subscription {
+        private final KieRequest kieRequest;
+
+        private List<String> keys;
+
+        private boolean isActive = true;
+
+        TestSubscription(String group) {
+            kieRequest = new KieRequest().setLabelCondition(LabelGroupUtils.getLabelCondition(group)).setWait("20");
+        }
+
+        @Override
+        public KieRequest getKieRequest() {
+            return kieRequest;
+        }
+
+        @Override
+        public boolean isActive() {
+            return isActive;
+        }
+
+        @Override
+        public void onResponse(KieResponse kieResponse) {
+            keys = new ArrayList<>();
+            for (KieConfigEntity entity : kieResponse.getData()) {
+                keys.add(entity.getKey());
+            }
+        }
+
+        @Override
+        public int getFailCount() {
+            return 0;
+        }
+
+        @Override
+        public void setFailCount(int failCount) {
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.dynamicconfig.nacos;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NacosListenerDispatcher test
+ *
+ * @author tangle
+ * @since 2025-01-27
+ */
+public class NacosListenerDispatcherTest {
+    private static final long TIMEOUT_SECONDS = 5L;
+
+    private NacosListenerDispatcher dispatcher;
+
+    @Before
+    public void setUp() {
+        dispatcher = new NacosListenerDispatcher(2);
+    }
+
+    @After
+    public void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void testProcessInOrderPerListener() throws InterruptedException {
+        final int taskCount = 100;
+        final List<Executor> executors = new ArrayList<>();
+        final List<List<Integer>> processed = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            executors.add(dispatcher.newSerialExecutor());
+            processed.add(Collections.synchronizedList(new ArrayList<>()));
+        }
+        final CountDownLatch latch = new CountDownLatch(taskCount * executors.size());
+        for (int i = 0; i < taskCount; i++) {
+            for (int j = 0; j < executors.size(); j++) {
+                final int index = i;
+                final List<Integer> result = processed.get(j);
+                executors.get(j).execute(() -> {
+                    result.add(index);
+                    latch.countDown();
+                });
+            }
+        }
+        Assert.assertTrue(latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        for (List<Integer> result : processed) {
+            Assert.assertEquals(taskCount, result.size());
+            for (int i = 0; i < taskCount; i++) {
+                Assert.assertEquals(i, (int) result.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testYieldAfterBatch() throws InterruptedException {
+        dispatcher.shutdown();
+        dispatcher = new NacosListenerDispatcher(1);
+        final Executor blocking = dispatcher.newSerialExecutor();
+        final Executor busy = dispatcher.newSerialExecutor();
+        final Executor other = dispatcher.newSerialExecutor();
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch finished = new CountDownLatch(1);
+        blocking.execute(() -> {
+            try {
+                blocked.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // The busy listener gets the only thread first, the other listener runs after its first batch
+        final List<String> processed = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < 40; i++) {
+            busy.execute(() -> processed.add("busy"));
+        }
+        other.execute(() -> processed.add("other"));
+        busy.execute(finished::countDown);
+        blocked.countDown();
+        Assert.assertTrue(finished.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        Assert.assertEquals(41, processed.size());
+        Assert.assertEquals(16, processed.indexOf("other"));
+    }
+
+    @Test
+    public void testContinueAfterFailure() throws InterruptedException {
+        final Executor executor = dispatcher.newSerialExecutor();
+        final CountDownLatch latch = new CountDownLatch(1);
+        executor.execute(() -> {
+            throw new IllegalStateException("failed");
+        });
+        executor.execute(latch::countDown);
+        Assert.assertTrue(latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testRejectAfterShutdown() throws InterruptedException {
+        final Executor executor = dispatcher.newSerialExecutor();
+        dispatcher.shutdown();
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        // The changes are discarded without throwing to the nacos client
+        executor.execute(latch::countDown);
+        executor.execute(latch::countDown);
+        Assert.assertFalse(latch.await(200L, TimeUnit.MILLISECONDS));
+    }
+}
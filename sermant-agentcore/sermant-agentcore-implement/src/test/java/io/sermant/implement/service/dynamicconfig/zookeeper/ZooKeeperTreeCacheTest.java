@@ -0,0 +1,275 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.dynamicconfig.zookeeper;
+
+import io.sermant.core.service.dynamicconfig.common.DynamicConfigEventType;
+
+import org.apache.zookeeper.AsyncCallback;
+import org.apache.zookeeper.KeeperException.Code;
+import org.apache.zookeeper.WatchedEvent;
+import org.apache.zookeeper.Watcher;
+import org.apache.zookeeper.data.Stat;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * ZooKeeperTreeCache test, the tree is loaded from an in-memory zookeeper client
+ *
+ * @author zhp
+ * @since 2025-01-27
+ */
+public class ZooKeeperTreeCacheTest {
+    private static final String ROOT_PATH = "/app";
+
+    private static final long TIMEOUT = 1000L;
+
+    private FakeZooKeeperClient client;
+
+    private ZooKeeperTreeCache treeCache;
+
+    private List<String> events;
+
+    @Before
+    public void setUp() {
+        client = new FakeZooKeeperClient();
+        client.write("/app", "");
+        client.write("/app/service", "");
+        client.write("/app/service/a", "1");
+        client.write("/app/service/b", "2");
+        client.write("/other", "3");
+        treeCache = new ZooKeeperTreeCache(ROOT_PATH);
+        events = new ArrayList<>();
+        treeCache.addListener((path, eventType, data) -> events.add(eventType + " " + path + " " + data));
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        client.close();
+    }
+
+    @Test
+    public void testLoadTree() {
+        Assert.assertTrue(treeCache.start(client, TIMEOUT));
+        Assert.assertTrue(treeCache.isInitialized());
+        Assert.assertEquals("1", treeCache.getData("/app/service/a"));
+        Assert.assertEquals("", treeCache.getData("/app/service"));
+        Assert.assertNull(treeCache.getData("/app/service/c"));
+        Assert.assertTrue(treeCache.contains("/app/service/b"));
+        Assert.assertFalse(treeCache.contains("/other"));
+        Assert.assertEquals(Arrays.asList("/app/service", "/app/service/a", "/app/service/b"),
+                treeCache.listAllNodes(ROOT_PATH));
+        Assert.assertTrue(treeCache.covers("/app/service/a"));
+        Assert.assertFalse(treeCache.covers("/application"));
+
+        // The first load is not published as the changes of the nodes
+        Assert.assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void testWatchEvents() {
+        Assert.assertTrue(treeCache.start(client, TIMEOUT));
+        client.write("/app/service/c", "3");
+        client.write("/app/service/a", "11");
+        client.delete("/app/service/b");
+        Assert.assertEquals(Arrays.asList("CREATE /app/service/c 3", "MODIFY /app/service/a 11",
+                "DELETE /app/service/b "), events);
+        Assert.assertEquals("11", treeCache.getData("/app/service/a"));
+        Assert.assertEquals(Arrays.asList("/app/service", "/app/service/a", "/app/service/c"),
+                treeCache.listAllNodes(ROOT_PATH));
+    }
+
+    @Test
+    public void testSameVersionPublishedOnce() {
+        Assert.assertTrue(treeCache.start(client, TIMEOUT));
+        client.isDeferred = true;
+
+        // Both watch events are handled after the second change, so both reads return the second change
+        client.write("/app/service/a", "11");
+        client.write("/app/service/a", "12");
+        client.runCallbacks();
+        Assert.assertEquals("12", treeCache.getData("/app/service/a"));
+        Assert.assertEquals(Collections.singletonList("MODIFY /app/service/a 12"), events);
+    }
+
+    @Test
+    public void testDiffAfterReconnect() {
+        Assert.assertTrue(treeCache.start(client, TIMEOUT));
+
+        // The changes made while the connection is lost are not watched
+        client.isConnected = false;
+        client.write("/app/service/a", "11");
+        client.delete("/app/service/b");
+        client.write("/app/service/c", "3");
+        Assert.assertTrue(events.isEmpty());
+        Assert.assertFalse(treeCache.restart(client));
+
+        client.isConnected = true;
+        Assert.assertTrue(treeCache.restart(client));
+        Collections.sort(events);
+        Assert.assertEquals(Arrays.asList("CREATE /app/service/c 3", "DELETE /app/service/b ",
+                "MODIFY /app/service/a 11"), events);
+        Assert.assertEquals(Arrays.asList("/app/service", "/app/service/a", "/app/service/c"),
+                treeCache.listAllNodes(ROOT_PATH));
+    }
+
+    @Test
+    public void testReadOwnWrites() {
+        Assert.assertTrue(treeCache.start(client, TIMEOUT));
+        client.isDeferred = true;
+        client.write("/app/service/a", "11");
+        treeCache.onWritten("/app/service/a");
+
+        // The watch event of the write is not handled yet, the node and its ancestors are not served by the tree
+        Assert.assertEquals("1", treeCache.getData("/app/service/a"));
+        Assert.assertFalse(treeCache.isSynced("/app/service/a"));
+        Assert.assertFalse(treeCache.isSynced(ROOT_PATH));
+        Assert.assertTrue(treeCache.isSynced("/app/service/b"));
+
+        client.runCallbacks();
+        Assert.assertTrue(treeCache.isSynced(ROOT_PATH));
+        Assert.assertEquals("11", treeCache.getData("/app/service/a"));
+        Assert.assertEquals(Collections.singletonList("MODIFY /app/service/a 11"), events);
+
+        client.delete("/app/service/b");
+        treeCache.onWritten("/app/service/b");
+        Assert.assertFalse(treeCache.isSynced("/app/service"));
+        client.runCallbacks();
+        Assert.assertTrue(treeCache.isSynced("/app/service"));
+        Assert.assertFalse(treeCache.contains("/app/service/b"));
+    }
+
+    /**
+     * In-memory zookeeper client, the callbacks and the watch events are executed in order on the calling thread, or
+     * queued until {@link #runCallbacks()} if deferred
+     *
+     * @since 2025-01-27
+     */
+    private static class FakeZooKeeperClient extends ZooKeeperClient {
+        private final Map<String, byte[]> tree = new TreeMap<>();
+
+        private final Map<String, Stat> stats = new TreeMap<>();
+
+        private final Queue<Runnable> callbacks = new ArrayDeque<>();
+
+        private final List<Watcher> watchers = new ArrayList<>();
+
+        private boolean isConnected = true;
+
+        private boolean isDeferred;
+
+        private long zxid;
+
+        FakeZooKeeperClient() {
+            super("127.0.0.1:2181", (int) TIMEOUT, event -> {
+            });
+        }
+
+        void write(String path, String data) {
+            final boolean isCreated = !tree.containsKey(path);
+            final Stat stat = new Stat();
+            stat.setMzxid(++zxid);
+            tree.put(path, data.getBytes(StandardCharsets.UTF_8));
+            stats.put(path, stat);
+            notifyWatchers(path, isCreated ? Watcher.Event.EventType.NodeCreated
+                    : Watcher.Event.EventType.NodeDataChanged);
+        }
+
+        void delete(String path) {
+            tree.remove(path);
+            stats.remove(path);
+            zxid++;
+            notifyWatchers(path, Watcher.Event.EventType.NodeDeleted);
+        }
+
+        void runCallbacks() {
+            Runnable callback;
+            while ((callback = callbacks.poll()) != null) {
+                callback.run();
+            }
+        }
+
+        private void notifyWatchers(String path, Watcher.Event.EventType type) {
+            if (!isConnected) {
+                return;
+            }
+            for (Watcher watcher : new ArrayList<>(watchers)) {
+                execute(() -> watcher.process(new WatchedEvent(type, Watcher.Event.KeeperState.SyncConnected,
+                        path)));
+            }
+        }
+
+        private void execute(Runnable callback) {
+            if (isDeferred) {
+                callbacks.add(callback);
+            } else {
+                callback.run();
+            }
+        }
+
+        private void checkConnected() {
+            if (!isConnected) {
+                throw new ZooKeeperConnectionException("disconnected");
+            }
+        }
+
+        @Override
+        public boolean addPersistentRecursiveWatches(String path, Watcher watcher) {
+            if (!isConnected) {
+                return false;
+            }
+            watchers.add(watcher);
+            return true;
+        }
+
+        @Override
+        public void getDataAsync(String path, AsyncCallback.DataCallback callback) {
+            checkConnected();
+
+            // The data is read when the request is sent, the callback may be executed later
+            final byte[] data = tree.get(path);
+            final Stat stat = stats.get(path);
+            final int rc = data == null ? Code.NONODE.intValue() : Code.OK.intValue();
+            execute(() -> callback.processResult(rc, path, null, data, stat));
+        }
+
+        @Override
+        public void getChildrenAsync(String path, AsyncCallback.ChildrenCallback callback) {
+            checkConnected();
+            final List<String> children = new ArrayList<>();
+            final String prefix = path + ZK_PATH_SEPARATOR;
+            for (String nodePath : tree.keySet()) {
+                if (nodePath.startsWith(prefix) && nodePath.indexOf(ZK_PATH_SEPARATOR, prefix.length()) < 0) {
+                    children.add(nodePath.substring(prefix.length()));
+                }
+            }
+            final int rc = tree.containsKey(path) ? Code.OK.intValue() : Code.NONODE.intValue();
+            execute(() -> callback.processResult(rc, path, null, children));
+        }
+    }
+}
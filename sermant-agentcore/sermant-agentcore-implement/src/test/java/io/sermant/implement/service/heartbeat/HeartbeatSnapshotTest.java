@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.heartbeat;
+
+import io.sermant.core.service.heartbeat.common.ExternalAgentInfo;
+import io.sermant.core.service.heartbeat.common.PluginInfo;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HeartbeatSnapshot test
+ *
+ * @author luanwenfei
+ * @since 2025-01-27
+ */
+public class HeartbeatSnapshotTest {
+    private static final List<String> IP = Collections.singletonList("127.0.0.1");
+
+    private final Map<String, PluginInfo> plugins = new HashMap<>();
+
+    private final Map<String, ExternalAgentInfo> externalAgents = new HashMap<>();
+
+    @Test
+    public void testUnchangedStateKeepsVersion() {
+        plugins.put("router", new PluginInfo("router", "1.0.0"));
+        HeartbeatSnapshot first = HeartbeatSnapshot.of("host", IP, plugins, externalAgents, null);
+        HeartbeatSnapshot second = HeartbeatSnapshot.of("host", IP, plugins, externalAgents, first);
+        Assert.assertEquals(1L, first.getVersion());
+        Assert.assertEquals(1L, second.getVersion());
+
+        HeartbeatDelta delta = second.diff(first);
+        Assert.assertEquals(1L, delta.getBaseVersion());
+        Assert.assertEquals(1L, delta.getVersion());
+        Assert.assertNull(delta.getPluginInfoMap());
+        Assert.assertNull(delta.getRemovedPlugins());
+        Assert.assertNull(delta.getIp());
+    }
+
+    @Test
+    public void testChangedPlugins() {
+        plugins.put("router", new PluginInfo("router", "1.0.0"));
+        plugins.put("monitor", new PluginInfo("monitor", "1.0.0"));
+        HeartbeatSnapshot base = HeartbeatSnapshot.of("host", IP, plugins, externalAgents, null);
+
+        plugins.remove("monitor");
+        PluginInfo router = new PluginInfo("router", "1.0.0");
+        router.setExtInfo(Collections.singletonMap("rule", "v2"));
+        plugins.put("router", router);
+        plugins.put("flowcontrol", new PluginInfo("flowcontrol", "1.0.0"));
+        HeartbeatSnapshot current = HeartbeatSnapshot.of("host", IP, plugins, externalAgents, base);
+        Assert.assertEquals(2L, current.getVersion());
+
+        HeartbeatDelta delta = current.diff(base);
+        Assert.assertEquals(1L, delta.getBaseVersion());
+        Assert.assertEquals(2L, delta.getVersion());
+        Assert.assertEquals(2, delta.getPluginInfoMap().size());
+        Assert.assertEquals("v2", delta.getPluginInfoMap().get("router").getExtInfo().get("rule"));
+        Assert.assertTrue(delta.getPluginInfoMap().containsKey("flowcontrol"));
+        Assert.assertEquals(Collections.singletonList("monitor"), delta.getRemovedPlugins());
+        Assert.assertNull(delta.getHostName());
+        Assert.assertNull(delta.getExternalAgentInfoMap());
+    }
+}
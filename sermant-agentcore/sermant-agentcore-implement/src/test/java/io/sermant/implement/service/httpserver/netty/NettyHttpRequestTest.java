@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.httpserver.netty;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * NettyHttpRequest test
+ *
+ * @author zwmagic
+ * @since 2025-01-27
+ */
+public class NettyHttpRequestTest {
+    @Test
+    public void testRequest() {
+        FullHttpRequest fullRequest = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST,
+                "//sermant//metrics/?name=jvm&empty", Unpooled.copiedBuffer("{\"id\":1}", StandardCharsets.UTF_8));
+        fullRequest.headers().set("Content-Type", "application/json");
+        fullRequest.headers().set("X-Forwarded-For", "10.0.0.1");
+        NettyHttpRequest request = new NettyHttpRequest(fullRequest);
+        try {
+            Assert.assertEquals("POST", request.getMethod());
+            Assert.assertEquals("//sermant//metrics/", request.getOriginalPath());
+            Assert.assertEquals("/sermant/metrics", request.getPath());
+            Assert.assertEquals("jvm", request.getParam("name"));
+            Assert.assertEquals("", request.getParam("empty"));
+            Assert.assertEquals("def", request.getParam("missing", "def"));
+            Assert.assertEquals("application/json", request.getContentType());
+            Assert.assertEquals("10.0.0.1", request.getIp());
+            Assert.assertEquals("application/json", request.getHeaders().get("content-type").get(0));
+            Assert.assertEquals("{\"id\":1}", request.getBody());
+            Assert.assertArrayEquals(request.getBody().getBytes(StandardCharsets.UTF_8), request.getBodyAsBytes());
+
+            // The body can be read again
+            Assert.assertEquals("{\"id\":1}", request.getBody());
+        } finally {
+            fullRequest.release();
+        }
+    }
+}
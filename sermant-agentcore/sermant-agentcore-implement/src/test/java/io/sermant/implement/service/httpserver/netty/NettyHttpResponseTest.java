@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.httpserver.netty;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.sermant.core.service.httpserver.exception.HttpServerException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * NettyHttpResponse test
+ *
+ * @author zwmagic
+ * @since 2025-01-27
+ */
+public class NettyHttpResponseTest {
+    private static final int BODY_SIZE = 20000;
+
+    private static final int CHUNK_SIZE = 8192;
+
+    @Test
+    public void testChunkedBody() throws IOException {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        NettyHttpResponse response = new NettyHttpResponse(context(channel), HttpVersion.HTTP_1_1, true);
+        response.setContentLength(BODY_SIZE);
+        OutputStream outputStream = response.getOutputStream();
+        outputStream.write(new byte[BODY_SIZE]);
+
+        // The status and headers and the full chunks are sent while the body is written
+        HttpResponse head = channel.readOutbound();
+        Assert.assertTrue(HttpUtil.isTransferEncodingChunked(head));
+        Assert.assertFalse(HttpUtil.isContentLengthSet(head));
+        assertChunk(channel.readOutbound(), CHUNK_SIZE);
+        assertChunk(channel.readOutbound(), CHUNK_SIZE);
+        Assert.assertNull(channel.readOutbound());
+
+        // The rest and the last chunk are sent when the stream is closed
+        response.finish();
+        assertChunk(channel.readOutbound(), BODY_SIZE - CHUNK_SIZE * 2);
+        Assert.assertTrue(channel.readOutbound() instanceof LastHttpContent);
+        Assert.assertTrue(channel.isOpen());
+        try {
+            outputStream.write(1);
+            Assert.fail("The stream is closed.");
+        } catch (IOException e) {
+            Assert.assertEquals("The stream is closed.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testCloseWithoutKeepAlive() throws IOException {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        NettyHttpResponse response = new NettyHttpResponse(context(channel), HttpVersion.HTTP_1_1, false);
+        response.getOutputStream().close();
+        Assert.assertFalse(channel.isOpen());
+    }
+
+    @Test
+    public void testEmptyBodyWhenNothingWritten() throws IOException {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        NettyHttpResponse response = new NettyHttpResponse(context(channel), HttpVersion.HTTP_1_1, true);
+        response.setStatus(204);
+        response.finish();
+        FullHttpResponse fullResponse = channel.readOutbound();
+        Assert.assertEquals(204, fullResponse.status().code());
+        Assert.assertEquals(0, HttpUtil.getContentLength(fullResponse));
+        fullResponse.release();
+    }
+
+    @Test
+    public void testCommittedOnce() {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        NettyHttpResponse response = new NettyHttpResponse(context(channel), HttpVersion.HTTP_1_1, true);
+        response.writeBody("body");
+        try {
+            response.getOutputStream();
+            Assert.fail("The response is committed.");
+        } catch (HttpServerException e) {
+            Assert.assertTrue(channel.isOpen());
+        }
+    }
+
+    private static ChannelHandlerContext context(EmbeddedChannel channel) {
+        return channel.pipeline().firstContext();
+    }
+
+    private static void assertChunk(Object chunk, int size) {
+        Assert.assertTrue(chunk instanceof HttpContent);
+        Assert.assertEquals(size, ((HttpContent) chunk).content().readableBytes());
+        ((HttpContent) chunk).release();
+    }
+}
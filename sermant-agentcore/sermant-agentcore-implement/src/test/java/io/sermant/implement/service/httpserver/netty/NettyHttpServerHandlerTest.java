@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.httpserver.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * NettyHttpServerHandler test, the requests are passed through the pipeline of {@link NettyHttpServerProvider}
+ *
+ * @author zwmagic
+ * @since 2025-01-27
+ */
+public class NettyHttpServerHandlerTest {
+    private static final int MAX_CONTENT_LENGTH = 65536;
+
+    private static final String REQUEST = "GET /unknown/path HTTP/1.1\r\nHost: localhost\r\n";
+
+    @Test
+    public void testKeepAlive() {
+        EmbeddedChannel channel = createChannel(Runnable::run);
+        for (int i = 0; i < 2; i++) {
+            channel.writeInbound(toBuffer(REQUEST + "\r\n"));
+            channel.runPendingTasks();
+            String response = readResponse(channel);
+            Assert.assertTrue(response.startsWith("HTTP/1.1 404"));
+            Assert.assertTrue(channel.isOpen());
+        }
+
+        // The connection is closed after the response when the client asks for it
+        channel.writeInbound(toBuffer(REQUEST + "Connection: close\r\n\r\n"));
+        channel.runPendingTasks();
+        Assert.assertTrue(readResponse(channel).startsWith("HTTP/1.1 404"));
+        Assert.assertFalse(channel.isOpen());
+    }
+
+    @Test
+    public void testPipelinedRequestsInOrder() {
+        StringBuilder handled = new StringBuilder();
+        EmbeddedChannel channel = createChannel(task -> {
+            handled.append('x');
+            task.run();
+        });
+        channel.writeInbound(toBuffer(REQUEST + "\r\n" + REQUEST + "\r\n"));
+        channel.runPendingTasks();
+        channel.runPendingTasks();
+        Assert.assertEquals("xx", handled.toString());
+        String responses = readResponse(channel);
+        Assert.assertEquals(0, responses.indexOf("HTTP/1.1 404"));
+        Assert.assertTrue(responses.indexOf("HTTP/1.1 404", 1) > 0);
+        Assert.assertTrue(channel.config().isAutoRead());
+    }
+
+    @Test
+    public void testServiceUnavailableWhenQueueFull() {
+        EmbeddedChannel channel = createChannel(task -> {
+            throw new RejectedExecutionException("full");
+        });
+        channel.writeInbound(toBuffer(REQUEST + "\r\n"));
+        channel.runPendingTasks();
+        Assert.assertTrue(readResponse(channel).startsWith("HTTP/1.1 503"));
+        Assert.assertTrue(channel.isOpen());
+        Assert.assertTrue(channel.config().isAutoRead());
+    }
+
+    private static EmbeddedChannel createChannel(Executor executor) {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        NettyHttpServerProvider.initPipeline(channel.pipeline(), MAX_CONTENT_LENGTH, executor);
+        return channel;
+    }
+
+    private static ByteBuf toBuffer(String content) {
+        return Unpooled.copiedBuffer(content, StandardCharsets.US_ASCII);
+    }
+
+    private static String readResponse(EmbeddedChannel channel) {
+        StringBuilder builder = new StringBuilder();
+        ByteBuf buf;
+        while ((buf = channel.readOutbound()) != null) {
+            builder.append(buf.toString(StandardCharsets.UTF_8));
+            buf.release();
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.metric;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.prometheus.client.exporter.common.TextFormat;
+import io.sermant.core.service.metric.api.Histogram;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * ScrapeCache test
+ *
+ * @author zwmagic
+ * @since 2025-01-27
+ */
+public class ScrapeCacheTest {
+    private static final long CACHE_TIME = 200L;
+
+    @Test
+    public void testShareWithinCacheTime() throws IOException {
+        CountingProvider provider = new CountingProvider();
+        ScrapeCache scrapeCache = new ScrapeCache(CACHE_TIME);
+        Assert.assertTrue(scrapeCache.isEnabled());
+        byte[] first = scrapeCache.get(TextFormat.CONTENT_TYPE_004, provider);
+        Assert.assertSame(first, scrapeCache.get(TextFormat.CONTENT_TYPE_004, provider));
+        Assert.assertEquals("scrape-1 " + TextFormat.CONTENT_TYPE_004, new String(first, StandardCharsets.UTF_8));
+        Assert.assertEquals(1, provider.scrapeCount);
+
+        // Each exposition format is rendered separately
+        byte[] openMetrics = scrapeCache.get(TextFormat.CONTENT_TYPE_OPENMETRICS_100, provider);
+        Assert.assertEquals("scrape-2 " + TextFormat.CONTENT_TYPE_OPENMETRICS_100,
+                new String(openMetrics, StandardCharsets.UTF_8));
+        Assert.assertEquals(2, provider.scrapeCount);
+    }
+
+    @Test
+    public void testRefreshAfterCacheTime() throws IOException, InterruptedException {
+        CountingProvider provider = new CountingProvider();
+        ScrapeCache scrapeCache = new ScrapeCache(CACHE_TIME);
+        byte[] first = scrapeCache.get(TextFormat.CONTENT_TYPE_004, provider);
+        Thread.sleep(CACHE_TIME + 50L);
+        byte[] second = scrapeCache.get(TextFormat.CONTENT_TYPE_004, provider);
+        Assert.assertEquals(2, provider.scrapeCount);
+        Assert.assertEquals("scrape-1 " + TextFormat.CONTENT_TYPE_004, new String(first, StandardCharsets.UTF_8));
+        Assert.assertEquals("scrape-2 " + TextFormat.CONTENT_TYPE_004, new String(second, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testDisabled() {
+        Assert.assertFalse(new ScrapeCache(0L).isEnabled());
+    }
+
+    /**
+     * Provider counting the scrapes
+     *
+     * @since 2025-01-27
+     */
+    private static class CountingProvider implements MeterRegistryProvider {
+        private int scrapeCount;
+
+        @Override
+        public String getType() {
+            return "counting";
+        }
+
+        @Override
+        public MeterRegistry getRegistry() {
+            return null;
+        }
+
+        @Override
+        public String getScrape() {
+            return null;
+        }
+
+        @Override
+        public void scrape(Writer writer, String contentType) throws IOException {
+            scrapeCount++;
+            writer.write("scrape-" + scrapeCount + " " + contentType);
+        }
+
+        @Override
+        public Histogram histogram(String metricName, List<Tag> tags, String description, int maxTimeSeries) {
+            return null;
+        }
+    }
+}
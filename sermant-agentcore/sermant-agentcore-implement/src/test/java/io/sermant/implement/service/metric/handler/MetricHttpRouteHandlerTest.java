@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.metric.handler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.prometheus.client.exporter.common.TextFormat;
+import io.sermant.core.utils.ReflectUtils;
+import io.sermant.implement.service.httpserver.netty.NettyHttpRequest;
+import io.sermant.implement.service.httpserver.netty.NettyHttpResponse;
+import io.sermant.implement.service.metric.MeterMetricServiceImpl;
+import io.sermant.implement.service.metric.prometheus.PrometheusMeterRegistryProvider;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * MetricHttpRouteHandler test
+ *
+ * @author zwmagic
+ * @since 2025-01-27
+ */
+public class MetricHttpRouteHandlerTest {
+    private static final String OPEN_METRICS_ACCEPT = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    private static final long CACHE_TIME = 60000L;
+
+    private final MetricHttpRouteHandler handler = new MetricHttpRouteHandler();
+
+    private PrometheusMeterRegistryProvider provider;
+
+    @Before
+    public void setUp() {
+        provider = new PrometheusMeterRegistryProvider();
+        Counter.builder("request.count").tag("method", "get").register(provider.getRegistry()).increment();
+        ReflectUtils.setStaticFieldValue(MeterMetricServiceImpl.class, "meterRegistryProvider", provider);
+    }
+
+    @After
+    public void tearDown() {
+        ReflectUtils.setStaticFieldValue(MeterMetricServiceImpl.class, "meterRegistryProvider", null);
+        ReflectUtils.setStaticFieldValue(MeterMetricServiceImpl.class, "scrapeCache", null);
+    }
+
+    @Test
+    public void testDefaultTextFormat() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        handle(channel, null);
+        HttpResponse head = channel.readOutbound();
+        Assert.assertEquals(200, head.status().code());
+        Assert.assertEquals(TextFormat.CONTENT_TYPE_004, head.headers().get(HttpHeaderNames.CONTENT_TYPE));
+
+        // The body streamed to the response is the same as the rendering of the registry
+        String body = readBody(channel, head);
+        Assert.assertEquals(expectedScrape(TextFormat.CONTENT_TYPE_004), body);
+        Assert.assertTrue(body.contains("request_count_total{method=\"get\",} 1.0"));
+    }
+
+    @Test
+    public void testOpenMetricsWhenAccepted() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        handle(channel, OPEN_METRICS_ACCEPT);
+        HttpResponse head = channel.readOutbound();
+        Assert.assertEquals(TextFormat.CONTENT_TYPE_OPENMETRICS_100,
+                head.headers().get(HttpHeaderNames.CONTENT_TYPE));
+        String body = readBody(channel, head);
+        Assert.assertEquals(expectedScrape(TextFormat.CONTENT_TYPE_OPENMETRICS_100), body);
+        Assert.assertTrue(body.endsWith("# EOF\n"));
+    }
+
+    @Test
+    public void testCachedScrape() throws Exception {
+        ReflectUtils.setStaticFieldValue(MeterMetricServiceImpl.class, "scrapeCache", newScrapeCache(CACHE_TIME));
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        handle(channel, OPEN_METRICS_ACCEPT);
+        HttpResponse head = channel.readOutbound();
+        Assert.assertEquals(TextFormat.CONTENT_TYPE_OPENMETRICS_100,
+                head.headers().get(HttpHeaderNames.CONTENT_TYPE));
+        Assert.assertEquals(expectedScrape(TextFormat.CONTENT_TYPE_OPENMETRICS_100),
+                readBody(channel, head));
+    }
+
+    private String expectedScrape(String contentType) {
+        return ((PrometheusMeterRegistry) provider.getRegistry()).scrape(contentType);
+    }
+
+    private void handle(EmbeddedChannel channel, String accept) throws Exception {
+        FullHttpRequest fullRequest = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/metrics",
+                Unpooled.EMPTY_BUFFER);
+        if (accept != null) {
+            fullRequest.headers().set(HttpHeaderNames.ACCEPT, accept);
+        }
+        try {
+            handler.handle(new NettyHttpRequest(fullRequest),
+                    new NettyHttpResponse(channel.pipeline().firstContext(), HttpVersion.HTTP_1_1, true));
+        } finally {
+            fullRequest.release();
+        }
+    }
+
+    private static Object newScrapeCache(long cacheTime) {
+        return ReflectUtils.buildWithConstructor("io.sermant.implement.service.metric.ScrapeCache",
+                new Class<?>[]{long.class}, new Object[]{cacheTime}).orElseThrow(IllegalStateException::new);
+    }
+
+    private static String readBody(EmbeddedChannel channel, HttpResponse head) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        if (head instanceof FullHttpResponse) {
+            append(body, ((FullHttpResponse) head).content());
+            ((FullHttpResponse) head).release();
+            return new String(body.toByteArray(), StandardCharsets.UTF_8);
+        }
+        Object chunk;
+        do {
+            chunk = channel.readOutbound();
+            Assert.assertTrue(chunk instanceof HttpContent);
+            append(body, ((HttpContent) chunk).content());
+            ((HttpContent) chunk).release();
+        } while (!(chunk instanceof LastHttpContent));
+        return new String(body.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static void append(ByteArrayOutputStream body, ByteBuf content) {
+        byte[] bytes = new byte[content.readableBytes()];
+        content.readBytes(bytes);
+        body.write(bytes, 0, bytes.length);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.metric.prometheus;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.prometheus.client.exporter.common.TextFormat;
+import io.sermant.core.service.metric.api.Histogram;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PrometheusMeterRegistryProvider test
+ *
+ * @author zwmagic
+ * @since 2025-01-27
+ */
+public class PrometheusMeterRegistryProviderTest {
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    @Test
+    public void testScrapeToWriter() throws IOException {
+        PrometheusMeterRegistryProvider provider = new PrometheusMeterRegistryProvider();
+        Counter.builder("request.count").tag("method", "get").register(provider.getRegistry()).increment();
+        PrometheusMeterRegistry registry = (PrometheusMeterRegistry) provider.getRegistry();
+        for (String contentType : new String[]{TextFormat.CONTENT_TYPE_004, TextFormat.CONTENT_TYPE_OPENMETRICS_100}) {
+            StringWriter writer = new StringWriter();
+            provider.scrape(writer, contentType);
+            Assert.assertEquals(registry.scrape(contentType), writer.toString());
+        }
+    }
+
+    @Test
+    public void testExportHistogram() throws IOException {
+        PrometheusMeterRegistryProvider provider = new PrometheusMeterRegistryProvider();
+        Histogram histogram = provider.histogram("rpc.latency", Collections.singletonList(Tag.of("method", "get")),
+                "latency", 10);
+        Assert.assertSame(histogram, provider.histogram("rpc.latency",
+                Collections.singletonList(Tag.of("method", "get")), "latency", 10));
+        histogram.record(3L, TimeUnit.MILLISECONDS);
+        String scrape = scrape(provider);
+        Assert.assertTrue(scrape.contains("rpc_latency_seconds_bucket{method=\"get\",le=\"0.005\",} 1.0"));
+        Assert.assertTrue(scrape.contains("rpc_latency_seconds_bucket{method=\"get\",le=\"0.001\",} 0.0"));
+        Assert.assertTrue(scrape.contains("rpc_latency_seconds_count{method=\"get\",} 1.0"));
+    }
+
+    @Test
+    public void testLimitTimeSeries() throws IOException {
+        PrometheusMeterRegistryProvider provider = new PrometheusMeterRegistryProvider();
+        for (int i = 0; i < 3; i++) {
+            provider.histogram("rpc.latency", Collections.singletonList(Tag.of("method", "m" + i)), null, 2)
+                    .record(1L, TimeUnit.MILLISECONDS);
+        }
+        String scrape = scrape(provider);
+        Assert.assertTrue(scrape.contains("method=\"m0\""));
+        Assert.assertTrue(scrape.contains("method=\"m1\""));
+        Assert.assertFalse(scrape.contains("method=\"m2\""));
+
+        // The histograms beyond the limit share one instance
+        Histogram unexported = provider.histogram("rpc.latency", Collections.singletonList(Tag.of("method", "m2")),
+                null, 2);
+        Assert.assertSame(unexported, provider.histogram("other.latency", Collections.emptyList(), null, 2));
+
+        // The existing histograms are still returned
+        Histogram histogram = provider.histogram("rpc.latency", Collections.singletonList(Tag.of("method", "m0")),
+                null, 2);
+        Assert.assertEquals(1L, histogram.count());
+    }
+
+    private static String scrape(PrometheusMeterRegistryProvider provider) throws IOException {
+        StringWriter writer = new StringWriter();
+        provider.scrape(writer, CONTENT_TYPE);
+        return writer.toString();
+    }
+}
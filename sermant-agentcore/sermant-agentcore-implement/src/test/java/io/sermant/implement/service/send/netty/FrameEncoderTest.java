@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.send.netty;
+
+import com.google.protobuf.ByteString;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * FrameEncoder test
+ *
+ * @author lilai
+ * @since 2025-01-27
+ */
+public class FrameEncoderTest {
+    private static final String HEARTBEAT = "{\"hostName\":\"host\",\"ip\":[\"127.0.0.1\"],\"service\":\"demo\","
+            + "\"instanceId\":\"f3a1\",\"version\":\"2.2.0\",\"pluginInfoMap\":{}}";
+
+    @Test
+    public void testFramesShareDeflateStream() throws DataFormatException {
+        FrameEncoder encoder = new FrameEncoder();
+        byte[] frame = HEARTBEAT.getBytes(StandardCharsets.UTF_8);
+        ByteString first = encoder.deflate(frame);
+        ByteString second = encoder.deflate(frame);
+
+        // The second frame refers to the first one in the deflate stream
+        Assert.assertTrue(second.size() < first.size());
+
+        Inflater inflater = new Inflater();
+        try {
+            Assert.assertArrayEquals(frame, inflate(inflater, first));
+            Assert.assertArrayEquals(frame, inflate(inflater, second));
+        } finally {
+            inflater.end();
+        }
+        encoder.handlerRemoved(null);
+    }
+
+    private static byte[] inflate(Inflater inflater, ByteString frame) throws DataFormatException {
+        inflater.setInput(frame.toByteArray());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        while (true) {
+            int length = inflater.inflate(buffer);
+            if (length > 0) {
+                output.write(buffer, 0, length);
+            } else if (inflater.needsDictionary()) {
+                inflater.setDictionary(FrameEncoder.DICTIONARY);
+            } else {
+                return output.toByteArray();
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.send.netty;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * NettyEventLoops test
+ *
+ * @author lilai
+ * @since 2025-01-27
+ */
+public class NettyEventLoopsTest {
+    @Test
+    public void testShareAndRelease() {
+        EventLoopGroup group = NettyEventLoops.acquire(2);
+        try {
+            Assert.assertSame(group, NettyEventLoops.acquire(4));
+            NettyEventLoops.release();
+            Assert.assertFalse(group.isShuttingDown());
+        } finally {
+            NettyEventLoops.release();
+        }
+        Assert.assertTrue(group.isShuttingDown());
+
+        // A new group is created by the next client
+        EventLoopGroup next = NettyEventLoops.acquire(1);
+        try {
+            Assert.assertNotSame(group, next);
+        } finally {
+            NettyEventLoops.release();
+        }
+
+        // Releasing more than acquired does not affect later clients
+        NettyEventLoops.release();
+        EventLoopGroup another = NettyEventLoops.acquire(1);
+        Assert.assertFalse(another.isShuttingDown());
+        NettyEventLoops.release();
+    }
+
+    @Test
+    public void testChannelClassMatchesGroup() {
+        EventLoopGroup group = NettyEventLoops.acquire(1);
+        try {
+            Assert.assertEquals(Epoll.isAvailable(), group instanceof EpollEventLoopGroup);
+            Assert.assertEquals(Epoll.isAvailable() ? EpollSocketChannel.class : NioSocketChannel.class,
+                    NettyEventLoops.getChannelClass(group));
+        } finally {
+            NettyEventLoops.release();
+        }
+        NioEventLoopGroup nioGroup = new NioEventLoopGroup(1);
+        try {
+            Assert.assertEquals(NioSocketChannel.class, NettyEventLoops.getChannelClass(nioGroup));
+        } finally {
+            nioGroup.shutdownGracefully();
+        }
+    }
+}
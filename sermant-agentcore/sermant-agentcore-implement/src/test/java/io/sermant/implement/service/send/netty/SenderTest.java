@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.send.netty;
+
+import com.google.protobuf.ByteString;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.sermant.implement.service.send.netty.pojo.Message.NettyMessage;
+import io.sermant.implement.service.send.netty.pojo.Message.ServiceData;
+import io.sermant.implement.service.send.netty.pojo.Message.ServiceData.DataType;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Sender test
+ *
+ * @author lilai
+ * @since 2025-01-27
+ */
+public class SenderTest {
+    private static final int SEGMENT_SIZE = 4096;
+
+    private static final long MAX_AGE = 60000L;
+
+    private final BlockingQueue<ServiceData> queue = new ArrayBlockingQueue<>(100);
+
+    @Test
+    public void testReplayEventsAfterReconnect() throws IOException {
+        // Events spilled while the backend is unreachable
+        SpillLog spillLog = SpillLog.open(createDir(), SEGMENT_SIZE, SEGMENT_SIZE * 8, MAX_AGE);
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(spillLog.append(DataType.EVENT_DATA_VALUE, event(i)));
+        }
+
+        // The sender of the new channel replays them once connected
+        EmbeddedChannel channel = new EmbeddedChannel();
+        new Sender(channel, queue, spillLog, Runnable::run).run();
+        NettyMessage message = channel.readOutbound();
+        Assert.assertNotNull(message);
+        Assert.assertEquals(3, message.getServiceDataCount());
+        for (int i = 0; i < 3; i++) {
+            ServiceData serviceData = message.getServiceData(i);
+            Assert.assertEquals(DataType.EVENT_DATA, serviceData.getDataType());
+            Assert.assertArrayEquals(event(i), serviceData.getData().toByteArray());
+        }
+        Assert.assertTrue(spillLog.isEmpty());
+    }
+
+    @Test
+    public void testKeepSpilledEventsUntilReconnected() throws IOException {
+        SpillLog spillLog = SpillLog.open(createDir(), SEGMENT_SIZE, SEGMENT_SIZE * 8, MAX_AGE);
+        spillLog.append(DataType.EVENT_DATA_VALUE, event(0));
+        EmbeddedChannel channel = new EmbeddedChannel();
+        channel.close();
+        new Sender(channel, queue, spillLog, Runnable::run).run();
+        Assert.assertFalse(spillLog.isEmpty());
+
+        // Replayed by the sender of the next connection
+        EmbeddedChannel reconnected = new EmbeddedChannel();
+        new Sender(reconnected, queue, spillLog, Runnable::run).run();
+        NettyMessage message = reconnected.readOutbound();
+        Assert.assertArrayEquals(event(0), message.getServiceData(0).getData().toByteArray());
+        Assert.assertTrue(spillLog.isEmpty());
+    }
+
+    @Test
+    public void testReplayOnExecutor() throws IOException {
+        SpillLog spillLog = SpillLog.open(createDir(), SEGMENT_SIZE, SEGMENT_SIZE * 8, MAX_AGE);
+        spillLog.append(DataType.EVENT_DATA_VALUE, event(0));
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        EmbeddedChannel channel = new EmbeddedChannel();
+        new Sender(channel, queue, spillLog, tasks::add).run();
+
+        // The spill log is neither read nor committed on the event loop
+        Assert.assertNull(channel.readOutbound());
+        Assert.assertEquals(1, tasks.size());
+        tasks.poll().run();
+        Assert.assertNotNull(channel.readOutbound());
+        Assert.assertFalse(spillLog.isEmpty());
+        tasks.poll().run();
+        Assert.assertTrue(spillLog.isEmpty());
+    }
+
+    @Test
+    public void testHoldBackAboveHighWaterMark() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(8, 16));
+        channel.write(Unpooled.wrappedBuffer(new byte[32]));
+        Assert.assertFalse(channel.isWritable());
+
+        Sender sender = new Sender(channel, queue);
+        queue.offer(ServiceData.newBuilder().setDataType(DataType.EVENT_DATA)
+                .setData(ByteString.copyFrom(event(0))).build());
+        sender.run();
+        Assert.assertEquals(1, queue.size());
+        Assert.assertEquals(1, sender.getHeldBackMessages());
+        Assert.assertEquals(event(0).length, sender.getHeldBackBytes());
+
+        // Draining resumes once the outbound buffer is flushed below the low water mark
+        channel.flush();
+        Assert.assertTrue(channel.isWritable());
+        ((ByteBuf) channel.readOutbound()).release();
+        sender.run();
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertEquals(0, sender.getHeldBackMessages());
+        Assert.assertEquals(0L, sender.getHeldBackBytes());
+        NettyMessage message = channel.readOutbound();
+        Assert.assertEquals(1, message.getServiceDataCount());
+    }
+
+    private static File createDir() throws IOException {
+        File dir = Files.createTempDirectory("spill").toFile();
+        dir.deleteOnExit();
+        return dir;
+    }
+
+    private static byte[] event(int index) {
+        return ("{\"metaHash\":\"" + index + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+}
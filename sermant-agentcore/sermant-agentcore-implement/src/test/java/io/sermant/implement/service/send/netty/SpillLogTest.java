@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.send.netty;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * SpillLog test
+ *
+ * @author lilai
+ * @since 2025-01-27
+ */
+public class SpillLogTest {
+    private static final int SEGMENT_SIZE = 256;
+
+    private static final long MAX_AGE = 60000L;
+
+    @Test
+    public void testReplayInOrderAcrossSegments() throws IOException {
+        SpillLog spillLog = SpillLog.open(createDir(), SEGMENT_SIZE, SEGMENT_SIZE * 8, MAX_AGE);
+        for (int i = 0; i < 20; i++) {
+            Assert.assertTrue(spillLog.append(i % 4, data(i)));
+        }
+        Assert.assertFalse(spillLog.isEmpty());
+        int expected = 0;
+        while (!spillLog.isEmpty()) {
+            SpillLog.Batch batch = spillLog.read(3);
+            for (SpillLog.Record record : batch.getRecords()) {
+                Assert.assertEquals(expected % 4, record.getDataType());
+                Assert.assertArrayEquals(data(expected), record.getData());
+                expected++;
+            }
+            spillLog.commit(batch);
+        }
+        Assert.assertEquals(20, expected);
+    }
+
+    @Test
+    public void testRecoverAfterReopen() throws IOException {
+        File dir = createDir();
+        SpillLog spillLog = SpillLog.open(dir, SEGMENT_SIZE, SEGMENT_SIZE * 8, MAX_AGE);
+        for (int i = 0; i < 10; i++) {
+            spillLog.append(0, data(i));
+        }
+        spillLog.commit(spillLog.read(4));
+        spillLog.close();
+
+        SpillLog reopened = SpillLog.open(dir, SEGMENT_SIZE, SEGMENT_SIZE * 8, MAX_AGE);
+        List<SpillLog.Record> records = reopened.read(100).getRecords();
+        Assert.assertEquals(6, records.size());
+        Assert.assertArrayEquals(data(4), records.get(0).getData());
+
+        // Records appended after recovery follow the recovered ones
+        reopened.append(0, data(10));
+        records = reopened.read(100).getRecords();
+        Assert.assertEquals(7, records.size());
+        Assert.assertArrayEquals(data(10), records.get(6).getData());
+    }
+
+    @Test
+    public void testReadAfterClose() throws IOException {
+        SpillLog spillLog = SpillLog.open(createDir(), SEGMENT_SIZE, SEGMENT_SIZE * 8, MAX_AGE);
+        spillLog.append(0, data(0));
+        spillLog.close();
+
+        // The replay task may still read the log while the client is stopping
+        Assert.assertTrue(spillLog.read(100).getRecords().isEmpty());
+        Assert.assertFalse(spillLog.append(0, data(1)));
+    }
+
+    @Test
+    public void testEvictOldestWhenFull() throws IOException {
+        SpillLog spillLog = SpillLog.open(createDir(), SEGMENT_SIZE, SEGMENT_SIZE * 2, MAX_AGE);
+        for (int i = 0; i < 100; i++) {
+            Assert.assertTrue(spillLog.append(0, data(i)));
+        }
+        List<SpillLog.Record> records = spillLog.read(100).getRecords();
+        Assert.assertTrue(records.size() < 100);
+        Assert.assertArrayEquals(data(99), records.get(records.size() - 1).getData());
+    }
+
+    @Test
+    public void testSkipExpiredRecords() throws IOException {
+        SpillLog spillLog = SpillLog.open(createDir(), SEGMENT_SIZE, SEGMENT_SIZE * 8, -1L);
+        spillLog.append(0, data(0));
+        SpillLog.Batch batch = spillLog.read(100);
+        Assert.assertTrue(batch.getRecords().isEmpty());
+        spillLog.commit(batch);
+        Assert.assertTrue(spillLog.isEmpty());
+    }
+
+    private static File createDir() throws IOException {
+        File dir = Files.createTempDirectory("spill").toFile();
+        dir.deleteOnExit();
+        return dir;
+    }
+
+    private static byte[] data(int index) {
+        return ("{\"index\":" + index + "}").getBytes(StandardCharsets.UTF_8);
+    }
+}
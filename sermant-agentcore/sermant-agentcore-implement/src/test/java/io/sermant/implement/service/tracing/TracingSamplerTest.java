@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.tracing;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * TracingSampler test
+ *
+ * @author luanwenfei
+ * @since 2025-01-27
+ */
+public class TracingSamplerTest {
+    @Test
+    public void testSampleRatio() {
+        TracingSampler allSampler = new TracingSampler(1D, 0);
+        TracingSampler noneSampler = new TracingSampler(0D, 0);
+        for (int i = 0; i < 100; i++) {
+            Assert.assertTrue(allSampler.isSampled());
+            Assert.assertFalse(noneSampler.isSampled());
+        }
+    }
+
+    @Test
+    public void testRateLimitPerWindow() {
+        TracingSampler sampler = new TracingSampler(1D, 2);
+        Assert.assertTrue(sampler.tryAcquire(100L));
+        Assert.assertTrue(sampler.tryAcquire(100L));
+        Assert.assertFalse(sampler.tryAcquire(100L));
+
+        // The count is reset in the next window
+        Assert.assertTrue(sampler.tryAcquire(101L));
+        Assert.assertTrue(sampler.tryAcquire(101L));
+        Assert.assertFalse(sampler.tryAcquire(101L));
+    }
+}
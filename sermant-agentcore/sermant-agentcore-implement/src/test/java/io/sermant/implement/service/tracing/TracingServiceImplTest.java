@@ -16,16 +16,19 @@
 
 package io.sermant.implement.service.tracing;
 
+import io.sermant.core.config.ConfigManager;
 import io.sermant.core.service.ServiceManager;
 import io.sermant.core.service.send.api.GatewayClient;
 import io.sermant.core.service.tracing.api.ExtractService;
 import io.sermant.core.service.tracing.api.InjectService;
 import io.sermant.core.service.tracing.common.SpanEvent;
 import io.sermant.core.service.tracing.common.TracingRequest;
+import io.sermant.core.service.tracing.config.TracingConfig;
 import io.sermant.core.utils.TracingUtils;
 import io.sermant.implement.service.send.netty.NettyGatewayClient;
 
 import org.apache.commons.lang.RandomStringUtils;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -62,12 +65,18 @@ public class TracingServiceImplTest {
 
     private static final int STRING_SIZE = 101;
 
+    private static final String SAMPLED = "SAMPLED";
+
+    private final TracingConfig tracingConfig = new TracingConfig();
+
     Map<String, String> header = new HashMap<>();
 
     ExtractService<Map<String, String>> extractService;
 
     InjectService<Map<String, String>> injectService;
 
+    MockedStatic<ConfigManager> configManagerMockedStatic;
+
     /**
      * Initialization
      */
@@ -76,12 +85,17 @@ public class TracingServiceImplTest {
         header.put(TRACE_ID, "");
         header.put(PARENT_SPAN_ID, "");
         header.put(SPAN_ID_PREFIX, "");
+        configManagerMockedStatic = Mockito.mockStatic(ConfigManager.class);
+        configManagerMockedStatic.when(() -> ConfigManager.getConfig(TracingConfig.class)).thenReturn(tracingConfig);
 
         // implement extraction interface
         extractService = (tracingRequest, carrier) -> {
             tracingRequest.setTraceId(carrier.get(TRACE_ID));
             tracingRequest.setParentSpanId(carrier.get(PARENT_SPAN_ID));
             tracingRequest.setSpanIdPrefix(carrier.get(SPAN_ID_PREFIX));
+            if (carrier.containsKey(SAMPLED)) {
+                tracingRequest.setSampled("1".equals(carrier.get(SAMPLED)));
+            }
         };
 
         // implement injection interface
@@ -89,9 +103,18 @@ public class TracingServiceImplTest {
             carrier.put(TRACE_ID, spanEvent.getTraceId());
             carrier.put(PARENT_SPAN_ID, spanEvent.getSpanId());
             carrier.put(SPAN_ID_PREFIX, spanEvent.getNextSpanIdPrefix());
+            carrier.put(SAMPLED, spanEvent.isSampled() ? "1" : "0");
         };
     }
 
+    /**
+     * Release the mocked ConfigManager
+     */
+    @After
+    public void tearDown() {
+        configManagerMockedStatic.close();
+    }
+
     /**
      * Normal span scene test
      */
@@ -222,6 +245,38 @@ public class TracingServiceImplTest {
         }
     }
 
+    /**
+     * Sampling decision test
+     */
+    @Test
+    public void onUnsampledSpanStart() {
+        try (MockedStatic<ServiceManager> mockedStatic = Mockito.mockStatic(ServiceManager.class)) {
+            mockedStatic.when(() -> ServiceManager.getService(GatewayClient.class))
+                    .thenReturn(new NettyGatewayClient());
+            tracingConfig.setSampleRatio(0D);
+            TracingServiceImpl tracingService = new TracingServiceImpl();
+            tracingService.start();
+
+            // The trace started by this node is not sampled, but the decision is propagated.
+            TracingRequest tracingRequest = new TracingRequest("", "", "", "", "");
+            Assert.assertFalse(tracingService.onProviderSpanStart(tracingRequest, extractService, header).isPresent());
+            Assert.assertFalse(tracingService.onNormalSpanStart(tracingRequest).isPresent());
+            Assert.assertFalse(tracingService.onConsumerSpanStart(tracingRequest, injectService, header).isPresent());
+            Assert.assertEquals("0", header.get(SAMPLED));
+            Assert.assertFalse(header.get(TRACE_ID).isEmpty());
+            tracingService.onSpanFinally();
+
+            // The decision of the upstream node is followed.
+            header.put(SAMPLED, "1");
+            tracingRequest = new TracingRequest("", "", "", "", "");
+            Assert.assertTrue(tracingService.onProviderSpanStart(tracingRequest, extractService, header).isPresent());
+            Assert.assertTrue(tracingService.onNormalSpanStart(tracingRequest).isPresent());
+            tracingService.onSpanFinally();
+            tracingService.onSpanFinally();
+            tracingService.stop();
+        }
+    }
+
     /**
      * Error scenario test occurred in span
      */
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.implement.service.tracing.sender;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+
+import io.sermant.core.service.tracing.common.SpanEvent;
+import io.sermant.core.service.tracing.common.TargetInfo;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SpanEventEncoder test
+ *
+ * @author luanwenfei
+ * @since 2025-01-27
+ */
+public class SpanEventEncoderTest {
+    @Test
+    public void testEncodeBatch() throws IOException {
+        SpanEvent first = createSpanEvent("0");
+        first.setError(true);
+        first.setErrorInfo("error");
+        TargetInfo targetInfo = new TargetInfo();
+        targetInfo.setAddress("127.0.0.1:8080");
+        first.setTargetInfo(targetInfo);
+        first.addTag("key", "value");
+        SpanEvent second = createSpanEvent("0-1");
+
+        TracingMessageHeader header = new TracingMessageHeader();
+        header.setInstanceId("instance");
+        header.setAppId("app");
+        CodedInputStream batch = CodedInputStream.newInstance(
+                SpanEventEncoder.encode(header, Arrays.asList(first, second)));
+
+        // Each batch carries the identity of the node
+        Assert.assertEquals(2, WireFormat.getTagFieldNumber(batch.readTag()));
+        Map<Integer, Object> headerFields = readFields(batch.readByteArray());
+        Assert.assertEquals("instance", headerFields.get(1));
+        Assert.assertEquals("app", headerFields.get(2));
+        Map<Integer, Object> firstFields = readSpanEvent(batch);
+        Assert.assertEquals("trace", firstFields.get(1));
+        Assert.assertEquals("0", firstFields.get(2));
+        Assert.assertEquals("method", firstFields.get(5));
+        Assert.assertEquals(1000L, firstFields.get(8));
+        Assert.assertEquals(15L, firstFields.get(9));
+        Assert.assertEquals(1L, firstFields.get(10));
+        Assert.assertEquals("error", firstFields.get(11));
+        Assert.assertEquals("127.0.0.1:8080", readFields((byte[]) firstFields.get(14)).get(1));
+        Map<Integer, Object> tag = readFields((byte[]) firstFields.get(15));
+        Assert.assertEquals("key", tag.get(1));
+        Assert.assertEquals("value", tag.get(2));
+
+        // Empty fields are omitted
+        Map<Integer, Object> secondFields = readSpanEvent(batch);
+        Assert.assertEquals("0-1", secondFields.get(2));
+        Assert.assertFalse(secondFields.containsKey(3));
+        Assert.assertFalse(secondFields.containsKey(10));
+        Assert.assertTrue(batch.isAtEnd());
+    }
+
+    private static SpanEvent createSpanEvent(String spanId) {
+        SpanEvent spanEvent = new SpanEvent();
+        spanEvent.setTraceId("trace");
+        spanEvent.setSpanId(spanId);
+        spanEvent.setClassName("class");
+        spanEvent.setMethod("method");
+        spanEvent.setStartTime(1000L);
+        spanEvent.setEndTime(1015L);
+        return spanEvent;
+    }
+
+    private static Map<Integer, Object> readSpanEvent(CodedInputStream batch) throws IOException {
+        int tag = batch.readTag();
+        Assert.assertEquals(1, WireFormat.getTagFieldNumber(tag));
+        return readFields(batch.readByteArray());
+    }
+
+    private static Map<Integer, Object> readFields(byte[] message) throws IOException {
+        Map<Integer, Object> fields = new HashMap<>();
+        CodedInputStream input = CodedInputStream.newInstance(message);
+        while (!input.isAtEnd()) {
+            int tag = input.readTag();
+            int fieldNumber = WireFormat.getTagFieldNumber(tag);
+            if (WireFormat.getTagWireType(tag) == WireFormat.WIRETYPE_VARINT) {
+                fields.put(fieldNumber, input.readInt64());
+                continue;
+            }
+            byte[] bytes = input.readByteArray();
+            boolean isMessage = fieldNumber == 13 || fieldNumber == 14 || fieldNumber == 15;
+            fields.put(fieldNumber, isMessage ? bytes : new String(bytes, StandardCharsets.UTF_8));
+        }
+        return fields;
+    }
+}
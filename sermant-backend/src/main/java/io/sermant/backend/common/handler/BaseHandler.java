@@ -41,9 +41,33 @@ public abstract class BaseHandler extends SimpleChannelInboundHandler<NettyMessa
 
         if (type == MessageType.SERVICE_DATA_VALUE) {
             handlerData(ctx, msg);
+        } else if (type == MessageType.COMPRESSED_FRAME_VALUE) {
+            handlerFrame(ctx, msg);
+        } else if (type == MessageType.HANDSHAKE_VALUE) {
+            handlerHandshake(ctx, msg);
         }
     }
 
+    /**
+     * Compressed frame process
+     *
+     * @param ctx Context object
+     * @param msg Frame received
+     */
+    protected void handlerFrame(ChannelHandlerContext ctx, NettyMessage msg) {
+        LOGGER.debug("Compressed frame received...");
+    }
+
+    /**
+     * Handshake process
+     *
+     * @param ctx Context object
+     * @param msg Handshake received
+     */
+    protected void handlerHandshake(ChannelHandlerContext ctx, NettyMessage msg) {
+        LOGGER.debug("Handshake received...");
+    }
+
     /**
      * Data process
      *
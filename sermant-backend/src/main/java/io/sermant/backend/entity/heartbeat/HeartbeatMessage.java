@@ -64,6 +64,9 @@ public class HeartbeatMessage {
 
     private boolean dynamicInstall;
 
+    @JSONField(serialize = false)
+    private long snapshotVersion;
+
     public String getHostName() {
         return hostName;
     }
@@ -196,4 +199,50 @@ public class HeartbeatMessage {
     public void setExternalAgentInfoMap(Map<String, ExternalAgentInfo> externalAgentInfoMap) {
         this.externalAgentInfoMap = externalAgentInfoMap;
     }
+
+    public long getSnapshotVersion() {
+        return snapshotVersion;
+    }
+
+    public void setSnapshotVersion(long snapshotVersion) {
+        this.snapshotVersion = snapshotVersion;
+    }
+
+    /**
+     * Apply the changes of the heartbeat. The maps are replaced instead of modified, so that the readers of the
+     * cached heartbeat are not affected
+     *
+     * @param delta changes of the heartbeat
+     */
+    public void applyDelta(HeartbeatDelta delta) {
+        if (delta.getHostName() != null) {
+            this.hostName = delta.getHostName();
+        }
+        if (delta.getIp() != null) {
+            this.ip = delta.getIp();
+        }
+        if (delta.getPluginInfoMap() != null || delta.getRemovedPlugins() != null) {
+            Map<String, PluginInfo> plugins = new HashMap<>(pluginInfoMap);
+            if (delta.getPluginInfoMap() != null) {
+                plugins.putAll(delta.getPluginInfoMap());
+            }
+            if (delta.getRemovedPlugins() != null) {
+                delta.getRemovedPlugins().forEach(plugins::remove);
+            }
+            this.pluginInfoMap = plugins;
+        }
+        if (delta.getExternalAgentInfoMap() != null || delta.getRemovedExternalAgents() != null) {
+            Map<String, ExternalAgentInfo> externalAgents = new HashMap<>(externalAgentInfoMap);
+            if (delta.getExternalAgentInfoMap() != null) {
+                externalAgents.putAll(delta.getExternalAgentInfoMap());
+            }
+            if (delta.getRemovedExternalAgents() != null) {
+                delta.getRemovedExternalAgents().forEach(externalAgents::remove);
+            }
+            this.externalAgentInfoMap = externalAgents;
+        }
+        this.lastHeartbeatTime = delta.getLastHeartbeatTime();
+        this.heartbeatTime = delta.getHeartbeatTime();
+        this.snapshotVersion = delta.getVersion();
+    }
 }
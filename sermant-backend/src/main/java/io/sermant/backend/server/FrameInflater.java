@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.backend.server;
+
+import com.google.protobuf.ByteString;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Decompressor of the compressed frames of a connection. All frames of a connection are compressed by one deflate
+ * stream with the preset dictionary, so the frames must be decompressed in the order they are received
+ *
+ * @author lilai
+ * @since 2025-01-27
+ */
+public class FrameInflater {
+    /**
+     * Preset dictionary of the deflate stream, which must be identical to the dictionary of the agent
+     */
+    private static final byte[] DICTIONARY = ("\"metaHash\":\"\",\"scope\":\"\",\"eventLevel\":\"\",\"eventType\":\"\","
+            + "\"eventInfo\":{},\"logInfo\":{},\"events\":[],\"extInfo\":{},\"zone\":\"\",\"project\":\"\","
+            + "\"environment\":\"\",\"serverName\":\"\",\"serverType\":\"\",\"operateType\":\"\","
+            + "\"applicationName\":\"\",\"groupName\":\"\",\"consanguinityList\":[],\"contractList\":[],"
+            + "\"registryInfo\":{},\"validateDate\":,\"instanceIds\":[],\"externalAgentInfoMap\":{},"
+            + "\"pluginInfoMap\":{},\"name\":\"\",\"version\":\"\",\"hostName\":\"\",\"ip\":[],\"heartbeatTime\":,"
+            + "\"lastHeartbeatTime\":,\"appName\":\"\",\"appType\":\"\",\"artifact\":\"\",\"processId\":\"\","
+            + "\"dynamicInstall\":false,\"time\":,\"service\":\"\",\"instanceId\":\"\",true,false,null")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    private final Inflater inflater = new Inflater();
+
+    /**
+     * Decompress a frame
+     *
+     * @param frame compressed frame
+     * @return frame
+     * @throws DataFormatException the frame is corrupted
+     */
+    public byte[] inflate(ByteString frame) throws DataFormatException {
+        inflater.setInput(frame.toByteArray());
+        ByteArrayOutputStream output = new ByteArrayOutputStream(frame.size() * 2);
+        while (true) {
+            int length = inflater.inflate(buffer);
+            if (length > 0) {
+                output.write(buffer, 0, length);
+                continue;
+            }
+            if (inflater.needsDictionary()) {
+                inflater.setDictionary(DICTIONARY);
+                continue;
+            }
+
+            // The input of the frame is consumed
+            return output.toByteArray();
+        }
+    }
+
+    /**
+     * Release the native resources
+     */
+    public void close() {
+        inflater.end();
+    }
+}
@@ -18,6 +18,7 @@ package io.sermant.backend.server;
 
 import com.alibaba.fastjson.JSON;
 import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
 
 import io.netty.channel.ChannelHandlerContext;
 import io.sermant.backend.cache.CollectorCache;
@@ -26,12 +27,15 @@ import io.sermant.backend.common.handler.BaseHandler;
 import io.sermant.backend.entity.InstanceMeta;
 import io.sermant.backend.entity.NodeEntity;
 import io.sermant.backend.entity.event.EventMessage;
+import io.sermant.backend.entity.heartbeat.HeartbeatDelta;
 import io.sermant.backend.entity.heartbeat.HeartbeatMessage;
 import io.sermant.backend.entity.visibility.OperateType;
 import io.sermant.backend.entity.visibility.ServerInfo;
 import io.sermant.backend.handler.EventPushHandler;
 import io.sermant.backend.pojo.Message;
 import io.sermant.backend.pojo.Message.NettyMessage;
+import io.sermant.backend.pojo.Message.NettyMessage.Codec;
+import io.sermant.backend.pojo.Message.NettyMessage.MessageType;
 import io.sermant.backend.pojo.Message.ServiceData;
 import io.sermant.backend.util.GzipUtils;
 
@@ -44,6 +48,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.DataFormatException;
 
 import javax.annotation.PostConstruct;
 
@@ -65,6 +70,11 @@ public class ServerHandler extends BaseHandler {
 
     private final Map<String, HeartbeatMessage> hbMessages = HeartbeatCache.getHeartbeatMessageMap();
 
+    /**
+     * Decompressor of the compressed frames of the channel, each channel has its own handler
+     */
+    private FrameInflater frameInflater;
+
     @Autowired
     private EventPushHandler eventPushHandler;
 
@@ -86,21 +96,52 @@ public class ServerHandler extends BaseHandler {
         List<ServiceData> serviceDataList = msg.getServiceDataList();
         for (ServiceData serviceData : serviceDataList) {
             ByteString data = serviceData.getData();
-            byte[] message = GzipUtils.decompress(data.toByteArray());
-            int dataType = serviceData.getDataTypeValue();
-            switch (dataType) {
-                case Message.ServiceData.DataType.HEARTBEAT_DATA_VALUE:
-                    handleHeartBeat(message);
-                    break;
-                case Message.ServiceData.DataType.EVENT_DATA_VALUE:
-                    handleEvent(message);
-                    break;
-                case Message.ServiceData.DataType.VISIBILITY_DATA_VALUE:
-                    handleServiceVisibility(message);
-                    break;
-                default:
-                    LOGGER.warn("Can not find the corresponding data type {}.", dataType);
-            }
+            handleServiceData(ctx, serviceData.getDataTypeValue(), GzipUtils.decompress(data.toByteArray()));
+        }
+    }
+
+    @Override
+    protected void handlerFrame(ChannelHandlerContext ctx, NettyMessage msg) {
+        if (frameInflater == null) {
+            frameInflater = new FrameInflater();
+        }
+        NettyMessage frame;
+        try {
+            frame = NettyMessage.parseFrom(frameInflater.inflate(msg.getFrame()));
+        } catch (DataFormatException | InvalidProtocolBufferException e) {
+            // The following frames can not be decompressed once the deflate stream is broken
+            LOGGER.error("Exception occurs when decompress frame, close the channel. Exception info: {}",
+                    e.getMessage());
+            ctx.close();
+            return;
+        }
+        for (ServiceData serviceData : frame.getServiceDataList()) {
+            handleServiceData(ctx, serviceData.getDataTypeValue(), serviceData.getData().toByteArray());
+        }
+    }
+
+    @Override
+    protected void handlerHandshake(ChannelHandlerContext ctx, NettyMessage msg) {
+        Codec codec = msg.getCodecsList().contains(Codec.DEFLATE_STREAM) ? Codec.DEFLATE_STREAM : Codec.GZIP;
+        ctx.writeAndFlush(NettyMessage.newBuilder().setMessageType(MessageType.HANDSHAKE).addCodecs(codec).build());
+    }
+
+    private void handleServiceData(ChannelHandlerContext ctx, int dataType, byte[] message) {
+        switch (dataType) {
+            case Message.ServiceData.DataType.HEARTBEAT_DATA_VALUE:
+                handleHeartBeat(ctx, message);
+                break;
+            case Message.ServiceData.DataType.HEARTBEAT_DELTA_DATA_VALUE:
+                handleHeartbeatDelta(ctx, message);
+                break;
+            case Message.ServiceData.DataType.EVENT_DATA_VALUE:
+                handleEvent(message);
+                break;
+            case Message.ServiceData.DataType.VISIBILITY_DATA_VALUE:
+                handleServiceVisibility(message);
+                break;
+            default:
+                LOGGER.warn("Can not find the corresponding data type {}.", dataType);
         }
     }
 
@@ -114,6 +155,10 @@ public class ServerHandler extends BaseHandler {
     @Override
     public void channelInactive(ChannelHandlerContext ctx) {
         LOGGER.info("Close channelHandlerContext");
+        if (frameInflater != null) {
+            frameInflater.close();
+            frameInflater = null;
+        }
         ctx.close();
     }
 
@@ -122,7 +167,7 @@ public class ServerHandler extends BaseHandler {
         LOGGER.error("Exception occurs. Exception info: {}", cause.getMessage());
     }
 
-    private void handleHeartBeat(byte[] message) {
+    private void handleHeartBeat(ChannelHandlerContext ctx, byte[] message) {
         // Cache heartbeat data
         HeartbeatMessage heartbeatMessage =
                 JSON.parseObject(new String(message, StandardCharsets.UTF_8), HeartbeatMessage.class);
@@ -135,10 +180,38 @@ public class ServerHandler extends BaseHandler {
             heartbeatMessage.setReceiveTime(System.currentTimeMillis());
             heartbeatMessage.setHealth(true);
             hbMessages.put(heartbeatMessage.getService() + heartbeatMessage.getInstanceId(), heartbeatMessage);
+
+            // The agent sending a versioned heartbeat sends only the changes after it is acknowledged
+            if (heartbeatMessage.getSnapshotVersion() > 0) {
+                ackHeartbeat(ctx, heartbeatMessage.getSnapshotVersion());
+            }
         }
         setServiceValidityPeriod(heartbeatMessage.getInstanceId());
     }
 
+    private void handleHeartbeatDelta(ChannelHandlerContext ctx, byte[] message) {
+        HeartbeatDelta delta = JSON.parseObject(new String(message, StandardCharsets.UTF_8), HeartbeatDelta.class);
+        HeartbeatMessage heartbeatMessage = hbMessages.get(delta.getService() + delta.getInstanceId());
+        if (heartbeatMessage == null || heartbeatMessage.getSnapshotVersion() != delta.getBaseVersion()) {
+            // The changes are not based on the cached heartbeat, ask the agent for the full heartbeat
+            ackHeartbeat(ctx, 0L);
+            return;
+        }
+        heartbeatMessage.applyDelta(delta);
+        heartbeatMessage.setReceiveTime(System.currentTimeMillis());
+        heartbeatMessage.setHealth(true);
+        writeInstanceMeta(heartbeatMessage);
+        setServiceValidityPeriod(heartbeatMessage.getInstanceId());
+        if (delta.getVersion() != delta.getBaseVersion()) {
+            ackHeartbeat(ctx, delta.getVersion());
+        }
+    }
+
+    private void ackHeartbeat(ChannelHandlerContext ctx, long version) {
+        ctx.writeAndFlush(NettyMessage.newBuilder().setMessageType(MessageType.HEARTBEAT_ACK)
+                .setHeartbeatVersion(version).build());
+    }
+
     /**
      * Store instance metadata
      *
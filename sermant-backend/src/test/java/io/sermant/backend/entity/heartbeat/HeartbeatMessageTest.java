@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.backend.entity.heartbeat;
+
+import com.alibaba.fastjson.JSON;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit Test for HeartbeatMessage
+ *
+ * @author luanwenfei
+ * @since 2025-01-27
+ */
+public class HeartbeatMessageTest {
+    private HeartbeatMessage heartbeatMessage;
+
+    private Map<String, PluginInfo> plugins;
+
+    @Before
+    public void setUp() {
+        heartbeatMessage = new HeartbeatMessage();
+        heartbeatMessage.setService("service");
+        heartbeatMessage.setInstanceId("instance");
+        heartbeatMessage.setHostName("host");
+        heartbeatMessage.setIp(Collections.singletonList("127.0.0.1"));
+        plugins = new HashMap<>();
+        plugins.put("flowcontrol", pluginInfo("flowcontrol", "1.0"));
+        plugins.put("router", pluginInfo("router", "1.0"));
+        heartbeatMessage.setPluginInfoMap(plugins);
+        heartbeatMessage.setSnapshotVersion(1L);
+    }
+
+    @Test
+    public void testApplyDeltaWithoutChanges() {
+        HeartbeatDelta delta = delta(1L, 1L);
+        delta.setHeartbeatTime(200L);
+        delta.setLastHeartbeatTime(100L);
+        heartbeatMessage.applyDelta(delta);
+        Assert.assertEquals("host", heartbeatMessage.getHostName());
+        Assert.assertEquals(Collections.singletonList("127.0.0.1"), heartbeatMessage.getIp());
+        Assert.assertEquals(versions("flowcontrol", "1.0", "router", "1.0"), pluginVersions());
+        Assert.assertEquals(200L, heartbeatMessage.getHeartbeatTime());
+        Assert.assertEquals(100L, heartbeatMessage.getLastHeartbeatTime());
+        Assert.assertEquals(1L, heartbeatMessage.getSnapshotVersion());
+    }
+
+    @Test
+    public void testApplyDeltaWithChanges() {
+        HeartbeatDelta delta = delta(1L, 2L);
+        delta.setHostName("newHost");
+        delta.setPluginInfoMap(Collections.singletonMap("router", pluginInfo("router", "2.0")));
+        delta.setRemovedPlugins(Collections.singletonList("flowcontrol"));
+        delta.setExternalAgentInfoMap(Collections.singletonMap("otel", new ExternalAgentInfo("otel", "1.0")));
+        heartbeatMessage.applyDelta(delta);
+        Assert.assertEquals("newHost", heartbeatMessage.getHostName());
+        Assert.assertEquals(Collections.singletonList("127.0.0.1"), heartbeatMessage.getIp());
+        Assert.assertEquals(versions("router", "2.0"), pluginVersions());
+        Assert.assertEquals("1.0", heartbeatMessage.getExternalAgentInfoMap().get("otel").getVersion());
+        Assert.assertEquals(2L, heartbeatMessage.getSnapshotVersion());
+
+        // The map held by the readers of the cached heartbeat is not modified
+        Assert.assertEquals(2, plugins.size());
+        Assert.assertEquals("1.0", plugins.get("router").getVersion());
+    }
+
+    @Test
+    public void testParseDelta() {
+        HeartbeatDelta delta = delta(1L, 2L);
+        delta.setIp(Arrays.asList("127.0.0.2", "127.0.0.3"));
+        delta.setRemovedPlugins(Collections.singletonList("router"));
+        heartbeatMessage.applyDelta(JSON.parseObject(JSON.toJSONString(delta), HeartbeatDelta.class));
+        Assert.assertEquals(Arrays.asList("127.0.0.2", "127.0.0.3"), heartbeatMessage.getIp());
+        Assert.assertEquals(versions("flowcontrol", "1.0"), pluginVersions());
+        Assert.assertEquals("host", heartbeatMessage.getHostName());
+        Assert.assertEquals(2L, heartbeatMessage.getSnapshotVersion());
+    }
+
+    private static HeartbeatDelta delta(long baseVersion, long version) {
+        HeartbeatDelta delta = new HeartbeatDelta();
+        delta.setService("service");
+        delta.setInstanceId("instance");
+        delta.setBaseVersion(baseVersion);
+        delta.setVersion(version);
+        return delta;
+    }
+
+    private Map<String, String> pluginVersions() {
+        Map<String, String> versions = new HashMap<>();
+        for (PluginInfo pluginInfo : heartbeatMessage.getPluginInfoMap()) {
+            versions.put(pluginInfo.getName(), pluginInfo.getVersion());
+        }
+        return versions;
+    }
+
+    private static Map<String, String> versions(String... nameAndVersions) {
+        Map<String, String> versions = new HashMap<>();
+        for (int i = 0; i < nameAndVersions.length; i += 2) {
+            versions.put(nameAndVersions[i], nameAndVersions[i + 1]);
+        }
+        return versions;
+    }
+
+    private static PluginInfo pluginInfo(String name, String version) {
+        PluginInfo pluginInfo = new PluginInfo();
+        pluginInfo.setName(name);
+        pluginInfo.setVersion(version);
+        return pluginInfo;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2025-2025 Sermant Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.sermant.backend.server;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.google.protobuf.ByteString;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.sermant.backend.cache.HeartbeatCache;
+import io.sermant.backend.entity.heartbeat.HeartbeatDelta;
+import io.sermant.backend.entity.heartbeat.HeartbeatMessage;
+import io.sermant.backend.pojo.Message.NettyMessage;
+import io.sermant.backend.pojo.Message.NettyMessage.MessageType;
+import io.sermant.backend.pojo.Message.ServiceData;
+import io.sermant.backend.pojo.Message.ServiceData.DataType;
+import io.sermant.backend.util.GzipUtils;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+/**
+ * Test class for the heartbeat handling of ServerHandler
+ *
+ * @author lilai
+ * @since 2025-01-27
+ */
+@RunWith(PowerMockRunner.class)
+public class ServerHandlerTest {
+    private static final String SERVICE = "service";
+
+    private static final String INSTANCE_ID = "instance";
+
+    @Mock
+    private EventServer eventServer;
+
+    @InjectMocks
+    private ServerHandler serverHandler;
+
+    private EmbeddedChannel channel;
+
+    @Before
+    public void setUp() {
+        serverHandler.init();
+        channel = new EmbeddedChannel(serverHandler);
+    }
+
+    @After
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+        HeartbeatCache.getHeartbeatMessageMap().clear();
+    }
+
+    @Test
+    public void testApplyDeltaAfterFullHeartbeat() {
+        sendHeartbeat(1L);
+        assertAck(1L);
+
+        HeartbeatDelta delta = delta(1L, 2L);
+        delta.setHostName("newHost");
+        sendDelta(delta);
+        assertAck(2L);
+        Assert.assertEquals("newHost", cachedHeartbeat().getHostName());
+        Assert.assertEquals(2L, cachedHeartbeat().getSnapshotVersion());
+
+        // The heartbeat without changes is not acknowledged again
+        sendDelta(delta(2L, 2L));
+        Assert.assertNull(channel.readOutbound());
+        Assert.assertEquals("newHost", cachedHeartbeat().getHostName());
+    }
+
+    @Test
+    public void testFullHeartbeatAfterVersionGap() {
+        sendHeartbeat(1L);
+        assertAck(1L);
+
+        // The delta is based on a version the backend never acknowledged, the agent is asked for the full heartbeat
+        HeartbeatDelta gapDelta = delta(2L, 3L);
+        gapDelta.setHostName("gapHost");
+        sendDelta(gapDelta);
+        assertAck(0L);
+        Assert.assertEquals("host", cachedHeartbeat().getHostName());
+        Assert.assertEquals(1L, cachedHeartbeat().getSnapshotVersion());
+
+        // The full heartbeat replaces the cached one, the following changes are based on it
+        sendHeartbeat(3L);
+        assertAck(3L);
+        Assert.assertEquals(3L, cachedHeartbeat().getSnapshotVersion());
+        HeartbeatDelta delta = delta(3L, 4L);
+        delta.setHostName("newHost");
+        sendDelta(delta);
+        assertAck(4L);
+        Assert.assertEquals("newHost", cachedHeartbeat().getHostName());
+    }
+
+    @Test
+    public void testResyncUnknownHeartbeat() {
+        // The backend restarted and lost the heartbeat acknowledged before
+        HeartbeatDelta delta = delta(1L, 2L);
+        delta.setHostName("newHost");
+        sendDelta(delta);
+        assertAck(0L);
+        Assert.assertNull(cachedHeartbeat());
+
+        sendHeartbeat(2L);
+        assertAck(2L);
+        Assert.assertEquals("host", cachedHeartbeat().getHostName());
+    }
+
+    private void sendHeartbeat(long snapshotVersion) {
+        JSONObject heartbeat = new JSONObject();
+        heartbeat.put("service", SERVICE);
+        heartbeat.put("instanceId", INSTANCE_ID);
+        heartbeat.put("hostName", "host");
+        heartbeat.put("ip", Collections.singletonList("127.0.0.1"));
+        heartbeat.put("snapshotVersion", snapshotVersion);
+        send(DataType.HEARTBEAT_DATA, heartbeat.toJSONString());
+    }
+
+    private void sendDelta(HeartbeatDelta delta) {
+        send(DataType.HEARTBEAT_DELTA_DATA, JSON.toJSONString(delta));
+    }
+
+    private void send(DataType dataType, String data) {
+        ServiceData serviceData = ServiceData.newBuilder().setDataType(dataType)
+                .setData(ByteString.copyFrom(GzipUtils.compress(data.getBytes(StandardCharsets.UTF_8)))).build();
+        channel.writeInbound(NettyMessage.newBuilder().setMessageType(MessageType.SERVICE_DATA)
+                .addServiceData(serviceData).build());
+    }
+
+    private void assertAck(long version) {
+        NettyMessage ack = channel.readOutbound();
+        Assert.assertNotNull(ack);
+        Assert.assertEquals(MessageType.HEARTBEAT_ACK, ack.getMessageType());
+        Assert.assertEquals(version, ack.getHeartbeatVersion());
+        Assert.assertNull(channel.readOutbound());
+    }
+
+    private static HeartbeatMessage cachedHeartbeat() {
+        return HeartbeatCache.getHeartbeatMessageMap().get(SERVICE + INSTANCE_ID);
+    }
+
+    private static HeartbeatDelta delta(long baseVersion, long version) {
+        HeartbeatDelta delta = new HeartbeatDelta();
+        delta.setService(SERVICE);
+        delta.setInstanceId(INSTANCE_ID);
+        delta.setBaseVersion(baseVersion);
+        delta.setVersion(version);
+        return delta;
+    }
+}
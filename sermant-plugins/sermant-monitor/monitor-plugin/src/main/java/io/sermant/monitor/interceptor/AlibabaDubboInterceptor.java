@@ -22,6 +22,7 @@ import com.alibaba.dubbo.rpc.Invoker;
 import com.alibaba.dubbo.rpc.support.RpcUtils;
 
 import io.sermant.core.plugin.agent.entity.ExecuteContext;
+import io.sermant.core.plugin.agent.entity.LocalFieldKey;
 import io.sermant.core.plugin.agent.interceptor.AbstractInterceptor;
 import io.sermant.core.utils.LogUtils;
 import io.sermant.monitor.common.CommonConstant;
@@ -35,7 +36,7 @@ import io.sermant.monitor.util.MonitorCacheUtil;
  * @since 2022-11-01
  */
 public class AlibabaDubboInterceptor extends AbstractInterceptor {
-    private static final String START_TIME = "startTime";
+    private static final LocalFieldKey START_TIME = LocalFieldKey.of("startTime");
 
     private static final String MONITOR_NAME = "monitorName";
 
@@ -47,7 +48,7 @@ public class AlibabaDubboInterceptor extends AbstractInterceptor {
         if (context == null || context.getArguments() == null || context.getArguments().length < 1) {
             return context;
         }
-        context.setExtMemberFieldValue(START_TIME, System.currentTimeMillis());
+        context.setLocalFieldValue(START_TIME, System.currentTimeMillis());
         if (context.getArguments()[0] instanceof Invoker) {
             Invoker<?> invoker = (Invoker<?>) context.getArguments()[0];
             if (!isProvider(invoker)) {
@@ -72,7 +73,7 @@ public class AlibabaDubboInterceptor extends AbstractInterceptor {
         String name = (String) context.getExtMemberFieldValue(MONITOR_NAME);
         MetricCalEntity metricCalEntity = MonitorCacheUtil.getMetricCalEntity(name);
         metricCalEntity.getReqNum().incrementAndGet();
-        long startTime = (Long) context.getExtMemberFieldValue(START_TIME);
+        long startTime = (Long) context.getLocalFieldValue(START_TIME);
         metricCalEntity.getConsumeReqTimeNum().addAndGet(System.currentTimeMillis() - startTime);
         metricCalEntity.getSuccessFulReqNum().incrementAndGet();
         LogUtils.printDubboRequestAfterPoint(context);
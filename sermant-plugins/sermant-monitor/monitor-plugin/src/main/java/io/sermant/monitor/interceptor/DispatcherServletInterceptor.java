@@ -18,9 +18,10 @@
 package io.sermant.monitor.interceptor;
 
 import io.sermant.core.plugin.agent.entity.ExecuteContext;
+import io.sermant.core.plugin.agent.entity.LocalFieldKey;
 import io.sermant.core.plugin.agent.interceptor.AbstractInterceptor;
 import io.sermant.core.utils.LogUtils;
-import io.sermant.core.utils.ReflectUtils;
+import io.sermant.core.utils.MethodInvokerCache;
 import io.sermant.monitor.common.MetricCalEntity;
 import io.sermant.monitor.util.MonitorCacheUtil;
 
@@ -35,7 +36,9 @@ import javax.servlet.http.HttpServletRequest;
  * @since 2022-11-01
  */
 public class DispatcherServletInterceptor extends AbstractInterceptor {
-    private static final String START_TIME = "startTime";
+    private static final LocalFieldKey START_TIME = LocalFieldKey.of("startTime");
+
+    private static final MethodInvokerCache GET_REQUEST_URI = new MethodInvokerCache("getRequestURI");
 
     private Function<Object, String> getRequestUri;
 
@@ -52,20 +55,20 @@ public class DispatcherServletInterceptor extends AbstractInterceptor {
         if (checkContext(context)) {
             return context;
         }
-        context.setExtMemberFieldValue(START_TIME, System.currentTimeMillis());
+        context.setLocalFieldValue(START_TIME, System.currentTimeMillis());
         return context;
     }
 
     @Override
     public ExecuteContext after(ExecuteContext context) {
-        if (checkContext(context) || context.getExtMemberFieldValue(START_TIME) == null) {
+        if (checkContext(context) || context.getLocalFieldValue(START_TIME) == null) {
             LogUtils.printHttpRequestAfterPoint(context);
             return context;
         }
         String uri = getRequestUri.apply(context.getArguments()[0]);
         MetricCalEntity metricCalEntity = MonitorCacheUtil.getMetricCalEntity(uri);
         metricCalEntity.getReqNum().incrementAndGet();
-        long startTime = (Long) context.getExtMemberFieldValue(START_TIME);
+        long startTime = (Long) context.getLocalFieldValue(START_TIME);
         metricCalEntity.getConsumeReqTimeNum().addAndGet(System.currentTimeMillis() - startTime);
         metricCalEntity.getSuccessFulReqNum().incrementAndGet();
         LogUtils.printHttpRequestAfterPoint(context);
@@ -91,7 +94,7 @@ public class DispatcherServletInterceptor extends AbstractInterceptor {
     }
 
     private String getRequestUri(Object httpServletRequest) {
-        return (String) ReflectUtils.invokeMethodWithNoneParameter(httpServletRequest, "getRequestURI").orElse(null);
+        return (String) GET_REQUEST_URI.invoke(httpServletRequest);
     }
 
     private void initFunction() {
@@ -16,10 +16,14 @@
 
 package io.sermant.router.common.utils;
 
+import io.sermant.core.utils.ClassUtils;
+import io.sermant.core.utils.MethodInvokerCache;
+
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * To be compatible with both Alibaba and Apache Dubbo, you need to use the reflection method to perform the class
@@ -61,6 +65,18 @@ public class DubboReflectUtils {
 
     private static final String GET_PROTOCOL_SERVICE_METHOD_NAME = "getProtocolServiceKey";
 
+    private static final MethodInvokerCache GET_METHOD_NAME_INVOKER =
+            new MethodInvokerCache(GET_METHOD_NAME_METHOD_NAME);
+
+    private static final MethodInvokerCache GET_ARGUMENTS_INVOKER = new MethodInvokerCache(GET_ARGUMENTS_METHOD_NAME);
+
+    private static final MethodInvokerCache GET_CONTEXT_INVOKER = new MethodInvokerCache(GET_CONTEXT_METHOD_NAME);
+
+    /**
+     * RpcContext classes resolved by the classloader of the first invocation, key: class name
+     */
+    private static final Map<String, Optional<Class<?>>> CONTEXT_CLASSES = new ConcurrentHashMap<>();
+
     private DubboReflectUtils() {
     }
 
@@ -146,7 +162,8 @@ public class DubboReflectUtils {
      * @see org.apache.dubbo.rpc.Invocation
      */
     public static String getMethodName(Object obj) {
-        return ReflectUtils.invokeWithNoneParameterAndReturnString(obj, GET_METHOD_NAME_METHOD_NAME);
+        final Object methodName = GET_METHOD_NAME_INVOKER.invoke(obj);
+        return methodName == null ? null : String.valueOf(methodName);
     }
 
     /**
@@ -158,7 +175,7 @@ public class DubboReflectUtils {
      * @see org.apache.dubbo.rpc.Invocation
      */
     public static Object[] getArguments(Object obj) {
-        return (Object[]) ReflectUtils.invokeWithNoneParameter(obj, GET_ARGUMENTS_METHOD_NAME);
+        return (Object[]) GET_ARGUMENTS_INVOKER.invoke(obj);
     }
 
     /**
@@ -189,7 +206,7 @@ public class DubboReflectUtils {
         }
         String className = obj.getClass().getName().startsWith("com.alibaba.dubbo")
                 ? ALIBABA_RPC_CONTEXT_CLASS_NAME : APACHE_RPC_CONTEXT_CLASS_NAME;
-        Map<String, Object> attachments = new HashMap<>(getAttachmentsFromContext(className));
+        Map<String, Object> attachments = new HashMap<>(getAttachmentsFromContext(obj, className));
         attachments.putAll(getAttachmentsByInvocation(obj));
         return Collections.unmodifiableMap(attachments);
     }
@@ -210,13 +227,17 @@ public class DubboReflectUtils {
                 .orElse(Collections.emptyMap());
     }
 
-    private static Map<String, Object> getAttachmentsFromContext(String contextClazz) {
-        Optional<Object> context = io.sermant.core.utils.ReflectUtils
-                .invokeMethod(contextClazz, GET_CONTEXT_METHOD_NAME, null, null);
-        if (!context.isPresent()) {
+    private static Map<String, Object> getAttachmentsFromContext(Object invocation, String contextClazz) {
+        final Optional<Class<?>> clazz = CONTEXT_CLASSES.computeIfAbsent(contextClazz,
+                name -> ClassUtils.loadClass(name, invocation.getClass().getClassLoader(), false));
+        if (!clazz.isPresent()) {
+            return Collections.emptyMap();
+        }
+        final Object context = GET_CONTEXT_INVOKER.get(clazz.get()).invoke(null);
+        if (context == null) {
             return Collections.emptyMap();
         }
-        Optional<Object> attachments = ReflectUtils.getFieldValue(context.get(), ATTACHMENTS_FIELD);
+        Optional<Object> attachments = ReflectUtils.getFieldValue(context, ATTACHMENTS_FIELD);
         return attachments.map(obj -> (Map<String, Object>) obj).orElse(Collections.emptyMap());
     }
 